@@ -5,11 +5,16 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.spec.InvalidKeySpecException;
 import java.security.spec.KeySpec;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
@@ -47,13 +52,55 @@ class AESEncryptDecryptUtil {
   static final int KEY_LENGTH = 256;
  private
   static final Charset UTF_8 = StandardCharsets.UTF_8;
+ private
+  static final int DERIVED_KEY_CACHE_SIZE = 10000;
+
+  /**
+   * Encrypted text formats.
+   *
+   * Legacy: base64(iv | salt | cipher text), with a random salt per text.
+   * Version 2: "v2:" key id ":" base64(iv | cipher text). The AES key is
+   * derived once from the const key and a fixed salt, the key id is a
+   * fingerprint of that key and the header is authenticated by AES-GCM. The
+   * ':' separator is not part of the base64 alphabet, so the two formats can
+   * not be mistaken for each other.
+   */
+ private
+  static final String V2_PREFIX = "v2:";
+ private
+  static final char HEADER_SEPARATOR = ':';
+ private
+  static final byte[] V2_SALT =
+      "com.seagates3.authencryptutil.v2".getBytes(StandardCharsets.UTF_8);
+ private
+  static final int KEY_ID_LENGTH_IN_BYTES = 4;
+
+ private
+  static final Map<String, VersionedKey> versionedKeys =
+      new ConcurrentHashMap<>();
+
+  /**
+   * PBKDF2 derivation costs a few milli seconds of CPU, and every legacy format
+   * secret is stored with its own salt. Keep the derived keys of recently used
+   * salts so that decrypting the same secret again is a single AES operation.
+   * Only the derived AES keys are held in memory, never the plain text
+   * secrets.
+   */
+ private
+  static final Map<DerivedKeyId, SecretKey> derivedKeyCache =
+      new LinkedHashMap<DerivedKeyId, SecretKey>(16, 0.75f, true) {
+   protected
+    boolean removeEldestEntry(Map.Entry<DerivedKeyId, SecretKey> eldest) {
+      return size() > DERIVED_KEY_CACHE_SIZE;
+    }
+  };
 
   /**
    * Encrypt plain text provided using AES
    *
    * @param plainText - Text to encrypt
    * @param password  - Const key
-   * @return return a base64 encoded AES encrypted text
+   * @return return a version 2 AES encrypted text
    */
  public
   static String encrypt(String plainText, String password) {
@@ -61,24 +108,22 @@ class AESEncryptDecryptUtil {
     String encryptedText = null;
 
     if (isTextNotEmpty(plainText) && isTextNotEmpty(password)) {
-      byte[] salt = getRandomNonce(SALT_LENGTH_IN_BYTES);
       byte[] iv = getRandomNonce(IV_LENGTH_IN_BYTES);
 
       try {
-        SecretKey aesKeyFromPassword =
-            getAESKeyFromPassword(password.toCharArray(), salt);
+        VersionedKey key = getVersionedKey(password);
         Cipher cipher = Cipher.getInstance(ENCRYPT_ALGO);
-        cipher.init(Cipher.ENCRYPT_MODE, aesKeyFromPassword,
+        cipher.init(Cipher.ENCRYPT_MODE, key.secretKey,
                     new GCMParameterSpec(TAG_LENGTH_BIT, iv));
+        cipher.updateAAD(key.header.getBytes(UTF_8));
         byte[] cipherText = cipher.doFinal(plainText.getBytes(UTF_8));
-        byte[] cipherTextWithIvSalt =
-            ByteBuffer.allocate(iv.length + salt.length + cipherText.length)
+        byte[] cipherTextWithIv =
+            ByteBuffer.allocate(iv.length + cipherText.length)
                 .put(iv)
-                .put(salt)
                 .put(cipherText)
                 .array();
         encryptedText =
-            Base64.getEncoder().encodeToString(cipherTextWithIvSalt);
+            key.header + Base64.getEncoder().encodeToString(cipherTextWithIv);
       }
       catch (NoSuchAlgorithmException | InvalidKeySpecException |
              NoSuchPaddingException | InvalidKeyException |
@@ -95,7 +140,8 @@ class AESEncryptDecryptUtil {
   }
 
   /**
-   * Decrypt the encrypted text provided.
+   * Decrypt the encrypted text provided, in either version 2 or legacy
+   * format.
    *
    * @param encryptedText
    * @param password      - Const key
@@ -104,43 +150,110 @@ class AESEncryptDecryptUtil {
  public
   static String decrypt(String encryptedText, String password) {
 
+    if (isTextNotEmpty(encryptedText) && isTextNotEmpty(password)) {
+      if (encryptedText.startsWith(V2_PREFIX)) {
+        return decryptV2(encryptedText, password);
+      }
+      return decryptLegacy(encryptedText, password);
+    }
+
+    return null;
+  }
+
+  /**
+   * @return true if the text is encrypted in an older format and should be
+   *         encrypted again when it is next written.
+   */
+ public
+  static boolean isLegacyFormat(String encryptedText) {
+    return isTextNotEmpty(encryptedText) &&
+        !encryptedText.startsWith(V2_PREFIX);
+  }
+
+ private
+  static String decryptV2(String encryptedText, String password) {
+
     String decryptedText = null;
+    int headerEnd =
+        encryptedText.indexOf(HEADER_SEPARATOR, V2_PREFIX.length()) + 1;
+    if (headerEnd == 0) {
+      LOGGER.error("Encrypted text has an invalid header.");
+      return null;
+    }
+    String header = encryptedText.substring(0, headerEnd);
 
-    if (isTextNotEmpty(encryptedText) && isTextNotEmpty(password)) {
-      byte[] decode = Base64.getDecoder().decode(encryptedText.getBytes(UTF_8));
+    try {
+      VersionedKey key = getVersionedKey(password);
+      if (!key.header.equals(header)) {
+        LOGGER.error("Encrypted text key id " + header +
+                     " does not match the configured key.");
+        return null;
+      }
 
-      ByteBuffer bb = ByteBuffer.wrap(decode);
+      byte[] decode = Base64.getDecoder().decode(
+          encryptedText.substring(headerEnd).getBytes(UTF_8));
+      Cipher cipher = Cipher.getInstance(ENCRYPT_ALGO);
+      cipher.init(Cipher.DECRYPT_MODE, key.secretKey,
+                  new GCMParameterSpec(TAG_LENGTH_BIT, decode, 0,
+                                       IV_LENGTH_IN_BYTES));
+      cipher.updateAAD(header.getBytes(UTF_8));
 
-      byte[] iv = new byte[IV_LENGTH_IN_BYTES];
-      bb.get(iv);
+      byte[] plainText = cipher.doFinal(decode, IV_LENGTH_IN_BYTES,
+                                        decode.length - IV_LENGTH_IN_BYTES);
 
-      byte[] salt = new byte[SALT_LENGTH_IN_BYTES];
-      bb.get(salt);
+      decryptedText = new String(plainText, UTF_8);
+    }
+    catch (NoSuchAlgorithmException | InvalidKeySpecException |
+           NoSuchPaddingException | InvalidKeyException |
+           InvalidAlgorithmParameterException | IllegalBlockSizeException |
+           BadPaddingException | IllegalArgumentException e) {
+      LOGGER.error("Error occurred while decrypting the encrypted text. " +
+                   "Cause: " + e.getCause() + ". Message: " + e.getMessage());
+      LOGGER.debug("Stacktrace: " + e);
+    }
+    finally { LOGGER.debug("Finished decrypting the text."); }
 
-      byte[] cipherText = new byte[bb.remaining()];
-      bb.get(cipherText);
+    return decryptedText;
+  }
 
-      try {
-        SecretKey aesKeyFromPassword =
-            getAESKeyFromPassword(password.toCharArray(), salt);
-        Cipher cipher = Cipher.getInstance(ENCRYPT_ALGO);
-        cipher.init(Cipher.DECRYPT_MODE, aesKeyFromPassword,
-                    new GCMParameterSpec(TAG_LENGTH_BIT, iv));
+ private
+  static String decryptLegacy(String encryptedText, String password) {
 
-        byte[] plainText = cipher.doFinal(cipherText);
+    String decryptedText = null;
 
-        decryptedText = new String(plainText, UTF_8);
-      }
-      catch (NoSuchAlgorithmException | InvalidKeySpecException |
-             NoSuchPaddingException | InvalidKeyException |
-             InvalidAlgorithmParameterException | IllegalBlockSizeException |
-             BadPaddingException e) {
-        LOGGER.error("Error occurred while decrypting the encrypted text. " +
-                     "Cause: " + e.getCause() + ". Message: " + e.getMessage());
-        LOGGER.debug("Stacktrace: " + e);
-      }
-      finally { LOGGER.debug("Finished decrypting the text."); }
+    byte[] decode = Base64.getDecoder().decode(encryptedText.getBytes(UTF_8));
+
+    ByteBuffer bb = ByteBuffer.wrap(decode);
+
+    byte[] iv = new byte[IV_LENGTH_IN_BYTES];
+    bb.get(iv);
+
+    byte[] salt = new byte[SALT_LENGTH_IN_BYTES];
+    bb.get(salt);
+
+    byte[] cipherText = new byte[bb.remaining()];
+    bb.get(cipherText);
+
+    try {
+      SecretKey aesKeyFromPassword =
+          getAESKeyFromPassword(password.toCharArray(), salt);
+      Cipher cipher = Cipher.getInstance(ENCRYPT_ALGO);
+      cipher.init(Cipher.DECRYPT_MODE, aesKeyFromPassword,
+                  new GCMParameterSpec(TAG_LENGTH_BIT, iv));
+
+      byte[] plainText = cipher.doFinal(cipherText);
+
+      decryptedText = new String(plainText, UTF_8);
+    }
+    catch (NoSuchAlgorithmException | InvalidKeySpecException |
+           NoSuchPaddingException | InvalidKeyException |
+           InvalidAlgorithmParameterException | IllegalBlockSizeException |
+           BadPaddingException e) {
+      LOGGER.error("Error occurred while decrypting the encrypted text. " +
+                   "Cause: " + e.getCause() + ". Message: " + e.getMessage());
+      LOGGER.debug("Stacktrace: " + e);
     }
+    finally { LOGGER.debug("Finished decrypting the text."); }
 
     return decryptedText;
   }
@@ -150,14 +263,58 @@ class AESEncryptDecryptUtil {
       throws NoSuchAlgorithmException,
       InvalidKeySpecException {
 
+    DerivedKeyId keyId = new DerivedKeyId(password, salt);
+    synchronized(derivedKeyCache) {
+      SecretKey cachedKey = derivedKeyCache.get(keyId);
+      if (cachedKey != null) {
+        return cachedKey;
+      }
+    }
+
     SecretKeyFactory factory = SecretKeyFactory.getInstance(SECRET_KEY_ALGO);
 
     KeySpec spec = new PBEKeySpec(password, salt, ITERATION_COUNT, KEY_LENGTH);
     SecretKey secret =
         new SecretKeySpec(factory.generateSecret(spec).getEncoded(), "AES");
+
+    synchronized(derivedKeyCache) { derivedKeyCache.put(keyId, secret); }
     return secret;
   }
 
+  /**
+   * Discard all the derived keys, e.g. when the const key is changed.
+   */
+ public
+  static void clearDerivedKeyCache() {
+    synchronized(derivedKeyCache) { derivedKeyCache.clear(); }
+    versionedKeys.clear();
+  }
+
+  /**
+   * Return the version 2 key of the const key, deriving it on first use.
+   */
+ private
+  static VersionedKey getVersionedKey(String password)
+      throws NoSuchAlgorithmException,
+      InvalidKeySpecException {
+
+    VersionedKey key = versionedKeys.get(password);
+    if (key == null) {
+      SecretKey secretKey = getAESKeyFromPassword(password.toCharArray(),
+                                                  V2_SALT);
+      byte[] digest = MessageDigest.getInstance("SHA-256")
+                          .digest(secretKey.getEncoded());
+      StringBuilder header = new StringBuilder(V2_PREFIX);
+      for (int i = 0; i < KEY_ID_LENGTH_IN_BYTES; i++) {
+        header.append(String.format("%02x", digest[i]));
+      }
+      header.append(HEADER_SEPARATOR);
+      key = new VersionedKey(header.toString(), secretKey);
+      versionedKeys.put(password, key);
+    }
+    return key;
+  }
+
  private
   static byte[] getRandomNonce(int numBytes) {
     byte[] nonce = new byte[numBytes];
@@ -169,4 +326,51 @@ class AESEncryptDecryptUtil {
   static boolean isTextNotEmpty(String text) {
     return text != null && !text.equals("");
   }
+
+  /**
+   * AES key of the version 2 format with its "v2:keyid:" header.
+   */
+ private
+  static final class VersionedKey {
+
+   final String header;
+   final SecretKey secretKey;
+
+    VersionedKey(String header, SecretKey secretKey) {
+      this.header = header;
+      this.secretKey = secretKey;
+    }
+  }
+
+  /**
+   * Identifies a derived key by the password and salt it was derived from.
+   */
+ private
+  static final class DerivedKeyId {
+
+   private
+    final char[] password;
+   private
+    final byte[] salt;
+   private
+    final int hash;
+
+    DerivedKeyId(char[] password, byte[] salt) {
+      this.password = password.clone();
+      this.salt = salt.clone();
+      this.hash =
+          31 * Arrays.hashCode(this.password) + Arrays.hashCode(this.salt);
+    }
+
+    @Override public int hashCode() { return hash; }
+
+    @Override public boolean equals(Object obj) {
+      if (!(obj instanceof DerivedKeyId)) {
+        return false;
+      }
+      DerivedKeyId other = (DerivedKeyId)obj;
+      return Arrays.equals(salt, other.salt) &&
+          Arrays.equals(password, other.password);
+    }
+  }
 }
@@ -53,4 +53,50 @@ class AESEncryptDecryptUtilTest {
 
     assertNull(encryptedText4);
   }
+
+  @Test public void testDecryptWithCachedDerivedKey() {
+
+    String encryptedText = AESEncryptDecryptUtil.encrypt(password, const_key);
+
+    assertEquals(password,
+                 AESEncryptDecryptUtil.decrypt(encryptedText, const_key));
+    assertEquals(password,
+                 AESEncryptDecryptUtil.decrypt(encryptedText, const_key));
+
+    // Key derived from the same salt but a different const key must not match
+    assertNull(AESEncryptDecryptUtil.decrypt(encryptedText, "other_key"));
+
+    AESEncryptDecryptUtil.clearDerivedKeyCache();
+    assertEquals(password,
+                 AESEncryptDecryptUtil.decrypt(encryptedText, const_key));
+  }
+
+  @Test public void testEncryptUsesVersionedFormat() {
+
+    String encryptedText1 = AESEncryptDecryptUtil.encrypt(password, const_key);
+    String encryptedText2 = AESEncryptDecryptUtil.encrypt(password, const_key);
+
+    assertTrue(encryptedText1.startsWith("v2:"));
+    assertFalse(AESEncryptDecryptUtil.isLegacyFormat(encryptedText1));
+    // Same key id, different IV
+    assertEquals(encryptedText1.substring(0, encryptedText1.indexOf(':', 3)),
+                 encryptedText2.substring(0, encryptedText2.indexOf(':', 3)));
+    assertFalse(encryptedText1.equals(encryptedText2));
+
+    // Key id of another const key does not match
+    assertNull(AESEncryptDecryptUtil.decrypt(encryptedText1, "other_key"));
+
+    // Tampered header is rejected
+    assertNull(AESEncryptDecryptUtil.decrypt(
+        encryptedText1.replaceFirst("v2:........", "v2:00000000"), const_key));
+  }
+
+  @Test public void testDecryptLegacyFormat() {
+
+    String legacyText =
+        "JxMGPXJzc5Hw5FvKP8oObuIJ709YTnyMRZ8d3ygOKwpXrvDgWNwoMD05iydVEIp0HcoNRtY=";
+
+    assertTrue(AESEncryptDecryptUtil.isLegacyFormat(legacyText));
+    assertEquals(password, AESEncryptDecryptUtil.decrypt(legacyText, const_key));
+  }
 }
@@ -29,6 +29,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xml.sax.SAXException;
 
+import com.seagates3.authserver.AuthRequest;
 import com.seagates3.exception.BadRequestException;
 import com.seagates3.exception.DataAccessException;
 import com.seagates3.exception.GrantListFullException;
@@ -62,8 +63,23 @@ class ACLAuthorizer {
       throws ParserConfigurationException,
       SAXException, IOException, BadRequestException, GrantListFullException,
       DataAccessException {
+    AuthRequest request = AuthRequest.of(requestBody);
+    return isAuthorized(requestor, request, request.getS3Action());
+  }
+
+  /**
+   * Evaluates the request for one of its actions with the attached ACL.
+   *
+   * @param s3Action action of the request to authorize.
+   * @return - true if Principal is authorized to perform requested operation
+   */
+ public
+  boolean isAuthorized(Requestor requestor, AuthRequest requestBody,
+                       String s3Action) throws ParserConfigurationException,
+      SAXException, IOException, BadRequestException, GrantListFullException,
+      DataAccessException {
 
-    String encodedACL = requestBody.get("Auth-ACL");
+    String encodedACL = requestBody.getAuthAcl();
     if (encodedACL == null || encodedACL.isEmpty()) {
       String ex = "Bad request. Resource ACL absent in the request.";
       LOGGER.error(ex);
@@ -72,7 +88,7 @@ class ACLAuthorizer {
 
     AccessControlPolicy acp =
         new AccessControlPolicy(BinaryUtil.base64DecodeString(encodedACL));
-    String method = requestBody.get("Method");
+    String method = requestBody.getMethod();
     if (method == null || method.isEmpty()) {
       String ex = "Invalid HTTP method: " + method;
       LOGGER.error(ex);
@@ -81,8 +97,8 @@ class ACLAuthorizer {
     HttpMethod httpMethod = HttpMethod.valueOf(method);
 
     String requiredPermission = ACLPermissionUtil.getACLPermission(
-        httpMethod, requestBody.get("ClientAbsoluteUri"),
-        requestBody.get("ClientQueryParams"));
+        httpMethod, requestBody.getClientAbsoluteUri(),
+        requestBody.getClientQueryParams());
     if (requiredPermission == null) {
       String ex = "Bad request. HTTP method or Permission unknown.";
       LOGGER.error(ex);
@@ -91,7 +107,7 @@ class ACLAuthorizer {
     if (requestor != null) {
       boolean isAuthorized = acp.getAccessControlList().isPermissionAvailable(
           requestor.getAccount(), requiredPermission,
-          acp.getOwner().getCanonicalId(), true, requestBody.get("S3Action"));
+          acp.getOwner().getCanonicalId(), true, s3Action);
       if (!isAuthorized) {
         LOGGER.debug("No Grants found in ACL for requested account");
         return false;
@@ -45,6 +45,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xml.sax.SAXException;
 
+import com.seagates3.authserver.AuthRequest;
 import com.seagates3.authserver.AuthServerConfig;
 import com.seagates3.dao.ldap.GroupImpl;
 import com.seagates3.exception.BadRequestException;
@@ -196,7 +197,7 @@ class AccessControlList {
       */
  public
   String getOwner(Map<String, String> requestBody) {
-    String encodedACL = requestBody.get("Auth-ACL");
+    String encodedACL = AuthRequest.of(requestBody).getAuthAcl();
     String owner = null;
     try {
       if (encodedACL == null || encodedACL.isEmpty()) {
@@ -20,19 +20,13 @@
 
 package com.seagates3.authentication;
 
-import com.seagates3.authserver.AuthServerConfig;
 import com.seagates3.exception.InvalidTokenException;
 
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.HttpHeaders;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.TreeMap;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public abstract class AWSRequestParser {
 
@@ -123,24 +117,11 @@ public abstract class AWSRequestParser {
      * set bucket name if it is.
      */
     private void parseHostHeader(ClientRequestToken clientRequestToken, String host) {
-        List<String> uriEndpoints = new ArrayList<>();
-        List<String> s3Endpoints = Arrays.asList(AuthServerConfig.getEndpoints());
-        String patternString;
-        Pattern pattern;
-        Matcher matcher;
-
-        uriEndpoints.add(AuthServerConfig.getDefaultEndpoint());
-        uriEndpoints.addAll(s3Endpoints);
-
-        for (String endPoint : uriEndpoints) {
-            patternString = String.format("(^.*)(\\.)(%s)([\\d:]*$)", endPoint);
-            pattern = Pattern.compile(patternString);
-            matcher = pattern.matcher(host);
-            if (matcher.matches()) {
-                clientRequestToken.setVirtualHost(Boolean.TRUE);
-                clientRequestToken.setBucketName(matcher.group(1));
-                return;
-            }
+        String bucketName = EndpointMatcher.getInstance().bucketName(host);
+        if (bucketName != null) {
+            clientRequestToken.setVirtualHost(Boolean.TRUE);
+            clientRequestToken.setBucketName(bucketName);
+            return;
         }
         clientRequestToken.setVirtualHost(Boolean.FALSE);
     }
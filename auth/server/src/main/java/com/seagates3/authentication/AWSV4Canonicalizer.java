@@ -0,0 +1,662 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authentication;
+
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.seagates3.exception.InvalidTokenException;
+import com.seagates3.util.BinaryUtil;
+
+/**
+ * Thread confined engine which verifies AWS V4 signatures without building
+ * the canonical request and the string to sign as strings.
+ *
+ * The canonical request is fed directly into a SHA-256 digest and the string
+ * to sign into a HMAC-SHA256, both owned by the engine and reused across
+ * requests. The computed signature is compared against the raw bytes of the
+ * client signature in constant time.
+ *
+ * The canonical form is identical to the one built by earlier versions of
+ * AWSV4Sign, including the handling of malformed query parameters.
+ */
+final class AWSV4Canonicalizer {
+
+ private
+  static final Logger LOGGER =
+      LoggerFactory.getLogger(AWSV4Canonicalizer.class.getName());
+
+ private
+  static final String HMAC_SHA256 = "HmacSHA256";
+ private
+  static final String STREAMING_AWS4_HMAC_SHA256_PAYLOAD =
+      "STREAMING-AWS4-HMAC-SHA256-PAYLOAD";
+ private
+  static final String CHUNK_SIGNING_ALGORITHM = "AWS4-HMAC-SHA256-PAYLOAD";
+ private
+  static final String HASH_EMPTY_INPUT =
+      "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+
+ private
+  static final int HASH_LENGTH = 32;
+ private
+  static final byte[] HEX_CHARS =
+      "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+ private
+  static final ThreadLocal<AWSV4Canonicalizer> ENGINE =
+      new ThreadLocal<AWSV4Canonicalizer>() {
+    @Override protected AWSV4Canonicalizer initialValue() {
+      return new AWSV4Canonicalizer();
+    }
+  };
+
+ private
+  final MessageDigest sha256;
+ private
+  final Mac hmac;
+ private
+  byte[] hmacKey;
+ private
+  boolean toHmac;
+
+ private
+  final byte[] buffer = new byte[512];
+ private
+  int bufferLength;
+ private
+  final byte[] hash = new byte[HASH_LENGTH];
+ private
+  final byte[] payloadHash = new byte[2 * HASH_LENGTH];
+ private
+  final byte[] signature = new byte[HASH_LENGTH];
+
+  // Query parameters as [keyStart, keyEnd, valueStart, valueEnd] and their
+  // sorted order.
+ private
+  int[] params = new int[64];
+ private
+  int[] order = new int[16];
+
+ private
+  String lastSignedHeaders;
+ private
+  String[] signedHeaderNames;
+
+ private
+  final StringBuilder traceBuilder = new StringBuilder();
+ private
+  StringBuilder trace;
+
+ private
+  AWSV4Canonicalizer() {
+    try {
+      sha256 = MessageDigest.getInstance("SHA-256");
+    }
+    catch (NoSuchAlgorithmException ex) {
+      LOGGER.error("Algorithm SHA-256 is not available.");
+      throw new IllegalStateException(ex);
+    }
+    try {
+      hmac = Mac.getInstance(HMAC_SHA256);
+    }
+    catch (NoSuchAlgorithmException ex) {
+      LOGGER.error("Algorithm HmacSHA256 is not available.");
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  /**
+   * @return the engine of the calling thread.
+   */
+  static AWSV4Canonicalizer get() { return ENGINE.get(); }
+
+  /**
+   * Verify the signature of a regular request, or the seed signature of a
+   * chunked upload when chunkedSeed is true.
+   */
+  boolean verifyRequest(ClientRequestToken clientRequestToken,
+                        byte[] signingKey,
+                        boolean chunkedSeed) throws InvalidTokenException {
+    trace = LOGGER.isDebugEnabled() ? traceBuilder : null;
+    digestCanonicalRequest(clientRequestToken, chunkedSeed);
+    if (trace != null) {
+      LOGGER.debug("Canonical request- " + trace);
+    }
+
+    if (!startHmac(signingKey)) {
+      return false;
+    }
+    append(clientRequestToken.getSigningAlgorithm());
+    append('\n');
+    append(clientRequestToken.getRequestHeaders().get("x-amz-date"));
+    append('\n');
+    append(clientRequestToken.getCredentialScope());
+    append('\n');
+    appendHex(hash);
+    if (trace != null) {
+      LOGGER.debug("String to sign- " + trace);
+    }
+
+    return finishHmac(clientRequestToken.getSignature());
+  }
+
+  /**
+   * Verify the signature of a chunk in a chunked upload request.
+   */
+  boolean verifyChunk(ClientRequestToken clientRequestToken, byte[] signingKey,
+                      String chunkSignature) {
+    Map<String, String> requestHeaders = clientRequestToken.getRequestHeaders();
+    String hashCurrentChunk = requestHeaders.get("x-amz-content-sha256");
+    if (hashCurrentChunk != null &&
+        hashCurrentChunk.startsWith(STREAMING_AWS4_HMAC_SHA256_PAYLOAD)) {
+      int start = hashCurrentChunk.indexOf(',') + 1;
+      int end = start == 0 ? start : hashCurrentChunk.indexOf(',', start);
+      hashCurrentChunk = hashCurrentChunk.substring(
+          start, end < 0 ? hashCurrentChunk.length() : end);
+    }
+
+    return verifyChunk(signingKey, requestHeaders.get("x-amz-date"),
+                       clientRequestToken.getCredentialScope(),
+                       requestHeaders.get("previous-signature-sha256"),
+                       hashCurrentChunk, chunkSignature);
+  }
+
+  /**
+   * Verify the signature of a chunk given the signature of the previous
+   * chunk, or the seed signature for the first chunk.
+   *
+   * String to sign- "AWS4-HMAC-SHA256-PAYLOAD" + '\n' + RequestDate + '\n' +
+   * CredentialScope + '\n' + PreviousSignature + '\n' + HashOfEmptyInput +
+   * '\n' + HashOfCurrentChunk
+   */
+  boolean verifyChunk(byte[] signingKey, String requestDate,
+                      String credentialScope, String previousSignature,
+                      String chunkHash, String chunkSignature) {
+    trace = LOGGER.isDebugEnabled() ? traceBuilder : null;
+
+    if (!startHmac(signingKey)) {
+      return false;
+    }
+    append(CHUNK_SIGNING_ALGORITHM);
+    append('\n');
+    append(requestDate);
+    append('\n');
+    append(credentialScope);
+    append('\n');
+    append(previousSignature);
+    append('\n');
+    append(HASH_EMPTY_INPUT);
+    append('\n');
+    append(chunkHash);
+    if (trace != null) {
+      LOGGER.debug("String to sign- " + trace);
+    }
+
+    return finishHmac(chunkSignature);
+  }
+
+  /**
+   * @return the canonical request of the client request. Used for debugging
+   *         and unit tests, verification does not build it.
+   */
+  String canonicalRequest(ClientRequestToken clientRequestToken,
+                          boolean chunkedSeed) throws InvalidTokenException {
+    trace = traceBuilder;
+    digestCanonicalRequest(clientRequestToken, chunkedSeed);
+    String canonicalRequest = trace.toString();
+    trace = null;
+    return canonicalRequest;
+  }
+
+  /**
+   * HTTPRequestMethod + '\n' + CanonicalURI + '\n' + CanonicalQueryString +
+   * '\n' + CanonicalHeaders + '\n' + SignedHeaders + '\n' + HashedPayload
+   *
+   * The hash of the canonical request is left in the hash buffer.
+   */
+ private
+  void digestCanonicalRequest(ClientRequestToken clientRequestToken,
+                              boolean chunkedSeed)
+      throws InvalidTokenException {
+    if (!chunkedSeed) {
+      hashPayload(clientRequestToken);
+    }
+
+    sha256.reset();
+    toHmac = false;
+    bufferLength = 0;
+    if (trace != null) {
+      trace.setLength(0);
+    }
+
+    append(clientRequestToken.getHttpMethod());
+    append('\n');
+    append(clientRequestToken.getUri());
+    append('\n');
+    appendCanonicalQuery(clientRequestToken.getQuery());
+    append('\n');
+    appendCanonicalHeaders(clientRequestToken);
+    append('\n');
+    append(clientRequestToken.getSignedHeaders());
+    append('\n');
+    if (chunkedSeed) {
+      append(STREAMING_AWS4_HMAC_SHA256_PAYLOAD);
+    } else {
+      String contentSha256 =
+          clientRequestToken.getRequestHeaders().get("x-amz-content-sha256");
+      if (contentSha256 != null) {
+        append(contentSha256);
+      } else {
+        appendAscii(payloadHash);
+      }
+    }
+
+    flush();
+    digestInto(hash);
+  }
+
+  /**
+   * Lowercase(HexEncode(SHA256(requestPayload))), unless the client has sent
+   * the hash in x-amz-content-sha256.
+   */
+ private
+  void hashPayload(ClientRequestToken clientRequestToken) {
+    if (clientRequestToken.getRequestHeaders().get("x-amz-content-sha256") !=
+        null) {
+      return;
+    }
+
+    String payload = clientRequestToken.getRequestPayload();
+    sha256.reset();
+    toHmac = false;
+    bufferLength = 0;
+    StringBuilder savedTrace = trace;
+    trace = null;
+    if (payload != null) {
+      if (isAscii(payload)) {
+        append(payload);
+        flush();
+      } else {
+        // The payload has always been hashed in the platform charset.
+        sha256.update(payload.getBytes());
+      }
+    }
+    trace = savedTrace;
+
+    digestInto(hash);
+    for (int i = 0, j = 0; i < HASH_LENGTH; i++) {
+      payloadHash[j++] = HEX_CHARS[(hash[i] >>> 4) & 0xf];
+      payloadHash[j++] = HEX_CHARS[hash[i] & 0xf];
+    }
+  }
+
+ private
+  void digestInto(byte[] out) {
+    try {
+      sha256.digest(out, 0, HASH_LENGTH);
+    }
+    catch (DigestException ex) {
+      // The buffer always fits a SHA-256 digest.
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  /**
+   * Query parameters sorted by name, a parameter repeated in the query keeps
+   * its last value. Names and values are already URL encoded by S3 server.
+   *
+   * Malformed parameters are treated the way the earlier string split based
+   * implementation did, i.e. trailing '=' are ignored and a parameter with
+   * more than one '=' has an empty value.
+   */
+ private
+  void appendCanonicalQuery(String query) {
+    if (query == null) {
+      return;
+    }
+
+    int end = query.length();
+    while (end > 0 && query.charAt(end - 1) == '&') {
+      end--;
+    }
+
+    int count = 0;
+    int start = 0;
+    while (start <= end && end > 0) {
+      int amp = query.indexOf('&', start);
+      if (amp < 0 || amp > end) {
+        amp = end;
+      }
+      addParam(query, count++, start, amp);
+      start = amp + 1;
+    }
+
+    // Stable insertion sort, parameters are few.
+    for (int i = 0; i < count; i++) {
+      int param = i;
+      int j = i;
+      while (j > 0 && compareKeys(query, order[j - 1], param) > 0) {
+        order[j] = order[j - 1];
+        j--;
+      }
+      order[j] = param;
+    }
+
+    boolean first = true;
+    for (int i = 0; i < count; i++) {
+      if (i + 1 < count && compareKeys(query, order[i], order[i + 1]) == 0) {
+        continue;
+      }
+      if (!first) {
+        append('&');
+      }
+      first = false;
+      int p = order[i] * 4;
+      append(query, params[p], params[p + 1]);
+      append('=');
+      append(query, params[p + 2], params[p + 3]);
+    }
+  }
+
+ private
+  void addParam(String query, int index, int start, int end) {
+    if (params.length < (index + 1) * 4) {
+      params = Arrays.copyOf(params, params.length * 2);
+      order = Arrays.copyOf(order, order.length * 2);
+    }
+
+    while (end > start && query.charAt(end - 1) == '=') {
+      end--;
+    }
+    int keyEnd = end;
+    int valueStart = end;
+    int valueEnd = end;
+    int eq = query.indexOf('=', start);
+    if (eq >= 0 && eq < end) {
+      keyEnd = eq;
+      int next = query.indexOf('=', eq + 1);
+      if (next < 0 || next >= end) {
+        valueStart = eq + 1;
+      }
+    }
+
+    int p = index * 4;
+    params[p] = start;
+    params[p + 1] = keyEnd;
+    params[p + 2] = valueStart;
+    params[p + 3] = valueEnd;
+  }
+
+ private
+  int compareKeys(String query, int param1, int param2) {
+    int start1 = params[param1 * 4], end1 = params[param1 * 4 + 1];
+    int start2 = params[param2 * 4], end2 = params[param2 * 4 + 1];
+    int length1 = end1 - start1, length2 = end2 - start2;
+    int length = Math.min(length1, length2);
+    for (int i = 0; i < length; i++) {
+      char c1 = query.charAt(start1 + i);
+      char c2 = query.charAt(start2 + i);
+      if (c1 != c2) {
+        return c1 - c2;
+      }
+    }
+    return length1 - length2;
+  }
+
+  /**
+   * CanonicalHeadersEntry = HeaderName + ':' + Trim(HeaderValue) + '\n' for
+   * each signed header.
+   */
+ private
+  void appendCanonicalHeaders(ClientRequestToken clientRequestToken)
+      throws InvalidTokenException {
+    Map<String, String> requestHeaders = clientRequestToken.getRequestHeaders();
+
+    for (String s : splitSignedHeaders(clientRequestToken.getSignedHeaders())) {
+      String headerValue = requestHeaders.get(s);
+      if (headerValue == null) {
+        if (s.equalsIgnoreCase("connection")) {
+          append("connection:Keep-Alive\n");
+          continue;
+        }
+
+        String errMsg =
+            "Signed header :" + s + " is not found in Request header list";
+        LOGGER.error(errMsg);
+        throw new InvalidTokenException(errMsg);
+      }
+
+      int start = 0;
+      int end = headerValue.length();
+      while (start < end && headerValue.charAt(start) <= ' ') {
+        start++;
+      }
+      while (end > start && headerValue.charAt(end - 1) <= ' ') {
+        end--;
+      }
+
+      if (start == end && s.equalsIgnoreCase("content-type")) {
+        /*
+         * Strangely, the aws .net sdk doesn't send the content type.
+         * Hence the content type is hard coded.
+         */
+        append("content-type:\n");
+      } else {
+        append(s);
+        append(':');
+        append(headerValue, start, end);
+        append('\n');
+      }
+    }
+  }
+
+  /**
+   * Clients sign the same headers on every request, so the split of the last
+   * signed headers is reused.
+   */
+ private
+  String[] splitSignedHeaders(String signedHeaders) {
+    if (signedHeaderNames == null || !signedHeaders.equals(lastSignedHeaders)) {
+      signedHeaderNames = signedHeaders.split(";");
+      lastSignedHeaders = signedHeaders;
+    }
+    return signedHeaderNames;
+  }
+
+ private
+  boolean startHmac(byte[] signingKey) {
+    if (signingKey == null) {
+      return false;
+    }
+
+    if (signingKey != hmacKey) {
+      try {
+        hmac.init(new SecretKeySpec(signingKey, HMAC_SHA256));
+      }
+      catch (InvalidKeyException | IllegalArgumentException ex) {
+        hmacKey = null;
+        return false;
+      }
+      hmacKey = signingKey;
+    } else {
+      hmac.reset();
+    }
+
+    toHmac = true;
+    bufferLength = 0;
+    if (trace != null) {
+      trace.setLength(0);
+    }
+    return true;
+  }
+
+  /**
+   * Compare the HMAC with the hex encoded signature sent by the client. All
+   * the bytes are compared so that the time taken does not depend on the
+   * position of the first mismatch.
+   */
+ private
+  boolean finishHmac(String clientSignature) {
+    flush();
+    try {
+      hmac.doFinal(signature, 0);
+    }
+    catch (ShortBufferException ex) {
+      // The signature buffer always fits a HMAC-SHA256.
+      throw new IllegalStateException(ex);
+    }
+
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Request signature- " + clientSignature);
+      LOGGER.debug("Calculated signature- " +
+                   BinaryUtil.toHex(signature));
+    }
+
+    if (clientSignature == null ||
+        clientSignature.length() != 2 * HASH_LENGTH) {
+      return false;
+    }
+
+    int diff = 0;
+    for (int i = 0; i < HASH_LENGTH; i++) {
+      int high = hexValue(clientSignature.charAt(2 * i));
+      int low = hexValue(clientSignature.charAt(2 * i + 1));
+      diff |= ((high << 4) | low) ^ (signature[i] & 0xff);
+    }
+    return diff == 0;
+  }
+
+  /**
+   * @return value of a lower case hex digit, or a value which can not match
+   *         any byte otherwise.
+   */
+ private
+  static int hexValue(char c) {
+    if (c >= '0' && c <= '9') {
+      return c - '0';
+    }
+    if (c >= 'a' && c <= 'f') {
+      return c - 'a' + 10;
+    }
+    return 0x100;
+  }
+
+ private
+  static boolean isAscii(String s) {
+    for (int i = 0; i < s.length(); i++) {
+      if (s.charAt(i) >= 0x80) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Append the text, null is appended as "null" like String.format does.
+   */
+ private
+  void append(String s) {
+    if (s == null) {
+      s = "null";
+    }
+    append(s, 0, s.length());
+  }
+
+ private
+  void append(String s, int start, int end) {
+    if (trace != null) {
+      trace.append(s, start, end);
+    }
+
+    for (int i = start; i < end; i++) {
+      char c = s.charAt(i);
+      if (c >= 0x80) {
+        flush();
+        update(s.substring(i, end).getBytes(StandardCharsets.UTF_8));
+        return;
+      }
+      if (bufferLength == buffer.length) {
+        flush();
+      }
+      buffer[bufferLength++] = (byte)c;
+    }
+  }
+
+ private
+  void append(char c) {
+    if (trace != null) {
+      trace.append(c);
+    }
+    if (bufferLength == buffer.length) {
+      flush();
+    }
+    buffer[bufferLength++] = (byte)c;
+  }
+
+ private
+  void appendAscii(byte[] chars) {
+    for (byte c : chars) {
+      append((char)c);
+    }
+  }
+
+ private
+  void appendHex(byte[] bytes) {
+    for (byte b : bytes) {
+      append((char)HEX_CHARS[(b >>> 4) & 0xf]);
+      append((char)HEX_CHARS[b & 0xf]);
+    }
+  }
+
+ private
+  void flush() {
+    if (bufferLength > 0) {
+      if (toHmac) {
+        hmac.update(buffer, 0, bufferLength);
+      } else {
+        sha256.update(buffer, 0, bufferLength);
+      }
+      bufferLength = 0;
+    }
+  }
+
+ private
+  void update(byte[] bytes) {
+    if (toHmac) {
+      hmac.update(bytes);
+    } else {
+      sha256.update(bytes);
+    }
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authentication;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.seagates3.response.ServerResponse;
+import com.seagates3.response.generator.AuthenticationResponseGenerator;
+
+/**
+ * Serve AuthenticateChunks, which verifies one or more chunks of a chunked
+ * upload in a chunk signing session opened by its seed request.
+ *
+ * Request parameters-
+ *   ChunkSessionId - session id returned by AuthenticateUser for the seed,
+ *                    which opens a session when sent with ChunkSession=true.
+ *   ChunkHash.N - hex encoded SHA-256 of the Nth chunk, N starts from 1.
+ *   ChunkSignature.N - signature of the Nth chunk.
+ */
+public
+class ChunkSignatureValidator {
+
+ private
+  final Logger LOGGER =
+      LoggerFactory.getLogger(ChunkSignatureValidator.class.getName());
+
+ public
+  ServerResponse validate(Map<String, String> requestBody) {
+    AuthenticationResponseGenerator responseGenerator =
+        new AuthenticationResponseGenerator();
+
+    String sessionId = requestBody.get("ChunkSessionId");
+    List<String> chunkHashes = new ArrayList<>();
+    List<String> chunkSignatures = new ArrayList<>();
+    for (int i = 1;; i++) {
+      String chunkHash = requestBody.get("ChunkHash." + i);
+      String chunkSignature = requestBody.get("ChunkSignature." + i);
+      if (chunkHash == null || chunkSignature == null) {
+        break;
+      }
+      chunkHashes.add(chunkHash);
+      chunkSignatures.add(chunkSignature);
+    }
+
+    if (sessionId == null || chunkHashes.isEmpty()) {
+      return responseGenerator.missingParameter();
+    }
+
+    ChunkSigningSessionCache sessionCache =
+        ChunkSigningSessionCache.getInstance();
+    ChunkSigningSession session = sessionCache.get(sessionId);
+    if (session == null) {
+      LOGGER.debug("Chunk signing session " + sessionId + " is not found.");
+      return responseGenerator.invalidArgument(
+          "Chunk signing session is not found or has expired.");
+    }
+
+    int verified =
+        session.verify(chunkHashes.toArray(new String[chunkHashes.size()]),
+                       chunkSignatures.toArray(new String[chunkHashes.size()]));
+    if (verified < chunkHashes.size()) {
+      LOGGER.debug("Signature of chunk " + (verified + 1) +
+                   " does not match.");
+      sessionCache.close(sessionId);
+      return responseGenerator.signatureDoesNotMatch();
+    }
+
+    sessionCache.touch(sessionId, session);
+    return responseGenerator.generateAuthenticatedChunksResponse(
+        verified, session.getPreviousSignature());
+  }
+}
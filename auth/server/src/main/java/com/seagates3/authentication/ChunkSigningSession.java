@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authentication;
+
+/**
+ * State of a chunked upload after its seed signature is verified.
+ *
+ * Every chunk signature is chained to the signature of the previous chunk,
+ * so the session holds the signing key, the credential scope and the last
+ * verified signature. Verifying the next chunk is then a single HMAC.
+ */
+public
+class ChunkSigningSession {
+
+ private
+  final String accessKeyId;
+ private
+  final String date;
+ private
+  final String region;
+ private
+  final String service;
+ private
+  final String requestDate;
+ private
+  final String credentialScope;
+ private
+  final byte[] signingKey;
+ private
+  String previousSignature;
+
+  ChunkSigningSession(ClientRequestToken clientRequestToken,
+                      byte[] signingKey) {
+    this.accessKeyId = clientRequestToken.getAccessKeyId();
+    this.date = clientRequestToken.getDate();
+    this.region = clientRequestToken.getRegion();
+    this.service = clientRequestToken.getService();
+    this.requestDate = clientRequestToken.getRequestHeaders().get("x-amz-date");
+    this.credentialScope = clientRequestToken.getCredentialScope();
+    this.signingKey = signingKey;
+    this.previousSignature = clientRequestToken.getSignature();
+  }
+
+  /**
+   * Verify the chunks in upload order. The session moves past every chunk
+   * which is verified, and stops at the first chunk which is not.
+   *
+   * @param chunkHashes hex encoded SHA-256 of the chunks.
+   * @param chunkSignatures signatures of the chunks.
+   * @return number of chunks verified.
+   */
+ public
+  synchronized int verify(String[] chunkHashes, String[] chunkSignatures) {
+    AWSV4Canonicalizer canonicalizer = AWSV4Canonicalizer.get();
+    for (int i = 0; i < chunkHashes.length; i++) {
+      if (!canonicalizer.verifyChunk(signingKey, requestDate, credentialScope,
+                                     previousSignature, chunkHashes[i],
+                                     chunkSignatures[i])) {
+        return i;
+      }
+      previousSignature = chunkSignatures[i];
+    }
+    return chunkHashes.length;
+  }
+
+  /**
+   * @return signature of the last verified chunk.
+   */
+ public
+  synchronized String getPreviousSignature() { return previousSignature; }
+
+  /**
+   * A session is usable only while the signing key is still cached for its
+   * access key. The cache drops the keys when the access key is deleted or
+   * modified.
+   */
+  boolean isValid() {
+    return SigningKeyCache.getInstance().contains(accessKeyId, date, region,
+                                                  service, signingKey);
+  }
+}
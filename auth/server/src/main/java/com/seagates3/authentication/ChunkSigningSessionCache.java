@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authentication;
+
+import java.util.concurrent.TimeUnit;
+
+import com.seagates3.cache.ConcurrentCache;
+import com.seagates3.util.BinaryUtil;
+
+/**
+ * Open chunk signing sessions, by session id.
+ *
+ * A session is dropped when its upload has not verified a chunk for a while,
+ * when a chunk fails verification or when the signing key of its access key
+ * is invalidated. S3 server falls back to per chunk authentication when a
+ * session is not found.
+ */
+public
+class ChunkSigningSessionCache {
+
+ private
+  static final int MAX_SESSIONS = 10000;
+ private
+  static final long IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(15);
+
+ private
+  static final ChunkSigningSessionCache instance =
+      new ChunkSigningSessionCache();
+
+ private
+  final ConcurrentCache<String, ChunkSigningSession> cache =
+      new ConcurrentCache<>(MAX_SESSIONS, IDLE_TIMEOUT_MILLIS);
+
+ public
+  static ChunkSigningSessionCache getInstance() { return instance; }
+
+  /**
+   * Open a session for the chunked upload whose seed signature is verified.
+   *
+   * @return id of the session.
+   */
+  String open(ClientRequestToken clientRequestToken, byte[] signingKey) {
+    String sessionId = BinaryUtil.getAlphaNumericUUID();
+    cache.put(sessionId, new ChunkSigningSession(clientRequestToken,
+                                                 signingKey));
+    return sessionId;
+  }
+
+  /**
+   * @return the session or null if it is not found, has expired or its
+   *         signing key is no more valid.
+   */
+ public
+  ChunkSigningSession get(String sessionId) {
+    if (sessionId == null) {
+      return null;
+    }
+
+    ChunkSigningSession session = cache.get(sessionId);
+    if (session != null && !session.isValid()) {
+      cache.invalidate(sessionId);
+      return null;
+    }
+    return session;
+  }
+
+  /**
+   * Restart the idle timeout of the session.
+   */
+ public
+  void touch(String sessionId, ChunkSigningSession session) {
+    cache.put(sessionId, session);
+  }
+
+ public
+  void close(String sessionId) { cache.invalidate(sessionId); }
+}
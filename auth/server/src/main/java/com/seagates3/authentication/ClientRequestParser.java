@@ -36,12 +36,10 @@ import org.slf4j.LoggerFactory;
 
 public class ClientRequestParser {
 
-    private static final String REQUEST_PARSER_PACKAGE
-            = "com.seagates3.authentication";
-    private static final String AWS_V2_AUTHRORIAZATION_PATTERN
-            = "AWS [A-Za-z0-9-_]+:[a-zA-Z0-9+/=]+";
-    private static final String AWS_V4_AUTHRORIAZATION_PATTERN
-            = "AWS4-HMAC-SHA256[\\w\\W]+";
+    private static final Pattern AWS_V2_AUTHRORIAZATION_PATTERN
+            = Pattern.compile("AWS [A-Za-z0-9-_]+:[a-zA-Z0-9+/=]+");
+    private static final String AWS_V4_AUTHRORIAZATION_PREFIX
+            = "AWS4-HMAC-SHA256";
     private
      ResponseGenerator responseGenerator = new ResponseGenerator();
     private final static Logger LOGGER =
@@ -93,26 +91,20 @@ public class ClientRequestParser {
         }
         LOGGER.debug("authheader is" + authorizationHeader);
 
-        if (authorizationHeader == null ||
-            authorizationHeader.replaceAll("\\s+", "").isEmpty()) {
+        if (authorizationHeader == null || isBlank(authorizationHeader)) {
 
           ServerResponse serverResponse =
               new ResponseGenerator().AccessDenied();
           throw new InvalidArgumentException(serverResponse);
         }
+        awsSigningVersion = getSigningVersion(authorizationHeader);
+
         ClientRequestParser clientRequestParser = new ClientRequestParser();
 
-        clientRequestParser.validateAccessKey(authorizationHeader);
+        clientRequestParser.validateAccessKey(authorizationHeader,
+                                              awsSigningVersion);
         clientRequestParser = null;
-        if (authorizationHeader.matches(AWS_V2_AUTHRORIAZATION_PATTERN)) {
-            awsSigningVersion = ClientRequestToken.AWSSigningVersion.V2;
-        }
-        else if(authorizationHeader.matches(AWS_V4_AUTHRORIAZATION_PATTERN))
-        {
-            awsSigningVersion = ClientRequestToken.AWSSigningVersion.V4;
-        }
-        else
-        {
+        if (awsSigningVersion == null) {
             return null;
         }
 
@@ -125,6 +117,10 @@ public class ClientRequestParser {
               if (awsRequestParser != null) {
                 clientrequesttoken = awsRequestParser.parse(requestBody);
               }
+              if (clientrequesttoken != null) {
+                clientrequesttoken.setChunkSessionRequested(
+                    "true".equalsIgnoreCase(requestBody.get("ChunkSession")));
+              }
             }
             catch (InvalidTokenException ex) {
                 LOGGER.error("Error while parsing request : "+ ex.getMessage());
@@ -145,33 +141,59 @@ public class ClientRequestParser {
     private static AWSRequestParser getAWSRequestParser(
             ClientRequestToken.AWSSigningVersion awsSigningVersion) {
 
-        String signVersion = awsSigningVersion.toString();
-        String awsRequestParserClass = toRequestParserClass(signVersion);
-
-        Class<?> awsRequestParser;
-        Object obj;
-
-        try {
-            awsRequestParser = Class.forName(awsRequestParserClass);
-            obj = awsRequestParser.newInstance();
-
-            return (AWSRequestParser) obj;
-        } catch (ClassNotFoundException | SecurityException ex) {
-          LOGGER.error("Failed to get required class.",
-                       String.format("\"cause\": \"%s\"", ex.getCause()));
-        } catch (IllegalAccessException | IllegalArgumentException | InstantiationException ex) {
-            LOGGER.error("Error occured while creating aws request parser");
-            LOGGER.error(ex.toString());
+        switch (awsSigningVersion) {
+            case V2:
+                return new AWSRequestParserV2();
+            case V4:
+                return new AWSRequestParserV4();
+            default:
+                LOGGER.error("No request parser for signing version "
+                        + awsSigningVersion);
+                return null;
         }
+    }
 
+    /**
+     * Identify the signing version from the authorization header.
+     *
+     * @param authorizationHeader
+     * @return signing version or null if the header is of neither version.
+     */
+    static ClientRequestToken.AWSSigningVersion getSigningVersion(
+            String authorizationHeader) {
+        if (AWS_V2_AUTHRORIAZATION_PATTERN.matcher(authorizationHeader)
+                .matches()) {
+            return ClientRequestToken.AWSSigningVersion.V2;
+        }
+        if (authorizationHeader.length() > AWS_V4_AUTHRORIAZATION_PREFIX.length()
+                && authorizationHeader.startsWith(AWS_V4_AUTHRORIAZATION_PREFIX)) {
+            return ClientRequestToken.AWSSigningVersion.V4;
+        }
         return null;
     }
 
-    private static String toRequestParserClass(String signingVersion) {
-        return String.format("%s.AWSRequestParser%s", REQUEST_PARSER_PACKAGE, signingVersion);
+    /**
+     * @return true if the value has only white space characters.
+     */
+    private static boolean isBlank(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            switch (value.charAt(i)) {
+                case ' ':
+                case '\t':
+                case '\n':
+                case '\013':
+                case '\f':
+                case '\r':
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return true;
     }
 
-    private void validateAccessKey (String authorizationHeader)
+    private void validateAccessKey (String authorizationHeader,
+            ClientRequestToken.AWSSigningVersion awsSigningVersion)
             throws InvalidAccessKeyException, InvalidArgumentException {
 
         ServerResponse serverResponse;
@@ -182,7 +204,7 @@ public class ClientRequestParser {
         //V2 Pattern to match "AWS "
         //AuthorizationHeader of v4 is of type AWS4-HMAC-SHA256 Credential=AK IAJTYX36YCKQSAJT7Q/20190314/US/s3/          aws4_request,SignedHeaders=host;x-amz-content-sha256;x-amz-date,Signature=310b0122f12459dfea171cac82bd          4930626d5a8db695fef6bc7bfd2a30a39ea3
 
-        if (authorizationHeader.matches(AWS_V2_AUTHRORIAZATION_PATTERN)) {
+        if (awsSigningVersion == ClientRequestToken.AWSSigningVersion.V2) {
             tokens = authorizationHeader.split(":");
             subTokens = tokens[0].split(" ");
             if (subTokens.length != 2) {
@@ -190,8 +212,8 @@ public class ClientRequestParser {
                 throw new InvalidArgumentException(serverResponse);
             }
             access_key=subTokens[1];
-        } else if (authorizationHeader.matches(
-                       AWS_V4_AUTHRORIAZATION_PATTERN)) {
+        } else if (awsSigningVersion
+                       == ClientRequestToken.AWSSigningVersion.V4) {
             tokens = authorizationHeader.split(",");
             String[] credTokens;
             subTokens = tokens[0].split("=");
@@ -117,6 +117,18 @@ public class ClientRequestToken {
      */
     String bucketName;
 
+    /*
+     * Id of the chunk signing session opened by a verified seed request of
+     * a chunked upload.
+     */
+    String chunkSessionId;
+
+    /*
+     * True if a chunk signing session is to be opened when the seed request
+     * of a chunked upload is verified.
+     */
+    boolean chunkSessionRequested;
+
     /*
      * Return the Access Key Id of the requestor.
      */
@@ -349,4 +361,20 @@ public class ClientRequestToken {
     public void setBucketName(String bucketName) {
         this.bucketName = bucketName;
     }
+
+    public String getChunkSessionId() {
+        return chunkSessionId;
+    }
+
+    public void setChunkSessionId(String chunkSessionId) {
+        this.chunkSessionId = chunkSessionId;
+    }
+
+    public boolean isChunkSessionRequested() {
+        return chunkSessionRequested;
+    }
+
+    public void setChunkSessionRequested(boolean chunkSessionRequested) {
+        this.chunkSessionRequested = chunkSessionRequested;
+    }
 }
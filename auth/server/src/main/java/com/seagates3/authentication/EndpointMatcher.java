@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authentication;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.seagates3.authserver.AuthServerConfig;
+
+/**
+ * Identify virtual hosted-style requests from the host header.
+ *
+ * A host is virtual hosted-style when it is of the form
+ * "<bucket>.<endpoint>[:port]", where endpoint is the default endpoint or one
+ * of the s3 endpoints. Endpoints are tried in that order and the first match
+ * wins. The endpoint list is read from the server configuration once and
+ * reused until the configuration is reloaded.
+ */
+public
+class EndpointMatcher {
+
+ private
+  static volatile EndpointMatcher instance;
+
+ private
+  final String[] endpoints;
+
+  EndpointMatcher(String defaultEndpoint, String[] s3Endpoints) {
+    List<String> uriEndpoints = new ArrayList<>();
+    if (defaultEndpoint != null) {
+      uriEndpoints.add(defaultEndpoint);
+    }
+    if (s3Endpoints != null) {
+      for (String endpoint : s3Endpoints) {
+        if (endpoint != null) {
+          uriEndpoints.add(endpoint);
+        }
+      }
+    }
+    endpoints = uriEndpoints.toArray(new String[uriEndpoints.size()]);
+  }
+
+  /**
+   * @return matcher for the endpoints of the current server configuration.
+   */
+ public
+  static EndpointMatcher getInstance() {
+    EndpointMatcher matcher = instance;
+    if (matcher == null) {
+      matcher = new EndpointMatcher(AuthServerConfig.getDefaultEndpoint(),
+                                    AuthServerConfig.getEndpoints());
+      instance = matcher;
+    }
+    return matcher;
+  }
+
+  /**
+   * Drop the endpoints read from the configuration. Call this whenever the
+   * server configuration is (re)loaded.
+   */
+ public
+  static void reset() { instance = null; }
+
+  /**
+   * @return bucket name if the host is virtual hosted-style, else null.
+   */
+ public
+  String bucketName(String host) {
+    if (host == null) {
+      return null;
+    }
+
+    int portStart = host.length();
+    while (portStart > 0 && isPortChar(host.charAt(portStart - 1))) {
+      portStart--;
+    }
+
+    for (String endpoint : endpoints) {
+      int bucketEnd = bucketEnd(host, portStart, endpoint);
+      if (bucketEnd >= 0) {
+        return host.substring(0, bucketEnd);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * The endpoint has to end within the trailing port characters of the host
+   * and be preceded by a '.'. The rightmost such position gives the longest
+   * bucket name.
+   *
+   * @return index of the '.' separating bucket and endpoint, or -1.
+   */
+ private
+  static int bucketEnd(String host, int portStart, String endpoint) {
+    int length = endpoint.length();
+    for (int end = host.length(); end >= portStart; end--) {
+      int dot = end - length - 1;
+      if (dot < 0) {
+        break;
+      }
+      if (host.charAt(dot) == '.' &&
+          host.regionMatches(dot + 1, endpoint, 0, length)) {
+        return dot;
+      }
+    }
+    return -1;
+  }
+
+ private
+  static boolean isPortChar(char c) {
+    return (c >= '0' && c <= '9') || c == ':';
+  }
+}
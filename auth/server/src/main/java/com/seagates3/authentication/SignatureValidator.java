@@ -20,15 +20,9 @@
 
 package com.seagates3.authentication;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
-import java.util.Date;
 import java.util.Map;
-import java.util.TimeZone;
 import java.util.concurrent.TimeUnit;
 
-import org.joda.time.DateTime;
 import com.seagates3.exception.InvalidTokenException;
 import com.seagates3.model.Requestor;
 import com.seagates3.response.ServerResponse;
@@ -101,7 +95,7 @@ public class SignatureValidator {
       Map<String, String> requestHeaders =
           clientRequestToken.getRequestHeaders();
       String requestDateString;
-      Date requestDate = null;
+      long requestTime;
       boolean isRequestInSkewTime = false, isValidDate = false;
 
       // Fetch header values from request
@@ -109,32 +103,28 @@ public class SignatureValidator {
         requestDateString = requestHeaders.get("x-amz-date");
         // Check for ISO8601 date format as per aws v4
         if (requestDateString.endsWith("Z")) {
-          requestDate = DateUtil.parseDateString(requestDateString,
-                                                 "yyyyMMdd'T'HHmmss'Z'");
+          requestTime = DateUtil.parseAmzDate(requestDateString);
         } else {  // Get GMT date header
-          requestDate = DateUtil.parseDateString(requestDateString,
-                                                 "EEE, dd MMM yyyy HH:mm:ss");
+          requestTime = DateUtil.parseRfc1123Date(requestDateString);
         }
       } else {  // Get GMT date header
         requestDateString = requestHeaders.get("Date");
-        requestDate = DateUtil.parseDateString(requestDateString,
-                                               "EEE, dd MMM yyyy HH:mm:ss");
+        requestTime = DateUtil.parseRfc1123Date(requestDateString);
       }
       // Handle Invalid date or Empty date check.
-      if (requestDate == null) {
+      if (requestTime == DateUtil.INVALID_TIME) {
         LOGGER.error("Invalid date received in signature header.");
         return responseGenerator.invalidSignatureDate();
       }
 
       // Handle request timestamp and s3 server timestamp difference check
-      DateTime currentDateTime = DateUtil.getCurrentDateTime();
-      long timeInterval =
-          Math.abs(currentDateTime.getMillis() - requestDate.getTime());
+      long currentTime = DateUtil.currentTimeMillis();
+      long timeInterval = Math.abs(currentTime - requestTime);
       long diffInMinutes =
           TimeUnit.MINUTES.convert(timeInterval, TimeUnit.MILLISECONDS);
       if (diffInMinutes <= 15) {
         isRequestInSkewTime = true;
-      } else if (isRequestDateBeforeEpochDate(requestDate)) {
+      } else if (requestTime < 0) {
         // If request time stamp is before epoch time then returns
         // InvalidSignatureDate
         LOGGER.error("Request date timestamp received is before epoch date.");
@@ -144,13 +134,13 @@ public class SignatureValidator {
             "Request date timestamp received does not match with server " +
             "timestamp.");
         return responseGenerator.requestTimeTooSkewed(
-            requestDateString, currentDateTime.toString());
+            requestDateString, DateUtil.toISO8601Format(currentTime));
       }
 
       // Handle Signature v4 credential scope date check
       if (awsSign instanceof AWSV4Sign) {
         isValidDate = compareCredentialScopeDate(clientRequestToken.getDate(),
-                                                 requestDate);
+                                                 requestTime);
         // If request is within 15 minutes of server time and
         // request date is same as credential scope date
         // then its valid request so send OK response
@@ -171,51 +161,23 @@ public class SignatureValidator {
       LOGGER.error(
           "Request date timestamp received does not match with server " +
           "timestamp.");
-      return responseGenerator.requestTimeTooSkewed(requestDateString,
-                                                    currentDateTime.toString());
+      return responseGenerator.requestTimeTooSkewed(
+          requestDateString, DateUtil.toISO8601Format(currentTime));
     }
 
     /*
-     * Check if given date is before epoch date
-     */
-   private
-    static boolean isRequestDateBeforeEpochDate(Date requestDate) {
-      Calendar cal = Calendar.getInstance();
-      cal.setTime(requestDate);
-      if (cal.get(Calendar.YEAR) < 1970) {
-        return true;
-      }
-      return false;
-    }
-
-    /*
-     * Compare Credential scope date and request date for aws v4 request
+     * Compare Credential scope date and request date (UTC) for aws v4 request
      */
    private
     static boolean compareCredentialScopeDate(String credentailScopeString,
-                                              Date requestDate) {
-
-      Date credentialScopeDate =
-          DateUtil.parseDateString(credentailScopeString, "yyyyMMdd");
-
-      if (requestDate == null || credentialScopeDate == null) {
+                                              long requestTime) {
+      long credentialScopeDay =
+          DateUtil.parseCredentialScopeDate(credentailScopeString);
+      if (credentialScopeDay == DateUtil.INVALID_TIME) {
         return false;
       }
 
-      // Use UTC timezone while comparing the date object
-      Calendar cal1 = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
-      Calendar cal2 = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
-      cal1.setTime(requestDate);
-      cal2.setTime(credentialScopeDate);
-
-      if (cal1.get(Calendar.YEAR) == cal2.get(Calendar.YEAR)) {
-        int dayDifference =
-            cal1.get(Calendar.DAY_OF_YEAR) - cal2.get(Calendar.DAY_OF_YEAR);
-        if (dayDifference == 0) {
-          return true;
-        }
-      }
-      return false;
+      return DateUtil.toEpochDay(requestTime) == credentialScopeDay;
     }
 
     /*
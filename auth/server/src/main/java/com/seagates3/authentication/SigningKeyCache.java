@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authentication;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.seagates3.cache.ConcurrentCache;
+
+/**
+ * Cache of AWS V4 signing keys.
+ *
+ * A signing key only depends on the secret key and the credential scope
+ * (date, region and service), so it changes once a day per access key. Keys
+ * are grouped per access key id so that all of them can be dropped when the
+ * access key is deleted or modified. When a request with a newer date is seen
+ * for an access key, keys older than the previous date are dropped, which
+ * keeps the keys of the previous day usable for requests signed just before
+ * midnight.
+ *
+ * The scope of a key comes from the client, so only keys of verified
+ * signatures are put here, and an access key holds a few scopes at most, the
+ * oldest one being dropped for a new one.
+ */
+public
+class SigningKeyCache {
+
+ private
+  static final int MAX_ACCESS_KEYS = 10000;
+ private
+  static final long EXPIRE_AFTER_WRITE_MILLIS = TimeUnit.DAYS.toMillis(1);
+ private
+  static final int MAX_SCOPES_PER_ACCESS_KEY = 4;
+
+ private
+  static final SigningKeyCache instance = new SigningKeyCache();
+
+ private
+  final ConcurrentCache<String, CredentialKeys> cache =
+      new ConcurrentCache<>(MAX_ACCESS_KEYS, EXPIRE_AFTER_WRITE_MILLIS);
+
+ public
+  static SigningKeyCache getInstance() { return instance; }
+
+  /**
+   * @return the cached signing key or null if it is not cached for this
+   *         secret key.
+   */
+ public
+  byte[] get(String accessKeyId, String secretKey, String date, String region,
+             String service) {
+    if (accessKeyId == null || secretKey == null) {
+      return null;
+    }
+
+    CredentialKeys credentialKeys = cache.get(accessKeyId);
+    if (credentialKeys == null || !credentialKeys.secretKey.equals(secretKey)) {
+      return null;
+    }
+    return credentialKeys.signingKeys.get(scope(date, region, service));
+  }
+
+  /**
+   * @return true if the signing key is still cached for the access key, it
+   *         is not once the access key is deleted or its secret key changes.
+   */
+ public
+  boolean contains(String accessKeyId, String date, String region,
+                   String service, byte[] signingKey) {
+    CredentialKeys credentialKeys = cache.get(accessKeyId);
+    return credentialKeys != null &&
+        Arrays.equals(signingKey, credentialKeys.signingKeys.get(
+                                      scope(date, region, service)));
+  }
+
+  /**
+   * Cache the signing key of a verified signature.
+   */
+ public
+  void put(String accessKeyId, String secretKey, String date, String region,
+           String service, byte[] signingKey) {
+    if (accessKeyId == null || secretKey == null || signingKey == null) {
+      return;
+    }
+
+    CredentialKeys credentialKeys = cache.get(accessKeyId);
+    if (credentialKeys == null || !credentialKeys.secretKey.equals(secretKey)) {
+      credentialKeys = new CredentialKeys(secretKey);
+      cache.put(accessKeyId, credentialKeys);
+    }
+    credentialKeys.add(date, scope(date, region, service), signingKey);
+  }
+
+  /**
+   * Drop all the signing keys of the access key.
+   */
+ public
+  void invalidate(String accessKeyId) { cache.invalidate(accessKeyId); }
+
+ public
+  void invalidateAll() { cache.invalidateAll(); }
+
+ private
+  static String scope(String date, String region, String service) {
+    return date + "/" + region + "/" + service;
+  }
+
+ private
+  static final class CredentialKeys {
+
+   final String secretKey;
+   final ConcurrentHashMap<String, byte[]> signingKeys =
+        new ConcurrentHashMap<>();
+    /**
+     * Scopes of the signing keys, oldest first. Guarded by this.
+     */
+   final ArrayDeque<String> scopes = new ArrayDeque<>();
+   String latestDate = "";
+
+    CredentialKeys(String secretKey) { this.secretKey = secretKey; }
+
+    synchronized void add(String date, String scope, byte[] signingKey) {
+      if (date.compareTo(latestDate) > 0) {
+        String previousDate = latestDate;
+        latestDate = date;
+        removeOlderThan(previousDate);
+      }
+      if (signingKeys.put(scope, signingKey) != null) {
+        return;
+      }
+      scopes.add(scope);
+      while (scopes.size() > MAX_SCOPES_PER_ACCESS_KEY) {
+        signingKeys.remove(scopes.poll());
+      }
+    }
+
+    void removeOlderThan(String date) {
+      Iterator<String> it = scopes.iterator();
+      while (it.hasNext()) {
+        String scope = it.next();
+        if (scope.compareTo(date) < 0) {
+          signingKeys.remove(scope);
+          it.remove();
+        }
+      }
+    }
+  }
+}
@@ -39,6 +39,7 @@ import com.seagates3.acl.ACLRequestValidator;
 import com.seagates3.acl.ACLValidation;
 import com.seagates3.acl.AccessControlList;
 import com.seagates3.acl.AccessControlPolicy;
+import com.seagates3.authserver.AuthRequest;
 import com.seagates3.authserver.AuthServerConfig;
 import com.seagates3.exception.BadRequestException;
 import com.seagates3.exception.DataAccessException;
@@ -76,32 +77,31 @@ class Authorizer {
   ServerResponse authorize(Requestor requestor,
                            Map<String, String> requestBody) {
 
+    AuthRequest request = AuthRequest.of(requestBody);
     ServerResponse serverResponse = null;
     AuthorizationResponseGenerator responseGenerator =
         new AuthorizationResponseGenerator();
-    String mainOperation = requestBody.get("S3Action");
+    String mainOperation = request.getS3Action();
     // Deny access if any action is restricted for public access
     if (requestor == null &&
-        PublicAccessAuthorizer.getInstance().isActionRestricted(requestBody)) {
+        PublicAccessAuthorizer.getInstance().isActionRestricted(request)) {
       return responseGenerator.AccessDenied(
           "Anonymous users cannot copy objects. Please authenticate.");
     }
     try {
 
-      String existingPolicy = requestBody.get("Policy");
+      String existingPolicy = request.getPolicy();
       List<String> allActions = new ArrayList<>();
-      if (requestBody.get("S3ActionList") != null) {
-        allActions.addAll(
-            Arrays.asList(requestBody.get("S3ActionList").split(",")));
+      if (request.getS3ActionList() != null) {
+        allActions.addAll(Arrays.asList(request.getS3ActionList().split(",")));
       }
       allActions.add(mainOperation);
+      // Each action is authorized against the same request
       for (String action : allActions) {
-        requestBody.put("S3Action", action);
       // Below will check put/get/delete policy for first time
       if (existingPolicy == null || existingPolicy.isEmpty()) {
-        String clientQueryParams = requestBody.get("ClientQueryParams");
-        if ("policy".equals(clientQueryParams)) {
-          String bucketOwner = new AccessControlList().getOwner(requestBody);
+        if ("policy".equals(request.getClientQueryParams())) {
+          String bucketOwner = new AccessControlList().getOwner(request);
           String requestorAccountCanonicalId = null;
           if (requestor != null) {
             requestorAccountCanonicalId =
@@ -118,20 +118,20 @@ class Authorizer {
         // serverResponse = either Authorized or UnAuthorized/AccessDenied or
         // NULL
         serverResponse = new BucketPolicyAuthorizer().authorizePolicy(
-            requestor, requestBody);
+            requestor, request, action);
       }
       if (serverResponse == null) {
         /// check for ACL Authorization if either policy is null or policy
         /// authorization
         /// is None
         LOGGER.debug("inside acl authorization....");
-        serverResponse = checkAclAuthorization(requestor, requestBody, true);
+        serverResponse = checkAclAuthorization(requestor, request, action, true);
       } else if (serverResponse.getResponseStatus() == HttpResponseStatus.OK) {
         LOGGER.debug("inside acl validation w.o. authorization....");
-        serverResponse = checkAclAuthorization(requestor, requestBody, false);
+        serverResponse =
+            checkAclAuthorization(requestor, request, action, false);
       }
       if (serverResponse.getResponseStatus() != HttpResponseStatus.OK) {
-        requestBody.put("S3Action", mainOperation);
         return serverResponse;
       }
       }  // end of for
@@ -143,13 +143,13 @@ class Authorizer {
       LOGGER.debug("Authorization response is - " +
                    serverResponse.getResponseStatus());
     }
-    requestBody.put("S3Action", mainOperation);
     return serverResponse;
   }
 
  private
   ServerResponse checkAclAuthorization(Requestor requestor,
-                                       Map<String, String> requestBody,
+                                       AuthRequest requestBody,
+                                       String s3Action,
                                        boolean isAclAuthorizationRequired) {
     AuthorizationResponseGenerator responseGenerator =
         new AuthorizationResponseGenerator();
@@ -160,7 +160,7 @@ class Authorizer {
     // proceeding with authorization
     ServerResponse serverResponse = null;
 
-    if (("PUT".equals(requestBody.get("Method")))) {
+    if (("PUT".equals(requestBody.getMethod()))) {
       serverResponse = new ACLRequestValidator().validateAclRequest(
           requestBody, accountPermissionMap, groupPermissionMap);
     }
@@ -172,21 +172,21 @@ class Authorizer {
     LOGGER.info("ACL authorization Success");
 
     if (isAclAuthorizationRequired) {
-      serverResponse = isAclAuthorized(requestor, requestBody);
+      serverResponse = isAclAuthorized(requestor, requestBody, s3Action);
       if (serverResponse != null) {
         return serverResponse;
       }
     }
 
     // After ALLUser Requested Permission is Authorized.
-    if (requestor == null && !("true".equals(requestBody.get("Request-ACL")))) {
+    if (requestor == null && !requestBody.isRequestAcl()) {
       return responseGenerator.generateAuthorizationResponse(null, null);
     }
 
     // Initialize a default AccessControlPolicy object and generate
     // authorization response if request header contains param value true
     // for- Request-ACL
-    if ("true".equals(requestBody.get("Request-ACL"))) {
+    if (requestBody.isRequestAcl()) {
       try {
         String acl = null;
         ACLCreator aclCreator = new ACLCreator();
@@ -231,14 +231,15 @@ class Authorizer {
    * Below method will handle acl authorization
    */
  private
-  ServerResponse isAclAuthorized(Requestor requestor,
-                                 Map<String, String> requestBody) {
+  ServerResponse isAclAuthorized(Requestor requestor, AuthRequest requestBody,
+                                 String s3Action) {
     AuthorizationResponseGenerator responseGenerator =
         new AuthorizationResponseGenerator();
     try {
-      if (requestBody.get("Auth-ACL") == null) {
+      if (requestBody.getAuthAcl() == null) {
         LOGGER.debug("ACL not present. Skipping ACL authorization.");
-      } else if (!new ACLAuthorizer().isAuthorized(requestor, requestBody)) {
+      } else if (!new ACLAuthorizer().isAuthorized(requestor, requestBody,
+                                                   s3Action)) {
         LOGGER.info("Resource ACL denies access to the requestor for this " +
                     "operation.");
         return responseGenerator.AccessDenied();
@@ -293,6 +294,8 @@ class Authorizer {
  public
   ServerResponse validateACL(Map<String, String> requestBody) {
 
+    AuthRequest request = AuthRequest.of(requestBody);
+
     Map<String, List<Account>> accountPermissionMap = new HashMap<>();
     Map<String, List<Group>> groupPermissionMap = new HashMap<>();
     LOGGER.debug("request body : " + requestBody.toString());
@@ -312,7 +315,7 @@ class Authorizer {
     ACLValidation aclValidation = null;
     try {
 
-      aclValidation = new ACLValidation(requestBody.get("ACL"));
+      aclValidation = new ACLValidation(request.getAcl());
       }
       catch (ParserConfigurationException | SAXException | IOException e) {
         LOGGER.debug("Error while Parsing ACL XML");
@@ -325,9 +328,9 @@ class Authorizer {
       }
       AccessControlPolicy existingAcp = null;
       try {
-        if (requestBody.get("Auth-ACL") != null) {
+        if (request.getAuthAcl() != null) {
           existingAcp = new AccessControlPolicy(
-              BinaryUtil.base64DecodeString(requestBody.get("Auth-ACL")));
+              BinaryUtil.base64DecodeString(request.getAuthAcl()));
           LOGGER.debug(
               "Sending Auth-ACL for validating new owner against existing " +
               "owner");
@@ -350,10 +353,11 @@ class Authorizer {
    public
     ServerResponse validatePolicy(Map<String, String> requestBody) {
       LOGGER.debug("request body : " + requestBody.toString());
+      AuthRequest request = AuthRequest.of(requestBody);
       ServerResponse serverResponse = null;
       serverResponse = new BucketPolicyValidator().validatePolicy(
-          PolicyUtil.getBucketFromUri(requestBody.get("ClientAbsoluteUri")),
-          requestBody.get("Policy"));
+          PolicyUtil.getBucketFromUri(request.getClientAbsoluteUri()),
+          request.getPolicy());
       if (serverResponse != null &&
           serverResponse.getResponseStatus() != null &&
           !serverResponse.getResponseStatus().equals(HttpResponseStatus.OK)) {
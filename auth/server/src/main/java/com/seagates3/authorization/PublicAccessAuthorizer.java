@@ -13,6 +13,7 @@ import org.slf4j.LoggerFactory;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.seagates3.authserver.AuthRequest;
 
 public
 class PublicAccessAuthorizer {
@@ -61,7 +62,7 @@ class PublicAccessAuthorizer {
 
  private
   String getActionType(Map<String, String> requestBody) {
-    String action = requestBody.get("S3Action");
+    String action = AuthRequest.of(requestBody).getS3Action();
     if (requestBody.get("x-amz-copy-source") != null &&
         "PutObject".equals(action)) {
       action = "CopyObject";
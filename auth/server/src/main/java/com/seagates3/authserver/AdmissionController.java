@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authserver;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admit requests to an executor only as long as it keeps up with them.
+ *
+ * Requests are in flight from being read until their response is written.
+ * Their number is limited, and the limit adapts to the queueing delay of the
+ * executor, the time requests wait before being served. At the end of each
+ * interval the limit is cut by a quarter if no request of the interval waited
+ * less than the target delay, otherwise it grows by an eighth up to the
+ * maximum. A standing queue brings the limit down within a few intervals,
+ * while bursts that drain quickly leave it alone.
+ */
+class AdmissionController {
+
+ private
+  final int maxInFlight;
+ private
+  final long targetDelayNanos;
+ private
+  final long intervalNanos;
+ private
+  final long intervalMillis;
+ private
+  final AtomicInteger inFlight = new AtomicInteger();
+ private
+  volatile int limit;
+ private
+  long intervalEnd;
+ private
+  long minDelay = Long.MAX_VALUE;
+
+  /**
+   * @param maxInFlight Maximum number of requests in flight.
+   * @param targetDelayMillis Queueing delay the executor is kept under.
+   * @param intervalMillis Interval the limit is adapted over.
+   */
+  AdmissionController(int maxInFlight, long targetDelayMillis,
+                      long intervalMillis) {
+    this.maxInFlight = Math.max(maxInFlight, 1);
+    this.targetDelayNanos = TimeUnit.MILLISECONDS.toNanos(targetDelayMillis);
+    this.intervalMillis = Math.max(intervalMillis, 1);
+    this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(this.intervalMillis);
+    limit = this.maxInFlight;
+    intervalEnd = System.nanoTime() + intervalNanos;
+  }
+
+  /**
+   * @return true if the request is admitted, it is then in flight until
+   *         released.
+   */
+  boolean tryAcquire() {
+    while (true) {
+      int current = inFlight.get();
+      if (current >= limit) {
+        return false;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * The executor starts serving an admitted request.
+   *
+   * @param receivedNanos System.nanoTime() when the request was read.
+   */
+  void started(long receivedNanos) {
+    long now = System.nanoTime();
+    long delay = now - receivedNanos;
+    synchronized(this) {
+      if (delay < minDelay) {
+        minDelay = delay;
+      }
+      if (now - intervalEnd < 0) {
+        return;
+      }
+
+      if (minDelay > targetDelayNanos) {
+        limit = Math.max(limit - limit / 4, 1);
+      } else {
+        limit = Math.min(limit + Math.max(limit / 8, 1), maxInFlight);
+      }
+      minDelay = Long.MAX_VALUE;
+      intervalEnd = now + intervalNanos;
+    }
+  }
+
+  /**
+   * The response of an admitted request is written.
+   */
+  void release() { inFlight.decrementAndGet(); }
+
+  /**
+   * @return number of admitted requests in flight.
+   */
+  int getInFlight() { return inFlight.get(); }
+
+  /**
+   * @return current limit of the requests in flight.
+   */
+  int getLimit() { return limit; }
+
+  /**
+   * @return interval the limit is adapted over, in milli seconds.
+   */
+  long getIntervalMillis() { return intervalMillis; }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authserver;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Admission controllers of the executors serving the requests, one per
+ * executor. Each limit adapts to the queueing delay of its own executor, so
+ * a backlog on one thread of the executor group sheds the requests queued
+ * behind it without turning down the requests of the threads keeping up.
+ */
+class AdmissionControllers {
+
+ private
+  final int maxInFlight;
+ private
+  final long targetDelayMillis;
+ private
+  final long intervalMillis;
+ private
+  final Map<Executor, AdmissionController> controllers =
+      new IdentityHashMap<>();
+
+  /**
+   * @param maxInFlight Maximum number of requests in flight per executor.
+   * @param targetDelayMillis Queueing delay each executor is kept under.
+   * @param intervalMillis Interval the limits are adapted over.
+   */
+  AdmissionControllers(int maxInFlight, long targetDelayMillis,
+                       long intervalMillis) {
+    this.maxInFlight = maxInFlight;
+    this.targetDelayMillis = targetDelayMillis;
+    this.intervalMillis = intervalMillis;
+  }
+
+  /**
+   * @return admission controller of the executor.
+   */
+  synchronized AdmissionController get(Executor executor) {
+    AdmissionController controller = controllers.get(executor);
+    if (controller == null) {
+      controller = new AdmissionController(maxInFlight, targetDelayMillis,
+                                           intervalMillis);
+      controllers.put(executor, controller);
+    }
+    return controller;
+  }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authserver;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+import com.seagates3.response.ServerResponse;
+import com.seagates3.response.generator.ResponseGenerator;
+
+import io.netty.channel.ChannelConfig;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.EventLoop;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpUtil;
+
+/**
+ * Admit the requests read from a connection, in the event loop of the
+ * connection before they are queued to an executor.
+ *
+ * A request turned down while the connection has no request outstanding is
+ * answered at once with 503 SlowDown. Otherwise it is passed on and
+ * AuthServerHandler answers it in its turn, so that the responses keep the
+ * order of the pipelined requests. Either way the connection stops reading
+ * for an interval of the admission controller, so that an overloaded server
+ * doesn't read requests only to turn them down.
+ *
+ * Requests isolated by a bulkhead are admitted without counting against the
+ * controller, which guards the data path executors.
+ */
+class AdmissionHandler extends ChannelInboundHandlerAdapter {
+
+  /**
+   * Seconds the client is asked to wait before retrying a request turned
+   * down.
+   */
+  static final int RETRY_AFTER_SECONDS = 1;
+
+ private
+  final AdmissionController controller;
+ private
+  final Bulkhead bulkhead;
+
+  /**
+   * Tickets of the requests passed on, in the order they were read. Taken
+   * by AuthServerHandler, which reads the requests in the same order.
+   */
+ private
+  final Queue<Ticket> tickets = new ArrayDeque<>();
+
+  /**
+   * Requests passed on whose response isn't written yet. Only used in the
+   * event loop.
+   */
+ private
+  int outstanding;
+ private
+  EventLoop eventLoop;
+
+  AdmissionHandler(AdmissionController controller) { this(controller, null); }
+
+  /**
+   * @param bulkhead Bulkhead of the admin requests, or null if all requests
+   *        are admitted by the controller.
+   */
+  AdmissionHandler(AdmissionController controller, Bulkhead bulkhead) {
+    this.controller = controller;
+    this.bulkhead = bulkhead;
+  }
+
+  @Override public void handlerAdded(ChannelHandlerContext ctx) {
+    eventLoop = ctx.channel().eventLoop();
+  }
+
+  @Override public void channelRead(ChannelHandlerContext ctx, Object msg) {
+    if (!(msg instanceof FullHttpRequest)) {
+      ctx.fireChannelRead(msg);
+      return;
+    }
+
+    boolean isolated = bulkhead != null &&
+                       bulkhead.isolates((FullHttpRequest)msg);
+    boolean acquired = !isolated && controller.tryAcquire();
+    boolean admitted = isolated || acquired;
+    if (!admitted) {
+      pauseReading(ctx);
+      if (outstanding == 0) {
+        FullHttpRequest httpRequest = (FullHttpRequest)msg;
+        boolean keepAlive = HttpUtil.isKeepAlive(httpRequest);
+        httpRequest.release();
+        HttpResponseWriter.write(ctx, newSlowDownResponse(ctx), keepAlive);
+        ctx.flush();
+        return;
+      }
+    }
+
+    outstanding++;
+    synchronized(tickets) {
+      tickets.add(new Ticket(isolated, admitted, acquired, System.nanoTime()));
+    }
+    ctx.fireChannelRead(msg);
+  }
+
+  /**
+   * @return ticket of the next request passed on.
+   */
+  Ticket next() {
+    synchronized(tickets) {
+      return tickets.poll();
+    }
+  }
+
+  /**
+   * @return 503 SlowDown response asking the client to retry later.
+   */
+  static FullHttpResponse newSlowDownResponse(ChannelHandlerContext ctx) {
+    ServerResponse serverResponse = new ResponseGenerator().slowDown();
+    FullHttpResponse response = HttpResponseWriter.newResponse(
+        ctx.alloc(), serverResponse.getResponseStatus(),
+        serverResponse.getResponseBody());
+    response.headers().setInt(HttpHeaderNames.RETRY_AFTER,
+                              RETRY_AFTER_SECONDS);
+    return response;
+  }
+
+ private
+  void pauseReading(ChannelHandlerContext ctx) {
+    final ChannelConfig config = ctx.channel().config();
+    if (!config.isAutoRead()) {
+      return;
+    }
+    config.setAutoRead(false);
+    ctx.executor().schedule(new Runnable() {
+      @Override public void run() { config.setAutoRead(true); }
+    }, controller.getIntervalMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Admission of a request passed on to AuthServerHandler.
+   */
+  final class Ticket {
+
+   private
+    final boolean isolated;
+   private
+    final boolean admitted;
+   private
+    final boolean acquired;
+   private
+    final long receivedNanos;
+
+    /**
+     * @param isolated the request is served on the executor of the bulkhead.
+     * @param acquired the request counts against the controller.
+     */
+    Ticket(boolean isolated, boolean admitted, boolean acquired,
+           long receivedNanos) {
+      this.isolated = isolated;
+      this.admitted = admitted;
+      this.acquired = acquired;
+      this.receivedNanos = receivedNanos;
+    }
+
+    /**
+     * @return true if the request is served on the executor of the bulkhead.
+     */
+    boolean isIsolated() { return isolated; }
+
+    /**
+     * @return false if the request is to be answered with 503 SlowDown.
+     */
+    boolean isAdmitted() { return admitted; }
+
+    /**
+     * The request is being served.
+     */
+    void start() {
+      if (acquired) {
+        controller.started(receivedNanos);
+      }
+    }
+
+    /**
+     * The response of the request is written. The connection counts it
+     * as answered once the writes queued before this call are done, so
+     * that a response written at once can't overtake it.
+     */
+    void done() {
+      if (acquired) {
+        controller.release();
+      }
+      if (eventLoop == null || eventLoop.inEventLoop()) {
+        outstanding--;
+        return;
+      }
+      eventLoop.execute(new Runnable() {
+        @Override public void run() { outstanding--; }
+      });
+    }
+  }
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+package com.seagates3.authserver;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Immutable request sent to the auth server, i.e. the fields of the form
+ * body of the request.
+ *
+ * The fields the data path looks at are resolved once when the request is
+ * built. All fields are kept in a flat hash table with case insensitive keys,
+ * so looking up a field by name doesn't walk a tree of string comparisons.
+ *
+ * The request is also a read-only Map of the fields, for the controllers and
+ * validators which take the request body as a map. Like the case insensitive
+ * TreeMap it replaces, the map view finds keys regardless of case and
+ * iterates them in case insensitive order.
+ */
+public
+final class AuthRequest extends AbstractMap<String, String> {
+
+ private
+  final String[] names;
+ private
+  final String[] values;
+ private
+  final int size;
+ private
+  final int[] table;
+
+ private
+  final String action;
+ private
+  final String method;
+ private
+  final String clientAbsoluteUri;
+ private
+  final String clientQueryParams;
+ private
+  final String s3Action;
+ private
+  final String s3ActionList;
+ private
+  final String authorization;
+ private
+  final String authAcl;
+ private
+  final boolean requestAcl;
+ private
+  final String acl;
+ private
+  final String policy;
+ private
+  final String requestId;
+
+ private
+  Set<Map.Entry<String, String>> entrySet;
+
+ private
+  AuthRequest(String[] names, String[] values, int size) {
+    this.names = names;
+    this.values = values;
+    this.size = size;
+    table = new int[tableSize(size)];
+    for (int i = 0; i < size; i++) {
+      table[slot(table, names, names[i])] = i + 1;
+    }
+
+    action = get("Action");
+    method = get("Method");
+    clientAbsoluteUri = get("ClientAbsoluteUri");
+    clientQueryParams = get("ClientQueryParams");
+    s3Action = get("S3Action");
+    s3ActionList = get("S3ActionList");
+    authorization = get("Authorization");
+    authAcl = get("Auth-ACL");
+    requestAcl = "true".equals(get("Request-ACL"));
+    acl = get("ACL");
+    policy = get("Policy");
+    requestId = get("Request_id");
+  }
+
+ public
+  String getAction() { return action; }
+
+ public
+  String getMethod() { return method; }
+
+ public
+  String getClientAbsoluteUri() { return clientAbsoluteUri; }
+
+ public
+  String getClientQueryParams() { return clientQueryParams; }
+
+ public
+  String getS3Action() { return s3Action; }
+
+  /**
+   * @return Comma separated actions authorized along with the S3Action, or
+   *         null.
+   */
+ public
+  String getS3ActionList() { return s3ActionList; }
+
+ public
+  String getAuthorization() { return authorization; }
+
+  /**
+   * @return Base64 encoded ACL of the resource, or null.
+   */
+ public
+  String getAuthAcl() { return authAcl; }
+
+  /**
+   * @return true if the ACL of the resource is to be sent back.
+   */
+ public
+  boolean isRequestAcl() { return requestAcl; }
+
+ public
+  String getAcl() { return acl; }
+
+ public
+  String getPolicy() { return policy; }
+
+ public
+  String getRequestId() { return requestId; }
+
+  /**
+   * @return The request body as an AuthRequest. A decoded request is
+   *         returned as it is, other maps are copied.
+   */
+ public
+  static AuthRequest of(Map<String, String> requestBody) {
+    if (requestBody instanceof AuthRequest) {
+      return (AuthRequest)requestBody;
+    }
+
+    Builder builder = new Builder(Math.max(requestBody.size(), 1));
+    for (Map.Entry<String, String> entry : requestBody.entrySet()) {
+      builder.put(entry.getKey(), entry.getValue());
+    }
+    return builder.build();
+  }
+
+  @Override public String get(Object key) {
+    int index = indexOf(key);
+    return index < 0 ? null : values[index];
+  }
+
+  @Override public boolean containsKey(Object key) {
+    return indexOf(key) >= 0;
+  }
+
+  @Override public int size() { return size; }
+
+  @Override public boolean isEmpty() { return size == 0; }
+
+  /**
+   * Entries in case insensitive order of the keys, as the TreeMap request
+   * body iterated them. Built on first use, only policy conditions iterate
+   * the request.
+   */
+  @Override public Set<Map.Entry<String, String>> entrySet() {
+    if (entrySet == null) {
+      TreeMap<String, String> sorted =
+          new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+      for (int i = 0; i < size; i++) {
+        sorted.put(names[i], values[i]);
+      }
+      entrySet = Collections.unmodifiableMap(sorted).entrySet();
+    }
+
+    return entrySet;
+  }
+
+ private
+  int indexOf(Object key) {
+    if (!(key instanceof String)) {
+      return -1;
+    }
+
+    return table[slot(table, names, (String)key)] - 1;
+  }
+
+  /**
+   * @return Slot of the table holding the key, or the free slot where it
+   *         would go.
+   */
+ private
+  static int slot(int[] table, String[] names, String key) {
+    int mask = table.length - 1;
+    int slot = hash(key) & mask;
+    while (table[slot] != 0 &&
+           !names[table[slot] - 1].equalsIgnoreCase(key)) {
+      slot = (slot + 1) & mask;
+    }
+
+    return slot;
+  }
+
+  /**
+   * Case insensitive hash, consistent with String.equalsIgnoreCase.
+   */
+ private
+  static int hash(String key) {
+    int hash = 0;
+    for (int i = 0; i < key.length(); i++) {
+      char c = key.charAt(i);
+      if (c >= 'A' && c <= 'Z') {
+        c += 'a' - 'A';
+      } else if (c >= 0x80) {
+        c = Character.toLowerCase(Character.toUpperCase(c));
+      }
+      hash = 31 * hash + c;
+    }
+
+    return hash ^ (hash >>> 16);
+  }
+
+ private
+  static int tableSize(int size) {
+    int tableSize = 8;
+    while (tableSize < size * 2) {
+      tableSize <<= 1;
+    }
+
+    return tableSize;
+  }
+
+  /**
+   * Collect the fields of a request. A field put again replaces the value of
+   * the first one and keeps its name, except x-amz- headers whose values are
+   * joined with a comma.
+   */
+ public
+  static final class Builder {
+
+   private
+    String[] names;
+   private
+    String[] values;
+   private
+    int size;
+   private
+    int[] table;
+
+   public
+    Builder() { this(32); }
+
+   private
+    Builder(int capacity) {
+      names = new String[capacity];
+      values = new String[capacity];
+      table = new int[tableSize(capacity)];
+    }
+
+   public
+    Builder put(String name, String value) {
+      int slot = slot(table, names, name);
+      if (table[slot] != 0) {
+        values[table[slot] - 1] = value;
+        return this;
+      }
+
+      if (size == names.length) {
+        grow();
+        slot = slot(table, names, name);
+      }
+      names[size] = name;
+      values[size] = value;
+      table[slot] = ++size;
+
+      return this;
+    }
+
+    /**
+     * Add a field of the request body.
+     */
+   public
+    Builder add(String name, String value) {
+      int slot = slot(table, names, name);
+      if (table[slot] != 0 && name.regionMatches(true, 0, "x-amz-", 0, 6)) {
+        int index = table[slot] - 1;
+        values[index] = values[index] + "," + value;
+        return this;
+      }
+
+      return put(name, value);
+    }
+
+   public
+    AuthRequest build() {
+      return new AuthRequest(Arrays.copyOf(names, size),
+                             Arrays.copyOf(values, size), size);
+    }
+
+   private
+    void grow() {
+      names = Arrays.copyOf(names, names.length * 2);
+      values = Arrays.copyOf(values, values.length * 2);
+      table = new int[tableSize(names.length)];
+      for (int i = 0; i < size; i++) {
+        table[slot(table, names, names[i])] = i + 1;
+      }
+    }
+  }
+}
@@ -17,62 +17,200 @@
  * please email opensource@seagate.com or cortx-questions@seagate.com.
  *
  */
-
 package com.seagates3.authserver;
 
-import java.io.IOException;
-import java.util.List;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
-import java.util.TreeMap;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.handler.codec.http.FullHttpRequest;
-import io.netty.handler.codec.http.multipart.DefaultHttpDataFactory;
-import io.netty.handler.codec.http.multipart.HttpPostRequestDecoder;
-import io.netty.handler.codec.http.multipart.InterfaceHttpData;
-import io.netty.handler.codec.http.multipart.Attribute;
-import io.netty.handler.codec.http.multipart.InterfaceHttpData.HttpDataType;
+import io.netty.util.ByteProcessor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class AuthRequestDecoder extends HttpPostRequestDecoder {
+/**
+ * Decode the application/x-www-form-urlencoded body of a request into an
+ * AuthRequest.
+ *
+ * The body is parsed in a single pass over the aggregated content of the
+ * request. Keys and values without escapes are decoded to strings straight
+ * from the buffer, only escaped ones are unescaped into a scratch array
+ * first. Names are cleaned like netty's HttpPostRequestDecoder does, i.e.
+ * tabs and carriage returns become spaces, line feeds and surrounding white
+ * space are removed.
+ */
+public class AuthRequestDecoder {
 
     private final Logger LOGGER = LoggerFactory.getLogger(
             AuthServerHandler.class.getName());
 
+    private static final ByteProcessor FIND_ESCAPE = new ByteProcessor() {
+        @Override
+        public boolean process(byte value) {
+            return value != '%' && value != '+';
+        }
+    };
+
+    private static final Charset CHARSET = StandardCharsets.UTF_8;
+
+    private static final String ACTION = "Action";
+
+    private final ByteBuf content;
+
     public AuthRequestDecoder(FullHttpRequest fullHttpRequest) {
-        super(new DefaultHttpDataFactory(DefaultHttpDataFactory.MINSIZE),
-                fullHttpRequest);
+        content = fullHttpRequest.content();
     }
 
     public Map<String, String> getRequestBodyAsMap() {
-        return parseRequestBody(getBodyHttpDatas());
+        return getAuthRequest();
+    }
+
+    public AuthRequest getAuthRequest() {
+        AuthRequest.Builder requestBody = new AuthRequest.Builder();
+        int start = content.readerIndex();
+        int end = content.writerIndex();
+
+        LOGGER.debug("Request body attributes:");
+        while (start < end) {
+            int pairEnd = content.indexOf(start, end, (byte) '&');
+            if (pairEnd < 0) {
+                pairEnd = end;
+            }
+            if (pairEnd > start) {
+                addAttribute(requestBody, start, pairEnd);
+            }
+            start = pairEnd + 1;
+        }
+
+        return requestBody.build();
+    }
+
+    /**
+     * Decode only the Action of the body, by the rules of getAuthRequest:
+     * the name matches regardless of case and the last value wins.
+     *
+     * @return Action of the request or null if it has none.
+     */
+    public String getAction() {
+        String action = null;
+        int start = content.readerIndex();
+        int end = content.writerIndex();
+        while (start < end) {
+            int pairEnd = content.indexOf(start, end, (byte) '&');
+            if (pairEnd < 0) {
+                pairEnd = end;
+            }
+            if (pairEnd > start) {
+                String value = getAction(start, pairEnd);
+                if (value != null) {
+                    action = value;
+                }
+            }
+            start = pairEnd + 1;
+        }
+        return action;
+    }
+
+    /**
+     * @return value of the "key=value" pair in [start, end) of the content
+     *         if it is the Action, null otherwise.
+     */
+    private String getAction(int start, int end) {
+        int equals = content.indexOf(start, end, (byte) '=');
+        try {
+            String key = cleanName(decode(start, equals < 0 ? end : equals));
+            if (!ACTION.equalsIgnoreCase(key)) {
+                return null;
+            }
+            return equals < 0 ? "" : decode(equals + 1, end);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
     }
 
-    private Map<String, String> parseRequestBody(List<InterfaceHttpData> datas) {
-        Map<String, String> requestBody;
-        requestBody = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    /**
+     * Add the "key=value" pair in [start, end) of the content.
+     */
+    private void addAttribute(AuthRequest.Builder requestBody, int start,
+            int end) {
+        int equals = content.indexOf(start, end, (byte) '=');
         String key;
         String value;
+        try {
+            if (equals < 0) {
+                key = cleanName(decode(start, end));
+                value = "";
+            } else {
+                key = cleanName(decode(start, equals));
+                value = decode(equals + 1, end);
+            }
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Failed to decode attribute {}. Error: {}",
+                    content.toString(start, end - start, CHARSET),
+                    e.getMessage());
+            return;
+        }
+        if (key.isEmpty()) {
+            LOGGER.warn("Skipping attribute without name.");
+            return;
+        }
 
-        LOGGER.debug("Request body attributes:");
-        for (InterfaceHttpData data : datas) {
-            if (data.getHttpDataType() == HttpDataType.Attribute) {
-                Attribute attribute = (Attribute) data;
-                key = attribute.getName();
-                try {
-                    value = attribute.getValue();
-                    if (requestBody.containsKey(key) && key.toLowerCase().startsWith("x-amz-")) {
-                        value = requestBody.get(key) + "," + value;
-                    }
-                    requestBody.put(key, value);
-                    LOGGER.debug("{}: {}", key, value);
-                } catch (IOException e) {
-                    LOGGER.warn("Failed to get value of {} attribute. Error: {}",
-                            key, e.getMessage());
+        requestBody.add(key, value);
+        LOGGER.debug("{}: {}", key, value);
+    }
+
+    /**
+     * Decode the url encoded text in [start, end) of the content.
+     *
+     * @throws IllegalArgumentException if an escape isn't followed by two
+     *         hex digits.
+     */
+    private String decode(int start, int end) {
+        int escape = content.forEachByte(start, end - start, FIND_ESCAPE);
+        if (escape < 0) {
+            return content.toString(start, end - start, CHARSET);
+        }
+
+        byte[] decoded = new byte[end - start];
+        int length = escape - start;
+        content.getBytes(start, decoded, 0, length);
+        for (int i = escape; i < end; i++) {
+            byte b = content.getByte(i);
+            if (b == '+') {
+                decoded[length++] = ' ';
+            } else if (b == '%') {
+                if (i + 2 >= end) {
+                    throw new IllegalArgumentException(
+                            "Incomplete escape at index " + (i - start));
+                }
+                int high = Character.digit(content.getByte(i + 1), 16);
+                int low = Character.digit(content.getByte(i + 2), 16);
+                if (high < 0 || low < 0) {
+                    throw new IllegalArgumentException(
+                            "Invalid escape at index " + (i - start));
                 }
+                decoded[length++] = (byte) ((high << 4) | low);
+                i += 2;
+            } else {
+                decoded[length++] = b;
             }
         }
 
-        return requestBody;
+        return new String(decoded, 0, length, CHARSET);
+    }
+
+    private static String cleanName(String name) {
+        boolean clean = true;
+        for (int i = 0; i < name.length() && clean; i++) {
+            char c = name.charAt(i);
+            clean = c != '\r' && c != '\t' && c != '\n';
+        }
+        if (clean) {
+            return name.trim();
+        }
+
+        return name.replace('\r', ' ').replace('\t', ' ').replace("\n", "")
+                .trim();
     }
-}
\ No newline at end of file
+}
@@ -21,15 +21,17 @@
 package com.seagates3.authserver;
 
 import com.seagates3.dao.DAODispatcher;
+import com.seagates3.dao.ldap.LdapConnectionManager;
 import com.seagates3.exception.ServerInitialisationException;
 import com.seagates3.fi.FaultPoints;
 import com.seagates3.perf.S3Perf;
+import com.seagates3.service.GlobalDataStore;
+import com.seagates3.service.RequestorService;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.unix.DomainSocketAddress;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.util.concurrent.DefaultEventExecutorGroup;
@@ -37,8 +39,13 @@ import io.netty.util.concurrent.EventExecutorGroup;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.security.GeneralSecurityException;
 import java.util.ArrayList;
+import java.util.List;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.core.config.ConfigurationSource;
 import org.apache.logging.log4j.core.config.Configurator;
@@ -52,6 +59,16 @@ class AuthServer {
   static EventLoopGroup bossGroup, workerGroup;
  private
   static EventExecutorGroup executorGroup;
+ private
+  static NettyTransport transport;
+ private
+  static RequestExecutor requestExecutor;
+ private
+  static AdmissionControllers admissionControllers;
+ private
+  static Bulkhead adminBulkhead;
+ private
+  static volatile Path domainSocketFile;
 
  private
   static Logger logger;
@@ -77,6 +94,29 @@ class AuthServer {
 
           executorGroup.shutdownGracefully();
           logger.info("Executor group shutdown");
+
+          if (adminBulkhead != null) {
+            adminBulkhead.shutdown();
+            logger.info("Admin executor shutdown");
+          }
+          if (requestExecutor != null) {
+            requestExecutor.shutdown();
+            logger.info("Request executor shutdown");
+          }
+          if (LdapConnectionManager.getMultiplexer() != null) {
+            LdapConnectionManager.shutdownMultiplexer();
+            logger.info("LDAP multiplexer shutdown");
+          }
+          if (domainSocketFile != null) {
+            try {
+              Files.deleteIfExists(domainSocketFile);
+              logger.info("Domain socket " + domainSocketFile + " removed");
+            }
+            catch (IOException e) {
+              logger.warn("Failed to remove domain socket " +
+                          domainSocketFile, e);
+            }
+          }
         }
 
         /**
@@ -152,6 +192,8 @@ class AuthServer {
           SSLContextProvider.init();
           IAMResourceMapper.init();
           DAODispatcher.init();
+          GlobalDataStore.init();
+          RequestorService.init();
           S3Perf.init();
 
           /**
@@ -164,13 +206,23 @@ class AuthServer {
           AuthServer.attachShutDownHook();
 
           // Configure the server.
-          bossGroup =
-              new NioEventLoopGroup(AuthServerConfig.getBossGroupThreads());
+          transport =
+              NettyTransport.select(AuthServerConfig.getNettyTransport());
+          logger.info("Using " + transport + " transport");
+          if (transport == NettyTransport.EPOLL &&
+              AuthServerConfig.getBossGroupThreads() <= 1) {
+            logger.warn("Binding each port once, raise nettyBossGroupThreads " +
+                        "for SO_REUSEPORT to spread connections over more " +
+                        "acceptors");
+          }
+
+          bossGroup = transport.newEventLoopGroup(
+              AuthServerConfig.getBossGroupThreads());
           logger.info("Created boss event loop group with " +
                       AuthServerConfig.getBossGroupThreads() + " threads");
 
-          workerGroup =
-              new NioEventLoopGroup(AuthServerConfig.getWorkerGroupThreads());
+          workerGroup = transport.newEventLoopGroup(
+              AuthServerConfig.getWorkerGroupThreads());
           logger.info("Created worker event loop group with " +
                       AuthServerConfig.getWorkerGroupThreads() + " threads");
 
@@ -179,25 +231,89 @@ class AuthServer {
           logger.info("Created event executor with " +
                       AuthServerConfig.getEventExecutorThreads() + " threads");
 
+          if (AuthServerConfig.isThreadPerRequest()) {
+            requestExecutor = new RequestExecutor(
+                AuthServerConfig.getMaxConcurrentRequests(),
+                AuthServerConfig.isParallelRequests(),
+                AuthServerConfig.isVirtualThreads());
+            logger.info("Serving each request in a " +
+                        (requestExecutor.isVirtual() ? "virtual" : "pooled") +
+                        " thread, at most " +
+                        AuthServerConfig.getMaxConcurrentRequests() +
+                        " at once");
+            if (requestExecutor.isInParallel()) {
+              logger.info("Serving the pipelined requests of a connection " +
+                          "in parallel");
+            }
+          }
+
+          if (AuthServerConfig.getMaxInFlightRequests() > 0) {
+            admissionControllers = new AdmissionControllers(
+                AuthServerConfig.getMaxInFlightRequests(),
+                AuthServerConfig.getAdmissionTargetDelayMillis(),
+                AuthServerConfig.getAdmissionIntervalMillis());
+            logger.info("Admitting at most " +
+                        AuthServerConfig.getMaxInFlightRequests() +
+                        " requests in flight per executor, shedding load " +
+                        "above " +
+                        AuthServerConfig.getAdmissionTargetDelayMillis() +
+                        " ms of queueing delay");
+          }
+
+          if (AuthServerConfig.getAdminMaxConcurrentRequests() > 0) {
+            adminBulkhead =
+                new Bulkhead(AuthServerConfig.getAdminMaxConcurrentRequests());
+            logger.info("Serving IAM admin requests on an executor of their " +
+                        "own, at most " +
+                        AuthServerConfig.getAdminMaxConcurrentRequests() +
+                        " at once");
+          }
+
           ArrayList<Channel> serverChannels = new ArrayList<>();
 
           if (AuthServerConfig.isHttpEnabled()) {
             int httpPort = AuthServerConfig.getHttpPort();
             String host = AuthServerConfig.getDefaultHost();
-            Channel serverChannel = httpServerBootstrap(
-                bossGroup, workerGroup, executorGroup, host, httpPort);
-            serverChannels.add(serverChannel);
+            serverChannels.addAll(httpServerBootstrap(
+                bossGroup, workerGroup, executorGroup, host, httpPort));
             logger.info("Auth server is listening on HTTP port " + httpPort);
           }
 
           if (AuthServerConfig.isHttpsEnabled()) {
             int httpsPort = AuthServerConfig.getHttpsPort();
             String host = AuthServerConfig.getDefaultHost();
-            Channel serverChannel = httpsServerBootstrap(
-                bossGroup, workerGroup, executorGroup, host, httpsPort);
-            serverChannels.add(serverChannel);
+            serverChannels.addAll(httpsServerBootstrap(
+                bossGroup, workerGroup, executorGroup, host, httpsPort));
             logger.info("Auth server is listening on HTTPS port " + httpsPort);
           }
+
+          int adminPort = AuthServerConfig.getAdminHttpsPort();
+          if (adminPort > 0) {
+            if (adminBulkhead != null) {
+              String host = AuthServerConfig.getDefaultHost();
+              serverChannels.addAll(adminServerBootstrap(
+                  bossGroup, workerGroup, host, adminPort));
+              logger.info("Auth server is listening on admin HTTPS port " +
+                          adminPort);
+            } else {
+              logger.error("Admin port " + adminPort + " needs " +
+                           "adminMaxConcurrentRequests, not listening on it.");
+            }
+          }
+
+          String socketPath = AuthServerConfig.getDomainSocketPath();
+          if (socketPath != null && !socketPath.isEmpty()) {
+            Channel domainSocket = domainSocketServerBootstrap(
+                bossGroup, workerGroup, executorGroup, socketPath);
+            if (domainSocket != null) {
+              serverChannels.add(domainSocket);
+              logger.info("Auth server is listening on domain socket " +
+                          socketPath);
+            } else {
+              logger.error("Domain socket " + socketPath + " needs the " +
+                           "epoll transport, not listening on it.");
+            }
+          }
           // listner code starts here
           AuthServerConfigChangeListner listner =
               new AuthServerConfigChangeListner(
@@ -221,34 +337,107 @@ class AuthServer {
          * @param port HTTP port.
          */
        private
-        static Channel httpServerBootstrap(
+        static List<Channel> httpServerBootstrap(
             EventLoopGroup bossGroup, EventLoopGroup workerGroup,
             EventExecutorGroup executorGroup, String host,
             int port) throws InterruptedException {
           ServerBootstrap b = new ServerBootstrap();
           b.option(ChannelOption.SO_BACKLOG, 1024);
-          b.group(bossGroup, workerGroup)
-              .channel(NioServerSocketChannel.class)
+          transport.configure(b.group(bossGroup, workerGroup))
               .handler(new LoggingHandler(LogLevel.INFO))
-              .childHandler(new AuthServerHTTPInitializer(executorGroup));
+              .childHandler(new AuthServerHTTPInitializer(
+                  executorGroup, requestExecutor, admissionControllers,
+                  adminBulkhead));
 
-          Channel serverChannel = b.bind(host, port).sync().channel();
-          return serverChannel;
+          return bind(b, host, port);
         }
 
        private
-        static Channel httpsServerBootstrap(
+        static List<Channel> httpsServerBootstrap(
             EventLoopGroup bossGroup, EventLoopGroup workerGroup,
             EventExecutorGroup executorGroup, String host,
             int port) throws InterruptedException {
           ServerBootstrap b = new ServerBootstrap();
           b.option(ChannelOption.SO_BACKLOG, 1024);
-          b.group(bossGroup, workerGroup)
-              .channel(NioServerSocketChannel.class)
+          transport.configure(b.group(bossGroup, workerGroup))
               .handler(new LoggingHandler(LogLevel.INFO))
-              .childHandler(new AuthServerHTTPSInitializer(executorGroup));
+              .childHandler(new AuthServerHTTPSInitializer(
+                  executorGroup, requestExecutor, admissionControllers,
+                  adminBulkhead));
 
-          Channel serverChannel = b.bind(host, port).sync().channel();
-          return serverChannel;
+          return bind(b, host, port);
+        }
+
+        /**
+         * Create a new ServerBootstrap for HTTPS protocol, for admin clients.
+         * All its requests are served on the executor of the admin bulkhead.
+         *
+         * @param port Admin HTTPS port.
+         */
+       private
+        static List<Channel> adminServerBootstrap(
+            EventLoopGroup bossGroup, EventLoopGroup workerGroup, String host,
+            int port) throws InterruptedException {
+          ServerBootstrap b = new ServerBootstrap();
+          b.option(ChannelOption.SO_BACKLOG, 1024);
+          transport.configure(b.group(bossGroup, workerGroup))
+              .handler(new LoggingHandler(LogLevel.INFO))
+              .childHandler(new AuthServerHTTPSInitializer(
+                  null, adminBulkhead.getExecutor()));
+
+          return bind(b, host, port);
+        }
+
+        /**
+         * Create a new ServerBootstrap for HTTP protocol over a unix domain
+         * socket, for S3 servers on the same node. A socket file left over
+         * by a previous run is removed before binding. Only the owner and
+         * the group of the server can connect, the file is removed when the
+         * server shuts down.
+         *
+         * @param socketPath Path of the socket file.
+         * @return server channel, or null if the transport can't listen on a
+         *         unix domain socket.
+         */
+       private
+        static Channel domainSocketServerBootstrap(
+            EventLoopGroup bossGroup, EventLoopGroup workerGroup,
+            EventExecutorGroup executorGroup,
+            String socketPath) throws InterruptedException, IOException {
+          ServerBootstrap b = new ServerBootstrap();
+          b.option(ChannelOption.SO_BACKLOG, 1024);
+          if (transport.configureDomainSocket(
+                  b.group(bossGroup, workerGroup)) == null) {
+            return null;
+          }
+          b.handler(new LoggingHandler(LogLevel.INFO))
+              .childHandler(new AuthServerHTTPInitializer(
+                  executorGroup, requestExecutor, admissionControllers,
+                  adminBulkhead));
+
+          Path path = Paths.get(socketPath);
+          Files.deleteIfExists(path);
+          Channel channel =
+              b.bind(new DomainSocketAddress(socketPath)).sync().channel();
+          domainSocketFile = path;
+          Files.setPosixFilePermissions(
+              path, PosixFilePermissions.fromString("rw-rw----"));
+          return channel;
+        }
+
+        /**
+         * Bind the server channels of a port, one per acceptor of the
+         * transport.
+         */
+       private
+        static List<Channel> bind(ServerBootstrap b, String host,
+                                  int port) throws InterruptedException {
+          int acceptors =
+              transport.getAcceptors(AuthServerConfig.getBossGroupThreads());
+          List<Channel> serverChannels = new ArrayList<>(acceptors);
+          for (int i = 0; i < acceptors; i++) {
+            serverChannels.add(b.bind(host, port).sync().channel());
+          }
+          return serverChannels;
         }
         }
@@ -42,6 +42,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
+import com.seagates3.authentication.EndpointMatcher;
 import com.seagates3.util.KeyGenUtil;
 
 /**
@@ -98,6 +99,7 @@ public class AuthServerConfig {
                 "samlMetadataFileName"));
         String jvm = ManagementFactory.getRuntimeMXBean().getName();
         AuthServerConfig.authServerConfig.put("pid", jvm.substring(0, jvm.indexOf("@")));
+        EndpointMatcher.reset();
 
     }
 
@@ -335,6 +337,48 @@ public class AuthServerConfig {
                 authServerConfig.getProperty("nettyWorkerGroupThreads"));
     }
 
+   public
+    static String getNettyTransport() {
+      return authServerConfig.getProperty("nettyTransport", "nio");
+    }
+
+   public
+    static String getDomainSocketPath() {
+      return authServerConfig.getProperty("domainSocketPath");
+    }
+
+   public
+    static boolean isThreadPerRequest() {
+      return "threadPerRequest".equalsIgnoreCase(
+                 authServerConfig.getProperty("requestExecutionMode")) ||
+          isParallelRequests();
+    }
+
+    /**
+     * @return true if the pipelined requests of a connection are served in
+     *         parallel, which also serves each request in a thread of its own.
+     */
+   public
+    static boolean isParallelRequests() {
+      return "parallel".equalsIgnoreCase(
+          authServerConfig.getProperty("requestExecutionMode"));
+    }
+
+    /**
+     * @return true if requests served in a thread of their own run on
+     *         virtual threads, where the JVM has them.
+     */
+   public
+    static boolean isVirtualThreads() {
+      return Boolean.valueOf(authServerConfig.getProperty("virtualThreads"));
+    }
+
+   public
+    static int getMaxConcurrentRequests() {
+      return Integer.parseInt(
+          authServerConfig.getProperty("maxConcurrentRequests", "1024"));
+    }
+
     public static boolean isPerfEnabled() {
         return Boolean.valueOf(authServerConfig.getProperty("perfEnabled"));
     }
@@ -431,6 +475,66 @@ public class AuthServerConfig {
       return Integer.parseInt(authServerConfig.getProperty("cacheTimeout"));
     }
 
+   public
+    static int getCacheMaxSize() {
+      return Integer.parseInt(
+          authServerConfig.getProperty("cacheMaxSize", "10000"));
+    }
+
+   public
+    static int getLdapSearchBatchSize() {
+      return Integer.parseInt(
+          authServerConfig.getProperty("ldapSearchBatchSize", "1"));
+    }
+
+   public
+    static long getLdapSearchBatchWindowMicros() {
+      return Long.parseLong(
+          authServerConfig.getProperty("ldapSearchBatchWindowMicros", "200"));
+    }
+
+   public
+    static int getAdminMaxConcurrentRequests() {
+      return Integer.parseInt(
+          authServerConfig.getProperty("adminMaxConcurrentRequests", "0"));
+    }
+
+   public
+    static int getAdminHttpsPort() {
+      return Integer.parseInt(
+          authServerConfig.getProperty("adminHttpsPort", "0"));
+    }
+
+   public
+    static int getMaxInFlightRequests() {
+      return Integer.parseInt(
+          authServerConfig.getProperty("maxInFlightRequests", "0"));
+    }
+
+   public
+    static long getAdmissionTargetDelayMillis() {
+      return Long.parseLong(
+          authServerConfig.getProperty("admissionTargetDelayMillis", "10"));
+    }
+
+   public
+    static long getAdmissionIntervalMillis() {
+      return Long.parseLong(
+          authServerConfig.getProperty("admissionIntervalMillis", "100"));
+    }
+
+   public
+    static int getLdapMultiplexConnections() {
+      return Integer.parseInt(
+          authServerConfig.getProperty("ldapMultiplexConnections", "0"));
+    }
+
+   public
+    static long getLdapSearchTimeoutMillis() {
+      return Long.parseLong(
+          authServerConfig.getProperty("ldapSearchTimeoutMillis", "5000"));
+    }
+
    public
     static int getMaxAccountLimit() {
       return Integer.parseInt(authServerConfig.getProperty("maxAccountLimit"));
@@ -27,7 +27,6 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
-import java.io.UnsupportedEncodingException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Map;
@@ -42,12 +41,10 @@ import com.seagates3.response.ServerResponse;
 import com.seagates3.util.BinaryUtil;
 import com.seagates3.util.IEMUtil;
 
-import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.DefaultFileRegion;
-import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
@@ -57,7 +54,6 @@ import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpUtil;
-import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.stream.ChunkedFile;
@@ -151,36 +147,17 @@ class AuthServerGetHandler {
    */
  private
   void returnHTTPResponse(ServerResponse requestResponse) {
-    String responseBody = requestResponse.getResponseBody();
-    FullHttpResponse response;
+    FullHttpResponse response = HttpResponseWriter.newResponse(
+        ctx.alloc(), requestResponse.getResponseStatus(),
+        requestResponse.getResponseBody());
 
-    try {
-      response = new DefaultFullHttpResponse(
-          HttpVersion.HTTP_1_1, requestResponse.getResponseStatus(),
-          Unpooled.wrappedBuffer(responseBody.getBytes("UTF-8")));
+    LOGGER.info("HTTP Response [" + response.status() + "]");
 
-      LOGGER.info("HTTP Response [" + response.status() + "]");
-    }
-    catch (UnsupportedEncodingException ex) {
-      LOGGER.error("UTF-8 encoding is not supported.");
-      response = null;
-    }
-    if (response != null) {
-      response.headers().set(HttpHeaderNames.CONTENT_TYPE, "text/xml");
-      response.headers().set(HttpHeaderNames.CONTENT_LENGTH,
-                             response.content().readableBytes());
-
-      if (!keepAlive) {
-        ctx.write(response).addListener(ChannelFutureListener.CLOSE);
-
-        LOGGER.debug("Connection closed.");
-      } else {
-        response.headers().set(HttpHeaderNames.CONNECTION,
-                               HttpHeaderValues.KEEP_ALIVE);
-        ctx.writeAndFlush(response);
-
-        LOGGER.debug("Connection kept alive.");
-      }
+    HttpResponseWriter.write(ctx, response, keepAlive);
+    if (!keepAlive) {
+      LOGGER.debug("Connection closed.");
+    } else {
+      LOGGER.debug("Connection kept alive.");
     }
   }
 
@@ -241,35 +218,16 @@ class AuthServerGetHandler {
 
  private
   void sendErrorResponse(HttpResponseStatus status, String responseBody) {
-    FullHttpResponse httpResponse;
-
-    try {
-      httpResponse = new DefaultFullHttpResponse(
-          HttpVersion.HTTP_1_1, status,
-          Unpooled.wrappedBuffer(responseBody.getBytes("UTF-8")));
-
-      LOGGER.debug("Error response sent.");
-    }
-    catch (UnsupportedEncodingException ex) {
-      LOGGER.error("UTF-8 encoding is not supported.");
-      httpResponse = null;
-    }
-    if (httpResponse != null) {
-      httpResponse.headers().set(HttpHeaderNames.CONTENT_TYPE, "text/xml");
-      httpResponse.headers().set(HttpHeaderNames.CONTENT_LENGTH,
-                                 httpResponse.content().readableBytes());
+    FullHttpResponse httpResponse =
+        HttpResponseWriter.newResponse(ctx.alloc(), status, responseBody);
 
-      if (!keepAlive) {
-        ctx.write(httpResponse).addListener(ChannelFutureListener.CLOSE);
+    LOGGER.debug("Error response sent.");
 
-        LOGGER.debug("Connection closed.");
-      } else {
-        httpResponse.headers().set(HttpHeaderNames.CONNECTION,
-                                   HttpHeaderValues.KEEP_ALIVE);
-        ctx.writeAndFlush(httpResponse);
-
-        LOGGER.debug("Connection kept alive.");
-      }
+    HttpResponseWriter.write(ctx, httpResponse, keepAlive);
+    if (!keepAlive) {
+      LOGGER.debug("Connection closed.");
+    } else {
+      LOGGER.debug("Connection kept alive.");
     }
   }
  private
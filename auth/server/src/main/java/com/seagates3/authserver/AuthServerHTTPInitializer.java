@@ -20,31 +20,91 @@
 
 package com.seagates3.authserver;
 
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
-import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.codec.http.HttpObjectAggregator;
-import io.netty.handler.codec.http.HttpRequestDecoder;
 import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.stream.ChunkedWriteHandler;
+import io.netty.util.concurrent.EventExecutor;
 import io.netty.util.concurrent.EventExecutorGroup;
 
-public class AuthServerHTTPInitializer extends ChannelInitializer<SocketChannel> {
+public class AuthServerHTTPInitializer extends ChannelInitializer<Channel> {
 
     private final EventExecutorGroup EXECUTOR_GROUP;
+    private final RequestExecutor REQUEST_EXECUTOR;
+    private final AdmissionControllers ADMISSION_CONTROLLERS;
+    private final Bulkhead BULKHEAD;
 
     public AuthServerHTTPInitializer(EventExecutorGroup executorGroup) {
+        this(executorGroup, null);
+    }
+
+    /**
+     * @param requestExecutor Executor serving each request in a thread of
+     *        its own, or null to serve requests in the executor group.
+     */
+    public AuthServerHTTPInitializer(EventExecutorGroup executorGroup,
+            RequestExecutor requestExecutor) {
+        this(executorGroup, requestExecutor, null);
+    }
+
+    /**
+     * @param requestExecutor Executor serving each request in a thread of
+     *        its own, or null to serve requests in the executor group.
+     * @param admissionControllers Admit the requests to each executor, or
+     *        null to admit all requests.
+     */
+    AuthServerHTTPInitializer(EventExecutorGroup executorGroup,
+            RequestExecutor requestExecutor,
+            AdmissionControllers admissionControllers) {
+        this(executorGroup, requestExecutor, admissionControllers, null);
+    }
+
+    /**
+     * @param requestExecutor Executor serving each request in a thread of
+     *        its own, or null to serve requests in the executor group.
+     * @param admissionControllers Admit the requests to each executor, or
+     *        null to admit all requests.
+     * @param bulkhead Serves the admin requests on an executor of their own,
+     *        or null to serve them like the other requests.
+     */
+    AuthServerHTTPInitializer(EventExecutorGroup executorGroup,
+            RequestExecutor requestExecutor,
+            AdmissionControllers admissionControllers, Bulkhead bulkhead) {
         EXECUTOR_GROUP = executorGroup;
+        REQUEST_EXECUTOR = requestExecutor;
+        ADMISSION_CONTROLLERS = admissionControllers;
+        BULKHEAD = bulkhead;
     }
 
     @Override
-    public void initChannel(SocketChannel ch) {
+    public void initChannel(Channel ch) {
         ChannelPipeline p = ch.pipeline();
+        p.addLast("flushConsolidation", new FlushConsolidationHandler(
+                FlushConsolidationHandler.DEFAULT_EXPLICIT_FLUSH_AFTER_FLUSHES,
+                true));
 
-        p.addLast(new HttpServerCodec());
-        p.addLast("decoder", new HttpRequestDecoder());
+        p.addLast("codec", new HttpServerCodec());
         p.addLast("aggregator", new HttpObjectAggregator(1048576));
         p.addLast(new ChunkedWriteHandler());
-        p.addLast(EXECUTOR_GROUP, new AuthServerHandler());
+        // Requests of the connection are served by a single thread of the
+        // executor group, admitted by the controller of that thread.
+        EventExecutor executor =
+                REQUEST_EXECUTOR == null ? EXECUTOR_GROUP.next() : null;
+        AdmissionHandler admission = null;
+        if (ADMISSION_CONTROLLERS != null) {
+            admission = new AdmissionHandler(ADMISSION_CONTROLLERS.get(
+                    executor == null ? REQUEST_EXECUTOR : executor), BULKHEAD);
+            p.addLast("admission", admission);
+        }
+        if (REQUEST_EXECUTOR == null) {
+            p.addLast(executor,
+                    new AuthServerHandler(null, admission, BULKHEAD));
+        } else {
+            p.addLast(new AuthServerHandler(REQUEST_EXECUTOR, admission,
+                    BULKHEAD));
+        }
     }
 }
@@ -25,10 +25,18 @@ import org.slf4j.LoggerFactory;
 
 import com.seagates3.perf.S3Perf;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
 import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpUtil;
 
 /**
  * Extend the Simple Channel Inbound Handler to create a custom handler for
@@ -42,6 +50,87 @@ class AuthServerHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
       LoggerFactory.getLogger(AuthServerHandler.class.getName());
 
   /**
+   * Executor of the requests of the connection, or null to serve them in the
+   * thread reading them.
+   */
+ private
+  final Executor requestExecutor;
+
+  /**
+   * Orders the responses of requests served in parallel, or on the executor
+   * of the bulkhead, or null if the requests of the connection are served
+   * one after the other.
+   */
+ private
+  final ResponseSequencer sequencer;
+
+  /**
+   * Admission of the requests of the connection, or null if all requests
+   * are admitted.
+   */
+ private
+  final AdmissionHandler admission;
+
+  /**
+   * Bulkhead serving the admin requests of the connection, or null if all
+   * requests are served on the executor of the connection.
+   */
+ private
+  final Bulkhead bulkhead;
+
+ public
+  AuthServerHandler() { this(null); }
+
+  /**
+   * @param requestExecutor Executor serving the requests in threads of their
+   *        own, or null to serve them in the thread reading them.
+   */
+ public
+  AuthServerHandler(RequestExecutor requestExecutor) {
+    this(requestExecutor, null);
+  }
+
+  /**
+   * @param requestExecutor Executor serving the requests in threads of their
+   *        own, or null to serve them in the thread reading them.
+   * @param admission Admission of the requests, placed before this handler
+   *        in the pipeline, or null to admit all requests.
+   */
+  AuthServerHandler(RequestExecutor requestExecutor,
+                    AdmissionHandler admission) {
+    this(requestExecutor, admission, null);
+  }
+
+  /**
+   * @param requestExecutor Executor serving the requests in threads of their
+   *        own, or null to serve them in the thread reading them.
+   * @param admission Admission of the requests, placed before this handler
+   *        in the pipeline, or null to admit all requests.
+   * @param bulkhead Bulkhead serving the admin requests, or null to serve
+   *        them like the other requests.
+   */
+  AuthServerHandler(RequestExecutor requestExecutor,
+                    AdmissionHandler admission, Bulkhead bulkhead) {
+    this.admission = admission;
+    this.bulkhead = bulkhead;
+    if (requestExecutor == null) {
+      this.requestExecutor = null;
+    } else if (requestExecutor.isInParallel()) {
+      this.requestExecutor = requestExecutor;
+    } else {
+      this.requestExecutor = requestExecutor.newSerialExecutor();
+    }
+    if ((requestExecutor != null && requestExecutor.isInParallel()) ||
+        bulkhead != null) {
+      sequencer = new ResponseSequencer();
+    } else {
+      sequencer = null;
+    }
+  }
+
+  /**
+   * Flush the responses of all the requests read from the connection. The
+   * request handlers only write their responses.
    *
    * @param ctx
    */
@@ -60,8 +149,177 @@ class AuthServerHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
    * @param ctx         Channel Hander Context object.
    * @param httpRequest Instance of FullHttpRequest
    */
-  @Override public void channelRead0(ChannelHandlerContext ctx,
-                                     FullHttpRequest httpRequest) {
+  @Override public void channelRead0(final ChannelHandlerContext ctx,
+                                     final FullHttpRequest httpRequest) {
+    final AdmissionHandler.Ticket ticket =
+        admission == null ? null : admission.next();
+    if (sequencer != null) {
+      serveInTurn(ctx, httpRequest, ticket);
+      return;
+    }
+
+    if (requestExecutor == null) {
+      start(ticket);
+      try {
+        serve(ctx, httpRequest, ticket);
+      }
+      finally {
+        done(ticket);
+      }
+      return;
+    }
+
+    // The request is released when this method returns, keep it until it is
+    // served. Responses written from the request thread are passed to the
+    // event loop of the channel, flush them once the request is served.
+    httpRequest.retain();
+    requestExecutor.execute(new Runnable() {
+      @Override public void run() {
+        start(ticket);
+        try {
+          serve(ctx, httpRequest, ticket);
+          ctx.flush();
+        }
+        catch (RuntimeException e) {
+          exceptionCaught(ctx, e);
+        }
+        finally {
+          httpRequest.release();
+          done(ticket);
+        }
+      }
+    });
+  }
+
+  /**
+   * Serve the request on the executor of the bulkhead if it isolates it, on
+   * the executor of the connection otherwise, and send its response once the
+   * responses of the requests before it are sent. Requests turned down are
+   * answered from the event loop.
+   */
+ private
+  void serveInTurn(final ChannelHandlerContext ctx,
+                   final FullHttpRequest httpRequest,
+                   final AdmissionHandler.Ticket ticket) {
+    // The request is released when channelRead0 returns, keep it until it
+    // is served.
+    httpRequest.retain();
+    final long sequence = sequencer.receive();
+    final Executor executor;
+    if (isIsolated(httpRequest, ticket)) {
+      executor = bulkhead.getExecutor();
+    } else {
+      executor = requestExecutor;
+    }
+    Runnable request = new Runnable() {
+      @Override public void run() {
+        start(ticket);
+        prepare(ctx, httpRequest, ticket,
+                executor == null ? ctx.executor() : executor)
+            .thenAccept(new Consumer<Runnable>() {
+              @Override public void accept(final Runnable send) {
+                sequencer.complete(sequence, new Runnable() {
+                  @Override public void run() {
+                    try {
+                      send.run();
+                    }
+                    finally {
+                      done(ticket);
+                    }
+                  }
+                });
+                ctx.flush();
+              }
+            });
+      }
+    };
+
+    // The SlowDown response of a request turned down doesn't wait behind the
+    // requests queued on the executor, only for the responses before it.
+    if (executor != null && isAdmitted(ticket)) {
+      executor.execute(request);
+    } else {
+      request.run();
+    }
+  }
+
+  /**
+   * Serve a POST request ahead of the requests before it on the connection.
+   * Other requests, and requests turned down, are only answered when their
+   * turn comes. Neither waits for the data store, the request thread is free
+   * once the searches of the request are sent.
+   *
+   * @param executor Executor serving the request once the data store
+   *        answers.
+   * @return sends the response once the responses of the requests before it
+   *         are sent.
+   */
+ private
+  CompletionStage<Runnable> prepare(final ChannelHandlerContext ctx,
+                                    final FullHttpRequest httpRequest,
+                                    final AdmissionHandler.Ticket ticket,
+                                    Executor executor) {
+    if (!httpRequest.method().equals(HttpMethod.POST) || !isAdmitted(ticket)) {
+      return CompletableFuture.<Runnable>completedFuture(new Runnable() {
+        @Override public void run() {
+          try {
+            serve(ctx, httpRequest, ticket);
+          }
+          catch (RuntimeException e) {
+            exceptionCaught(ctx, e);
+          }
+          finally {
+            httpRequest.release();
+          }
+        }
+      });
+    }
+
+    final S3Perf perf = new S3Perf();
+    perf.startClock();
+    final AuthServerPostHandler postHandler =
+        new AuthServerPostHandler(ctx, httpRequest);
+    CompletionStage<FullHttpResponse> response;
+    try {
+      response = postHandler.getResponseAsync(executor);
+    }
+    catch (RuntimeException e) {
+      CompletableFuture<FullHttpResponse> failed = new CompletableFuture<>();
+      failed.completeExceptionally(e);
+      response = failed;
+    }
+
+    return response.handle(
+        new BiFunction<FullHttpResponse, Throwable, Runnable>() {
+          @Override public Runnable apply(final FullHttpResponse response,
+                                          final Throwable e) {
+            httpRequest.release();
+            perf.endClock();
+            perf.printTime("AuthServerHandler");
+            if (e != null) {
+              return new Runnable() {
+                @Override public void run() { exceptionCaught(ctx, e); }
+              };
+            }
+            return new Runnable() {
+              @Override public void run() {
+                postHandler.returnHTTPResponse(response);
+              }
+            };
+          }
+        });
+  }
+
+ private
+  void serve(ChannelHandlerContext ctx, FullHttpRequest httpRequest,
+             AdmissionHandler.Ticket ticket) {
+    if (!isAdmitted(ticket)) {
+      LOGGER.debug("Server is overloaded, request turned down.");
+      HttpResponseWriter.write(ctx, AdmissionHandler.newSlowDownResponse(ctx),
+                               HttpUtil.isKeepAlive(httpRequest));
+      return;
+    }
+
     S3Perf perf = new S3Perf();
     perf.startClock();
     LOGGER.debug("Channel read succesful.");
@@ -79,6 +337,38 @@ class AuthServerHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
     perf.printTime("AuthServerHandler");
   }
 
+  /**
+   * @return true if the request is served on the executor of the bulkhead,
+   *         as classified by the admission handler if there is one.
+   */
+ private
+  boolean isIsolated(FullHttpRequest httpRequest,
+                     AdmissionHandler.Ticket ticket) {
+    if (ticket != null) {
+      return ticket.isIsolated();
+    }
+    return bulkhead != null && bulkhead.isolates(httpRequest);
+  }
+
+ private
+  static boolean isAdmitted(AdmissionHandler.Ticket ticket) {
+    return ticket == null || ticket.isAdmitted();
+  }
+
+ private
+  static void start(AdmissionHandler.Ticket ticket) {
+    if (ticket != null) {
+      ticket.start();
+    }
+  }
+
+ private
+  static void done(AdmissionHandler.Ticket ticket) {
+    if (ticket != null) {
+      ticket.done();
+    }
+  }
+
   @Override public void exceptionCaught(ChannelHandlerContext ctx,
                                         Throwable cause) {
     ctx.close();
@@ -23,16 +23,11 @@ package com.seagates3.authserver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
-import io.netty.handler.codec.http.HttpHeaderNames;
-import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpUtil;
-import io.netty.handler.codec.http.HttpVersion;
 
 public
 class AuthServerHeadHandler {
@@ -57,23 +52,15 @@ class AuthServerHeadHandler {
   void run() {
     if (httpRequest.uri().startsWith("/auth/health")) {
       // Generate Auth Server health check response with Status 200
-      FullHttpResponse response;
-      response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1,
-                                             HttpResponseStatus.OK);
+      FullHttpResponse response = HttpResponseWriter.newResponse(
+          ctx.alloc(), HttpResponseStatus.OK, null);
       LOGGER.debug("Sending Auth server health check response with status [" +
                    response.status() + "]");
 
-      response.headers().set(HttpHeaderNames.CONTENT_TYPE, "text/xml");
-      response.headers().set(HttpHeaderNames.CONTENT_LENGTH,
-                             response.content().readableBytes());
-
+      HttpResponseWriter.write(ctx, response, keepAlive);
       if (!keepAlive) {
-        ctx.write(response).addListener(ChannelFutureListener.CLOSE);
         LOGGER.debug("Response sent successfully and Connection was closed.");
       } else {
-        response.headers().set(HttpHeaderNames.CONNECTION,
-                               HttpHeaderValues.KEEP_ALIVE);
-        ctx.writeAndFlush(response);
         LOGGER.debug("Response sent successfully and Connection kept alive.");
       }
     }
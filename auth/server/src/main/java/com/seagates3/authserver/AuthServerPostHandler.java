@@ -20,12 +20,16 @@
 
 package com.seagates3.authserver;
 
-import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.seagates3.controller.DataPathController;
 import com.seagates3.controller.FaultPointsController;
 import com.seagates3.controller.IAMController;
 import com.seagates3.controller.SAMLWebSSOController;
@@ -34,16 +38,10 @@ import com.seagates3.response.generator.FaultPointsResponseGenerator;
 import com.seagates3.response.generator.ResponseGenerator;
 import com.seagates3.util.BinaryUtil;
 
-import io.netty.buffer.Unpooled;
-import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
-import io.netty.handler.codec.http.HttpHeaderNames;
-import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpUtil;
-import io.netty.handler.codec.http.HttpVersion;
 
 public class AuthServerPostHandler {
 
@@ -62,12 +60,59 @@ public class AuthServerPostHandler {
     }
 
     public void run() {
-        Map<String, String> requestBody = getHttpRequestBodyAsMap();
+        returnHTTPResponse(getResponse());
+    }
+
+    /**
+     * Serve the request without sending the response.
+     *
+     * @return response to send to the client.
+     */
+    public FullHttpResponse getResponse() {
+        return getResponse(startRequest());
+    }
+
+    /**
+     * Serve the request without sending the response. Data path requests
+     * don't wait for the data store when LDAP searches are multiplexed, other
+     * requests are served at once.
+     *
+     * @param executor Executor serving data path requests once the data store
+     *        answers.
+     * @return response to send to the client.
+     */
+    public CompletionStage<FullHttpResponse> getResponseAsync(
+            Executor executor) {
+        AuthRequest requestBody = startRequest();
+        DataPathController.Action dataPathAction = null;
+        if (AuthServerConfig.getLdapMultiplexConnections() > 0
+                && !httpRequest.uri().startsWith("/saml")) {
+            dataPathAction = DataPathController.getAction(
+                    requestBody.getAction());
+        }
+        if (dataPathAction == null) {
+            return CompletableFuture.completedFuture(getResponse(requestBody));
+        }
+
+        LOGGER.debug("Requested action: " + requestBody.getAction());
+        return new DataPathController()
+                .serveAsync(dataPathAction, httpRequest, requestBody, executor)
+                .thenApply(new Function<ServerResponse, FullHttpResponse>() {
+                    @Override
+                    public FullHttpResponse apply(
+                            ServerResponse serverResponse) {
+                        return newHttpResponse(serverResponse);
+                    }
+                });
+    }
+
+    private AuthRequest startRequest() {
+        AuthRequest requestBody = getAuthRequest();
 
         // Generate request Id per request
-        if (!(requestBody.get("Request_id") == null ||
-              (requestBody.get("Request_id")).isEmpty())) {
-          AuthServerConfig.setReqId(requestBody.get("Request_id"));
+        if (!(requestBody.getRequestId() == null ||
+              requestBody.getRequestId().isEmpty())) {
+          AuthServerConfig.setReqId(requestBody.getRequestId());
         } else {
           AuthServerConfig.setReqId(BinaryUtil.getAlphaNumericUUID());
         }
@@ -80,28 +125,33 @@ public class AuthServerPostHandler {
           AuthServerConfig.setStripedReqId(
               stripped_request_id.substring(stripped_request_id.length() - 12));
         }
+        return requestBody;
+    }
 
+    private FullHttpResponse getResponse(AuthRequest requestBody) {
         if (httpRequest.uri().startsWith("/saml")) {
             LOGGER.debug("Calling SAML WebSSOControler.");
-            FullHttpResponse response = new SAMLWebSSOController(requestBody)
-                    .samlSignIn();
-            returnHTTPResponse(response);
+            return new SAMLWebSSOController(requestBody).samlSignIn();
         } else {
             ServerResponse serverResponse;
-            String action = requestBody.get("Action");
+            String action = requestBody.getAction();
             if (action == null) {
                 LOGGER.debug("Request action can not be null.");
-                returnHTTPResponse(new ResponseGenerator().badRequest());
-                return;
+                return newHttpResponse(new ResponseGenerator().badRequest());
             }
             LOGGER.debug("Requested action: " + action);
-            if (isFiRequest(action)) {
+            DataPathController.Action dataPathAction =
+                    DataPathController.getAction(action);
+            if (dataPathAction != null) {
+                serverResponse = serveDataPathRequest(dataPathAction,
+                        requestBody);
+            } else if (isFiRequest(action)) {
                 serverResponse = serveFiRequest(requestBody);
             } else {
                 serverResponse = serveIamRequest(requestBody);
             }
 
-            returnHTTPResponse(serverResponse);
+            return newHttpResponse(serverResponse);
         }
     }
 
@@ -109,40 +159,35 @@ public class AuthServerPostHandler {
      * Read the requestResponse object and send the response to the client.
      */
     private void returnHTTPResponse(ServerResponse requestResponse) {
-        String responseBody = requestResponse.getResponseBody();
-        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1,
-                requestResponse.getResponseStatus(),
-                Unpooled.wrappedBuffer(responseBody.getBytes(StandardCharsets.UTF_8))
-        );
-        response.headers().set(HttpHeaderNames.CONTENT_TYPE, "text/xml");
-        response.headers().set(HttpHeaderNames.CONTENT_LENGTH,
-                               response.content().readableBytes());
+        returnHTTPResponse(newHttpResponse(requestResponse));
+    }
 
-        returnHTTPResponse(response);
+    private FullHttpResponse newHttpResponse(ServerResponse requestResponse) {
+        return HttpResponseWriter.newResponse(ctx.alloc(),
+                requestResponse.getResponseStatus(),
+                requestResponse.getResponseBody());
     }
 
-    private void returnHTTPResponse(FullHttpResponse response) {
+    /**
+     * Send the response to the client.
+     */
+    void returnHTTPResponse(FullHttpResponse response) {
 
        LOGGER.info("HTTP Response [" + response.status() + "]");
 
-        if (!keepAlive) {
-            ctx.write(response).addListener(ChannelFutureListener.CLOSE);
+        HttpResponseWriter.write(ctx, response, keepAlive);
 
-            LOGGER.debug("Response sent successfully.");
+        LOGGER.debug("Response sent successfully.");
+        if (!keepAlive) {
             LOGGER.debug("Connection closed.");
         } else {
-          response.headers().set(HttpHeaderNames.CONNECTION,
-                                 HttpHeaderValues.KEEP_ALIVE);
-            ctx.writeAndFlush(response);
-
-            LOGGER.debug("Response sent successfully.");
             LOGGER.debug("Connection kept alive.");
         }
     }
 
-    private Map<String, String> getHttpRequestBodyAsMap() {
+    private AuthRequest getAuthRequest() {
         AuthRequestDecoder decoder = new AuthRequestDecoder(httpRequest);
-        return decoder.getRequestBodyAsMap();
+        return decoder.getAuthRequest();
     }
 
     private boolean isFiRequest(String request) {
@@ -168,6 +213,12 @@ public class AuthServerPostHandler {
         return serverResponse;
     }
 
+    private ServerResponse serveDataPathRequest(
+            DataPathController.Action action, Map<String, String> requestBody) {
+        return new DataPathController().serve(action, httpRequest,
+                requestBody);
+    }
+
     private ServerResponse serveIamRequest(Map<String, String> requestBody) {
         IAMController iamController = new IAMController();
         return iamController.serve(httpRequest, requestBody);
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authserver;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+
+/**
+ * Executor of its own for the IAM admin actions, so that account management
+ * can't starve the authentication and authorization requests of the S3
+ * servers.
+ *
+ * Actions like DeleteAccount walk and delete every user, role and key of an
+ * account and hold their thread for as long as it takes. Served on the data
+ * path executors, a bulk cleanup would queue object reads and writes behind
+ * it. Requests isolated by the bulkhead are served on its executor, with a
+ * limit of their own, and don't count against the admission control of the
+ * data path.
+ */
+class Bulkhead {
+
+  /**
+   * Actions of the S3 servers, served on the data path executors.
+   */
+ private
+  static final Set<String> DATA_PATH_ACTIONS = new HashSet<>(Arrays.asList(
+      "AuthenticateUser", "AuthenticateAndAuthorize", "AuthorizeUser",
+      "AuthenticateChunks", "ValidateACL", "ValidatePolicy"));
+
+ private
+  final RequestExecutor executor;
+
+  /**
+   * @param maxConcurrentRequests Maximum number of admin requests served at
+   *        once.
+   */
+  Bulkhead(int maxConcurrentRequests) {
+    this(new RequestExecutor(maxConcurrentRequests, true));
+  }
+
+  Bulkhead(RequestExecutor executor) { this.executor = executor; }
+
+  /**
+   * @return executor of the isolated requests. It serves the pipelined
+   *         requests of a connection in parallel.
+   */
+  RequestExecutor getExecutor() { return executor; }
+
+  /**
+   * @return true if the request is an admin request, to be served on the
+   *         executor of the bulkhead. The action is decoded like the request
+   *         body is when served. Requests without an action are left to the
+   *         data path, which turns them down at once.
+   */
+  boolean isolates(FullHttpRequest httpRequest) {
+    if (!HttpMethod.POST.equals(httpRequest.method())) {
+      return false;
+    }
+    if (httpRequest.uri().startsWith("/saml")) {
+      return true;
+    }
+    String action = new AuthRequestDecoder(httpRequest).getAction();
+    return action != null && !DATA_PATH_ACTIONS.contains(action);
+  }
+
+  void shutdown() { executor.shutdown(); }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authserver;
+
+import com.seagates3.response.ServerResponse;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.util.AsciiString;
+
+/**
+ * Write the responses of the auth server to the channel.
+ *
+ * Response bodies are encoded straight into a direct buffer of the channel
+ * allocator, which is pooled, instead of a byte array wrapped in a heap
+ * buffer. Keep-alive responses are written without a flush. AuthServerHandler
+ * flushes once all the requests read from the connection are served, so the
+ * responses of pipelined requests go out together.
+ */
+public
+final class HttpResponseWriter {
+
+ private
+  static final AsciiString TEXT_XML = AsciiString.cached("text/xml");
+
+ private
+  HttpResponseWriter() {}
+
+  /**
+   * @return XML response with the body encoded in UTF-8.
+   */
+ public
+  static FullHttpResponse newResponse(ByteBufAllocator alloc,
+                                      HttpResponseStatus status,
+                                      CharSequence body) {
+    ByteBuf content;
+    if (body == null || body.length() == 0) {
+      content = Unpooled.EMPTY_BUFFER;
+    } else {
+      content = alloc.directBuffer(ByteBufUtil.utf8Bytes(body));
+      ByteBufUtil.writeUtf8(content, body);
+    }
+
+    FullHttpResponse response =
+        new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status, content);
+    HttpHeaders headers = response.headers();
+    headers.set(HttpHeaderNames.CONTENT_TYPE, TEXT_XML);
+    headers.setInt(HttpHeaderNames.CONTENT_LENGTH, content.readableBytes());
+    return response;
+  }
+
+  /**
+   * Write the server response. The connection is closed once the response is
+   * written unless it is kept alive.
+   */
+ public
+  static void write(ChannelHandlerContext ctx, ServerResponse serverResponse,
+                    boolean keepAlive) {
+    write(ctx, newResponse(ctx.alloc(), serverResponse.getResponseStatus(),
+                           serverResponse.getResponseBody()),
+          keepAlive);
+  }
+
+  /**
+   * Write the response. The connection is closed once the response is
+   * written unless it is kept alive.
+   */
+ public
+  static void write(ChannelHandlerContext ctx, FullHttpResponse response,
+                    boolean keepAlive) {
+    if (keepAlive) {
+      response.headers().set(HttpHeaderNames.CONNECTION,
+                             HttpHeaderValues.KEEP_ALIVE);
+      ctx.write(response);
+    } else {
+      ctx.write(response).addListener(ChannelFutureListener.CLOSE);
+    }
+  }
+}
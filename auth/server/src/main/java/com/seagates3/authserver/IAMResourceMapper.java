@@ -27,6 +27,7 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
 import java.util.HashMap;
+import java.util.Map;
 
 /**
  * IAM APIs do not follow restful architecture. IAM requests are HTTP POST
@@ -39,10 +40,12 @@ public class IAMResourceMapper {
 
     private static final String ROUTES_CONFIG_FILE = "/IAMroutes.json";
 
-    private static HashMap<String, String> routeConfigs;
+    private static HashMap<String, ResourceMap> routes = new HashMap<>();
 
     /**
-     * Read the handler mapping rules from routes.json.
+     * Read the handler mapping rules from routes.json and build the route
+     * table. The validator and controller of every route are resolved here so
+     * that requests don't pay for the reflective lookups.
      *
      * @throws java.io.UnsupportedEncodingException
      */
@@ -51,7 +54,16 @@ public class IAMResourceMapper {
                IAMResourceMapper.class.getResourceAsStream(ROUTES_CONFIG_FILE);
            InputStreamReader reader = new InputStreamReader(in, "UTF-8")) {
         Gson gson = new Gson();
-        routeConfigs = gson.fromJson(reader, HashMap.class);
+        HashMap<String, String> routeConfigs =
+            gson.fromJson(reader, HashMap.class);
+        HashMap<String, ResourceMap> resourceMaps = new HashMap<>();
+        for (Map.Entry<String, String> route : routeConfigs.entrySet()) {
+          String[] tokens = route.getValue().split("#", 2);
+          ResourceMap resourceMap = new ResourceMap(tokens[0], tokens[1]);
+          resolve(resourceMap);
+          resourceMaps.put(route.getKey(), resourceMap);
+        }
+        routes = resourceMaps;
        }
        catch (IOException e) {
          // Do nothing
@@ -71,15 +83,28 @@ public class IAMResourceMapper {
      */
     public static ResourceMap getResourceMap(String action)
             throws AuthResourceNotFoundException {
-        String controllerAction = routeConfigs.get(action);
+        ResourceMap resourceMap = routes.get(action);
 
-        if (controllerAction == null) {
+        if (resourceMap == null) {
             String errorMessage = "Requested operation " + action
                     + " is not supported.";
             throw new AuthResourceNotFoundException(errorMessage);
         }
 
-        String[] tokens = controllerAction.split("#", 2);
-        return new ResourceMap(tokens[0], tokens[1]);
+        return resourceMap;
+    }
+
+    /**
+     * Resolve the handles of the route. A route which can't be resolved is
+     * kept, the request for it fails the same way when the handle is
+     * looked up again.
+     */
+    private static void resolve(ResourceMap resourceMap) {
+        try {
+            resourceMap.getParamValidatorHandle();
+            resourceMap.getControllerActionHandle();
+        } catch (ReflectiveOperationException e) {
+            // Reported when the route is requested.
+        }
     }
 }
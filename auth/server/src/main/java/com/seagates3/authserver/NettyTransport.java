@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authserver;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerDomainSocketChannel;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Netty transport the auth server listens with.
+ *
+ * NIO binds one acceptor channel per port. The native epoll transport binds
+ * the port with SO_REUSEPORT once per boss thread, so the kernel spreads new
+ * connections over several acceptors instead of queueing them behind one.
+ * With a single boss thread, the default, the port is bound once and
+ * SO_REUSEPORT has no effect.
+ * Only the epoll transport can listen on a unix domain socket.
+ */
+public
+enum NettyTransport {
+
+  NIO {
+    @Override public EventLoopGroup newEventLoopGroup(int threads) {
+      return new NioEventLoopGroup(threads);
+    }
+
+    @Override public ServerBootstrap configure(ServerBootstrap b) {
+      return b.channel(NioServerSocketChannel.class)
+          .childOption(ChannelOption.TCP_NODELAY, true);
+    }
+
+    @Override public int getAcceptors(int bossThreads) { return 1; }
+
+    @Override public ServerBootstrap configureDomainSocket(ServerBootstrap b) {
+      return null;
+    }
+  },
+
+  EPOLL {
+    @Override public EventLoopGroup newEventLoopGroup(int threads) {
+      return new EpollEventLoopGroup(threads);
+    }
+
+    @Override public ServerBootstrap configure(ServerBootstrap b) {
+      return b.channel(EpollServerSocketChannel.class)
+          .option(EpollChannelOption.SO_REUSEPORT, true)
+          .childOption(ChannelOption.TCP_NODELAY, true)
+          .childOption(EpollChannelOption.TCP_QUICKACK, true);
+    }
+
+    @Override public int getAcceptors(int bossThreads) {
+      return Math.max(bossThreads, 1);
+    }
+
+    @Override public ServerBootstrap configureDomainSocket(ServerBootstrap b) {
+      return b.channel(EpollServerDomainSocketChannel.class);
+    }
+  };
+
+ private
+  static final Logger LOGGER =
+      LoggerFactory.getLogger(NettyTransport.class.getName());
+
+  /**
+   * @return event loop group of the transport.
+   */
+ public
+  abstract EventLoopGroup newEventLoopGroup(int threads);
+
+  /**
+   * Set the server channel of the transport and its socket options.
+   */
+ public
+  abstract ServerBootstrap configure(ServerBootstrap b);
+
+  /**
+   * @return number of server channels to bind on each port.
+   */
+ public
+  abstract int getAcceptors(int bossThreads);
+
+  /**
+   * Set the unix domain socket server channel of the transport.
+   *
+   * @return the bootstrap, or null if the transport can't listen on a unix
+   *         domain socket.
+   */
+ public
+  abstract ServerBootstrap configureDomainSocket(ServerBootstrap b);
+
+  /**
+   * @return the configured transport, or NIO if the native transport is not
+   *         available on this platform.
+   */
+ public
+  static NettyTransport select(String name) {
+    if (!"epoll".equalsIgnoreCase(name)) {
+      return NIO;
+    }
+    if (!Epoll.isAvailable()) {
+      LOGGER.warn("Native epoll transport is not available, using NIO",
+                  Epoll.unavailabilityCause());
+      return NIO;
+    }
+    return EPOLL;
+  }
+}
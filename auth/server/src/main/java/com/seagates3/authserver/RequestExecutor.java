@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authserver;
+
+import io.netty.util.concurrent.DefaultThreadFactory;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Run each request in a thread of its own, so requests blocked on LDAP don't
+ * hold up the requests behind them on a fixed size executor group.
+ *
+ * Requests run on a platform thread pool which grows up to the bound of
+ * requests served at once and shrinks back when idle. Virtual threads are
+ * opt in: every request then gets a new virtual thread and a semaphore bounds
+ * the number of requests served at once. JLDAP waits for LDAP replies with
+ * Object.wait() inside synchronized blocks, which pins the carrier thread of
+ * a virtual thread before JDK 24. There, blocking LDAP calls are limited to
+ * the number of carrier threads, i.e. of cores, whatever the bound.
+ */
+public
+class RequestExecutor implements Executor {
+
+ private
+  static final Logger LOGGER =
+      LoggerFactory.getLogger(RequestExecutor.class.getName());
+
+ private
+  final ExecutorService threads;
+ private
+  final Semaphore permits;
+ private
+  final boolean inParallel;
+
+  /**
+   * @param maxConcurrentRequests Maximum number of requests served at once.
+   * @param inParallel Serve the pipelined requests of a connection in
+   *        parallel rather than one after the other.
+   */
+ public
+  RequestExecutor(int maxConcurrentRequests, boolean inParallel) {
+    this(null, maxConcurrentRequests, inParallel);
+  }
+
+  /**
+   * @param maxConcurrentRequests Maximum number of requests served at once.
+   * @param inParallel Serve the pipelined requests of a connection in
+   *        parallel rather than one after the other.
+   * @param virtual Serve requests on virtual threads if the JVM has them.
+   */
+ public
+  RequestExecutor(int maxConcurrentRequests, boolean inParallel,
+                  boolean virtual) {
+    this(virtual ? newVirtualThreadExecutor() : null, maxConcurrentRequests,
+         inParallel);
+  }
+
+  RequestExecutor(ExecutorService virtualThreads, int maxConcurrentRequests,
+                  boolean inParallel) {
+    this.inParallel = inParallel;
+    int limit = Math.max(maxConcurrentRequests, 1);
+    if (virtualThreads != null) {
+      threads = virtualThreads;
+      permits = new Semaphore(limit);
+    } else {
+      ThreadPoolExecutor pool = new ThreadPoolExecutor(
+          limit, limit, 60, TimeUnit.SECONDS,
+          new LinkedBlockingQueue<Runnable>(),
+          new DefaultThreadFactory("authRequest", true));
+      pool.allowCoreThreadTimeOut(true);
+      threads = pool;
+      permits = null;
+    }
+  }
+
+  /**
+   * @return true if requests run on virtual threads.
+   */
+ public
+  boolean isVirtual() { return permits != null; }
+
+  /**
+   * @return true if the requests of a connection are served in parallel.
+   */
+ public
+  boolean isInParallel() { return inParallel; }
+
+  /**
+   * Run the request once a permit is available.
+   */
+  @Override public void execute(final Runnable request) {
+    if (permits == null) {
+      threads.execute(request);
+      return;
+    }
+
+    threads.execute(new Runnable() {
+      @Override public void run() {
+        permits.acquireUninterruptibly();
+        try {
+          request.run();
+        }
+        finally {
+          permits.release();
+        }
+      }
+    });
+  }
+
+  /**
+   * @return executor running the requests given to it one after the other,
+   *         in the order they were given, for the requests of a connection.
+   */
+ public
+  Executor newSerialExecutor() { return new SerialExecutor(); }
+
+ public
+  void shutdown() { threads.shutdown(); }
+
+  /**
+   * @return feature release of the JVM, e.g. 8 for 1.8.
+   */
+  static int getJavaVersion() {
+    String version = System.getProperty("java.specification.version");
+    if (version.startsWith("1.")) {
+      version = version.substring(2);
+    }
+    return Integer.parseInt(version);
+  }
+
+  /**
+   * @return virtual thread per task executor or null if the JVM doesn't have
+   *         virtual threads.
+   */
+ private
+  static ExecutorService newVirtualThreadExecutor() {
+    if (getJavaVersion() < 24) {
+      LOGGER.warn("Virtual threads are pinned while JLDAP waits for LDAP " +
+                  "replies before JDK 24, blocking LDAP calls are limited " +
+                  "to the number of cores");
+    }
+    try {
+      return (ExecutorService)Executors.class.getMethod(
+          "newVirtualThreadPerTaskExecutor").invoke(null);
+    }
+    catch (ReflectiveOperationException e) {
+      LOGGER.info("Virtual threads are not available, using a thread pool");
+      return null;
+    }
+  }
+
+ private
+  final class SerialExecutor implements Executor {
+
+   private
+    final Queue<Runnable> pending = new ArrayDeque<>();
+   private
+    boolean running;
+
+    @Override public void execute(final Runnable request) {
+      synchronized(this) {
+        pending.add(request);
+        if (running) {
+          return;
+        }
+        running = true;
+      }
+      RequestExecutor.this.execute(new Runnable() {
+        @Override public void run() { drain(); }
+      });
+    }
+
+   private
+    void drain() {
+      while (true) {
+        Runnable request;
+        synchronized(this) {
+          request = pending.poll();
+          if (request == null) {
+            running = false;
+            return;
+          }
+        }
+        try {
+          request.run();
+        }
+        catch (RuntimeException e) {
+          LOGGER.error("Request failed", e);
+        }
+      }
+    }
+  }
+}
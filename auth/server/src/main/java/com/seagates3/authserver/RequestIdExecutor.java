@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authserver;
+
+import java.util.Map;
+import java.util.concurrent.Executor;
+import org.slf4j.MDC;
+
+/**
+ * Run tasks on another executor with the request ID of the thread which
+ * created this executor, so that a request served across threads keeps its
+ * ID in its responses and log lines.
+ */
+public
+class RequestIdExecutor implements Executor {
+
+ private
+  final Executor executor;
+ private
+  final Map<String, String> context;
+
+  /**
+   * @param executor Executor running the tasks.
+   */
+ public
+  RequestIdExecutor(Executor executor) {
+    this.executor = executor;
+    this.context = MDC.getCopyOfContextMap();
+  }
+
+  @Override public void execute(final Runnable task) {
+    executor.execute(new Runnable() {
+      @Override public void run() {
+        Map<String, String> previous = MDC.getCopyOfContextMap();
+        setContext(context);
+        try {
+          task.run();
+        }
+        finally {
+          setContext(previous);
+        }
+      }
+    });
+  }
+
+ private
+  static void setContext(Map<String, String> context) {
+    if (context == null) {
+      MDC.clear();
+    } else {
+      MDC.setContextMap(context);
+    }
+  }
+}
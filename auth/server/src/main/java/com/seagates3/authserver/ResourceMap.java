@@ -20,8 +20,16 @@
 
 package com.seagates3.authserver;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+
 import org.apache.commons.lang.StringUtils;
 
+import com.seagates3.model.Requestor;
+import com.seagates3.response.ServerResponse;
+
 public class ResourceMap {
 
     private final String controllerName;
@@ -30,6 +38,14 @@ public class ResourceMap {
     private final String VALIDATOR_PACKAGE = "com.seagates3.parameter.validator";
     private final String CONTROLLER_PACKAGE = "com.seagates3.controller";
 
+    private static final MethodType VALIDATOR_TYPE =
+            MethodType.methodType(Boolean.class, Map.class);
+    private static final MethodType CONTROLLER_TYPE = MethodType.methodType(
+            ServerResponse.class, Requestor.class, Map.class);
+
+    private volatile MethodHandle paramValidator;
+    private volatile MethodHandle controllerAction;
+
     public ResourceMap(String controllerName, String action) {
         this.controllerName = controllerName;
         this.action = action;
@@ -73,4 +89,58 @@ public class ResourceMap {
         return String.format("isValid%sParams", StringUtils.capitalize(action));
     }
 
+    /**
+     * Return the parameter validator of the action, bound to an instance of
+     * the validator class. The handle is of type (Map)Boolean. It is resolved
+     * on first use and reused afterwards, validators keep no state.
+     *
+     * @return Validator handle.
+     * @throws ReflectiveOperationException if the validator class or method
+     *         doesn't exist.
+     */
+    public MethodHandle getParamValidatorHandle()
+            throws ReflectiveOperationException {
+        MethodHandle handle = paramValidator;
+        if (handle == null) {
+            Class<?> validator = Class.forName(getParamValidatorClass());
+            handle = MethodHandles.publicLookup()
+                    .unreflect(validator.getMethod(getParamValidatorMethod(),
+                            Map.class))
+                    .bindTo(validator.newInstance())
+                    .asType(VALIDATOR_TYPE);
+            paramValidator = handle;
+        }
+
+        return handle;
+    }
+
+    /**
+     * Return a handle which creates the controller for a request and invokes
+     * the action on it. The handle is of type (Requestor, Map)ServerResponse.
+     * It is resolved on first use and reused afterwards.
+     *
+     * @return Controller action handle.
+     * @throws ReflectiveOperationException if the controller class, its
+     *         constructor or the action doesn't exist.
+     */
+    public MethodHandle getControllerActionHandle()
+            throws ReflectiveOperationException {
+        MethodHandle handle = controllerAction;
+        if (handle == null) {
+            Class<?> controller = Class.forName(getControllerClass());
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            MethodHandle constructor = lookup.unreflectConstructor(
+                    controller.getConstructor(Requestor.class, Map.class));
+            MethodHandle action =
+                    lookup.unreflect(controller.getMethod(getControllerAction()));
+            handle = MethodHandles
+                    .filterReturnValue(constructor.asType(constructor.type()
+                            .changeReturnType(action.type().parameterType(0))),
+                            action)
+                    .asType(CONTROLLER_TYPE);
+            controllerAction = handle;
+        }
+
+        return handle;
+    }
 }
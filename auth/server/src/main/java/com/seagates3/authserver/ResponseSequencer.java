@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authserver;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Send the responses of the pipelined requests of a connection in the order
+ * the requests were received, whatever the order they are served in.
+ *
+ * Each request takes a sequence number when it is read. Once served, its
+ * response is held until the responses of all the requests before it are
+ * sent. One thread at a time sends the responses that are ready, the others
+ * leave theirs to it and return.
+ */
+class ResponseSequencer {
+
+ private
+  static final Logger LOGGER =
+      LoggerFactory.getLogger(ResponseSequencer.class.getName());
+
+ private
+  final Map<Long, Runnable> ready = new HashMap<>();
+ private
+  long received;
+ private
+  long next;
+ private
+  boolean sending;
+
+  /**
+   * @return sequence number of the request read from the connection.
+   */
+  synchronized long receive() { return received++; }
+
+  /**
+   * Send the response of the request once the responses of the requests
+   * before it are sent.
+   *
+   * @param sequence Sequence number of the request.
+   * @param response Sends the response of the request.
+   */
+  void complete(long sequence, Runnable response) {
+    synchronized(this) {
+      ready.put(sequence, response);
+      if (sending) {
+        return;
+      }
+      sending = true;
+    }
+
+    while (true) {
+      Runnable send;
+      synchronized(this) {
+        send = ready.remove(next);
+        if (send == null) {
+          sending = false;
+          return;
+        }
+        next++;
+      }
+      try {
+        send.run();
+      }
+      catch (RuntimeException e) {
+        LOGGER.error("Failed to send response", e);
+      }
+    }
+  }
+
+  /**
+   * @return number of served requests whose response waits for the
+   *         responses of earlier requests.
+   */
+  synchronized int getWaiting() { return ready.size(); }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.cache;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.seagates3.util.CoarseClock;
+
+/**
+ * Thread safe cache bounded by number of entries, with expire after write.
+ *
+ * Reads are a single ConcurrentHashMap lookup and never block. When the cache
+ * is full, the oldest written entry is offered as victim and a TinyLFU
+ * admission policy keeps whichever of the new entry and the victim has been
+ * accessed more often, so that a burst of one time keys can not flush the
+ * frequently used ones. Expired entries are dropped on read and are always
+ * chosen first for eviction.
+ */
+public class ConcurrentCache<K, V> {
+
+ private
+  final ConcurrentHashMap<K, Node<K, V>> data;
+ private
+  final ConcurrentLinkedQueue<Node<K, V>> writeOrder;
+ private
+  final AtomicInteger writeOrderSize = new AtomicInteger();
+ private
+  final ReentrantLock evictionLock = new ReentrantLock();
+ private
+  final FrequencySketch sketch;
+ private
+  final long maximumSize;
+ private
+  final long expireAfterWriteMillis;
+
+  /**
+   * @param maximumSize Maximum number of entries to hold.
+   * @param expireAfterWriteMillis Life time of an entry in milli seconds.
+   */
+ public
+  ConcurrentCache(long maximumSize, long expireAfterWriteMillis) {
+    this.maximumSize = Math.max(maximumSize, 0);
+    this.expireAfterWriteMillis = expireAfterWriteMillis;
+    int initialCapacity = (int)Math.min(this.maximumSize, 1024);
+    data = new ConcurrentHashMap<>(initialCapacity);
+    writeOrder = new ConcurrentLinkedQueue<>();
+    sketch = new FrequencySketch(this.maximumSize);
+  }
+
+  /**
+   * @return the cached value or null if the key is absent or has expired.
+   */
+ public
+  V get(K key) {
+    sketch.increment(key);
+    Node<K, V> node = data.get(key);
+    if (node == null) {
+      return null;
+    }
+
+    if (node.hasExpired(currentTimeMillis())) {
+      data.remove(key, node);
+      return null;
+    }
+    return node.value;
+  }
+
+  /**
+   * Add or replace the value of the key. When the cache is full the new
+   * entry may be rejected by the admission policy.
+   */
+ public
+  void put(K key, V value) {
+    Node<K, V> node =
+        new Node<>(key, value, currentTimeMillis() + expireAfterWriteMillis);
+    sketch.increment(key);
+    Node<K, V> prior = data.put(key, node);
+    writeOrder.add(node);
+    int queued = writeOrderSize.incrementAndGet();
+
+    if (prior == null && data.size() > maximumSize) {
+      evict(node);
+    } else if (queued > 2 * Math.max(maximumSize, data.size()) + 16) {
+      compact();
+    }
+  }
+
+  /**
+   * Discard the cached value of the key, if any.
+   */
+ public
+  void invalidate(K key) {
+    if (key != null) {
+      data.remove(key);
+    }
+  }
+
+  /**
+   * Discard all the cached values.
+   */
+ public
+  void invalidateAll() {
+    evictionLock.lock();
+    try {
+      data.clear();
+      writeOrder.clear();
+      writeOrderSize.set(0);
+    }
+    finally {
+      evictionLock.unlock();
+    }
+  }
+
+  /**
+   * @return number of entries, including the expired ones not yet dropped.
+   */
+ public
+  int size() { return data.size(); }
+
+ public
+  long getMaximumSize() { return maximumSize; }
+
+ public
+  long getExpireAfterWriteMillis() { return expireAfterWriteMillis; }
+
+  /**
+   * Source of time for the expiry checks. Overridden in unit tests.
+   */
+ protected
+  long currentTimeMillis() { return CoarseClock.currentTimeMillis(); }
+
+ private
+  void evict(Node<K, V> candidate) {
+    evictionLock.lock();
+    try {
+      long now = currentTimeMillis();
+      while (data.size() > maximumSize) {
+        Node<K, V> victim = pollLiveNode();
+        if (victim == null) {
+          break;
+        }
+
+        // Candidate may already be replaced or evicted by another writer.
+        boolean candidateGone = data.get(candidate.key) != candidate;
+        if (candidateGone || victim == candidate || victim.hasExpired(now) ||
+            sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+          data.remove(victim.key, victim);
+        } else {
+          // Victim is more popular, keep it and give it a second chance.
+          data.remove(candidate.key, candidate);
+          writeOrder.add(victim);
+          writeOrderSize.incrementAndGet();
+        }
+      }
+    }
+    finally {
+      evictionLock.unlock();
+    }
+  }
+
+  /**
+   * Remove the nodes which were replaced or invalidated from the write order
+   * queue.
+   */
+ private
+  void compact() {
+    if (!evictionLock.tryLock()) {
+      return;
+    }
+    try {
+      Iterator<Node<K, V>> it = writeOrder.iterator();
+      while (it.hasNext()) {
+        Node<K, V> node = it.next();
+        if (data.get(node.key) != node) {
+          it.remove();
+          writeOrderSize.decrementAndGet();
+        }
+      }
+    }
+    finally {
+      evictionLock.unlock();
+    }
+  }
+
+ private
+  Node<K, V> pollLiveNode() {
+    Node<K, V> node;
+    while ((node = writeOrder.poll()) != null) {
+      writeOrderSize.decrementAndGet();
+      if (data.get(node.key) == node) {
+        return node;
+      }
+    }
+    return null;
+  }
+
+ private
+  static final class Node<K, V> {
+
+   final K key;
+   final V value;
+   final long expiryTime;
+
+    Node(K key, V value, long expiryTime) {
+      this.key = key;
+      this.value = value;
+      this.expiryTime = expiryTime;
+    }
+
+    boolean hasExpired(long now) { return now >= expiryTime; }
+  }
+}
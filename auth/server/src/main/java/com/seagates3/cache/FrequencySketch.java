@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.cache;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Approximate access frequency of keys, used by ConcurrentCache to decide
+ * whether a new entry is worth evicting an existing one (TinyLFU admission).
+ *
+ * Count-Min sketch of 4-bit counters, sixteen counters per long. Counters are
+ * updated with CAS so recording an access never takes a lock. All counters
+ * are halved once the number of recorded accesses reaches ten times the
+ * cache size, so that the history ages out.
+ */
+class FrequencySketch {
+
+ private
+  static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L,
+                               0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+ private
+  static final long RESET_MASK = 0x7777777777777777L;
+ private
+  static final int MAX_COUNT = 15;
+
+ private
+  final AtomicLongArray table;
+ private
+  final int tableMask;
+ private
+  final int sampleSize;
+ private
+  final AtomicInteger additions = new AtomicInteger();
+ private
+  final AtomicBoolean resetting = new AtomicBoolean();
+
+  /**
+   * @param maximumSize Maximum number of entries held by the cache.
+   */
+  FrequencySketch(long maximumSize) {
+    int capacity = (int)Math.min(Math.max(maximumSize, 16), 1 << 30);
+    int length = Integer.highestOneBit(capacity - 1) << 1;
+    table = new AtomicLongArray(length);
+    tableMask = length - 1;
+    sampleSize = (int)Math.min(10L * capacity, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Record one access of the key.
+   */
+  void increment(Object key) {
+    int hash = spread(key.hashCode());
+    int start = (hash & 3) << 2;
+    boolean added = false;
+    for (int i = 0; i < 4; i++) {
+      added |= incrementAt(indexOf(hash, i), start + i);
+    }
+
+    if (added && additions.incrementAndGet() >= sampleSize) {
+      reset();
+    }
+  }
+
+  /**
+   * @return estimated number of accesses of the key, between 0 and 15.
+   */
+  int frequency(Object key) {
+    int hash = spread(key.hashCode());
+    int start = (hash & 3) << 2;
+    int frequency = MAX_COUNT;
+    for (int i = 0; i < 4; i++) {
+      long value = table.get(indexOf(hash, i));
+      int count = (int)((value >>> ((start + i) << 2)) & 0xfL);
+      frequency = Math.min(frequency, count);
+    }
+    return frequency;
+  }
+
+ private
+  boolean incrementAt(int index, int counter) {
+    int offset = counter << 2;
+    long mask = 0xfL << offset;
+    while (true) {
+      long value = table.get(index);
+      if ((value & mask) == mask) {
+        return false;
+      }
+      if (table.compareAndSet(index, value, value + (1L << offset))) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Halve every counter. Only one thread ages the table at a time, increments
+   * racing with it are tolerated since the counts are estimates anyway.
+   */
+ private
+  void reset() {
+    if (!resetting.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      for (int i = 0; i < table.length(); i++) {
+        while (true) {
+          long value = table.get(i);
+          if (table.compareAndSet(i, value, (value >>> 1) & RESET_MASK)) {
+            break;
+          }
+        }
+      }
+      additions.set(0);
+    }
+    finally {
+      resetting.set(false);
+    }
+  }
+
+ private
+  int indexOf(int item, int i) {
+    long hash = (item + SEEDS[i]) * SEEDS[i];
+    hash += (hash >>> 32);
+    return ((int)hash) & tableMask;
+  }
+
+ private
+  static int spread(int hash) {
+    hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+    hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+    return (hash >>> 16) ^ hash;
+  }
+}
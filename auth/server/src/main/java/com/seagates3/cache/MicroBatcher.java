@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.cache;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Merge concurrent loads of distinct keys into a single bulk load.
+ *
+ * The first caller to find no open batch opens one and becomes its leader.
+ * Callers arriving while the batch is open add their key to it and wait. The
+ * leader closes the batch when it holds the maximum number of keys or when
+ * the batch window has passed, runs the bulk load in its own thread and all
+ * callers of the batch pick their value from the result.
+ *
+ * The leader only waits for the window while another batch is being loaded.
+ * When the loader is idle the batch is loaded at once, so batching adds no
+ * latency at low request rates and builds up as loads start to overlap.
+ */
+public
+class MicroBatcher<K, V> {
+
+  /**
+   * Bulk load of the values of a batch of keys.
+   */
+ public
+  interface Loader<K, V> {
+
+    /**
+     * @return values of the keys found. Keys not found may be left out.
+     */
+    Map<K, V> loadAll(List<K> keys) throws Exception;
+  }
+
+ private
+  final Loader<K, V> loader;
+ private
+  final int maxBatchSize;
+ private
+  final long windowNanos;
+ private
+  final AtomicInteger loading = new AtomicInteger();
+ private
+  Batch open;
+
+  /**
+   * @param maxBatchSize Maximum number of keys in a batch.
+   * @param windowMicros Maximum time a batch is kept open, in micro seconds.
+   * @param loader Bulk loader of the batches.
+   */
+ public
+  MicroBatcher(int maxBatchSize, long windowMicros, Loader<K, V> loader) {
+    this.maxBatchSize = Math.max(maxBatchSize, 1);
+    this.windowNanos =
+        TimeUnit.MICROSECONDS.toNanos(Math.max(windowMicros, 0));
+    this.loader = loader;
+  }
+
+  /**
+   * @return value of the key or null if the bulk load didn't find it.
+   * @throws ExecutionException wrapping the exception thrown by the loader.
+   * @throws InterruptedException if interrupted while waiting for a batch
+   *         loaded by another thread.
+   */
+ public
+  V get(K key) throws ExecutionException, InterruptedException {
+    Batch batch;
+    boolean leader = false;
+    synchronized(this) {
+      if (open == null) {
+        open = new Batch(Thread.currentThread());
+        leader = true;
+      }
+      batch = open;
+      batch.keys.add(key);
+      if (batch.keys.size() >= maxBatchSize) {
+        close(batch);
+      }
+    }
+
+    if (leader) {
+      if (loading.get() > 0) {
+        long deadline = System.nanoTime() + windowNanos;
+        long remaining;
+        while (!batch.closed &&
+               (remaining = deadline - System.nanoTime()) > 0) {
+          LockSupport.parkNanos(this, remaining);
+        }
+      }
+      synchronized(this) {
+        if (!batch.closed) {
+          close(batch);
+        }
+      }
+      load(batch);
+    }
+
+    return batch.task.get().get(key);
+  }
+
+ private
+  void close(Batch batch) {
+    batch.closed = true;
+    open = null;
+    if (batch.leader != Thread.currentThread()) {
+      LockSupport.unpark(batch.leader);
+    }
+  }
+
+ private
+  void load(Batch batch) {
+    loading.incrementAndGet();
+    try {
+      batch.task.run();
+    }
+    finally {
+      loading.decrementAndGet();
+    }
+  }
+
+ private
+  final class Batch {
+
+   final Thread leader;
+   final Set<K> keys = new LinkedHashSet<>();
+   final FutureTask<Map<K, V>> task =
+        new FutureTask<>(new Callable<Map<K, V>>() {
+          @Override public Map<K, V> call() throws Exception {
+            List<K> batchKeys;
+            synchronized(MicroBatcher.this) {
+              batchKeys = new ArrayList<>(keys);
+            }
+            return loader.loadAll(batchKeys);
+          }
+        });
+   volatile boolean closed;
+
+    Batch(Thread leader) { this.leader = leader; }
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.BiConsumer;
+
+/**
+ * Coalesce concurrent loads of the same key.
+ *
+ * The first caller for a key runs the loader in its own thread. Callers
+ * arriving while that load is in progress wait for it and share its result or
+ * its error instead of starting their own. Once the load completes the key is
+ * forgotten, so the next caller starts a fresh load. Results are not cached
+ * here, callers are expected to put them in a cache.
+ *
+ * Asynchronous loads are coalesced the same way, callers arriving while one
+ * is in progress get its stage instead of waiting.
+ */
+public
+class SingleFlight<K, V> {
+
+ private
+  final ConcurrentHashMap<K, FutureTask<V>> inFlight =
+      new ConcurrentHashMap<>();
+ private
+  final ConcurrentHashMap<K, CompletableFuture<V>> inFlightAsync =
+      new ConcurrentHashMap<>();
+
+  /**
+   * @return value returned by the loader of the in progress load of the key,
+   *         or by the given loader if no load is in progress.
+   * @throws ExecutionException wrapping the exception thrown by the loader.
+   * @throws InterruptedException if interrupted while waiting for a load
+   *         started by another thread.
+   */
+ public
+  V execute(K key, Callable<V> loader) throws ExecutionException,
+      InterruptedException {
+    FutureTask<V> task = new FutureTask<>(loader);
+    FutureTask<V> running = inFlight.putIfAbsent(key, task);
+    if (running == null) {
+      running = task;
+      try {
+        task.run();
+      }
+      finally {
+        inFlight.remove(key, task);
+      }
+    }
+    return running.get();
+  }
+
+  /**
+   * @return stage of the in progress load of the key, or of the load started
+   *         by the given loader if no load is in progress. It fails with the
+   *         exception thrown by the loader or the exception of its stage.
+   */
+ public
+  CompletionStage<V> executeAsync(
+      final K key, Callable<? extends CompletionStage<V>> loader) {
+    final CompletableFuture<V> result = new CompletableFuture<>();
+    CompletableFuture<V> running = inFlightAsync.putIfAbsent(key, result);
+    if (running != null) {
+      return running;
+    }
+
+    CompletionStage<V> load;
+    try {
+      load = loader.call();
+    }
+    catch (Exception ex) {
+      inFlightAsync.remove(key, result);
+      result.completeExceptionally(ex);
+      return result;
+    }
+    load.whenComplete(new BiConsumer<V, Throwable>() {
+      @Override public void accept(V value, Throwable ex) {
+        inFlightAsync.remove(key, result);
+        if (ex != null) {
+          result.completeExceptionally(ex);
+        } else {
+          result.complete(value);
+        }
+      }
+    });
+    return result;
+  }
+
+  /**
+   * @return number of keys being loaded.
+   */
+ public
+  int size() { return inFlight.size() + inFlightAsync.size(); }
+}
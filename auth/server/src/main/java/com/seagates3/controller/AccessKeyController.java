@@ -31,6 +31,7 @@ import com.seagates3.model.Requestor;
 import com.seagates3.model.User;
 import com.seagates3.response.ServerResponse;
 import com.seagates3.response.generator.AccessKeyResponseGenerator;
+import com.seagates3.service.GlobalDataStore;
 import com.seagates3.util.KeyGenUtil;
 import java.util.Map;
 
@@ -155,6 +156,8 @@ public class AccessKeyController extends AbstractController {
         LOGGER.info("Deleting access key");
         try {
             accessKeyDAO.delete(accessKey);
+            GlobalDataStore.getInstance().invalidateAuthenticationCache(
+                accessKey.getId());
             LOGGER.debug("Deleted accesskey for account - " +
                          requestor.getAccount().getName());
         } catch (DataAccessException ex) {
@@ -267,6 +270,8 @@ public class AccessKeyController extends AbstractController {
         if (accessKey.getStatus().compareTo(newStatus) != 0) {
             try {
                 accessKeyDAO.update(accessKey, newStatus);
+                GlobalDataStore.getInstance().invalidateAuthenticationCache(
+                    accessKey.getId());
             } catch (DataAccessException ex) {
                 return accessKeyResponseGenerator.internalServerError();
             }
@@ -450,6 +450,8 @@ public class AccountController extends AbstractController {
             accountDao.deleteOu(account, LDAPUtils.GROUP_OU);
             accountDao.deleteOu(account, LDAPUtils.POLICY_OU);
             accountDao.delete(account);
+            GlobalDataStore.getInstance().invalidateAccountCache(
+                account.getName());
         } catch (DataAccessException e) {
             if (e.getLocalizedMessage().contains("subordinate objects must be deleted first")) {
                 return accountResponseGenerator.deleteConflict();
@@ -468,7 +470,7 @@ public class AccountController extends AbstractController {
         AccessKey[] accessKeys = accessKeyDAO.findAll(user);
         for (AccessKey accessKey : accessKeys) {
             accessKeyDAO.delete(accessKey);
-            GlobalDataStore.getInstance().getAuthenticationMap().remove(
+            GlobalDataStore.getInstance().invalidateAuthenticationCache(
                 accessKey.getId());
         }
     }
@@ -37,6 +37,7 @@ import com.seagates3.parameter.validator.S3ParameterValidatorUtil;
 import com.seagates3.response.ServerResponse;
 import com.seagates3.response.generator.AccountLoginProfileResponseGenerator;
 import com.seagates3.response.generator.AccountResponseGenerator;
+import com.seagates3.service.GlobalDataStore;
 import com.seagates3.util.DateUtil;
 /**
  *
@@ -117,6 +118,8 @@ class AccountLoginProfileController extends AbstractController {
                 requestBody.get("PasswordResetRequired").toUpperCase());
           }
           accountLoginProfileDAO.save(account);
+          GlobalDataStore.getInstance().invalidateAccountCache(
+              account.getName());
         }
         catch (DataAccessException ex) {
           LOGGER.error("Exception occurred while saving Account - " +
@@ -210,6 +213,8 @@ class AccountLoginProfileController extends AbstractController {
                 "Please provide password or password-reset flag");
           }
           accountLoginProfileDAO.save(account);
+          GlobalDataStore.getInstance().invalidateAccountCache(
+              account.getName());
           response =
               accountLoginProfileResponseGenerator.generateUpdateResponse();
         }
@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+package com.seagates3.controller;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.seagates3.authentication.ClientRequestParser;
+import com.seagates3.authentication.ClientRequestToken;
+import com.seagates3.authentication.SignatureValidator;
+import com.seagates3.authorization.Authorizer;
+import com.seagates3.authserver.AuthRequest;
+import com.seagates3.authserver.RequestIdExecutor;
+import com.seagates3.exception.InternalServerException;
+import com.seagates3.exception.InvalidAccessKeyException;
+import com.seagates3.exception.InvalidArgumentException;
+import com.seagates3.exception.InvalidRequestorException;
+import com.seagates3.model.Account;
+import com.seagates3.model.Requestor;
+import com.seagates3.perf.S3Perf;
+import com.seagates3.response.ServerResponse;
+import com.seagates3.response.generator.AuthenticationResponseGenerator;
+import com.seagates3.service.RequestorService;
+
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpResponseStatus;
+
+/**
+ * Serve the actions of the S3 data path - AuthenticateUser,
+ * AuthenticateAndAuthorize and AuthorizeUser. These are almost all of the
+ * requests, so they skip the generic IAM pipeline of IAMController: parse the
+ * request, resolve the requestor, verify the signature, authorize and write
+ * the response.
+ */
+public
+class DataPathController {
+
+ private
+  static final Logger LOGGER =
+      LoggerFactory.getLogger(DataPathController.class.getName());
+
+  /**
+   * Actions served by this controller.
+   */
+ public
+  enum Action {
+    AUTHENTICATE_USER,
+    AUTHENTICATE_AND_AUTHORIZE,
+    AUTHORIZE_USER
+  }
+
+  /**
+   * @return Data path action or null if the action isn't served here.
+   */
+ public
+  static Action getAction(String requestAction) {
+    if (requestAction == null) {
+      return null;
+    }
+    switch (requestAction) {
+      case "AuthenticateUser":
+        return Action.AUTHENTICATE_USER;
+      case "AuthenticateAndAuthorize":
+        return Action.AUTHENTICATE_AND_AUTHORIZE;
+      case "AuthorizeUser":
+        return Action.AUTHORIZE_USER;
+      default:
+        return null;
+    }
+  }
+
+ public
+  ServerResponse serve(Action action, FullHttpRequest httpRequest,
+                       Map<String, String> requestBody) {
+    if (action == Action.AUTHORIZE_USER) {
+      return authorizeUser(requestBody);
+    }
+
+    ClientRequestToken clientRequestToken;
+    Requestor requestor;
+    try {
+      clientRequestToken = ClientRequestParser.parse(httpRequest, requestBody);
+      // Client Request Token will be null if the request is incorrect.
+      if (clientRequestToken == null) {
+        return new AuthenticationResponseGenerator().invalidArgument(
+            "AuthorizationHeaderMalformed");
+      }
+      requestor = RequestorService.getRequestor(clientRequestToken);
+    }
+    catch (InvalidAccessKeyException ex) {
+      LOGGER.debug(ex.getServerResponse().getResponseBody());
+      return ex.getServerResponse();
+    }
+    catch (InvalidArgumentException ex) {
+      LOGGER.debug(ex.getServerResponse().getResponseBody());
+      return ex.getServerResponse();
+    }
+    catch (InternalServerException ex) {
+      LOGGER.debug(ex.getServerResponse().getResponseBody());
+      return ex.getServerResponse();
+    }
+    catch (InvalidRequestorException ex) {
+      LOGGER.debug(ex.getServerResponse().getResponseBody());
+      return ex.getServerResponse();
+    }
+
+    ServerResponse serverResponse =
+        authenticate(action, clientRequestToken, requestor);
+    if (serverResponse != null) {
+      return serverResponse;
+    }
+    return new Authorizer().authorize(requestor, requestBody);
+  }
+
+  /**
+   * Serve the request like serve, without waiting for the data store. Once
+   * the requestor is found, the request is served on the executor with the
+   * request ID of the calling thread.
+   *
+   * @param executor Executor serving the request once its requestor is
+   *        found, in place of the thread which received the search results.
+   * @return response of the request. Fails only on unexpected errors.
+   */
+ public
+  CompletionStage<ServerResponse> serveAsync(
+      final Action action, FullHttpRequest httpRequest,
+      final Map<String, String> requestBody, Executor executor) {
+    if (action == Action.AUTHORIZE_USER) {
+      return CompletableFuture.completedFuture(authorizeUser(requestBody));
+    }
+
+    final ClientRequestToken clientRequestToken;
+    try {
+      clientRequestToken = ClientRequestParser.parse(httpRequest, requestBody);
+    }
+    catch (InvalidArgumentException ex) {
+      LOGGER.debug(ex.getServerResponse().getResponseBody());
+      return CompletableFuture.completedFuture(ex.getServerResponse());
+    }
+    catch (InvalidAccessKeyException ex) {
+      LOGGER.debug(ex.getServerResponse().getResponseBody());
+      return CompletableFuture.completedFuture(ex.getServerResponse());
+    }
+    // Client Request Token will be null if the request is incorrect.
+    if (clientRequestToken == null) {
+      return CompletableFuture.completedFuture(
+          new AuthenticationResponseGenerator().invalidArgument(
+              "AuthorizationHeaderMalformed"));
+    }
+
+    // The requestor completes on the executor, or at once when it is cached,
+    // so authorization, which may search the data store, never runs on the
+    // thread which received the search results.
+    Function<Requestor, ServerResponse> authorize =
+        new Function<Requestor, ServerResponse>() {
+          @Override public ServerResponse apply(Requestor requestor) {
+            ServerResponse serverResponse =
+                authenticate(action, clientRequestToken, requestor);
+            if (serverResponse != null) {
+              return serverResponse;
+            }
+            return new Authorizer().authorize(requestor, requestBody);
+          }
+        };
+    return RequestorService.getRequestorAsync(clientRequestToken,
+                                              new RequestIdExecutor(executor))
+        .thenApply(authorize)
+        .exceptionally(new Function<Throwable, ServerResponse>() {
+          @Override public ServerResponse apply(Throwable ex) {
+            Throwable cause = ex;
+            if (ex instanceof CompletionException && ex.getCause() != null) {
+              cause = ex.getCause();
+            }
+            ServerResponse serverResponse = getServerResponse(cause);
+            if (serverResponse == null) {
+              throw new CompletionException(cause);
+            }
+            LOGGER.debug(serverResponse.getResponseBody());
+            return serverResponse;
+          }
+        });
+  }
+
+  /**
+   * Verify the signature of the request.
+   *
+   * @return response of the request, or null if the requestor is to be
+   *         authorized.
+   */
+ private
+  ServerResponse authenticate(Action action,
+                              ClientRequestToken clientRequestToken,
+                              Requestor requestor) {
+    S3Perf perf = new S3Perf();
+    perf.startClock();
+    ServerResponse serverResponse =
+        new SignatureValidator().validate(clientRequestToken, requestor);
+    perf.endClock();
+    perf.printTime("Request validation");
+
+    if (!serverResponse.getResponseStatus().equals(HttpResponseStatus.OK)) {
+      LOGGER.error("Incorrect signature. Request not authenticated");
+      return serverResponse;
+    }
+
+    if (action == Action.AUTHENTICATE_USER) {
+      LOGGER.info("Request is authenticated for user: " + requestor.getName() +
+                  " account: " + requestor.getAccount().getName());
+      return new AuthenticationResponseGenerator()
+          .generateAuthenticatedResponse(requestor, clientRequestToken);
+    }
+
+    LOGGER.info("User is Authenticated hence Authorizing user: " +
+                requestor.getName() + " account: " +
+                requestor.getAccount().getName());
+    return null;
+  }
+
+  /**
+   * @return error response carried by the exception, or null if it is
+   *         unexpected.
+   */
+ private
+  static ServerResponse getServerResponse(Throwable ex) {
+    if (ex instanceof InvalidAccessKeyException) {
+      return ((InvalidAccessKeyException)ex).getServerResponse();
+    }
+    if (ex instanceof InternalServerException) {
+      return ((InternalServerException)ex).getServerResponse();
+    }
+    if (ex instanceof InvalidRequestorException) {
+      return ((InvalidRequestorException)ex).getServerResponse();
+    }
+    return null;
+  }
+
+  /**
+   * S3 server has authenticated the request already and sends the requestor
+   * in the request body. Anonymous requests come without Authorization.
+   */
+ private
+  ServerResponse authorizeUser(Map<String, String> requestBody) {
+    if (AuthRequest.of(requestBody).getAuthorization() == null) {
+      return new Authorizer().authorize(null, requestBody);
+    }
+
+    Account account = new Account();
+    account.setId(requestBody.get("RequestorAccountId"));
+    account.setName(requestBody.get("RequestorAccountName"));
+    account.setCanonicalId(requestBody.get("RequestorCanonicalId"));
+    account.setEmail(requestBody.get("RequestorEmail"));
+    Requestor requestor = new Requestor();
+    requestor.setId(requestBody.get("RequestorUserId"));
+    requestor.setName(requestBody.get("RequestorUserName"));
+    requestor.setAccount(account);
+
+    LOGGER.info("Authorizing user: " + requestor.getName() + " account: " +
+                requestor.getAccount().getName());
+    return new Authorizer().authorize(requestor, requestBody);
+  }
+}
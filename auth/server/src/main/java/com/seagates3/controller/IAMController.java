@@ -20,14 +20,14 @@
 
 package com.seagates3.controller;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
+import java.util.HashMap;
 import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.seagates3.authentication.ChunkSignatureValidator;
 import com.seagates3.authentication.ClientRequestParser;
 import com.seagates3.authentication.ClientRequestToken;
 import com.seagates3.authentication.SignatureValidator;
@@ -44,7 +44,6 @@ import com.seagates3.exception.InvalidArgumentException;
 import com.seagates3.exception.InvalidRequestorException;
 import com.seagates3.exception.InvalidUserException;
 import com.seagates3.model.AccessKey;
-import com.seagates3.model.Account;
 import com.seagates3.model.Requestor;
 import com.seagates3.perf.S3Perf;
 import com.seagates3.response.ServerResponse;
@@ -71,6 +70,50 @@ class IAMController {
     perf = new S3Perf();
   }
 
+  /**
+   * Actions which are not just looked up in the route table, serve
+   * authenticates them differently. All the others are ROUTED.
+   */
+  enum Action {
+    AUTHENTICATE_CHUNKS("AuthenticateChunks"),
+    CREATE_ACCOUNT("CreateAccount"),
+    LIST_ACCOUNTS("ListAccounts"),
+    RESET_ACCOUNT_ACCESS_KEY("ResetAccountAccessKey"),
+    UPDATE_ACCOUNT_LOGIN_PROFILE("UpdateAccountLoginProfile"),
+    DELETE_ACCOUNT("DeleteAccount"),
+    CHANGE_PASSWORD("ChangePassword"),
+    ASSUME_ROLE_WITH_SAML("AssumeRoleWithSAML"),
+    GET_TEMP_AUTH_CREDENTIALS("GetTempAuthCredentials"),
+    VALIDATE_ACL("ValidateACL"),
+    VALIDATE_POLICY("ValidatePolicy"),
+    ROUTED(null);
+
+   private
+    final String name;
+
+    Action(String name) { this.name = name; }
+  }
+
+ private
+  static final Map<String, Action> ACTIONS = new HashMap<>();
+
+  static {
+    for (Action action : Action.values()) {
+      if (action.name != null) {
+        ACTIONS.put(action.name, action);
+      }
+    }
+  }
+
+  /**
+   * @return action of the request, ROUTED if it is not one of the actions
+   *         serve authenticates differently.
+   */
+  static Action getAction(String requestAction) {
+    Action action = requestAction == null ? null : ACTIONS.get(requestAction);
+    return action == null ? Action.ROUTED : action;
+  }
+
   /**
    * Authenticate the requestor first. If the requestor is authenticated, then
    * perform the requested action.
@@ -87,79 +130,49 @@ class IAMController {
     ClientRequestToken clientRequestToken = null;
     Requestor requestor = null;
     ServerResponse serverResponse;
-    // CreateAccount needs to be authenticated with Ldap credentials
-    if (requestAction.equals("CreateAccount") ||
-        requestAction.equals("ListAccounts") ||
-        requestAction.equals("ResetAccountAccessKey")) {
-      LOGGER.debug("Parsing Client Request");
-      try {
-        clientRequestToken =
-            ClientRequestParser.parse(httpRequest, requestBody);
-      }
-      catch (InvalidAccessKeyException ex) {
-        LOGGER.debug(ex.getServerResponse().getResponseBody());
-        return ex.getServerResponse();
-      }
-      catch (InvalidArgumentException ex) {
-        LOGGER.debug(ex.getServerResponse().getResponseBody());
-        return ex.getServerResponse();
-      }
-
-      if (clientRequestToken == null) {
-        return responseGenerator.invalidArgument(
-            "AuthorizationHeaderMalformed");
-      }
-      AccessKey akey = new AccessKey();
-      String ldapUser = AuthServerConfig.getLdapLoginCN();
-      if (!ldapUser.equals(clientRequestToken.getAccessKeyId())) {
-        LOGGER.error("Invalid ldap user, authentication failed");
-        AuthenticationResponseGenerator responseGenerator =
-            new AuthenticationResponseGenerator();
-        serverResponse = responseGenerator.invalidLdapUserId();
-        return serverResponse;
-      }
-      akey.setId(ldapUser);
-      akey.setSecretKey(AuthServerConfig.getLdapLoginPassword());
-      requestor = new Requestor();
-      requestor.setAccessKey(akey);
-      LOGGER.debug("Calling signature validator.");
-
-      perf.startClock();
-      serverResponse =
-          new SignatureValidator().validate(clientRequestToken, requestor);
-      perf.endClock();
-      perf.printTime("Request validation");
-
-      if (!serverResponse.getResponseStatus().equals(HttpResponseStatus.OK)) {
-        LOGGER.error("Incorrect signature. Request not authenticated");
-        return serverResponse;
-      }
-    } else if (requestAction.equals("UpdateAccountLoginProfile") ||
-               requestAction.equals("DeleteAccount")) {
-      try {
-        clientRequestToken =
-            ClientRequestParser.parse(httpRequest, requestBody);
-      }
-      catch (InvalidAccessKeyException ex) {
-        LOGGER.debug(ex.getServerResponse().getResponseBody());
-        return ex.getServerResponse();
-      }
-      catch (InvalidArgumentException ex) {
-        LOGGER.debug(ex.getServerResponse().getResponseBody());
-        return ex.getServerResponse();
-      }
-
-      if (clientRequestToken == null) {
-        return responseGenerator.invalidArgument(
-            "AuthorizationHeaderMalformed");
-      }
-
-      String ldapUser = AuthServerConfig.getLdapLoginCN();
-      if (ldapUser.equals(clientRequestToken.getAccessKeyId())) {
+    Action action = getAction(requestAction);
+    // Chunks are verified in the session opened by their seed request
+    if (action == Action.AUTHENTICATE_CHUNKS) {
+      return new ChunkSignatureValidator().validate(requestBody);
+    }
+    DataPathController.Action dataPathAction =
+        DataPathController.getAction(requestAction);
+    if (dataPathAction != null) {
+      return new DataPathController().serve(dataPathAction, httpRequest,
+                                            requestBody);
+    }
+    switch (action) {
+      // CreateAccount needs to be authenticated with Ldap credentials
+      case CREATE_ACCOUNT:
+      case LIST_ACCOUNTS:
+      case RESET_ACCOUNT_ACCESS_KEY: {
+        LOGGER.debug("Parsing Client Request");
+        try {
+          clientRequestToken =
+              ClientRequestParser.parse(httpRequest, requestBody);
+        }
+        catch (InvalidAccessKeyException ex) {
+          LOGGER.debug(ex.getServerResponse().getResponseBody());
+          return ex.getServerResponse();
+        }
+        catch (InvalidArgumentException ex) {
+          LOGGER.debug(ex.getServerResponse().getResponseBody());
+          return ex.getServerResponse();
+        }
 
-        LOGGER.debug(
-            "Validating user on the basis of ldap credentials entered");
+        if (clientRequestToken == null) {
+          return responseGenerator.invalidArgument(
+              "AuthorizationHeaderMalformed");
+        }
         AccessKey akey = new AccessKey();
+        String ldapUser = AuthServerConfig.getLdapLoginCN();
+        if (!ldapUser.equals(clientRequestToken.getAccessKeyId())) {
+          LOGGER.error("Invalid ldap user, authentication failed");
+          AuthenticationResponseGenerator responseGenerator =
+              new AuthenticationResponseGenerator();
+          serverResponse = responseGenerator.invalidLdapUserId();
+          return serverResponse;
+        }
         akey.setId(ldapUser);
         akey.setSecretKey(AuthServerConfig.getLdapLoginPassword());
         requestor = new Requestor();
@@ -176,66 +189,111 @@ class IAMController {
           LOGGER.error("Incorrect signature. Request not authenticated");
           return serverResponse;
         }
-
-      } else {
-
+        break;
+      }
+      case UPDATE_ACCOUNT_LOGIN_PROFILE:
+      case DELETE_ACCOUNT: {
         try {
-          requestor = RequestorService.getRequestor(clientRequestToken);
+          clientRequestToken =
+              ClientRequestParser.parse(httpRequest, requestBody);
         }
         catch (InvalidAccessKeyException ex) {
-          LOGGER.error(ex.getServerResponse().getResponseBody());
+          LOGGER.debug(ex.getServerResponse().getResponseBody());
+          return ex.getServerResponse();
         }
-        catch (InternalServerException ex) {
-          LOGGER.error(ex.getServerResponse().getResponseBody());
+        catch (InvalidArgumentException ex) {
+          LOGGER.debug(ex.getServerResponse().getResponseBody());
+          return ex.getServerResponse();
         }
-        catch (InvalidRequestorException ex) {
-          LOGGER.error(ex.getServerResponse().getResponseBody());
+
+        if (clientRequestToken == null) {
+          return responseGenerator.invalidArgument(
+              "AuthorizationHeaderMalformed");
         }
-        if (requestor == null) {
-          LOGGER.error("Invalid user, authentication failed");
-          AuthenticationResponseGenerator responseGenerator =
-              new AuthenticationResponseGenerator();
-          serverResponse = responseGenerator.invalidAccessKey();
-          return serverResponse;
+
+        String ldapUser = AuthServerConfig.getLdapLoginCN();
+        if (ldapUser.equals(clientRequestToken.getAccessKeyId())) {
+
+          LOGGER.debug(
+              "Validating user on the basis of ldap credentials entered");
+          AccessKey akey = new AccessKey();
+          akey.setId(ldapUser);
+          akey.setSecretKey(AuthServerConfig.getLdapLoginPassword());
+          requestor = new Requestor();
+          requestor.setAccessKey(akey);
+          LOGGER.debug("Calling signature validator.");
+
+          perf.startClock();
+          serverResponse =
+              new SignatureValidator().validate(clientRequestToken, requestor);
+          perf.endClock();
+          perf.printTime("Request validation");
+
+          if (!serverResponse.getResponseStatus().equals(
+                   HttpResponseStatus.OK)) {
+            LOGGER.error("Incorrect signature. Request not authenticated");
+            return serverResponse;
+          }
+
         } else {
-        perf.startClock();
-        serverResponse =
-            new SignatureValidator().validate(clientRequestToken, requestor);
-        perf.endClock();
-        perf.printTime("Request validation");
 
-        if (!serverResponse.getResponseStatus().equals(HttpResponseStatus.OK)) {
-          LOGGER.error("Incorrect signature. Request not authenticated");
-          return serverResponse;
-        }
-        // Authorize
-        try {
-          if (RootPermissionAuthorizer.getInstance().containsAction(
-                  requestAction)) {
-            new IAMApiAuthorizer().authorizeRootUser(requestor, requestBody);
+          try {
+            requestor = RequestorService.getRequestor(clientRequestToken);
+          }
+          catch (InvalidAccessKeyException ex) {
+            LOGGER.error(ex.getServerResponse().getResponseBody());
+          }
+          catch (InternalServerException ex) {
+            LOGGER.error(ex.getServerResponse().getResponseBody());
+          }
+          catch (InvalidRequestorException ex) {
+            LOGGER.error(ex.getServerResponse().getResponseBody());
+          }
+          if (requestor == null) {
+            LOGGER.error("Invalid user, authentication failed");
+            AuthenticationResponseGenerator responseGenerator =
+                new AuthenticationResponseGenerator();
+            serverResponse = responseGenerator.invalidAccessKey();
+            return serverResponse;
           } else {
-            new IAMApiAuthorizer().authorize(requestor, requestBody);
+          perf.startClock();
+          serverResponse =
+              new SignatureValidator().validate(clientRequestToken, requestor);
+          perf.endClock();
+          perf.printTime("Request validation");
+
+          if (!serverResponse.getResponseStatus().equals(
+                   HttpResponseStatus.OK)) {
+            LOGGER.error("Incorrect signature. Request not authenticated");
+            return serverResponse;
+          }
+          // Authorize
+          try {
+            if (RootPermissionAuthorizer.getInstance().containsAction(
+                    requestAction)) {
+              new IAMApiAuthorizer().authorizeRootUser(requestor, requestBody);
+            } else {
+              new IAMApiAuthorizer().authorize(requestor, requestBody);
+            }
+            LOGGER.info("Request is authorized for user: " +
+                        requestor.getName() + " account: " +
+                        requestor.getAccount());
+          }
+          catch (InvalidUserException e) {
+            LOGGER.error(e.getServerResponse().getResponseBody());
+            return e.getServerResponse();
           }
-          LOGGER.info("Request is authorized for user: " + requestor.getName() +
-                      " account: " + requestor.getAccount());
         }
-        catch (InvalidUserException e) {
-          LOGGER.error(e.getServerResponse().getResponseBody());
-          return e.getServerResponse();
         }
+        break;
       }
-      }
-    } else if ((requestBody.get("Authorization") == null) &&
-               requestAction.equals("AuthorizeUser")) {
-
-      serverResponse = new Authorizer().authorize(null, requestBody);
-      return serverResponse;
-
-    } else if (!requestAction.equals("AssumeRoleWithSAML") &&
-               !requestAction.equals("GetTempAuthCredentials")) {
-      LOGGER.debug("Parsing Client Request");
-      try {
-        if (!"AuthorizeUser".equals(requestAction)) {
+      case ASSUME_ROLE_WITH_SAML:
+      case GET_TEMP_AUTH_CREDENTIALS:
+        requestor = new Requestor();
+        break;
+      default:
+        LOGGER.debug("Parsing Client Request");
+        try {
           clientRequestToken =
               ClientRequestParser.parse(httpRequest, requestBody);
           /*
@@ -246,93 +304,57 @@ class IAMController {
                 "AuthorizationHeaderMalformed");
           }
         }
-      }
-      catch (InvalidAccessKeyException ex) {
-        LOGGER.debug(ex.getServerResponse().getResponseBody());
-        return ex.getServerResponse();
-      }
-      catch (InvalidArgumentException ex) {
-        LOGGER.debug(ex.getServerResponse().getResponseBody());
-        return ex.getServerResponse();
-      }
-
-      try {
-        if (!requestAction.equals("ValidateACL") &&
-            !requestAction.equals("ValidatePolicy") &&
-            !"AuthorizeUser".equals(requestAction)) {
-          requestor = RequestorService.getRequestor(clientRequestToken);
+        catch (InvalidAccessKeyException ex) {
+          LOGGER.debug(ex.getServerResponse().getResponseBody());
+          return ex.getServerResponse();
+        }
+        catch (InvalidArgumentException ex) {
+          LOGGER.debug(ex.getServerResponse().getResponseBody());
+          return ex.getServerResponse();
         }
-      }
-      catch (InvalidAccessKeyException ex) {
-        LOGGER.debug(ex.getServerResponse().getResponseBody());
-        return ex.getServerResponse();
-      }
-      catch (InternalServerException ex) {
-        LOGGER.debug(ex.getServerResponse().getResponseBody());
-        return ex.getServerResponse();
-      }
-      catch (InvalidRequestorException ex) {
-        LOGGER.debug(ex.getServerResponse().getResponseBody());
-        return ex.getServerResponse();
-      }
-
-      LOGGER.debug("Requestor is valid." + requestor);
-      if (requestAction.equals("AuthorizeUser")) {
 
-        Account account = new Account();
-        account.setId(requestBody.get("RequestorAccountId"));
-        account.setName(requestBody.get("RequestorAccountName"));
-        account.setCanonicalId(requestBody.get("RequestorCanonicalId"));
-        account.setEmail(requestBody.get("RequestorEmail"));
-        requestor = new Requestor();
-        requestor.setId(requestBody.get("RequestorUserId"));
-        requestor.setName(requestBody.get("RequestorUserName"));
-        requestor.setAccount(account);
-
-        LOGGER.info("Authorizing user: " + requestor.getName() + " account: " +
-                    requestor.getAccount().getName());
-        serverResponse = new Authorizer().authorize(requestor, requestBody);
-        return serverResponse;
-      } else if (requestAction.equals("ValidateACL")) {
-        LOGGER.debug("Validating Acl:");
-        serverResponse = new Authorizer().validateACL(requestBody);
-        return serverResponse;
-      } else if (requestAction.equals("ValidatePolicy")) {
-        LOGGER.debug("Validating Policy:");
-        serverResponse = new Authorizer().validatePolicy(requestBody);
-        return serverResponse;
-      }
+        switch (action) {
+          case VALIDATE_ACL:
+            LOGGER.debug("Validating Acl:");
+            serverResponse = new Authorizer().validateACL(requestBody);
+            return serverResponse;
+          case VALIDATE_POLICY:
+            LOGGER.debug("Validating Policy:");
+            serverResponse = new Authorizer().validatePolicy(requestBody);
+            return serverResponse;
+          default:
+            break;
+        }
 
-      LOGGER.debug("Calling signature validator.");
+        try {
+          requestor = RequestorService.getRequestor(clientRequestToken);
+        }
+        catch (InvalidAccessKeyException ex) {
+          LOGGER.debug(ex.getServerResponse().getResponseBody());
+          return ex.getServerResponse();
+        }
+        catch (InternalServerException ex) {
+          LOGGER.debug(ex.getServerResponse().getResponseBody());
+          return ex.getServerResponse();
+        }
+        catch (InvalidRequestorException ex) {
+          LOGGER.debug(ex.getServerResponse().getResponseBody());
+          return ex.getServerResponse();
+        }
 
-      perf.startClock();
-      serverResponse =
-          new SignatureValidator().validate(clientRequestToken, requestor);
-      perf.endClock();
-      perf.printTime("Request validation");
+        LOGGER.debug("Requestor is valid." + requestor);
+        LOGGER.debug("Calling signature validator.");
 
-      if (!serverResponse.getResponseStatus().equals(HttpResponseStatus.OK)) {
-        LOGGER.error("Incorrect signature. Request not authenticated");
-        return serverResponse;
-      }
+        perf.startClock();
+        serverResponse =
+            new SignatureValidator().validate(clientRequestToken, requestor);
+        perf.endClock();
+        perf.printTime("Request validation");
 
-      if (requestAction.equals("AuthenticateUser")) {
-        serverResponse = responseGenerator.generateAuthenticatedResponse(
-            requestor, clientRequestToken);
-        LOGGER.info("Request is authenticated for user: " +
-                    requestor.getName() + " account: " +
-                    requestor.getAccount().getName());
-
-        return serverResponse;
-      } else if (requestAction.equals("AuthenticateAndAuthorize")) {
-        LOGGER.info("User is Authenticated hence Authorizing user: " +
-                    requestor.getName() + " account: " +
-                    requestor.getAccount().getName());
-        serverResponse = new Authorizer().authorize(requestor, requestBody);
-        return serverResponse;
-      }
-    } else {
-      requestor = new Requestor();
+        if (!serverResponse.getResponseStatus().equals(HttpResponseStatus.OK)) {
+          LOGGER.error("Incorrect signature. Request not authenticated");
+          return serverResponse;
+        }
     }
 
     ResourceMap resourceMap;
@@ -361,13 +383,7 @@ class IAMController {
      * user Skipping UpdateAccountLoginProfile here as it is handled separately
      * above
      */
-    if (!(requestAction.equals("CreateAccount") ||
-          requestAction.equals("ListAccounts") ||
-          requestAction.equals("ResetAccountAccessKey") ||
-          requestAction.equals("ChangePassword") ||
-          requestAction.equals("GetTempAuthCredentials") ||
-          requestAction.equals("UpdateAccountLoginProfile") ||
-          requestAction.equals("DeleteAccount"))) {
+    if (!skipsIAMApiAuthorization(action)) {
       try {
         if (RootPermissionAuthorizer.getInstance().containsAction(
                 requestAction)) {
@@ -387,6 +403,28 @@ class IAMController {
     return performAction(resourceMap, requestBody, requestor);
   }
 
+  /**
+   * Actions which don't need the IAM API authorization in serve, either
+   * because only ldap credentials are allowed, the authorization is done
+   * with the user name and password entered or it is done while
+   * authenticating.
+   */
+ private
+  static boolean skipsIAMApiAuthorization(Action action) {
+    switch (action) {
+      case CREATE_ACCOUNT:
+      case LIST_ACCOUNTS:
+      case RESET_ACCOUNT_ACCESS_KEY:
+      case CHANGE_PASSWORD:
+      case GET_TEMP_AUTH_CREDENTIALS:
+      case UPDATE_ACCOUNT_LOGIN_PROFILE:
+      case DELETE_ACCOUNT:
+        return true;
+      default:
+        return false;
+    }
+  }
+
   /**
    * Validate the request parameters.
    *
@@ -398,19 +436,13 @@ class IAMController {
   Boolean validateRequest(ResourceMap resourceMap,
                           Map<String, String> requestBody) {
     Boolean isValidrequest = false;
-    Class < ? > validator;
-    Method method;
-    Object obj;
-    String validatorClass = resourceMap.getParamValidatorClass();
+    MethodHandle validator;
 
     try {
       LOGGER.debug("Calling " + resourceMap.getControllerAction() +
                    " validator.");
-      validator = Class.forName(validatorClass);
-      obj = validator.newInstance();
-      method =
-          validator.getMethod(resourceMap.getParamValidatorMethod(), Map.class);
-      isValidrequest = (Boolean)method.invoke(obj, requestBody);
+      validator = resourceMap.getParamValidatorHandle();
+      isValidrequest = (Boolean)validator.invokeExact(requestBody);
     }
     catch (ClassNotFoundException ex) {
       LOGGER.error("Failed to get required class.",
@@ -420,9 +452,11 @@ class IAMController {
       LOGGER.error("Failed to invoke method.",
                    String.format("\"cause\": \"%s\"", ex.getCause()));
     }
-    catch (SecurityException | IllegalAccessException |
-           IllegalArgumentException | InvocationTargetException |
-           InstantiationException ex) {
+    catch (Error e) {
+      throw e;
+    }
+    catch (Throwable ex) {
+      // Exceptions thrown by the validator, invokeExact declares Throwable.
       LOGGER.error("Exception: ", ex);
     }
 
@@ -437,22 +471,14 @@ class IAMController {
                                Map<String, String> requestBody,
                                Requestor requestor) {
 
-    String controllerClassName = resourceMap.getControllerClass();
-    Class < ? > controller;
-    Constructor < ? > controllerConstructor;
-    Method method;
-    Object obj;
+    MethodHandle controllerAction;
 
     try {
       LOGGER.debug("Calling " + resourceMap.getControllerAction() +
                    " controller.");
-      controller = Class.forName(controllerClassName);
-      controllerConstructor =
-          controller.getConstructor(Requestor.class, Map.class);
-      obj = controllerConstructor.newInstance(requestor, requestBody);
-
-      method = controller.getMethod(resourceMap.getControllerAction());
-      return (ServerResponse)method.invoke(obj);
+      controllerAction = resourceMap.getControllerActionHandle();
+      return (ServerResponse)controllerAction.invokeExact(requestor,
+                                                          requestBody);
     }
     catch (ClassNotFoundException ex) {
       LOGGER.error("Failed to get required class.",
@@ -462,9 +488,12 @@ class IAMController {
       LOGGER.error("Failed to invoke method.",
                    String.format("\"cause\": \"%s\"", ex.getCause()));
     }
-    catch (SecurityException | IllegalAccessException |
-           IllegalArgumentException | InvocationTargetException |
-           InstantiationException ex) {
+    catch (Error e) {
+      throw e;
+    }
+    catch (Throwable ex) {
+      // Exceptions thrown by the controller action, invokeExact declares
+      // Throwable.
       LOGGER.error("Exception: ", ex);
     }
     finally {
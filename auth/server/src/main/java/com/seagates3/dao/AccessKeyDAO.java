@@ -20,6 +20,9 @@
 
 package com.seagates3.dao;
 
+import java.util.List;
+import java.util.Map;
+
 import com.seagates3.exception.DataAccessException;
 import com.seagates3.model.AccessKey;
 import com.seagates3.model.User;
@@ -31,6 +34,13 @@ public interface AccessKeyDAO {
      */
     public AccessKey find(String accessKeyId) throws DataAccessException;
 
+    /*
+     * Get the details of several access keys with a single search. Access
+     * keys which don't exist are left out of the result.
+     */
+    public Map<String, AccessKey> findAll(List<String> accessKeyIds)
+            throws DataAccessException;
+
     public AccessKey findFromToken(String accessKeyId) throws DataAccessException;
 
     /*
@@ -45,6 +45,12 @@ public interface AccountDAO {
      */
     public Account find(String name) throws DataAccessException;
 
+    /*
+     * Get the details of the account which owns the user of the
+     * distinguished name.
+     */
+    public Account findByUserDN(String userDN) throws DataAccessException;
+
     /*
      * Add a new entry for the account in the database.
      */
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.dao;
+
+import java.util.concurrent.CompletionStage;
+
+import com.seagates3.model.Account;
+
+/**
+ * Account searches which don't wait for the database. The stages fail with
+ * DataAccessException where the searches of AccountDAO throw it.
+ */
+public interface AsyncAccountDAO {
+
+    /*
+     * Get the account details from the database.
+     */
+    public CompletionStage<Account> findAsync(String name);
+
+    /*
+     * Get the details of the account which owns the user of the
+     * distinguished name.
+     */
+    public CompletionStage<Account> findByUserDNAsync(String userDN);
+}
@@ -31,12 +31,14 @@ public class DAODispatcher {
 
     private static final String DAO_PACKAGE = "com.seagates3.dao";
     private static DAOProvider provider;
+    private static volatile Object[] resourceDAOs;
     private static final Logger LOGGER
             = LogManager.getLogger(SSLContextProvider.class.getName());
 
     public static void init() throws ServerInitialisationException {
         String dataSource = AuthServerConfig.getDataSource();
         DAODispatcher.provider = DAOProvider.valueOf(dataSource.toUpperCase());
+        resourceDAOs = createResourceDAOs(provider);
 
         if ("LDAP".equals(dataSource.toUpperCase())) {
             LdapConnectionManager.initLdap();
@@ -44,27 +46,53 @@ public class DAODispatcher {
         }
     }
 
+    /**
+     * DAO implementations hold no state, so a single instance of each is
+     * created by the provider when the dispatcher is initialized and shared
+     * by all the requests.
+     *
+     * @param daoResource
+     * @return DAO of the resource or null if the provider has none.
+     */
     public static Object getResourceDAO(DAOResource daoResource) {
-        Class<?> validator;
-        Object obj;
-        String resourceDAOName = getResourceDAOName(daoResource.toString());
+        Object[] daos = resourceDAOs;
+        if (daos == null) {
+            daos = createResourceDAOs(provider);
+            resourceDAOs = daos;
+        }
+
+        return daos[daoResource.ordinal()];
+    }
+
+    /**
+     * Create the DAO of every resource, indexed by resource ordinal.
+     */
+    private static Object[] createResourceDAOs(DAOProvider daoProvider) {
+        DAOResource[] resources = DAOResource.values();
+        Object[] daos = new Object[resources.length];
 
-        try {
-            validator = Class.forName(resourceDAOName);
-            obj = validator.newInstance();
-        } catch (ClassNotFoundException | SecurityException ex) {
-            obj = null;
-        } catch (IllegalAccessException | IllegalArgumentException | InstantiationException ex) {
-            obj = null;
+        for (DAOResource resource : resources) {
+            String resourceDAOName = getResourceDAOName(daoProvider,
+                    resource.toString());
+            try {
+                daos[resource.ordinal()] =
+                        Class.forName(resourceDAOName).newInstance();
+            } catch (ClassNotFoundException | SecurityException ex) {
+                LOGGER.debug("No DAO found for resource " + resource);
+            } catch (IllegalAccessException | IllegalArgumentException
+                    | InstantiationException ex) {
+                LOGGER.error("Failed to create DAO " + resourceDAOName);
+            }
         }
 
-        return obj;
+        return daos;
     }
 
-    private static String getResourceDAOName(String resourceName) {
+    private static String getResourceDAOName(DAOProvider daoProvider,
+            String resourceName) {
         String resourceDAOName = resourceName + "Impl";
 
         return String.format("%s.%s.%s", DAO_PACKAGE,
-                provider.toString().toLowerCase(), resourceDAOName);
+                daoProvider.toString().toLowerCase(), resourceDAOName);
     }
 }
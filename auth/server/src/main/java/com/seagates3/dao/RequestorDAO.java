@@ -20,6 +20,9 @@
 
 package com.seagates3.dao;
 
+import java.util.List;
+import java.util.Map;
+
 import com.seagates3.exception.DataAccessException;
 import com.seagates3.model.AccessKey;
 import com.seagates3.model.Requestor;
@@ -30,4 +33,11 @@ public interface RequestorDAO {
      * Get the requestor details from the database.
      */
     public Requestor find(AccessKey accessKey) throws DataAccessException;
+
+    /*
+     * Get the requestors of several access keys with a single search. Access
+     * keys whose requestor doesn't exist are left out of the result.
+     */
+    public Map<AccessKey, Requestor> findAll(List<AccessKey> accessKeys)
+            throws DataAccessException;
 }
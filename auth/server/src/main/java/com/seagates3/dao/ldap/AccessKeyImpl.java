@@ -21,6 +21,13 @@
 package com.seagates3.dao.ldap;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiFunction;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,6 +42,7 @@ import com.novell.ldap.LDAPSearchResults;
 import com.seagates3.authencryptutil.AESEncryptDecryptUtil;
 import com.seagates3.authserver.AuthServerConfig;
 import com.seagates3.dao.AccessKeyDAO;
+import com.seagates3.dao.AsyncAccessKeyDAO;
 import com.seagates3.exception.DataAccessException;
 import com.seagates3.fi.FaultPoints;
 import com.seagates3.model.AccessKey;
@@ -43,7 +51,7 @@ import com.seagates3.model.Account;
 import com.seagates3.model.User;
 import com.seagates3.util.DateUtil;
 
-public class AccessKeyImpl implements AccessKeyDAO {
+public class AccessKeyImpl implements AccessKeyDAO, AsyncAccessKeyDAO {
 
     private final Logger LOGGER =
             LoggerFactory.getLogger(AccessKeyImpl.class.getName());
@@ -98,41 +106,166 @@ public class AccessKeyImpl implements AccessKeyDAO {
                                             ex);
             }
 
-            accessKey.setUserId(
-                entry.getAttribute(LDAPUtils.USER_ID).getStringValue());
+            setAccessKeyDetails(accessKey, entry);
+          }
+          lc.abandon(ldapResults);
+        }
+        catch (LDAPException ex) {
+          LOGGER.error("Failed to find Access Key.");
+          throw new DataAccessException("Access key find failed.\n" + ex);
+        }
+        finally { LdapConnectionManager.releaseConnection(lc); }
 
-            accessKey.setSecretKey(getDecryptedSecretKey(entry));
-            AccessKeyStatus status =
-                AccessKeyStatus.valueOf(entry.getAttribute(LDAPUtils.STATUS)
-                                            .getStringValue()
-                                            .toUpperCase());
-            accessKey.setStatus(status);
+        return accessKey;
+    }
 
-            String createTime = DateUtil.toServerResponseFormat(
-                entry.getAttribute(LDAPUtils.CREATE_TIMESTAMP)
-                    .getStringValue());
-            accessKey.setCreateDate(createTime);
+    /**
+     * Search the access key in LDAP without waiting for the response. The
+     * search is done in the calling thread if LDAP searches are not
+     * multiplexed.
+     *
+     * @param accessKeyId
+     * @return access key, which doesn't exist if the search found nothing.
+     */
+    @Override
+    public CompletionStage<AccessKey> findAsync(final String accessKeyId) {
+        LdapMultiplexer multiplexer = LdapConnectionManager.getMultiplexer();
+        if (multiplexer == null) {
+            CompletableFuture<AccessKey> accessKey = new CompletableFuture<>();
+            try {
+                accessKey.complete(find(accessKeyId));
+            } catch (DataAccessException ex) {
+                accessKey.completeExceptionally(ex);
+            }
+            return accessKey;
+        }
 
-            String objectClass =
-                entry.getAttribute(LDAPUtils.OBJECT_CLASS).getStringValue();
-            if (objectClass.equalsIgnoreCase("fedaccesskey")) {
-              String expiry = DateUtil.toServerResponseFormat(
-                  entry.getAttribute(LDAPUtils.EXPIRY).getStringValue());
+        String[] attrs = {LDAPUtils.USER_ID, LDAPUtils.SECRET_KEY,
+            LDAPUtils.EXPIRY, LDAPUtils.TOKEN, LDAPUtils.STATUS,
+            LDAPUtils.CREATE_TIMESTAMP, LDAPUtils.OBJECT_CLASS};
+
+        String accessKeyBaseDN = String.format("%s=accesskeys,%s",
+                LDAPUtils.ORGANIZATIONAL_UNIT_NAME, LDAPUtils.BASE_DN
+        );
+
+        String filter = String.format("%s=%s", LDAPUtils.ACCESS_KEY_ID,
+                accessKeyId);
+
+        return multiplexer.search(accessKeyBaseDN, LDAPConnection.SCOPE_SUB,
+                filter, attrs).handle(
+                new BiFunction<List<LDAPEntry>, Throwable, AccessKey>() {
+                    @Override
+                    public AccessKey apply(List<LDAPEntry> entries,
+                            Throwable ex) {
+                        if (ex != null) {
+                            LOGGER.error("Failed to find Access Key.");
+                            throw new CompletionException(
+                                    new DataAccessException(
+                                            "Access key find failed.\n"
+                                            + ex));
+                        }
+
+                        AccessKey accessKey = new AccessKey();
+                        accessKey.setId(accessKeyId);
+                        if (!entries.isEmpty()) {
+                            setAccessKeyDetails(accessKey, entries.get(0));
+                        }
+                        return accessKey;
+                    }
+                });
+    }
+
+    /**
+     * Search the access keys in LDAP with a single search.
+     *
+     * @param accessKeyIds
+     * @return access keys found, by access key id.
+     * @throws com.seagates3.exception.DataAccessException
+     */
+    @Override
+    public Map<String, AccessKey> findAll(List<String> accessKeyIds)
+            throws DataAccessException {
+        Map<String, AccessKey> accessKeys = new HashMap<>();
+        if (accessKeyIds.isEmpty()) {
+            return accessKeys;
+        }
+
+        String[] attrs = {LDAPUtils.ACCESS_KEY_ID, LDAPUtils.USER_ID,
+            LDAPUtils.SECRET_KEY, LDAPUtils.EXPIRY, LDAPUtils.TOKEN,
+            LDAPUtils.STATUS, LDAPUtils.CREATE_TIMESTAMP,
+            LDAPUtils.OBJECT_CLASS};
+
+        String accessKeyBaseDN = String.format("%s=accesskeys,%s",
+                LDAPUtils.ORGANIZATIONAL_UNIT_NAME, LDAPUtils.BASE_DN
+        );
+
+        String filter = LDAPUtils.orFilter(LDAPUtils.ACCESS_KEY_ID,
+                accessKeyIds);
+
+        LDAPSearchResults ldapResults = null;
+        LDAPConnection lc = null;
+        try {
+
+          lc = LdapConnectionManager.getConnection();
 
-                accessKey.setExpiry(expiry);
-                accessKey.setToken(
-                    entry.getAttribute(LDAPUtils.TOKEN).getStringValue());
+          if (lc != null && lc.isConnected()) {
+
+            if (FaultPoints.fiEnabled() &&
+                FaultPoints.getInstance().isFaultPointActive(
+                    "LDAP_SEARCH_FAIL")) {
+              throw new LDAPException();
             }
+
+            ldapResults = lc.search(accessKeyBaseDN, LDAPConnection.SCOPE_SUB,
+                                    filter, attrs, false);
+          }
+          while (ldapResults != null && ldapResults.hasMore()) {
+            LDAPEntry entry = ldapResults.next();
+
+            AccessKey accessKey = new AccessKey();
+            accessKey.setId(
+                entry.getAttribute(LDAPUtils.ACCESS_KEY_ID).getStringValue());
+            setAccessKeyDetails(accessKey, entry);
+            accessKeys.put(accessKey.getId(), accessKey);
           }
-          lc.abandon(ldapResults);
         }
         catch (LDAPException ex) {
-          LOGGER.error("Failed to find Access Key.");
+          LOGGER.error("Failed to find Access Keys.");
           throw new DataAccessException("Access key find failed.\n" + ex);
         }
         finally { LdapConnectionManager.releaseConnection(lc); }
 
-        return accessKey;
+        return accessKeys;
+    }
+
+    /**
+     * Set the access key details from the LDAP entry.
+     */
+    private void setAccessKeyDetails(AccessKey accessKey, LDAPEntry entry) {
+        accessKey.setUserId(
+            entry.getAttribute(LDAPUtils.USER_ID).getStringValue());
+
+        accessKey.setSecretKey(getDecryptedSecretKey(entry));
+        AccessKeyStatus status =
+            AccessKeyStatus.valueOf(entry.getAttribute(LDAPUtils.STATUS)
+                                        .getStringValue()
+                                        .toUpperCase());
+        accessKey.setStatus(status);
+
+        String createTime = DateUtil.toServerResponseFormat(
+            entry.getAttribute(LDAPUtils.CREATE_TIMESTAMP).getStringValue());
+        accessKey.setCreateDate(createTime);
+
+        String objectClass =
+            entry.getAttribute(LDAPUtils.OBJECT_CLASS).getStringValue();
+        if (objectClass.equalsIgnoreCase("fedaccesskey")) {
+          String expiry = DateUtil.toServerResponseFormat(
+              entry.getAttribute(LDAPUtils.EXPIRY).getStringValue());
+
+            accessKey.setExpiry(expiry);
+            accessKey.setToken(
+                entry.getAttribute(LDAPUtils.TOKEN).getStringValue());
+        }
     }
 
     @Override public AccessKey findFromToken(String secretToken)
@@ -387,7 +520,20 @@ public class AccessKeyImpl implements AccessKeyDAO {
                 attr);
 
         try {
-            LDAPUtils.modify(dn, modify);
+            if (accessKey.getSecretKey() == null) {
+                LDAPUtils.modify(dn, modify);
+            } else {
+                /*
+                 * Write the secret key again so that entries encrypted in the
+                 * legacy format are migrated to the current one.
+                 */
+                ArrayList<LDAPModification> modList = new ArrayList<>();
+                modList.add(modify);
+                modList.add(new LDAPModification(LDAPModification.REPLACE,
+                        new LDAPAttribute(LDAPUtils.SECRET_KEY,
+                                getEncryptedSecretKey(accessKey.getSecretKey()))));
+                LDAPUtils.modify(dn, modList);
+            }
         } catch (LDAPException ex) {
             LOGGER.error("Failed to update the access key of userId: "
                                              + accessKey.getUserId());
@@ -21,6 +21,11 @@
 package com.seagates3.dao.ldap;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiFunction;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,14 +38,23 @@ import com.novell.ldap.LDAPException;
 import com.novell.ldap.LDAPSearchResults;
 import com.seagates3.authserver.AuthServerConfig;
 import com.seagates3.dao.AccountDAO;
+import com.seagates3.dao.AsyncAccountDAO;
 import com.seagates3.exception.DataAccessException;
 import com.seagates3.fi.FaultPoints;
 import com.seagates3.model.Account;
 
-public class AccountImpl implements AccountDAO {
+public class AccountImpl implements AccountDAO, AsyncAccountDAO {
 
   private
    final Logger LOGGER = LoggerFactory.getLogger(AccountImpl.class.getName());
+  private
+   static final String[] ACCOUNT_ATTRS = {
+       LDAPUtils.ACCOUNT_ID,          LDAPUtils.CANONICAL_ID,
+       LDAPUtils.PASSWORD,            LDAPUtils.PASSWORD_RESET_REQUIRED,
+       LDAPUtils.PROFILE_CREATE_DATE, LDAPUtils.EMAIL};
+  private
+   static final String ACCOUNT_FILTER = String.format(
+       "(%s=%s)", LDAPUtils.OBJECT_CLASS, LDAPUtils.ACCOUNT_OBJECT_CLASS);
 
     @Override
     public Account findByID(String accountID) throws DataAccessException {
@@ -178,37 +192,7 @@ public class AccountImpl implements AccountDAO {
                 }
 
                 LDAPEntry entry = ldapResults.next();
-                account.setId(
-                    entry.getAttribute(LDAPUtils.ACCOUNT_ID).getStringValue());
-                account.setCanonicalId(
-                    entry.getAttribute(LDAPUtils.CANONICAL_ID)
-                        .getStringValue());
-                account.setEmail(
-                    entry.getAttribute(LDAPUtils.EMAIL).getStringValue());
-
-                try {
-                  account.setPassword(
-                      entry.getAttribute(LDAPUtils.PASSWORD).getStringValue());
-                }
-                catch (Exception e) {
-                  LOGGER.debug("Password value not found in ldap");
-                }
-                try {
-                  account.setPwdResetRequired(
-                      entry.getAttribute(LDAPUtils.PASSWORD_RESET_REQUIRED)
-                          .getStringValue());
-                }
-                catch (Exception e) {
-                  LOGGER.debug("pwdReset required value not found in ldap");
-                }
-                try {
-                  account.setProfileCreateDate(
-                      (entry.getAttribute(LDAPUtils.PROFILE_CREATE_DATE)
-                           .getStringValue()));
-                }
-                catch (Exception e) {
-                  LOGGER.debug("profileCreateDate value not found in ldap");
-                }
+                setAccountDetails(account, entry);
           }
           lc.abandon(ldapResults);
         }
@@ -222,6 +206,215 @@ public class AccountImpl implements AccountDAO {
         return account;
     }
 
+    /**
+     * Search the account in LDAP without waiting for the response. The search
+     * is done in the calling thread if LDAP searches are not multiplexed.
+     *
+     * @param name Account name.
+     * @return account, which doesn't exist if the search found nothing.
+     */
+    @Override public CompletionStage<Account> findAsync(final String name) {
+      LdapMultiplexer multiplexer = LdapConnectionManager.getMultiplexer();
+      if (multiplexer == null) {
+        CompletableFuture<Account> account = new CompletableFuture<>();
+        try {
+          account.complete(find(name));
+        }
+        catch (DataAccessException ex) {
+          account.completeExceptionally(ex);
+        }
+        return account;
+      }
+
+      String[] attrs = {
+          LDAPUtils.ACCOUNT_ID,          LDAPUtils.CANONICAL_ID,
+          LDAPUtils.PASSWORD,            LDAPUtils.PASSWORD_RESET_REQUIRED,
+          LDAPUtils.PROFILE_CREATE_DATE, LDAPUtils.EMAIL};
+      String filter = String.format(
+          "(&(%s=%s)(%s=%s))", LDAPUtils.ORGANIZATIONAL_NAME, name,
+          LDAPUtils.OBJECT_CLASS, LDAPUtils.ACCOUNT_OBJECT_CLASS);
+
+      LOGGER.debug("Searching account: " + name + " filter: " + filter);
+      return multiplexer.search(LDAPUtils.BASE_DN, LDAPConnection.SCOPE_SUB,
+                                filter, attrs)
+          .handle(new BiFunction<List<LDAPEntry>, Throwable, Account>() {
+            @Override public Account apply(List<LDAPEntry> entries,
+                                           Throwable ex) {
+              if (ex != null) {
+                LOGGER.error("Failed to find details of account: " + name);
+                throw new CompletionException(new DataAccessException(
+                    "Failed to find account details.\n" + ex));
+              }
+
+              Account account = new Account();
+              account.setName(name);
+              if (!entries.isEmpty()) {
+                setAccountDetails(account, entries.get(0));
+              }
+              return account;
+            }
+          });
+    }
+
+    /**
+     * Read the account which owns the user of the distinguished name. The
+     * account entry is the parent of the users OU in the user DN, so it is
+     * read at base scope instead of being searched for in the whole tree.
+     *
+     * @param userDN Distinguished name of a user of the account.
+     * @return account, which doesn't exist if the entry isn't found.
+     * @throws com.seagates3.exception.DataAccessException
+     */
+    @Override public Account findByUserDN(String userDN)
+        throws DataAccessException {
+      String accountDN = getAccountDN(userDN);
+      Account account = new Account();
+      account.setName(getAccountName(accountDN));
+      if (accountDN == null) {
+        return account;
+      }
+
+      LDAPSearchResults ldapResults = null;
+      LDAPConnection lc = null;
+
+      LOGGER.debug("Reading account: " + accountDN);
+      try {
+        lc = LdapConnectionManager.getConnection();
+
+        if (lc != null && lc.isConnected()) {
+
+          if (FaultPoints.fiEnabled() &&
+              FaultPoints.getInstance().isFaultPointActive(
+                  "LDAP_SEARCH_FAIL")) {
+            throw new LDAPException();
+          }
+
+          ldapResults = lc.search(accountDN, LDAPConnection.SCOPE_BASE,
+                                  ACCOUNT_FILTER, ACCOUNT_ATTRS, false);
+        }
+        if (ldapResults != null && ldapResults.hasMore()) {
+          setAccountDetails(account, ldapResults.next());
+        }
+      }
+      catch (LDAPException ex) {
+        if (ex.getResultCode() != LDAPException.NO_SUCH_OBJECT) {
+          LOGGER.error("Failed to read account: " + accountDN);
+          throw new DataAccessException("Failed to find account details.\n" +
+                                        ex);
+        }
+      }
+      finally { LdapConnectionManager.releaseConnection(lc); }
+
+      return account;
+    }
+
+    /**
+     * Read the account which owns the user without waiting for the response,
+     * see findByUserDN. The read is done in the calling thread if LDAP
+     * searches are not multiplexed.
+     */
+    @Override public CompletionStage<Account> findByUserDNAsync(
+        String userDN) {
+      LdapMultiplexer multiplexer = LdapConnectionManager.getMultiplexer();
+      final String accountDN = getAccountDN(userDN);
+      if (multiplexer == null || accountDN == null) {
+        CompletableFuture<Account> account = new CompletableFuture<>();
+        try {
+          account.complete(findByUserDN(userDN));
+        }
+        catch (DataAccessException ex) {
+          account.completeExceptionally(ex);
+        }
+        return account;
+      }
+
+      LOGGER.debug("Reading account: " + accountDN);
+      return multiplexer.search(accountDN, LDAPConnection.SCOPE_BASE,
+                                ACCOUNT_FILTER, ACCOUNT_ATTRS)
+          .handle(new BiFunction<List<LDAPEntry>, Throwable, Account>() {
+            @Override public Account apply(List<LDAPEntry> entries,
+                                           Throwable ex) {
+              Account account = new Account();
+              account.setName(getAccountName(accountDN));
+              if (ex instanceof LDAPException &&
+                  ((LDAPException)ex).getResultCode() ==
+                      LDAPException.NO_SUCH_OBJECT) {
+                return account;
+              }
+              if (ex != null) {
+                LOGGER.error("Failed to read account: " + accountDN);
+                throw new CompletionException(new DataAccessException(
+                    "Failed to find account details.\n" + ex));
+              }
+
+              if (!entries.isEmpty()) {
+                setAccountDetails(account, entries.get(0));
+              }
+              return account;
+            }
+          });
+    }
+
+    /**
+     * @return distinguished name of the account which owns the user, the
+     *         suffix of the user DN from the account RDN. Null if the user
+     *         DN has no account RDN.
+     */
+   private
+    static String getAccountDN(String userDN) {
+      int account = userDN.indexOf("," + LDAPUtils.ORGANIZATIONAL_NAME + "=");
+      return account < 0 ? null : userDN.substring(account + 1);
+    }
+
+    /**
+     * @return name of the account, the value of the first RDN of the account
+     *         DN.
+     */
+   private
+    static String getAccountName(String accountDN) {
+      if (accountDN == null) {
+        return "";
+      }
+      int end = accountDN.indexOf(',');
+      return accountDN.substring(LDAPUtils.ORGANIZATIONAL_NAME.length() + 1,
+                                 end < 0 ? accountDN.length() : end);
+    }
+
+    /**
+     * Set the account details from the LDAP entry.
+     */
+   private
+    void setAccountDetails(Account account, LDAPEntry entry) {
+      account.setId(entry.getAttribute(LDAPUtils.ACCOUNT_ID).getStringValue());
+      account.setCanonicalId(
+          entry.getAttribute(LDAPUtils.CANONICAL_ID).getStringValue());
+      account.setEmail(entry.getAttribute(LDAPUtils.EMAIL).getStringValue());
+
+      try {
+        account.setPassword(
+            entry.getAttribute(LDAPUtils.PASSWORD).getStringValue());
+      }
+      catch (Exception e) {
+        LOGGER.debug("Password value not found in ldap");
+      }
+      try {
+        account.setPwdResetRequired(
+            entry.getAttribute(LDAPUtils.PASSWORD_RESET_REQUIRED)
+                .getStringValue());
+      }
+      catch (Exception e) {
+        LOGGER.debug("pwdReset required value not found in ldap");
+      }
+      try {
+        account.setProfileCreateDate(
+            (entry.getAttribute(LDAPUtils.PROFILE_CREATE_DATE)
+                 .getStringValue()));
+      }
+      catch (Exception e) {
+        LOGGER.debug("profileCreateDate value not found in ldap");
+      }
+    }
+
     /*
      * fetch all accounts from database
      */
@@ -21,6 +21,7 @@
 package com.seagates3.dao.ldap;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.novell.ldap.LDAPConnection;
@@ -98,6 +99,38 @@ class LDAPUtils {
     public
      static String getBaseDN() { return BASE_DN; }
 
+    /**
+     * Build a filter matching the entries having any of the values for the
+     * attribute. Filter special characters in the values are escaped.
+     *
+     * @param attribute Attribute name.
+     * @param values Attribute values.
+     * @return LDAP Query filter.
+     */
+    public
+     static String orFilter(String attribute, Collection<String> values) {
+        StringBuilder filter = new StringBuilder("(|");
+        for (String value : values) {
+            filter.append('(').append(attribute).append('=');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '*':
+                    case '(':
+                    case ')':
+                    case '\\':
+                    case '\0':
+                        filter.append(String.format("\\%02x", (int) c));
+                        break;
+                    default:
+                        filter.append(c);
+                }
+            }
+            filter.append(')');
+        }
+        return filter.append(')').toString();
+    }
+
      /*
      * <IEM_INLINE_DOCUMENTATION>
      *     <event_code>048001001</event_code>
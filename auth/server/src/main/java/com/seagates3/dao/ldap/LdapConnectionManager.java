@@ -21,6 +21,7 @@
 package com.seagates3.dao.ldap;
 
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,19 +41,21 @@ public class LdapConnectionManager {
     private static final Logger LOGGER = LoggerFactory.getLogger(LdapConnectionManager.class.getName());
     static PoolManager ldapPool;
     static String ldapLoginDN, ldapLoginPW;
+    static LdapMultiplexer multiplexer;
 
     public static void initLdap()
             throws ServerInitialisationException {
 
         try {
-            LDAPSocketFactory socketFactory = null;
-            int port;
+            final LDAPSocketFactory socketFactory;
+            final int port;
             if (AuthServerConfig.isSSLToLdapEnabled()) {
                 port = AuthServerConfig.getLdapSSLPort();
                 LOGGER.info("Connecting ldap on SSL port :" + port);
                 socketFactory = new LDAPJSSESecureSocketFactory();
             }
             else {
+                socketFactory = null;
                 port = AuthServerConfig.getLdapPort();
                 LOGGER.info("Connecting ldap on port :" + port);
             }
@@ -65,6 +68,22 @@ public class LdapConnectionManager {
 
             ldapLoginDN = AuthServerConfig.getLdapLoginDN();
             ldapLoginPW = AuthServerConfig.getLdapLoginPassword();
+
+            int multiplexConnections =
+                    AuthServerConfig.getLdapMultiplexConnections();
+            if (multiplexConnections > 0) {
+                multiplexer = new LdapMultiplexer(
+                        new LdapMultiplexer.Connector() {
+                            @Override
+                            public LDAPConnection connect()
+                                    throws LDAPException {
+                                return newBoundConnection(socketFactory, port);
+                            }
+                        }, multiplexConnections,
+                        AuthServerConfig.getLdapSearchTimeoutMillis());
+                LOGGER.info("Multiplexing LDAP searches over "
+                        + multiplexConnections + " connections");
+            }
         } catch (LDAPException ex) {
             String msg = "Failed to initialise LDAP.\n" + ex.toString();
             if (retryLdapConnection(ex.getResultCode())) {
@@ -80,6 +99,39 @@ public class LdapConnectionManager {
         }
     }
 
+    /**
+     * @return multiplexer of the asynchronous searches, or null if they are
+     *         not enabled.
+     */
+    public static LdapMultiplexer getMultiplexer() {
+        return multiplexer;
+    }
+
+    /**
+     * Fail the outstanding asynchronous searches and close their connections.
+     */
+    public static void shutdownMultiplexer() {
+        if (multiplexer != null) {
+            multiplexer.shutdown();
+            multiplexer = null;
+        }
+    }
+
+    private static LDAPConnection newBoundConnection(
+            LDAPSocketFactory socketFactory, int port) throws LDAPException {
+        LDAPConnection lc = socketFactory == null ? new LDAPConnection()
+                : new LDAPConnection(socketFactory);
+        lc.connect(AuthServerConfig.getLdapHost(), port);
+        try {
+            lc.bind(LDAPConnection.LDAP_V3, ldapLoginDN,
+                    ldapLoginPW.getBytes(StandardCharsets.UTF_8));
+        } catch (LDAPException ex) {
+            lc.disconnect();
+            throw ex;
+        }
+        return lc;
+    }
+
     public static LDAPConnection getConnection() {
         LDAPConnection lc = null;
         try {
@@ -0,0 +1,436 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.dao.ldap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.novell.ldap.LDAPConnection;
+import com.novell.ldap.LDAPEntry;
+import com.novell.ldap.LDAPException;
+import com.novell.ldap.LDAPMessage;
+import com.novell.ldap.LDAPResponse;
+import com.novell.ldap.LDAPSearchConstraints;
+import com.novell.ldap.LDAPSearchQueue;
+import com.novell.ldap.LDAPSearchResult;
+import com.seagates3.fi.FaultPoints;
+
+/**
+ * Run many LDAP searches at once over a few connections.
+ *
+ * Searches are sent without waiting for the responses of the searches before
+ * them. The responses of all the searches of a connection are merged into a
+ * single queue, read by a thread of the connection which hands them over to
+ * their search by message ID. A search holds neither a connection nor a
+ * thread while waiting for its response, so a few connections serve any
+ * number of concurrent searches.
+ *
+ * Results are completed in the reader thread of the connection. Stages
+ * depending on them run in that thread too and must not block.
+ *
+ * A search still waiting for its response after the timeout is abandoned and
+ * failed with LDAP_TIMEOUT, so a hung LDAP server can't hold its callers, nor
+ * the responses queued behind them, forever.
+ */
+public
+class LdapMultiplexer {
+
+  /**
+   * Open a connection bound to the LDAP server.
+   */
+ public
+  interface Connector {
+
+    LDAPConnection connect() throws LDAPException;
+  }
+
+ private
+  static final Logger LOGGER =
+      LoggerFactory.getLogger(LdapMultiplexer.class.getName());
+
+ private
+  static final long RECONNECT_DELAY_MILLIS = 500;
+
+ private
+  final Connector connector;
+ private
+  final Channel[] channels;
+ private
+  final AtomicInteger next = new AtomicInteger();
+ private
+  final long timeoutMillis;
+ private
+  final LDAPSearchConstraints constraints;
+ private
+  final ScheduledThreadPoolExecutor timer;
+ private
+  volatile boolean running = true;
+
+  /**
+   * @param connector Opens the connections.
+   * @param connections Number of connections to the LDAP server.
+   * @throws LDAPException if a connection can't be opened.
+   */
+ public
+  LdapMultiplexer(Connector connector, int connections) throws LDAPException {
+    this(connector, connections, 0);
+  }
+
+  /**
+   * @param connector Opens the connections.
+   * @param connections Number of connections to the LDAP server.
+   * @param timeoutMillis Time a search waits for its response before it
+   *        fails, 0 waits forever.
+   * @throws LDAPException if a connection can't be opened.
+   */
+ public
+  LdapMultiplexer(Connector connector, int connections, long timeoutMillis)
+      throws LDAPException {
+    this.connector = connector;
+    this.timeoutMillis = timeoutMillis;
+    if (timeoutMillis > 0) {
+      constraints = new LDAPSearchConstraints();
+      constraints.setServerTimeLimit(
+          (int)TimeUnit.MILLISECONDS.toSeconds(timeoutMillis + 999));
+      timer = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+        @Override public Thread newThread(Runnable task) {
+          Thread thread = new Thread(task, "ldapMultiplexerTimeout");
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+      timer.setRemoveOnCancelPolicy(true);
+    } else {
+      constraints = null;
+      timer = null;
+    }
+    channels = new Channel[Math.max(connections, 1)];
+    try {
+      for (int i = 0; i < channels.length; i++) {
+        channels[i] = new Channel(connector.connect());
+      }
+    }
+    catch (LDAPException ex) {
+      shutdown();
+      throw ex;
+    }
+    for (int i = 0; i < channels.length; i++) {
+      Thread reader = new Thread(channels[i], "ldapMultiplexer-" + i);
+      reader.setDaemon(true);
+      channels[i].reader = reader;
+      reader.start();
+    }
+  }
+
+  /**
+   * Send a search without waiting for its response.
+   *
+   * @return entries found, or fails with the LDAPException of the search.
+   */
+ public
+  CompletableFuture<List<LDAPEntry>> search(String base, int scope,
+                                            String filter, String[] attrs) {
+    CompletableFuture<List<LDAPEntry>> result = new CompletableFuture<>();
+    if (FaultPoints.fiEnabled() &&
+        FaultPoints.getInstance().isFaultPointActive("LDAP_SEARCH_FAIL")) {
+      result.completeExceptionally(new LDAPException());
+      return result;
+    }
+
+    int channel = (next.getAndIncrement() & Integer.MAX_VALUE) %
+                  channels.length;
+    channels[channel].search(base, scope, filter, attrs, result);
+    return result;
+  }
+
+  /**
+   * Fail the outstanding searches and close the connections.
+   */
+ public
+  void shutdown() {
+    running = false;
+    if (timer != null) {
+      timer.shutdownNow();
+    }
+    for (Channel channel : channels) {
+      if (channel != null) {
+        channel.close(new LDAPException("LDAP multiplexer is shut down",
+                                        LDAPException.CONNECT_ERROR, null));
+      }
+    }
+  }
+
+  /**
+   * @return number of searches waiting for their response.
+   */
+ public
+  int getOutstanding() {
+    int outstanding = 0;
+    for (Channel channel : channels) {
+      outstanding += channel.getOutstanding();
+    }
+    return outstanding;
+  }
+
+ private
+  static final class Search {
+
+   final CompletableFuture<List<LDAPEntry>> result;
+   final List<LDAPEntry> entries = new ArrayList<>();
+   ScheduledFuture<?> timeout;
+
+    Search(CompletableFuture<List<LDAPEntry>> result) { this.result = result; }
+
+    void cancelTimeout() {
+      if (timeout != null) {
+        timeout.cancel(false);
+      }
+    }
+  }
+
+  /**
+   * A connection and the searches waiting for their response on it.
+   */
+ private
+  final class Channel implements Runnable {
+
+   private
+    final Map<Integer, Search> searches = new HashMap<>();
+   private
+    LDAPConnection connection;
+   private
+    LDAPSearchQueue responses;
+    Thread reader;
+
+    Channel(LDAPConnection connection) { this.connection = connection; }
+
+    synchronized void search(String base, int scope, String filter,
+                             String[] attrs,
+                             CompletableFuture<List<LDAPEntry>> result) {
+      if (connection == null) {
+        result.completeExceptionally(new LDAPException(
+            "Not connected to LDAP", LDAPException.CONNECT_ERROR, null));
+        return;
+      }
+
+      try {
+        LDAPSearchQueue queue =
+            connection.search(base, scope, filter, attrs, false,
+                              (LDAPSearchQueue)null, constraints);
+        final int messageId = queue.getMessageIDs()[0];
+        final Search search = new Search(result);
+        searches.put(messageId, search);
+        if (timer != null) {
+          search.timeout = timer.schedule(new Runnable() {
+            @Override public void run() { expire(messageId, search); }
+          }, timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        if (responses == null) {
+          responses = queue;
+        } else {
+          responses.merge(queue);
+        }
+        notifyAll();
+      }
+      catch (LDAPException ex) {
+        result.completeExceptionally(ex);
+        if (ex.getResultCode() == LDAPException.CONNECT_ERROR ||
+            ex.getResultCode() == LDAPException.SERVER_DOWN) {
+          close(ex);
+        }
+      }
+    }
+
+    synchronized int getOutstanding() { return searches.size(); }
+
+    /**
+     * Fail the search if it is still waiting for its response, and abandon
+     * it so the server stops sending its entries.
+     */
+    void expire(int messageId, Search search) {
+      LDAPConnection abandoned;
+      synchronized(this) {
+        if (searches.get(messageId) != search) {
+          return;
+        }
+        searches.remove(messageId);
+        abandoned = connection;
+      }
+
+      search.result.completeExceptionally(new LDAPException(
+          "LDAP search timed out after " + timeoutMillis + " ms",
+          LDAPException.LDAP_TIMEOUT, null));
+      if (abandoned != null) {
+        try {
+          abandoned.abandon(messageId);
+        }
+        catch (LDAPException ex) {
+          LOGGER.debug("Failed to abandon LDAP search. " + ex.getMessage());
+        }
+      }
+    }
+
+    @Override public void run() {
+      while (running) {
+        LDAPSearchQueue queue;
+        synchronized(this) {
+          while (running && connection != null && searches.isEmpty()) {
+            try {
+              wait();
+            }
+            catch (InterruptedException ex) {
+              // Shutting down.
+            }
+          }
+          queue = responses;
+        }
+        if (!running) {
+          return;
+        }
+        if (queue == null) {
+          reconnect();
+          continue;
+        }
+
+        LDAPMessage message;
+        try {
+          message = queue.getResponse();
+        }
+        catch (LDAPException ex) {
+          if (running) {
+            LOGGER.error("LDAP connection failed. Cause: " + ex.getCause() +
+                         ". Message: " + ex.getMessage());
+          }
+          close(ex);
+          continue;
+        }
+        if (message != null) {
+          dispatch(message);
+        }
+      }
+    }
+
+    /**
+     * Hand the message over to its search. The search is done when its
+     * response comes, after its entries.
+     */
+   private
+    void dispatch(LDAPMessage message) {
+      Search search;
+      synchronized(this) {
+        if (message instanceof LDAPResponse) {
+          search = searches.remove(message.getMessageID());
+        } else {
+          search = searches.get(message.getMessageID());
+        }
+      }
+      if (search == null) {
+        return;
+      }
+
+      if (message instanceof LDAPResponse) {
+        search.cancelTimeout();
+      }
+      if (message instanceof LDAPSearchResult) {
+        search.entries.add(((LDAPSearchResult)message).getEntry());
+      } else if (message instanceof LDAPResponse) {
+        try {
+          ((LDAPResponse)message).chkResultCode();
+          search.result.complete(search.entries);
+        }
+        catch (LDAPException ex) {
+          search.result.completeExceptionally(ex);
+        }
+      }
+    }
+
+    /**
+     * Fail the outstanding searches and drop the connection. The reader
+     * opens a new one unless the multiplexer is shut down.
+     */
+    void close(LDAPException cause) {
+      List<Search> failed;
+      LDAPConnection closed;
+      synchronized(this) {
+        failed = new ArrayList<>(searches.values());
+        searches.clear();
+        closed = connection;
+        connection = null;
+        responses = null;
+        notifyAll();
+      }
+      if (reader != null && !running) {
+        reader.interrupt();
+      }
+
+      for (Search search : failed) {
+        search.cancelTimeout();
+        search.result.completeExceptionally(cause);
+      }
+      if (closed != null) {
+        try {
+          closed.disconnect();
+        }
+        catch (LDAPException ex) {
+          LOGGER.debug("Failed to disconnect from LDAP. " + ex.getMessage());
+        }
+      }
+    }
+
+   private
+    void reconnect() {
+      while (running) {
+        try {
+          LDAPConnection reconnected = connector.connect();
+          synchronized(this) {
+            if (running) {
+              connection = reconnected;
+              return;
+            }
+          }
+          reconnected.disconnect();
+          return;
+        }
+        catch (LDAPException ex) {
+          LOGGER.error("Failed to reconnect to LDAP. Cause: " + ex.getCause() +
+                       ". Message: " + ex.getMessage());
+        }
+        try {
+          Thread.sleep(RECONNECT_DELAY_MILLIS);
+        }
+        catch (InterruptedException ex) {
+          // Shutting down.
+        }
+      }
+    }
+  }
+}
@@ -25,6 +25,8 @@ import com.novell.ldap.LDAPEntry;
 import com.novell.ldap.LDAPException;
 import com.novell.ldap.LDAPSearchResults;
 import com.seagates3.dao.AccountDAO;
+import com.seagates3.dao.AsyncAccountDAO;
+import com.seagates3.dao.AsyncRequestorDAO;
 import com.seagates3.dao.DAODispatcher;
 import com.seagates3.dao.DAOResource;
 import com.seagates3.dao.RequestorDAO;
@@ -33,16 +35,28 @@ import com.seagates3.fi.FaultPoints;
 import com.seagates3.model.AccessKey;
 import com.seagates3.model.Account;
 import com.seagates3.model.Requestor;
+import com.seagates3.service.GlobalDataStore;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class RequestorImpl implements RequestorDAO {
+public class RequestorImpl implements RequestorDAO, AsyncRequestorDAO {
 
     private final Logger LOGGER =
             LoggerFactory.getLogger(RequestorImpl.class.getName());
+    private static final Pattern ACCOUNT_NAME_PATTERN =
+            Pattern.compile("[\\w\\W]+,o=(.*?),[\\w\\W]+");
 
     @Override
     public Requestor find(AccessKey accessKey) throws DataAccessException {
@@ -94,8 +108,7 @@ public class RequestorImpl implements RequestorDAO {
                 requestor.setName(entry.getAttribute(
                         LDAPUtils.COMMON_NAME).getStringValue());
 
-                String accountName = getAccountName(entry.getDN());
-                requestor.setAccount(getAccount(accountName));
+                requestor.setAccount(getAccount(entry.getDN()));
                 lc.abandon(ldapResults);
             } else {
                 LOGGER.error("Failed to find access key details of userId: "
@@ -113,6 +126,171 @@ public class RequestorImpl implements RequestorDAO {
         return requestor;
     }
 
+    /**
+     * Search the requestor in LDAP without waiting for the response. The
+     * search is done in the calling thread if LDAP searches are not
+     * multiplexed.
+     */
+    @Override
+    public CompletionStage<Requestor> findAsync(final AccessKey accessKey) {
+        LdapMultiplexer multiplexer = LdapConnectionManager.getMultiplexer();
+        if (multiplexer == null || accessKey.getUserId() == null) {
+            CompletableFuture<Requestor> requestor = new CompletableFuture<>();
+            try {
+                requestor.complete(find(accessKey));
+            } catch (DataAccessException ex) {
+                requestor.completeExceptionally(ex);
+            }
+            return requestor;
+        }
+
+        String[] attrs = {LDAPUtils.COMMON_NAME};
+        String filter = String.format("%s=%s", LDAPUtils.USER_ID,
+                accessKey.getUserId());
+        String baseDN = String.format("%s=%s,%s",
+                LDAPUtils.ORGANIZATIONAL_UNIT_NAME, LDAPUtils.ACCOUNT_OU,
+                LDAPUtils.BASE_DN);
+
+        LOGGER.debug("Finding access key details of userID: "
+                                        + accessKey.getUserId());
+        return multiplexer.search(baseDN, LDAPConnection.SCOPE_SUB, filter,
+                attrs).handle(
+                new BiFunction<List<LDAPEntry>, Throwable, LDAPEntry>() {
+                    @Override
+                    public LDAPEntry apply(List<LDAPEntry> entries,
+                            Throwable ex) {
+                        if (ex != null) {
+                            LOGGER.error("Failed to find access key details "
+                                    + "of userId: " + accessKey.getUserId());
+                            throw new CompletionException(
+                                    new DataAccessException(
+                                            "Failed to find requestor "
+                                            + "details.\n" + ex));
+                        }
+                        if (entries.isEmpty()) {
+                            LOGGER.error("Failed to find access key details "
+                                    + "of userId: " + accessKey.getUserId());
+                            throw new CompletionException(
+                                    new DataAccessException(
+                                            "Failed to find the requestor "
+                                            + "who owns the given access "
+                                            + "key.\n"));
+                        }
+                        return entries.get(0);
+                    }
+                }).thenCompose(
+                new Function<LDAPEntry, CompletionStage<Requestor>>() {
+                    @Override
+                    public CompletionStage<Requestor> apply(
+                            final LDAPEntry entry) {
+                        return getAccountAsync(entry.getDN())
+                                .thenApply(new Function<Account, Requestor>() {
+                                    @Override
+                                    public Requestor apply(Account account) {
+                                        Requestor requestor = new Requestor();
+                                        requestor.setAccessKey(accessKey);
+                                        requestor.setId(accessKey.getUserId());
+                                        requestor.setName(entry.getAttribute(
+                                                LDAPUtils.COMMON_NAME)
+                                                .getStringValue());
+                                        requestor.setAccount(account);
+                                        return requestor;
+                                    }
+                                });
+                    }
+                });
+    }
+
+    @Override
+    public Map<AccessKey, Requestor> findAll(List<AccessKey> accessKeys)
+            throws DataAccessException {
+        Map<AccessKey, Requestor> requestors = new HashMap<>();
+        Map<String, List<AccessKey>> userAccessKeys = new HashMap<>();
+
+        for (AccessKey accessKey : accessKeys) {
+            if (accessKey.getUserId() == null) {
+                Requestor requestor = new Requestor();
+                requestor.setAccessKey(accessKey);
+                requestors.put(accessKey, requestor);
+                continue;
+            }
+
+            List<AccessKey> keys = userAccessKeys.get(accessKey.getUserId());
+            if (keys == null) {
+                keys = new ArrayList<>();
+                userAccessKeys.put(accessKey.getUserId(), keys);
+            }
+            keys.add(accessKey);
+        }
+        if (userAccessKeys.isEmpty()) {
+            return requestors;
+        }
+
+        String[] attrs = {LDAPUtils.COMMON_NAME, LDAPUtils.USER_ID};
+        String baseDN = String.format("%s=%s,%s",
+                LDAPUtils.ORGANIZATIONAL_UNIT_NAME, LDAPUtils.ACCOUNT_OU,
+                LDAPUtils.BASE_DN);
+        String filter = LDAPUtils.orFilter(LDAPUtils.USER_ID,
+                userAccessKeys.keySet());
+        Map<String, Account> accounts = new HashMap<>();
+
+        LDAPSearchResults ldapResults = null;
+        LDAPConnection lc = null;
+        try {
+
+          lc = LdapConnectionManager.getConnection();
+
+          if (lc != null && lc.isConnected()) {
+
+            if (FaultPoints.fiEnabled() &&
+                FaultPoints.getInstance().isFaultPointActive(
+                    "LDAP_SEARCH_FAIL")) {
+              throw new LDAPException();
+            }
+
+            LOGGER.debug("Finding access key details of userIDs: "
+                                            + userAccessKeys.keySet());
+            ldapResults = lc.search(baseDN, LDAPConnection.SCOPE_SUB, filter,
+                                    attrs, false);
+          }
+          while (ldapResults != null && ldapResults.hasMore()) {
+            LDAPEntry entry = ldapResults.next();
+            String userId =
+                entry.getAttribute(LDAPUtils.USER_ID).getStringValue();
+            List<AccessKey> keys = userAccessKeys.get(userId);
+            if (keys == null) {
+              continue;
+            }
+
+            String accountName = getAccountName(entry.getDN());
+            Account account = accounts.get(accountName);
+            if (account == null) {
+              account = getAccount(entry.getDN());
+              accounts.put(accountName, account);
+            }
+
+            for (AccessKey accessKey : keys) {
+              Requestor requestor = new Requestor();
+              requestor.setAccessKey(accessKey);
+              requestor.setId(userId);
+              requestor.setName(
+                  entry.getAttribute(LDAPUtils.COMMON_NAME).getStringValue());
+              requestor.setAccount(account);
+              requestors.put(accessKey, requestor);
+            }
+          }
+        }
+        catch (LDAPException ex) {
+          LOGGER.error("Failed to find access key details of userIds: " +
+                       userAccessKeys.keySet());
+          throw new DataAccessException(
+              "Failed to find requestor details.\n" + ex);
+        }
+        finally { LdapConnectionManager.releaseConnection(lc); }
+
+        return requestors;
+    }
+
     /**
      * Extract the account name from user distinguished name.
      *
@@ -120,10 +298,7 @@ public class RequestorImpl implements RequestorDAO {
      * @return Account Name
      */
     private String getAccountName(String dn) {
-        String dnRegexPattern = "[\\w\\W]+,o=(.*?),[\\w\\W]+";
-
-        Pattern pattern = Pattern.compile(dnRegexPattern);
-        Matcher matcher = pattern.matcher(dn);
+        Matcher matcher = ACCOUNT_NAME_PATTERN.matcher(dn);
         if (matcher.find()) {
             return matcher.group(1);
         }
@@ -132,16 +307,59 @@ public class RequestorImpl implements RequestorDAO {
     }
 
     /**
-     * Get the account details from account name.
+     * Get the account details of the user without waiting for the search,
+     * see getAccount.
+     */
+    private CompletionStage<Account> getAccountAsync(String userDN) {
+        final GlobalDataStore globalDataStore = GlobalDataStore.getInstance();
+        Account account =
+                globalDataStore.getFromAccountCache(getAccountName(userDN));
+        if (account != null) {
+            return CompletableFuture.completedFuture(account);
+        }
+
+        AsyncAccountDAO accountDao = (AsyncAccountDAO)
+                DAODispatcher.getResourceDAO(DAOResource.ACCOUNT);
+        LOGGER.debug("Finding account of user: " + userDN);
+        return accountDao.findByUserDNAsync(userDN).thenApply(
+                new Function<Account, Account>() {
+                    @Override
+                    public Account apply(Account account) {
+                        if (account.exists()) {
+                            globalDataStore.addToAccountCache(account);
+                        }
+                        return account;
+                    }
+                });
+    }
+
+    /**
+     * Get the account details of the user.
+     *
+     * Accounts are shared by all their users and rarely change, so they are
+     * cached like the requestors. This saves the account search when
+     * resolving the requestor of any other user of a known account. Else the
+     * account entry is read directly, its DN is derived from the user DN.
      *
-     * @param accountName Account name.
+     * @param userDN Distinguished name of the user.
      * @return Account
      */
-    private Account getAccount(String accountName) throws DataAccessException {
+    private Account getAccount(String userDN) throws DataAccessException {
+        GlobalDataStore globalDataStore = GlobalDataStore.getInstance();
+        Account account =
+                globalDataStore.getFromAccountCache(getAccountName(userDN));
+        if (account != null) {
+            return account;
+        }
+
         AccountDAO accountDao = (AccountDAO) DAODispatcher.getResourceDAO(
                 DAOResource.ACCOUNT);
-        LOGGER.debug("Finding account: " + accountName);
-        return accountDao.find(accountName);
+        LOGGER.debug("Finding account of user: " + userDN);
+        account = accountDao.findByUserDN(userDN);
+        if (account.exists()) {
+            globalDataStore.addToAccountCache(account);
+        }
+        return account;
     }
 }
 
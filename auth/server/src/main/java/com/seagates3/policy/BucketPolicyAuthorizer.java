@@ -35,6 +35,7 @@ import org.json.JSONException;
 import org.json.JSONObject;
 import com.seagates3.acl.AccessControlList;
 import com.seagates3.authorization.Authorizer;
+import com.seagates3.authserver.AuthRequest;
 import com.seagates3.dao.ldap.AccountImpl;
 import com.seagates3.dao.ldap.UserImpl;
 import com.seagates3.exception.DataAccessException;
@@ -51,6 +52,18 @@ class BucketPolicyAuthorizer extends PolicyAuthorizer {
 
   @Override public ServerResponse authorizePolicy(
       Requestor requestor, Map<String, String> requestBody) {
+    AuthRequest request = AuthRequest.of(requestBody);
+    return authorizePolicy(requestor, request, request.getS3Action());
+  }
+
+  /**
+   * Authorize one of the actions of the request against the bucket policy.
+   *
+   * @param s3Action action of the request to authorize.
+   */
+ public
+  ServerResponse authorizePolicy(Requestor requestor, AuthRequest requestBody,
+                                 String s3Action) {
 
     ServerResponse serverResponse = null;
 
@@ -59,7 +72,7 @@ class BucketPolicyAuthorizer extends PolicyAuthorizer {
     // AccessDenied if Deny found
     try {
       String requestedOperation =
-          identifyOperationToAuthorize(requestBody).toLowerCase();
+          identifyOperationToAuthorize(s3Action).toLowerCase();
       LOGGER.debug("operation to authorize - " + requestedOperation);
       if (requestedOperation != null) {
         serverResponse =
@@ -76,12 +89,11 @@ class BucketPolicyAuthorizer extends PolicyAuthorizer {
   /**
    * Below method will identify requested operation by user
    *
-   * @param requestBody
+   * @param s3Action
    * @return
    */
  private
-  String identifyOperationToAuthorize(Map<String, String> requestBody) {
-    String s3Action = requestBody.get("S3Action");
+  String identifyOperationToAuthorize(String s3Action) {
     if (null != s3Action) {
       switch (s3Action) {
         case "HeadBucket":
@@ -116,7 +128,7 @@ class BucketPolicyAuthorizer extends PolicyAuthorizer {
    */
  private
   ServerResponse authorizeOperation(
-      Map<String, String> requestBody, String requestedOperation,
+      AuthRequest requestBody, String requestedOperation,
       Requestor requestor) throws DataAccessException,
       JSONException {
 
@@ -124,7 +136,7 @@ class BucketPolicyAuthorizer extends PolicyAuthorizer {
     AuthorizationResponseGenerator responseGenerator =
         new AuthorizationResponseGenerator();
 
-    JSONObject obj = new JSONObject(requestBody.get("Policy"));
+    JSONObject obj = new JSONObject(requestBody.getPolicy());
     String policyString = obj.toString();
     policyString = policyString.replace(
         "CanonicalUser",
@@ -133,7 +145,7 @@ class BucketPolicyAuthorizer extends PolicyAuthorizer {
     readerOptions.setStripAwsPrincipalIdHyphensEnabled(false);
     Policy existingPolicy = Policy.fromJson(policyString, readerOptions);
     String requestedResource =
-        PolicyUtil.getResourceFromUri(requestBody.get("ClientAbsoluteUri"));
+        PolicyUtil.getResourceFromUri(requestBody.getClientAbsoluteUri());
     String resourceOwner = new AccessControlList().getOwner(requestBody);
 
     List<Statement> statementList =
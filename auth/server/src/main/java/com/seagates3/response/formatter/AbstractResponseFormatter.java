@@ -31,7 +31,7 @@ public
 abstract class AbstractResponseFormatter {
 
  protected
-  final String IAM_XMLNS = "https://iam.seagate.com/doc/2010-05-08/";
+  static final String IAM_XMLNS = "https://iam.seagate.com/doc/2010-05-08/";
 
  public
   abstract ServerResponse
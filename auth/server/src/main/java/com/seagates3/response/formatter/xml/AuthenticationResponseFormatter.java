@@ -24,7 +24,7 @@ import com.seagates3.response.ServerResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.TransformerException;
 import org.w3c.dom.Attr;
@@ -38,6 +38,13 @@ public class AuthenticationResponseFormatter extends XMLResponseFormatter {
   private
    final Logger LOGGER =
        LoggerFactory.getLogger(AuthenticationResponseFormatter.class.getName());
+
+    /**
+     * Authenticated responses are written from templates, one per operation.
+     */
+    private static final ConcurrentHashMap<String, XMLResponseTemplate>
+            TEMPLATES = new ConcurrentHashMap<>();
+
     @Override
     public ServerResponse formatCreateResponse(String operation,
             String returnObject, LinkedHashMap<String, String> responseElements,
@@ -64,46 +71,20 @@ public class AuthenticationResponseFormatter extends XMLResponseFormatter {
 
     public ServerResponse formatAuthenticatedResponse(
             LinkedHashMap<String, String> responseElements, String requestId) {
-        Document doc;
-        try {
-            doc = createNewDoc();
-        } catch (ParserConfigurationException ex) {
-            return null;
-        }
-
-        Element responseElement = doc.createElement("AuthenticateUserResponse");
-        Attr attr = doc.createAttribute("xmlns");
-        attr.setValue(IAM_XMLNS);
-        responseElement.setAttributeNode(attr);
-        doc.appendChild(responseElement);
-
-        Element resultElement = doc.createElement("AuthenticateUserResult");
-        responseElement.appendChild(resultElement);
-
-        for (Map.Entry<String, String> entry : responseElements.entrySet()) {
-            Element element = doc.createElement(entry.getKey());
-            element.appendChild(doc.createTextNode(entry.getValue()));
-            resultElement.appendChild(element);
-        }
-
-        Element responseMetadataElement = doc.createElement("ResponseMetadata");
-        responseElement.appendChild(responseMetadataElement);
-
-        Element requestIdElement = doc.createElement("RequestId");
-        requestIdElement.appendChild(doc.createTextNode(requestId));
-        responseMetadataElement.appendChild(requestIdElement);
-
-        String responseBody;
-        try {
-            responseBody = docToString(doc);
-            ServerResponse serverResponse = new ServerResponse(HttpResponseStatus.OK,
-                    responseBody);
+        return formatAuthenticatedResponse("AuthenticateUser",
+                responseElements, requestId);
+    }
 
-            return serverResponse;
-        } catch (TransformerException ex) {
+    public ServerResponse formatAuthenticatedResponse(String operation,
+            LinkedHashMap<String, String> responseElements, String requestId) {
+        XMLResponseTemplate template = TEMPLATES.get(operation);
+        if (template == null) {
+            template = new XMLResponseTemplate(operation, IAM_XMLNS);
+            TEMPLATES.putIfAbsent(operation, template);
         }
 
-        return null;
+        return new ServerResponse(HttpResponseStatus.OK,
+                template.format(responseElements, requestId));
     }
 
    public
@@ -22,14 +22,6 @@ package com.seagates3.response.formatter.xml;
 
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
-import java.util.Map;
-
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.TransformerException;
-
-import org.w3c.dom.Attr;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
 import com.seagates3.response.ServerResponse;
 import com.seagates3.util.BinaryUtil;
@@ -38,6 +30,10 @@ import io.netty.handler.codec.http.HttpResponseStatus;
 
 public class AuthorizationResponseFormatter extends XMLResponseFormatter {
 
+   private
+    static final XMLResponseTemplate TEMPLATE =
+        new XMLResponseTemplate("AuthorizeUser", IAM_XMLNS);
+
     @Override
     public ServerResponse formatCreateResponse(String operation,
             String returnObject, LinkedHashMap<String, String> responseElements,
@@ -69,71 +65,13 @@ public class AuthorizationResponseFormatter extends XMLResponseFormatter {
    public
     ServerResponse authorized(LinkedHashMap<String, String> responseElements,
                               String requestId, String acp) {
-
-      Document dcmt;
-        try {
-          dcmt = createNewDoc();
-        } catch (ParserConfigurationException ex) {
-            return null;
-        }
-
-        Element resp_element = dcmt.createElement("AuthorizeUserResponse");
-        Attr attr = dcmt.createAttribute("xmlns");
-        attr.setValue(IAM_XMLNS);
-        resp_element.setAttributeNode(attr);
-        dcmt.appendChild(resp_element);
-
-        Element resultingElement = dcmt.createElement("AuthorizeUserResult");
-        resp_element.appendChild(resultingElement);
-
-        for (Map.Entry<String, String> entry : responseElements.entrySet()) {
-          Element element = dcmt.createElement(entry.getKey());
-          element.appendChild(dcmt.createTextNode(entry.getValue()));
-          resultingElement.appendChild(element);
-        }
-
-        // Construct a default ACL and append as a child to resultElement
-        if (acp != null)
-          resultingElement.appendChild(constructDefaultACLElement(dcmt, acp));
-
-        Element respMetaElement = dcmt.createElement("ResponseMetadata");
-        resp_element.appendChild(respMetaElement);
-
-        Element requestIdElement = dcmt.createElement("RequestId");
-        requestIdElement.appendChild(dcmt.createTextNode(requestId));
-        respMetaElement.appendChild(requestIdElement);
-
-        String responseBody;
-        try {
-          responseBody = docToString(dcmt);
-          ServerResponse finalServerResponse =
-              new ServerResponse(HttpResponseStatus.OK, responseBody);
-
-          return finalServerResponse;
-        } catch (TransformerException ex) {
-        }
-
-        return null;
-    }
-
-    /**
-     * Constructs an AccessControlPolicy (ACL) Element from acp -
-     * XML, base64 encoded.
-     * @param doc
-     * @param acpXml
-     * @return - the DefaultACL element
-     */
-   private
-    Element constructDefaultACLElement(Document doc, String acpXml) {
-
-      Element aclElement = null;
-
-      if (acpXml != null) {
-        aclElement = doc.createElement("ACL");
-        aclElement.appendChild(
-            doc.createTextNode(BinaryUtil.encodeToBase64String(acpXml)));
+      // The default ACL, base64 encoded, follows the requestor in the result
+      if (acp != null) {
+        responseElements = new LinkedHashMap<>(responseElements);
+        responseElements.put("ACL", BinaryUtil.encodeToBase64String(acp));
       }
-      return aclElement;
+
+      return new ServerResponse(HttpResponseStatus.OK,
+                                TEMPLATE.format(responseElements, requestId));
     }
 }
-
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+package com.seagates3.response.formatter.xml;
+
+import java.util.Map;
+
+/**
+ * Response of an operation written from a precomputed template instead of a
+ * DOM document. The output is the same as the one of the DOM formatters,
+ * i.e.
+ *
+ * <?xml ...?><{operation}Response xmlns="..."><{operation}Result>
+ * <{key}>{value}</{key}>...</{operation}Result><ResponseMetadata>
+ * <RequestId>{requestId}</RequestId></ResponseMetadata></{operation}Response>
+ *
+ * without line breaks, and an empty {operation}Result element if there are no
+ * elements. Templates are immutable and can be shared by threads.
+ */
+public
+final class XMLResponseTemplate {
+
+ private
+  static final String XML_DECLARATION =
+      "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>";
+
+ private
+  final String head;
+ private
+  final String emptyResult;
+ private
+  final String tail;
+ private
+  final String end;
+
+ public
+  XMLResponseTemplate(String operation, String xmlns) {
+    String response =
+        XML_DECLARATION + "<" + operation + "Response xmlns=\"" + xmlns + "\">";
+    head = response + "<" + operation + "Result>";
+    emptyResult = response + "<" + operation + "Result/><ResponseMetadata>";
+    tail = "</" + operation + "Result><ResponseMetadata>";
+    end = "</ResponseMetadata></" + operation + "Response>";
+  }
+
+  /**
+   * @param responseElements Elements of the result, in order. A null value
+   *        is written as an empty element.
+   * @param requestId
+   * @return Response body.
+   */
+ public
+  String format(Map<String, String> responseElements, String requestId) {
+    StringBuilder builder = new StringBuilder(512);
+    if (responseElements.isEmpty()) {
+      builder.append(emptyResult);
+    } else {
+      builder.append(head);
+      for (Map.Entry<String, String> entry : responseElements.entrySet()) {
+        appendElement(builder, entry.getKey(), entry.getValue());
+      }
+      builder.append(tail);
+    }
+    appendElement(builder, "RequestId", requestId);
+    builder.append(end);
+
+    return builder.toString();
+  }
+
+ private
+  static void appendElement(StringBuilder builder, String name, String value) {
+    builder.append('<').append(name);
+    if (value == null || value.isEmpty()) {
+      builder.append("/>");
+      return;
+    }
+    builder.append('>');
+    appendText(builder, value);
+    builder.append("</").append(name).append('>');
+  }
+
+  /**
+   * Escape the text the way the XML transformer does.
+   */
+ private
+  static void appendText(StringBuilder builder, String text) {
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      switch (c) {
+        case '&':
+          builder.append("&amp;");
+          break;
+        case '<':
+          builder.append("&lt;");
+          break;
+        case '>':
+          builder.append("&gt;");
+          break;
+        case '\n':
+        case '\t':
+          builder.append(c);
+          break;
+        default:
+          if (c < 0x20) {
+            builder.append("&#").append((int)c).append(';');
+          } else if (Character.isHighSurrogate(c) && i + 1 < text.length() &&
+                     Character.isLowSurrogate(text.charAt(i + 1))) {
+            builder.append("&#").append(text.codePointAt(i)).append(';');
+            i++;
+          } else {
+            builder.append(c);
+          }
+      }
+    }
+  }
+}
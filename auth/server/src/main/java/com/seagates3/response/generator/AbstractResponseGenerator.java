@@ -121,6 +121,13 @@ public abstract class AbstractResponseGenerator {
                 "InternalFailure", errorMessage);
     }
 
+    public ServerResponse slowDown() {
+        String errorMessage = "Please reduce your request rate.";
+
+        return formatResponse(HttpResponseStatus.SERVICE_UNAVAILABLE,
+                "SlowDown", errorMessage);
+    }
+
    public
     ServerResponse AccessDenied() {
       String errorMessage = "Access Denied.";
@@ -41,12 +41,31 @@ public class AuthenticationResponseGenerator extends AbstractResponseGenerator {
         responseElements.put("CanonicalId",
                              requestor.getAccount().getCanonicalId());
         responseElements.put("Email", requestor.getAccount().getEmail());
+        if (requestToken.getChunkSessionId() != null) {
+            responseElements.put("ChunkSessionId",
+                                 requestToken.getChunkSessionId());
+        }
 
         return (ServerResponse) new AuthenticationResponseFormatter()
             .formatAuthenticatedResponse(responseElements,
                                          AuthServerConfig.getReqId());
     }
 
+    /**
+     * Response of AuthenticateChunks, with the number of chunks verified and
+     * the signature of the last one.
+     */
+   public
+    ServerResponse generateAuthenticatedChunksResponse(int chunkCount,
+                                                       String signature) {
+      LinkedHashMap<String, String> responseElements = new LinkedHashMap<>();
+      responseElements.put("ChunkCount", String.valueOf(chunkCount));
+      responseElements.put("SignatureSHA256", signature);
+
+      return new AuthenticationResponseFormatter().formatAuthenticatedResponse(
+          "AuthenticateChunks", responseElements, AuthServerConfig.getReqId());
+    }
+
    public
     ServerResponse requestTimeTooSkewed(String requestTime, String serverTime) {
       String errorMessage =
@@ -1,34 +1,111 @@
 package com.seagates3.service;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+import com.seagates3.authentication.SigningKeyCache;
+import com.seagates3.authserver.AuthServerConfig;
+import com.seagates3.cache.ConcurrentCache;
+import com.seagates3.model.Account;
 import com.seagates3.model.GlobalData;
 
 public
 class GlobalDataStore {
 
  private
-  static GlobalDataStore instance;
+  static final int DEFAULT_CACHE_MAX_SIZE = 10000;
  private
-  Map<String, GlobalData> authenticationMap;
+  static final int DEFAULT_CACHE_TIMEOUT = 30;
 
  private
-  GlobalDataStore() { authenticationMap = new HashMap<>(); }
+  static volatile GlobalDataStore instance;
+ private
+  final ConcurrentCache<String, GlobalData> authenticationCache;
+ private
+  final ConcurrentCache<String, Account> accountCache;
+
+ private
+  GlobalDataStore(int maxSize, int timeoutInSeconds) {
+    authenticationCache = new ConcurrentCache<>(
+        maxSize, TimeUnit.SECONDS.toMillis(timeoutInSeconds));
+    accountCache = new ConcurrentCache<>(
+        maxSize, TimeUnit.SECONDS.toMillis(timeoutInSeconds));
+  }
+
+  /**
+   * Create the authentication cache as per the server configuration.
+   */
+ public
+  static synchronized void init() {
+    instance = new GlobalDataStore(AuthServerConfig.getCacheMaxSize(),
+                                   AuthServerConfig.getCacheTimeout());
+  }
 
  public
   static GlobalDataStore getInstance() {
-    if (instance == null) {
-      instance = new GlobalDataStore();
+    GlobalDataStore store = instance;
+    if (store == null) {
+      synchronized(GlobalDataStore.class) {
+        if (instance == null) {
+          instance = new GlobalDataStore(DEFAULT_CACHE_MAX_SIZE,
+                                         DEFAULT_CACHE_TIMEOUT);
+        }
+        store = instance;
+      }
     }
-    return instance;
+    return store;
+  }
+
+  /**
+   * @return cached authentication data of the access key or null if it is
+   *         not cached or has expired.
+   */
+ public
+  GlobalData getFromAuthenticationCache(String accessKey) {
+    return authenticationCache.get(accessKey);
+  }
+
+ public
+  void addToAuthenticationCache(String accessKey, GlobalData globalObj) {
+    authenticationCache.put(accessKey, globalObj);
+  }
+
+  /**
+   * @return cached account of the given name or null if it is not cached or
+   *         has expired.
+   */
+ public
+  Account getFromAccountCache(String accountName) {
+    return accountCache.get(accountName);
+  }
+
+ public
+  void addToAccountCache(Account account) {
+    accountCache.put(account.getName(), account);
+  }
+
+  /**
+   * Remove the account from cache. Call this whenever the account is deleted
+   * or modified.
+   */
+ public
+  void invalidateAccountCache(String accountName) {
+    accountCache.invalidate(accountName);
   }
 
+  /**
+   * Remove the access key from cache. Call this whenever the access key, or
+   * the user or account owning it, is deleted or modified.
+   */
  public
-  Map<String, GlobalData> getAuthenticationMap() { return authenticationMap; }
+  void invalidateAuthenticationCache(String accessKey) {
+    authenticationCache.invalidate(accessKey);
+    SigningKeyCache.getInstance().invalidate(accessKey);
+  }
 
  public
-  void addToAuthenticationMap(String accessKey, GlobalData globalObj) {
-    this.authenticationMap.put(accessKey, globalObj);
+  void invalidateAllAuthenticationCache() {
+    authenticationCache.invalidateAll();
+    accountCache.invalidateAll();
+    SigningKeyCache.getInstance().invalidateAll();
   }
 }
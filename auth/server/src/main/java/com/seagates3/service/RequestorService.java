@@ -20,12 +20,26 @@
 
 package com.seagates3.service;
 
-import org.joda.time.DateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.seagates3.authserver.AuthServerConfig;
 import com.seagates3.authentication.ClientRequestToken;
+import com.seagates3.cache.MicroBatcher;
+import com.seagates3.cache.SingleFlight;
 import com.seagates3.dao.AccessKeyDAO;
+import com.seagates3.dao.AsyncAccessKeyDAO;
+import com.seagates3.dao.AsyncRequestorDAO;
 import com.seagates3.dao.DAODispatcher;
 import com.seagates3.dao.DAOResource;
 import com.seagates3.dao.RequestorDAO;
@@ -51,11 +65,187 @@ public class RequestorService {
     private static final ResponseGenerator responseGenerator
             = new ResponseGenerator();
 
+    private static final SingleFlight<String, GlobalData> accessKeyLookups
+            = new SingleFlight<>();
+
+    private static volatile MicroBatcher<String, AccessKey> accessKeyBatcher;
+
+    private static volatile MicroBatcher<AccessKey, Requestor>
+            requestorBatcher;
+
+    /**
+     * Set up batching of the access key and requestor searches as per the
+     * server configuration. Searches are not batched until this is called.
+     */
+    public static synchronized void init() {
+        int batchSize = AuthServerConfig.getLdapSearchBatchSize();
+        if (batchSize <= 1) {
+            accessKeyBatcher = null;
+            requestorBatcher = null;
+            return;
+        }
+
+        long windowMicros = AuthServerConfig.getLdapSearchBatchWindowMicros();
+        accessKeyBatcher = new MicroBatcher<>(batchSize, windowMicros,
+                new MicroBatcher.Loader<String, AccessKey>() {
+                    @Override
+                    public Map<String, AccessKey> loadAll(
+                            List<String> accessKeyIds) throws Exception {
+                        AccessKeyDAO accessKeyDAO = (AccessKeyDAO)
+                                DAODispatcher.getResourceDAO(
+                                        DAOResource.ACCESS_KEY);
+                        return accessKeyDAO.findAll(accessKeyIds);
+                    }
+                });
+        requestorBatcher = new MicroBatcher<>(batchSize, windowMicros,
+                new MicroBatcher.Loader<AccessKey, Requestor>() {
+                    @Override
+                    public Map<AccessKey, Requestor> loadAll(
+                            List<AccessKey> accessKeys) throws Exception {
+                        RequestorDAO requestorDAO = (RequestorDAO)
+                                DAODispatcher.getResourceDAO(
+                                        DAOResource.REQUESTOR);
+                        return requestorDAO.findAll(accessKeys);
+                    }
+                });
+    }
+
     public
      static Requestor getRequestor(ClientRequestToken clientRequestToken)
          throws InvalidAccessKeyException,
          InternalServerException, InvalidRequestorException {
 
+        String accessKeyId = clientRequestToken.getAccessKeyId();
+        if (AuthServerConfig.getCacheTimeout() != 0) {
+          GlobalData dataObj =
+              GlobalDataStore.getInstance().getFromAuthenticationCache(
+                  accessKeyId);
+          if (dataObj != null) {
+            return dataObj.getRequestor();
+          }
+        }
+
+        GlobalData globalDataObj = fetchRequestor(accessKeyId);
+        Requestor requestor = globalDataObj.getRequestor();
+
+        validateRequestor(requestor, clientRequestToken);
+        if (AuthServerConfig.getCacheTimeout() != 0) {
+          GlobalDataStore.getInstance().addToAuthenticationCache(
+              accessKeyId, globalDataObj);
+        }
+        return requestor;
+    }
+
+    /**
+     * Get the requestor without waiting for the data store. Nothing waits
+     * for the searches, the stages of the requestor are run as the search
+     * responses come, so that a few LDAP connections serve any number of
+     * requests. Searches are not batched, the multiplexed connections take
+     * their load.
+     *
+     * The search responses come on the reader threads of the connections,
+     * which must not block. The stages run after the searches are handed
+     * over to the executor.
+     *
+     * @param executor Executor of the stages run once the searches are done.
+     * @return requestor, or fails with the exceptions thrown by getRequestor.
+     */
+    public static CompletionStage<Requestor> getRequestorAsync(
+            final ClientRequestToken clientRequestToken,
+            final Executor executor) {
+        final String accessKeyId = clientRequestToken.getAccessKeyId();
+        if (AuthServerConfig.getCacheTimeout() != 0) {
+            GlobalData dataObj = GlobalDataStore.getInstance()
+                    .getFromAuthenticationCache(accessKeyId);
+            if (dataObj != null) {
+                return CompletableFuture.completedFuture(
+                        dataObj.getRequestor());
+            }
+        }
+
+        CompletionStage<GlobalData> fetch;
+        if (accessKeyId == null) {
+            fetch = findRequestorAsync(accessKeyId, executor);
+        } else {
+            fetch = accessKeyLookups.executeAsync(accessKeyId,
+                    new Callable<CompletionStage<GlobalData>>() {
+                        @Override
+                        public CompletionStage<GlobalData> call() {
+                            return findRequestorAsync(accessKeyId, executor);
+                        }
+                    });
+        }
+
+        // A search shared with other requests completes on the executor of
+        // the request which started it, come back to this one.
+        return fetch.thenApplyAsync(new Function<GlobalData, Requestor>() {
+            @Override
+            public Requestor apply(GlobalData globalDataObj) {
+                Requestor requestor = globalDataObj.getRequestor();
+                try {
+                    validateRequestor(requestor, clientRequestToken);
+                } catch (InvalidRequestorException ex) {
+                    throw new CompletionException(ex);
+                }
+                if (AuthServerConfig.getCacheTimeout() != 0) {
+                    GlobalDataStore.getInstance().addToAuthenticationCache(
+                            accessKeyId, globalDataObj);
+                }
+                return requestor;
+            }
+        }, executor);
+    }
+
+    /**
+     * Fetch the access key and its requestor.
+     *
+     * Concurrent requests with the same access key share a single search,
+     * so that an expired cache entry of a busy access key doesn't flood the
+     * data store with identical searches.
+     */
+    private static GlobalData fetchRequestor(final String accessKeyId)
+            throws InvalidAccessKeyException, InternalServerException {
+        if (accessKeyId == null) {
+            return findRequestor(accessKeyId);
+        }
+
+        try {
+            return accessKeyLookups.execute(accessKeyId,
+                    new Callable<GlobalData>() {
+                        @Override
+                        public GlobalData call() throws Exception {
+                            return findRequestor(accessKeyId);
+                        }
+                    });
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof InvalidAccessKeyException) {
+                throw (InvalidAccessKeyException) cause;
+            }
+            if (cause instanceof InternalServerException) {
+                throw (InternalServerException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            LOGGER.error("Error occured while searching for requestor.\n"
+                    + cause);
+            throw new InternalServerException(
+                    responseGenerator.internalServerError());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            LOGGER.error("Interrupted while searching for requestor.");
+            throw new InternalServerException(
+                    responseGenerator.internalServerError());
+        }
+    }
+
+    private static GlobalData findRequestor(String accessKeyId)
+            throws InvalidAccessKeyException, InternalServerException {
+
         ServerResponse serverResponse;
         AccessKey accessKey;
 
@@ -64,25 +254,8 @@ public class RequestorService {
 
         try {
             perf.startClock();
-            if (AuthServerConfig.getCacheTimeout() != 0) {
-              GlobalData dataObj =
-                  GlobalDataStore.getInstance().getAuthenticationMap().get(
-                      clientRequestToken.getAccessKeyId());
-              if (dataObj != null) {
-                long difference =
-                    (System.currentTimeMillis() - dataObj.getCreationTime()) /
-                    1000;
-                LOGGER.debug("Cache time difference in seconds is - " +
-                             difference);
-                // if entry in cache is older than cache timeout interval then
-                // refresh it
-                if ((difference >= 0) &&
-                    (difference < AuthServerConfig.getCacheTimeout())) {
-                  return dataObj.getRequestor();
-                }
-              }
-            }
-            accessKey = accessKeyDAO.find(clientRequestToken.getAccessKeyId());
+
+            accessKey = searchAccessKey(accessKeyDAO, accessKeyId);
 
             perf.endClock();
             perf.printTime("Fetch access key");
@@ -103,7 +276,7 @@ public class RequestorService {
         try {
             perf.startClock();
 
-            requestor = requestorDAO.find(accessKey);
+            requestor = searchRequestor(requestorDAO, accessKey);
 
             perf.endClock();
             perf.printTime("Fetch requestor");
@@ -112,16 +285,143 @@ public class RequestorService {
             throw new InternalServerException(serverResponse);
         }
 
-        validateRequestor(requestor, clientRequestToken);
-        if (AuthServerConfig.getCacheTimeout() != 0) {
-        GlobalData globalDataObj =
-            new GlobalData(accessKey, requestor, System.currentTimeMillis());
-        GlobalDataStore.getInstance().addToAuthenticationMap(
-            clientRequestToken.getAccessKeyId(), globalDataObj);
+        return new GlobalData(accessKey, requestor, System.currentTimeMillis());
+    }
+
+    private static CompletionStage<GlobalData> findRequestorAsync(
+            String accessKeyId, final Executor executor) {
+        AsyncAccessKeyDAO accessKeyDAO = (AsyncAccessKeyDAO) DAODispatcher
+                .getResourceDAO(DAOResource.ACCESS_KEY);
+
+        return accessKeyDAO.findAsync(accessKeyId).handleAsync(
+                new BiFunction<AccessKey, Throwable, AccessKey>() {
+                    @Override
+                    public AccessKey apply(AccessKey accessKey,
+                            Throwable ex) {
+                        if (ex != null) {
+                            Throwable cause = getCause(ex);
+                            LOGGER.error("Error occured while searching for "
+                                    + "requestor's access key id.\n"
+                                    + cause.getMessage());
+                            throw internalServerError(cause);
+                        }
+
+                        try {
+                            validateAccessKey(accessKey);
+                        } catch (InvalidAccessKeyException e) {
+                            throw new CompletionException(e);
+                        }
+                        LOGGER.debug("Access key is valid.\n");
+                        return accessKey;
+                    }
+                }, executor).thenCompose(
+                new Function<AccessKey, CompletionStage<GlobalData>>() {
+                    @Override
+                    public CompletionStage<GlobalData> apply(
+                            final AccessKey accessKey) {
+                        AsyncRequestorDAO requestorDAO = (AsyncRequestorDAO)
+                                DAODispatcher.getResourceDAO(
+                                        DAOResource.REQUESTOR);
+                        return requestorDAO.findAsync(accessKey).handleAsync(
+                                new BiFunction<Requestor, Throwable,
+                                        GlobalData>() {
+                                    @Override
+                                    public GlobalData apply(
+                                            Requestor requestor,
+                                            Throwable ex) {
+                                        if (ex != null) {
+                                            throw internalServerError(
+                                                    getCause(ex));
+                                        }
+                                        return new GlobalData(accessKey,
+                                                requestor,
+                                                System.currentTimeMillis());
+                                    }
+                                }, executor);
+                    }
+                });
+    }
+
+    private static Throwable getCause(Throwable ex) {
+        if (ex instanceof CompletionException && ex.getCause() != null) {
+            return ex.getCause();
+        }
+        return ex;
+    }
+
+    /**
+     * @return InternalServerException in place of the DataAccessException,
+     *         other exceptions are passed on as they are.
+     */
+    private static CompletionException internalServerError(Throwable cause) {
+        if (cause instanceof DataAccessException) {
+            return new CompletionException(new InternalServerException(
+                    responseGenerator.internalServerError()));
+        }
+        return new CompletionException(cause);
+    }
+
+    /**
+     * Search the access key, together with other concurrent searches if
+     * batching is enabled.
+     */
+    private static AccessKey searchAccessKey(AccessKeyDAO accessKeyDAO,
+            String accessKeyId) throws DataAccessException {
+        MicroBatcher<String, AccessKey> batcher = accessKeyBatcher;
+        if (batcher == null || accessKeyId == null) {
+            return accessKeyDAO.find(accessKeyId);
+        }
+
+        AccessKey accessKey = getBatched(batcher, accessKeyId);
+        if (accessKey == null) {
+            accessKey = new AccessKey();
+            accessKey.setId(accessKeyId);
+        }
+        return accessKey;
+    }
+
+    /**
+     * Search the requestor owning the access key, together with other
+     * concurrent searches if batching is enabled.
+     */
+    private static Requestor searchRequestor(RequestorDAO requestorDAO,
+            AccessKey accessKey) throws DataAccessException {
+        MicroBatcher<AccessKey, Requestor> batcher = requestorBatcher;
+        if (batcher == null) {
+            return requestorDAO.find(accessKey);
+        }
+
+        Requestor requestor = getBatched(batcher, accessKey);
+        if (requestor == null) {
+            throw new DataAccessException(
+                    "Failed to find the requestor who owns the "
+                    + "given access key.\n");
         }
         return requestor;
     }
 
+    private static <K, V> V getBatched(MicroBatcher<K, V> batcher, K key)
+            throws DataAccessException {
+        try {
+            return batcher.get(key);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof DataAccessException) {
+                throw (DataAccessException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new DataAccessException("Batched search failed.\n" + cause);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessException("Interrupted while searching.\n");
+        }
+    }
+
     /**
      * Validate access Key.
      *
@@ -189,10 +489,9 @@ public class RequestorService {
                 throw new InvalidRequestorException(serverResponse);
             }
 
-            DateTime currentDate = DateUtil.getCurrentDateTime();
-            DateTime expiryDate = DateUtil.toDateTime(accessKey.getExpiry());
+            long expiryTime = DateUtil.toEpochMillis(accessKey.getExpiry());
 
-            if (currentDate.isAfter(expiryDate)) {
+            if (DateUtil.currentTimeMillis() > expiryTime) {
                 LOGGER.debug("Federated credentials have expired.");
                 serverResponse = responseGenerator.expiredCredential();
                 throw new InvalidRequestorException(serverResponse);
@@ -27,6 +27,7 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.UUID;
 import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
 import javax.crypto.spec.SecretKeySpec;
 import org.apache.commons.codec.binary.Base64;
 import org.slf4j.Logger;
@@ -46,6 +47,47 @@ public class BinaryUtil {
      final static Logger LOGGER =
          LoggerFactory.getLogger(BinaryUtil.class.getName());
 
+    /*
+     * Mac and MessageDigest instances are looked up from the security
+     * providers once per thread and reused, init and digest reset them for
+     * the next call. Null when the algorithm is not available.
+     */
+    private static final ThreadLocal<Mac> hmacSHA256Mac =
+        new ThreadLocal<Mac>() {
+            @Override
+            protected Mac initialValue() {
+                return newMac("HmacSHA256");
+            }
+        };
+
+    private static final ThreadLocal<Mac> hmacSHA1Mac =
+        new ThreadLocal<Mac>() {
+            @Override
+            protected Mac initialValue() {
+                return newMac("HmacSHA1");
+            }
+        };
+
+    private static final ThreadLocal<MessageDigest> sha256Digest =
+        new ThreadLocal<MessageDigest>() {
+            @Override
+            protected MessageDigest initialValue() {
+                try {
+                    return MessageDigest.getInstance("SHA-256");
+                } catch (NoSuchAlgorithmException ex) {
+                    return null;
+                }
+            }
+        };
+
+    private static Mac newMac(String algorithm) {
+        try {
+            return Mac.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException ex) {
+            return null;
+        }
+    }
+
     /*
      * <IEM_INLINE_DOCUMENTATION>
      *     <event_code>048002001</event_code>
@@ -90,8 +132,18 @@ public class BinaryUtil {
      * All alphabets are lower case.
      */
     public static String hexEncodedHash(byte[] text) {
+        byte[] hashedText = hexEncodedHashBytes(text);
+        return (hashedText != null) ? toString(hashedText) : null;
+    }
+
+    /*
+     * Compute the hash of the byte array and return its lower case hex
+     * encoding as ASCII bytes, to be fed to a digest or a MAC without a
+     * String round trip.
+     */
+    public static byte[] hexEncodedHashBytes(byte[] text) {
         byte[] hashedText = hashSHA256(text);
-        return (hashedText != null) ? toString(encodeToHex(hashedText)) : null;
+        return (hashedText != null) ? encodeToHex(hashedText) : null;
     }
 
     /*
@@ -135,20 +187,53 @@ public class BinaryUtil {
      * Calculate the HMAC using SHA-256.
      */
     public static byte[] hmacSHA256(byte[] key, byte[] data) {
-        Mac mac;
+        Mac mac = hmacSHA256Mac.get();
+        if (mac == null) {
+          LOGGER.error("Algorithm HmacSHA256 is not available.");
+          return null;
+        }
+
         try {
-            mac = Mac.getInstance("HmacSHA256");
             mac.init(new SecretKeySpec(key, "HmacSHA256"));
 
             return mac.doFinal(data);
-        } catch (NoSuchAlgorithmException ex) {
-          LOGGER.error("Algorithm HmacSHA256 is not available.");
         } catch (InvalidKeyException ex) {
         }
 
         return null;
     }
 
+    /*
+     * Calculate a chain of HMACs using SHA-256. The first data is signed
+     * with the key and every next data with the HMAC of the previous one,
+     * e.g. the AWS V4 signing key derivation. The intermediate HMACs are
+     * written to a single scratch buffer.
+     */
+    public static byte[] hmacSHA256Chain(byte[] key, byte[]... data) {
+        Mac mac = hmacSHA256Mac.get();
+        if (mac == null) {
+          LOGGER.error("Algorithm HmacSHA256 is not available.");
+          return null;
+        }
+
+        byte[] result = new byte[mac.getMacLength()];
+        try {
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            for (int i = 0; i < data.length; i++) {
+                if (i > 0) {
+                    mac.init(new SecretKeySpec(result, "HmacSHA256"));
+                }
+                mac.update(data[i]);
+                mac.doFinal(result, 0);
+            }
+
+            return result;
+        } catch (InvalidKeyException | ShortBufferException ex) {
+        }
+
+        return null;
+    }
+
     /*
      * <IEM_INLINE_DOCUMENTATION>
      *     <event_code>048002003</event_code>
@@ -176,14 +261,16 @@ public class BinaryUtil {
      * Calculate the HMAC using SHA-1.
      */
     public static byte[] hmacSHA1(byte[] key, byte[] data) {
-        Mac mac;
+        Mac mac = hmacSHA1Mac.get();
+        if (mac == null) {
+          LOGGER.error("Algorithm HmacSHA1 is not available.");
+          return null;
+        }
+
         try {
-            mac = Mac.getInstance("HmacSHA1");
             mac.init(new SecretKeySpec(key, "HmacSHA1"));
 
             return mac.doFinal(data);
-        } catch (NoSuchAlgorithmException ex) {
-          LOGGER.error("Algorithm HmacSHA1 is not available.");
         } catch (InvalidKeyException ex) {
         }
 
@@ -217,34 +304,21 @@ public class BinaryUtil {
      * Hash the text using SHA-256 algorithm.
      */
     public static byte[] hashSHA256(String text) {
-        MessageDigest md;
-        try {
-            md = MessageDigest.getInstance("SHA-256");
-            md.update(text.getBytes());
-
-            return md.digest();
-        } catch (NoSuchAlgorithmException ex) {
-          LOGGER.error("Algorithm SHA-256 is not available.");
-        }
-
-        return null;
+        return hashSHA256(text.getBytes());
     }
 
     /*
      * Hash the text using SHA-256 algorithm.
      */
     public static byte[] hashSHA256(byte[] text) {
-        MessageDigest md;
-        try {
-            md = MessageDigest.getInstance("SHA-256");
-            md.update(text);
-
-            return md.digest();
-        } catch (NoSuchAlgorithmException ex) {
+        MessageDigest md = sha256Digest.get();
+        if (md == null) {
           LOGGER.error("Algorithm SHA-256 is not available.");
+          return null;
         }
 
-        return null;
+        md.reset();
+        return md.digest(text);
     }
 
     /*
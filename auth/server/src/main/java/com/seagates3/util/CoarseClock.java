@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.util;
+
+/**
+ * Wall clock in milli seconds which is refreshed by a daemon thread every
+ * few milli seconds, so that reading it is a single volatile read.
+ *
+ * Use it for checks which tolerate the resolution, like the request time
+ * skew (15 minutes) or cache expiry, not for measuring durations.
+ */
+public
+final class CoarseClock {
+
+ private
+  static final long TICK_MILLIS = 10;
+
+ private
+  static volatile long now = System.currentTimeMillis();
+
+  static {
+    Thread ticker = new Thread(new Runnable() {
+      @Override public void run() {
+        while (true) {
+          now = System.currentTimeMillis();
+          try {
+            Thread.sleep(TICK_MILLIS);
+          }
+          catch (InterruptedException ex) {
+            return;
+          }
+        }
+      }
+    }, "coarse-clock");
+    ticker.setDaemon(true);
+    ticker.start();
+  }
+
+ private
+  CoarseClock() {}
+
+  /**
+   * @return current time in milli seconds since epoch, at most TICK_MILLIS
+   *         old.
+   */
+ public
+  static long currentTimeMillis() { return now; }
+}
@@ -23,13 +23,18 @@ package com.seagates3.util;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.Date;
 import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import com.seagates3.cache.ConcurrentCache;
 
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
 import org.joda.time.format.DateTimeFormat;
-import org.joda.time.format.DateTimeFormatter;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,9 +52,54 @@ public class DateUtil {
      static final Logger LOGGER =
          LoggerFactory.getLogger(DateUtil.class.getName());
 
+    /*
+     * Returned by the fast path parsers for invalid dates.
+     */
+    public static final long INVALID_TIME = Long.MIN_VALUE;
+
+    private static final long MILLIS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+
+    private static final String AMZ_DATE_FORMAT = "yyyyMMdd'T'HHmmss'Z'";
+    private static final String RFC1123_DATE_FORMAT
+            = "EEE, dd MMM yyyy HH:mm:ss";
+    private static final String CREDENTIAL_SCOPE_DATE_FORMAT = "yyyyMMdd";
+
+    private static final String[] MONTHS = {"Jan", "Feb", "Mar", "Apr", "May",
+            "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+    // Starts from Thursday, the day of week of 1970-01-01.
+    private static final String[] DAYS_OF_WEEK = {"Thu", "Fri", "Sat", "Sun",
+            "Mon", "Tue", "Wed"};
+
+    /*
+     * Formatters are immutable and thread safe, unlike SimpleDateFormat.
+     */
+    private static final DateTimeFormatter LDAP_DATE_FORMATTER
+            = DateTimeFormatter.ofPattern(LDAP_DATE_FORMAT)
+                  .withZone(ZoneOffset.UTC);
+    private static final DateTimeFormatter SERVER_RESPONSE_DATE_FORMATTER
+            = DateTimeFormatter.ofPattern(SERVER_RESPONSE_DATE_FORMAT)
+                  .withZone(ZoneOffset.UTC);
+    private static final DateTimeFormatter ISO8601_DATE_FORMATTER
+            = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+                  .withZone(ZoneOffset.UTC);
+    private static final org.joda.time.format.DateTimeFormatter
+            LDAP_DATE_TIME_FORMAT = getDateTimeFormat(LDAP_DATE_FORMAT);
+    private static final org.joda.time.format.DateTimeFormatter
+            SERVER_RESPONSE_DATE_TIME_FORMAT =
+                getDateTimeFormat(SERVER_RESPONSE_DATE_FORMAT);
+    private static final org.joda.time.format.DateTimeFormatter
+            SERVER_RESPONSE_DATE_TIME_PRINTER =
+                DateTimeFormat.forPattern(SERVER_RESPONSE_DATE_FORMAT);
+
+    /*
+     * Parsed expiry of the federated access keys, these are checked on
+     * every request of the federated user.
+     */
+    private static final ConcurrentCache<String, Long> epochMillisCache
+            = new ConcurrentCache<>(10000, MILLIS_PER_DAY);
+
     public static String toLdapDate(Date date) {
-        SimpleDateFormat sdf = getSimpleDateFormat(LDAP_DATE_FORMAT);
-        return (sdf.format(date) + "Z");
+        return LDAP_DATE_FORMATTER.format(date.toInstant()) + "Z";
     }
 
     public static String toLdapDate(String date) {
@@ -57,16 +107,11 @@ public class DateUtil {
     }
 
     public static String toServerResponseFormat(Date date) {
-        SimpleDateFormat serverResponseFormat
-                = getSimpleDateFormat(SERVER_RESPONSE_DATE_FORMAT);
-
-        return serverResponseFormat.format(date);
+        return SERVER_RESPONSE_DATE_FORMATTER.format(date.toInstant());
     }
 
     public static String toServerResponseFormat(DateTime date) {
-        DateTimeFormatter fmt = DateTimeFormat.forPattern(
-                SERVER_RESPONSE_DATE_FORMAT);
-        return fmt.print(date);
+        return SERVER_RESPONSE_DATE_TIME_PRINTER.print(date);
     }
 
     public static String toServerResponseFormat(String ldapDate) {
@@ -77,6 +122,22 @@ public class DateUtil {
         return DateTime.now(DateTimeZone.UTC);
     }
 
+    /**
+     * Return the current time from the coarse clock, for time skew and
+     * expiry checks.
+     */
+    public static long currentTimeMillis() {
+        return CoarseClock.currentTimeMillis();
+    }
+
+    /**
+     * Format the time like DateTime.toString() in UTC,
+     * e.g. 2019-12-18T12:44:04.777Z.
+     */
+    public static String toISO8601Format(long epochMillis) {
+        return ISO8601_DATE_FORMATTER.format(Instant.ofEpochMilli(epochMillis));
+    }
+
      /*
      * <IEM_INLINE_DOCUMENTATION>
      *     <event_code>048003001</event_code>
@@ -101,34 +162,34 @@ public class DateUtil {
      *
      */
     /**
-     * Return the current time in UTC.
+     * Return the current time in UTC, truncated to seconds.
      */
     public static long getCurrentTime() {
-        SimpleDateFormat dateFormatGmt = getSimpleDateFormat("yyyy-MMM-dd HH:mm:ss");
-        dateFormatGmt.setTimeZone(TimeZone.getTimeZone("UTC"));
-
-        try {
-            return dateFormatGmt.parse(dateFormatGmt.format(new Date())).getTime();
-        } catch (ParseException ex) {
-          // IEMUtil.log(IEMUtil.Level.ERROR, IEMUtil.UNPARSABLE_DATE,
-          //          "Invalid date format.", null);
-          LOGGER.error("Unparsable Date");
-        }
-
-        return 0;
+        long now = System.currentTimeMillis();
+        return now - Math.floorMod(now, 1000L);
     }
 
     public static DateTime toDateTime(String date) {
-        DateTimeFormatter dateFormatter = getDateTimeFormat(LDAP_DATE_FORMAT);
-
         try {
-            return dateFormatter.parseDateTime(date);
+            return LDAP_DATE_TIME_FORMAT.parseDateTime(date);
         } catch (Exception ex) {
         }
 
-        dateFormatter = getDateTimeFormat(SERVER_RESPONSE_DATE_FORMAT);
-        return dateFormatter.parseDateTime(date);
+        return SERVER_RESPONSE_DATE_TIME_FORMAT.parseDateTime(date);
+    }
 
+    /**
+     * Same as toDateTime(date).getMillis(), the result is cached as the same
+     * dates are parsed repeatedly.
+     */
+    public static long toEpochMillis(String date) {
+        Long epochMillis = epochMillisCache.get(date);
+        if (epochMillis == null) {
+            epochMillis = toDateTime(date).getMillis();
+            epochMillisCache.put(date, epochMillis);
+        }
+
+        return epochMillis;
     }
 
     public static Date toDate(String date) {
@@ -151,9 +212,9 @@ public class DateUtil {
         return null;
     }
 
-    private static DateTimeFormatter getDateTimeFormat(String pattern) {
-        DateTimeFormatter dtf = DateTimeFormat.forPattern(pattern);
-        return dtf.withZoneUTC();
+    private static org.joda.time.format.DateTimeFormatter getDateTimeFormat(
+            String pattern) {
+        return DateTimeFormat.forPattern(pattern).withZoneUTC();
     }
 
     private static SimpleDateFormat getSimpleDateFormat(String pattern) {
@@ -202,4 +263,153 @@ public class DateUtil {
       }
       return null;
     }
+
+    /**
+     * Parse the ISO 8601 basic format used in x-amz-date, e.g.
+     * 20191218T181100Z, in UTC.
+     *
+     * @return milli seconds since epoch or INVALID_TIME.
+     */
+    public static long parseAmzDate(String dateString) {
+        if (dateString != null && dateString.length() == 16
+                && dateString.charAt(8) == 'T' && dateString.charAt(15) == 'Z') {
+            long time = toEpochMillis(digits(dateString, 0, 4),
+                    digits(dateString, 4, 2), digits(dateString, 6, 2),
+                    digits(dateString, 9, 2), digits(dateString, 11, 2),
+                    digits(dateString, 13, 2));
+            if (time != INVALID_TIME) {
+                return time;
+            }
+        }
+
+        return parseSlowly(dateString, AMZ_DATE_FORMAT);
+    }
+
+    /**
+     * Parse the RFC 1123 date used in the Date header, e.g.
+     * Wed, 18 Dec 2019 18:11:00 GMT, in UTC.
+     *
+     * @return milli seconds since epoch or INVALID_TIME.
+     */
+    public static long parseRfc1123Date(String dateString) {
+        if (dateString != null && dateString.length() >= 25
+                && dateString.charAt(3) == ',' && dateString.charAt(4) == ' '
+                && dateString.charAt(7) == ' ' && dateString.charAt(11) == ' '
+                && dateString.charAt(16) == ' ' && dateString.charAt(19) == ':'
+                && dateString.charAt(22) == ':'
+                && (dateString.length() == 25 || dateString.charAt(25) == ' ')) {
+            int month = -1;
+            for (int i = 0; i < MONTHS.length; i++) {
+                if (dateString.regionMatches(8, MONTHS[i], 0, 3)) {
+                    month = i + 1;
+                    break;
+                }
+            }
+
+            long time = toEpochMillis(digits(dateString, 12, 4), month,
+                    digits(dateString, 5, 2), digits(dateString, 17, 2),
+                    digits(dateString, 20, 2), digits(dateString, 23, 2));
+            if (time != INVALID_TIME) {
+                int dayOfWeek = (int) Math.floorMod(
+                        Math.floorDiv(time, MILLIS_PER_DAY), 7L);
+                if (dateString.regionMatches(0, DAYS_OF_WEEK[dayOfWeek], 0, 3)) {
+                    return time;
+                }
+            }
+        }
+
+        return parseSlowly(dateString, RFC1123_DATE_FORMAT);
+    }
+
+    /**
+     * Parse the date of a credential scope, e.g. 20191218, in UTC.
+     *
+     * @return days since epoch or INVALID_TIME.
+     */
+    public static long parseCredentialScopeDate(String dateString) {
+        long time = INVALID_TIME;
+        if (dateString != null && dateString.length() == 8) {
+            time = toEpochMillis(digits(dateString, 0, 4),
+                    digits(dateString, 4, 2), digits(dateString, 6, 2), 0, 0,
+                    0);
+        }
+        if (time == INVALID_TIME) {
+            time = parseSlowly(dateString, CREDENTIAL_SCOPE_DATE_FORMAT);
+        }
+
+        return time == INVALID_TIME ? INVALID_TIME
+                                    : Math.floorDiv(time, MILLIS_PER_DAY);
+    }
+
+    /**
+     * @return days since epoch of the time.
+     */
+    public static long toEpochDay(long epochMillis) {
+        return Math.floorDiv(epochMillis, MILLIS_PER_DAY);
+    }
+
+    /*
+     * Dates which the fast path rejects, are parsed with SimpleDateFormat,
+     * which is lenient.
+     */
+    private static long parseSlowly(String dateString, String pattern) {
+        Date date = parseDateString(dateString, pattern);
+        return date == null ? INVALID_TIME : date.getTime();
+    }
+
+    /*
+     * Return the decimal value of the digits or -1.
+     */
+    private static int digits(String text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+
+        return value;
+    }
+
+    /*
+     * Return milli seconds since epoch of the UTC date or INVALID_TIME if any
+     * of the fields is out of range.
+     */
+    private static long toEpochMillis(int year, int month, int day, int hour,
+            int minute, int second) {
+        if (year < 0 || month < 1 || month > 12 || day < 1
+                || day > daysInMonth(year, month) || hour < 0 || hour > 23
+                || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return INVALID_TIME;
+        }
+
+        // Days from civil algorithm, with March as the first month of a year.
+        int y = month <= 2 ? year - 1 : year;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100
+                + dayOfYear;
+        long epochDay = era * 146097L + dayOfEra - 719468;
+
+        return ((epochDay * 24 + hour) * 60 + minute) * 60000L + second * 1000L;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leapYear = (year % 4 == 0 && year % 100 != 0)
+                        || year % 400 == 0;
+                return leapYear ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
 }
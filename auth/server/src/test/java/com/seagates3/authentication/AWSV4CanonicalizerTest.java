@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authentication;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.seagates3.aws.AWSV4RequestHelper;
+import com.seagates3.exception.InvalidTokenException;
+import com.seagates3.util.BinaryUtil;
+
+public class AWSV4CanonicalizerTest {
+
+    private static final String EMPTY_PAYLOAD_HASH =
+            "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+
+    private AWSV4Canonicalizer canonicalizer;
+    private ClientRequestToken token;
+    private Map<String, String> requestHeaders;
+
+    @Before
+    public void setUp() {
+        canonicalizer = AWSV4Canonicalizer.get();
+        requestHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        requestHeaders.put("host", "s3.seagate.com");
+        requestHeaders.put("x-amz-date", "20160111T000000Z");
+
+        token = new ClientRequestToken();
+        token.setHttpMethod("GET");
+        token.setUri("/bucket");
+        token.setQuery("");
+        token.setSignedHeaders("host;x-amz-date");
+        token.setRequestHeaders(requestHeaders);
+        token.setRequestPayload("");
+    }
+
+    @Test
+    public void canonicalRequestTest() throws InvalidTokenException {
+        String expected = "GET\n/bucket\n\nhost:s3.seagate.com\n"
+                + "x-amz-date:20160111T000000Z\n\nhost;x-amz-date\n"
+                + EMPTY_PAYLOAD_HASH;
+
+        assertEquals(expected, canonicalizer.canonicalRequest(token, false));
+    }
+
+    @Test
+    public void canonicalRequestTest_QuerySortedLastValueWins()
+            throws InvalidTokenException {
+        token.setQuery("prefix=a&delimiter=%2F&max-keys=10&prefix=b&acl");
+
+        assertEquals("acl=&delimiter=%2F&max-keys=10&prefix=b",
+                     canonicalQuery());
+    }
+
+    @Test
+    public void canonicalRequestTest_MalformedQueryParams()
+            throws InvalidTokenException {
+        token.setQuery("b=1=2&a==&c=3=&&d&");
+
+        assertEquals("=&a=&b=&c=3&d=", canonicalQuery());
+    }
+
+    @Test
+    public void canonicalRequestTest_HeadersTrimmedAndDefaulted()
+            throws InvalidTokenException {
+        requestHeaders.put("content-type", "  ");
+        requestHeaders.put("x-amz-meta-key", " value ");
+        token.setSignedHeaders("connection;content-type;x-amz-meta-key");
+
+        String canonicalRequest = canonicalizer.canonicalRequest(token, false);
+
+        assertTrue(canonicalRequest.contains("\nconnection:Keep-Alive\n"
+                + "content-type:\nx-amz-meta-key:value\n\n"));
+    }
+
+    @Test(expected = InvalidTokenException.class)
+    public void canonicalRequestTest_MissingSignedHeader()
+            throws InvalidTokenException {
+        token.setSignedHeaders("host;range");
+
+        canonicalizer.canonicalRequest(token, false);
+    }
+
+    @Test
+    public void canonicalRequestTest_ChunkedSeed() throws InvalidTokenException {
+        String canonicalRequest = canonicalizer.canonicalRequest(token, true);
+
+        assertTrue(canonicalRequest.endsWith(
+                "\nSTREAMING-AWS4-HMAC-SHA256-PAYLOAD"));
+    }
+
+    @Test
+    public void verifyRequestTest() throws Exception {
+        ClientRequestToken requestToken =
+                AWSV4RequestHelper.getRequestClientTokenPathStyle();
+        byte[] signingKey = signingKey(requestToken);
+
+        assertTrue(canonicalizer.verifyRequest(requestToken, signingKey,
+                                               false));
+
+        String signature = requestToken.getSignature();
+        requestToken.setSignature(signature.toUpperCase());
+        assertFalse(canonicalizer.verifyRequest(requestToken, signingKey,
+                                                false));
+
+        requestToken.setSignature(signature.substring(1));
+        assertFalse(canonicalizer.verifyRequest(requestToken, signingKey,
+                                                false));
+
+        requestToken.setSignature(signature);
+        assertFalse(canonicalizer.verifyRequest(requestToken, new byte[32],
+                                                false));
+    }
+
+    @Test
+    public void verifyChunkTest() throws Exception {
+        ClientRequestToken requestToken =
+                AWSV4RequestHelper.getChunkedRequestClientToken();
+        String signature = requestToken.getRequestHeaders()
+                .get("current-signature-sha256");
+
+        assertTrue(canonicalizer.verifyChunk(requestToken,
+                signingKey(requestToken), signature));
+        assertFalse(canonicalizer.verifyChunk(requestToken,
+                signingKey(requestToken), null));
+    }
+
+    private String canonicalQuery() throws InvalidTokenException {
+        return canonicalizer.canonicalRequest(token, false).split("\n")[2];
+    }
+
+    private byte[] signingKey(ClientRequestToken requestToken)
+            throws Exception {
+        byte[] key = ("AWS4" + AWSV4RequestHelper.SECRET_KEY).getBytes("UTF-8");
+        key = BinaryUtil.hmacSHA256(key,
+                requestToken.getDate().getBytes("UTF-8"));
+        key = BinaryUtil.hmacSHA256(key,
+                requestToken.getRegion().getBytes("UTF-8"));
+        key = BinaryUtil.hmacSHA256(key,
+                requestToken.getService().getBytes("UTF-8"));
+        return BinaryUtil.hmacSHA256(key, "aws4_request".getBytes("UTF-8"));
+    }
+}
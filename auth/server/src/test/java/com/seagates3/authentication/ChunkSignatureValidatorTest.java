@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authentication;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.seagates3.aws.AWSV4RequestHelper;
+import com.seagates3.exception.InvalidTokenException;
+import com.seagates3.response.ServerResponse;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+
+public class ChunkSignatureValidatorTest {
+
+    // Chunks of the AWS chunked upload example, 64 KB and 1 KB of 'a' and
+    // the final empty chunk.
+    private static final String[] CHUNK_HASHES = {
+            "bf718b6f653bebc184e1479f1935b8da974d701b893afcf49e701f3e2f9f9c5a",
+            "2edc986847e209b4016e141a6dc8716d3207350f416969382d431539bf292e4a",
+            "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855"};
+    private static final String[] CHUNK_SIGNATURES = {
+            "ad80c730a21e5b8d04586a2213dd63b9a0e99e0e2307b0ade35a65485a288648",
+            "0055627c9e194cb4542bae2aa5492e3c1575bbb81b612b7d234b86a503ef5497",
+            "b6c6ea8a5354eaf15b3cb7646744f4275b71ea724fed81ceb9323e279d449df9"};
+
+    private String sessionId;
+
+    @Before
+    public void setUp() throws InvalidTokenException {
+        SigningKeyCache.getInstance().invalidateAll();
+        ClientRequestToken seedToken =
+                AWSV4RequestHelper.getChunkedSeedRequestClientToken();
+        seedToken.setChunkSessionRequested(true);
+
+        assertTrue(new AWSV4Sign().authenticate(seedToken,
+                AWSV4RequestHelper.getRequestor()));
+
+        sessionId = seedToken.getChunkSessionId();
+        assertNotNull(sessionId);
+    }
+
+    @Test
+    public void validateTest_Batch() {
+        ServerResponse response = new ChunkSignatureValidator().validate(
+                requestBody(0, 3));
+
+        assertEquals(HttpResponseStatus.OK, response.getResponseStatus());
+        assertTrue(response.getResponseBody().contains(
+                "<ChunkCount>3</ChunkCount>"));
+        assertTrue(response.getResponseBody().contains(CHUNK_SIGNATURES[2]));
+    }
+
+    @Test
+    public void validateTest_ChunkByChunk() {
+        for (int i = 0; i < CHUNK_HASHES.length; i++) {
+            ServerResponse response = new ChunkSignatureValidator().validate(
+                    requestBody(i, i + 1));
+
+            assertEquals(HttpResponseStatus.OK, response.getResponseStatus());
+        }
+    }
+
+    @Test
+    public void validateTest_OutOfOrderChunkClosesSession() {
+        ServerResponse response = new ChunkSignatureValidator().validate(
+                requestBody(1, 2));
+
+        assertEquals(HttpResponseStatus.UNAUTHORIZED,
+                response.getResponseStatus());
+        assertNull(ChunkSigningSessionCache.getInstance().get(sessionId));
+    }
+
+    @Test
+    public void validateTest_InvalidatedSigningKey() {
+        SigningKeyCache.getInstance().invalidate(
+                AWSV4RequestHelper.ACCESS_KEY_ID);
+
+        ServerResponse response = new ChunkSignatureValidator().validate(
+                requestBody(0, 1));
+
+        assertEquals(HttpResponseStatus.BAD_REQUEST,
+                response.getResponseStatus());
+    }
+
+    @Test
+    public void validateTest_MissingParameter() {
+        ServerResponse response = new ChunkSignatureValidator().validate(
+                requestBody(0, 0));
+
+        assertEquals(HttpResponseStatus.BAD_REQUEST,
+                response.getResponseStatus());
+    }
+
+    private Map<String, String> requestBody(int from, int to) {
+        Map<String, String> requestBody = new HashMap<>();
+        requestBody.put("Action", "AuthenticateChunks");
+        requestBody.put("ChunkSessionId", sessionId);
+        for (int i = from; i < to; i++) {
+            requestBody.put("ChunkHash." + (i - from + 1), CHUNK_HASHES[i]);
+            requestBody.put("ChunkSignature." + (i - from + 1),
+                    CHUNK_SIGNATURES[i]);
+        }
+        return requestBody;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authentication;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class EndpointMatcherTest {
+
+    private EndpointMatcher matcher;
+
+    @Before
+    public void setUp() {
+        matcher = new EndpointMatcher("s3.seagate.com",
+                new String[] {"s3-us.seagate.com", "127.0.0.1"});
+    }
+
+    @Test
+    public void bucketNameTest_DefaultEndpoint() {
+        assertEquals("seagatebucket",
+                matcher.bucketName("seagatebucket.s3.seagate.com"));
+    }
+
+    @Test
+    public void bucketNameTest_S3Endpoint() {
+        assertEquals("seagatebucket",
+                matcher.bucketName("seagatebucket.s3-us.seagate.com"));
+    }
+
+    @Test
+    public void bucketNameTest_WithPort() {
+        assertEquals("seagatebucket",
+                matcher.bucketName("seagatebucket.s3.seagate.com:9080"));
+        assertEquals("seagatebucket",
+                matcher.bucketName("seagatebucket.127.0.0.1:9080"));
+    }
+
+    @Test
+    public void bucketNameTest_WithPeriod() {
+        assertEquals("seagate.bucket",
+                matcher.bucketName("seagate.bucket.s3.seagate.com"));
+        assertEquals("s3.seagate.com",
+                matcher.bucketName("s3.seagate.com.s3.seagate.com"));
+    }
+
+    @Test
+    public void bucketNameTest_PathStyle() {
+        assertNull(matcher.bucketName("s3.seagate.com"));
+        assertNull(matcher.bucketName("s3.seagate.com:9080"));
+        assertNull(matcher.bucketName("127.0.0.1"));
+        assertNull(matcher.bucketName("seagatebucket.s3.seagate.org"));
+        assertNull(matcher.bucketName("seagatebucket.s3.seagate.com.org"));
+        assertNull(matcher.bucketName(null));
+    }
+
+    @Test
+    public void bucketNameTest_NoEndpoints() {
+        matcher = new EndpointMatcher(null, null);
+
+        assertNull(matcher.bucketName("seagatebucket.s3.seagate.com"));
+    }
+}
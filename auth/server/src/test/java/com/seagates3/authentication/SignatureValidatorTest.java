@@ -27,11 +27,9 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.powermock.api.mockito.PowerMockito.doReturn;
 
-import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
-import org.joda.time.DateTime;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -50,7 +48,7 @@ import com.seagates3.util.DateUtil;
 import io.netty.handler.codec.http.HttpResponseStatus;
 
 @PowerMockIgnore({"javax.management.*"}) @RunWith(PowerMockRunner.class)
-    @PrepareForTest({SignatureValidator.class, DateTime.class, DateUtil.class})
+    @PrepareForTest({SignatureValidator.class, DateUtil.class})
     @MockPolicy(Slf4jMockPolicy.class) public class SignatureValidatorTest {
 
     private ClientRequestToken clientRequestToken;
@@ -192,14 +190,11 @@ import io.netty.handler.codec.http.HttpResponseStatus;
       when(serverResponse.getResponseStatus())
           .thenReturn(HttpResponseStatus.OK);
 
-      DateTime dtMock = PowerMockito.mock(DateTime.class);
-      PowerMockito.when(dtMock.getMillis()).thenReturn(1576673044777L);
       PowerMockito.mockStatic(DateUtil.class);
-      PowerMockito.when(DateUtil.class, "getCurrentDateTime")
-          .thenReturn(dtMock);
-      PowerMockito.when(DateUtil.class, "parseDateString", "20191218T181100Z",
-                        "yyyyMMdd'T'HHmmss'Z'")
-          .thenReturn(new Date(1576673044777L));
+      PowerMockito.when(DateUtil.class, "currentTimeMillis")
+          .thenReturn(1576673044777L);
+      PowerMockito.when(DateUtil.class, "parseAmzDate", "20191218T181100Z")
+          .thenReturn(1576673044777L);
 
       Map<String, String> requestHeaders = new HashMap<>();
       requestHeaders.put("x-amz-date", "20191218T181100Z");
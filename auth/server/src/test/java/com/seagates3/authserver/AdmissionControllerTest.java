@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authserver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class AdmissionControllerTest {
+
+    @Test
+    public void tryAcquireTest_LimitsRequestsInFlight() {
+        AdmissionController controller = new AdmissionController(2, 10, 100);
+
+        assertTrue(controller.tryAcquire());
+        assertTrue(controller.tryAcquire());
+        assertFalse(controller.tryAcquire());
+        assertEquals(2, controller.getInFlight());
+
+        controller.release();
+        assertTrue(controller.tryAcquire());
+    }
+
+    @Test
+    public void startedTest_QueueingDelayLowersLimit() throws Exception {
+        AdmissionController controller = new AdmissionController(16, 10, 1);
+        Thread.sleep(2);
+
+        controller.started(System.nanoTime() - TimeUnit.SECONDS.toNanos(1));
+
+        assertEquals(12, controller.getLimit());
+    }
+
+    @Test
+    public void startedTest_LimitRecovers() throws Exception {
+        AdmissionController controller = new AdmissionController(16, 10, 1);
+        Thread.sleep(2);
+        controller.started(System.nanoTime() - TimeUnit.SECONDS.toNanos(1));
+        Thread.sleep(2);
+        controller.started(System.nanoTime() - TimeUnit.SECONDS.toNanos(1));
+        assertEquals(9, controller.getLimit());
+
+        Thread.sleep(2);
+        controller.started(System.nanoTime());
+        assertEquals(10, controller.getLimit());
+
+        for (int i = 0; i < 10; i++) {
+            Thread.sleep(2);
+            controller.started(System.nanoTime());
+        }
+        assertEquals(16, controller.getLimit());
+    }
+}
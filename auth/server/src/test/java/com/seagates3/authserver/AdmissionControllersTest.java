@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authserver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.Executor;
+
+import org.junit.Test;
+
+public class AdmissionControllersTest {
+
+    @Test
+    public void getTest_ControllerPerExecutor() {
+        AdmissionControllers controllers = new AdmissionControllers(2, 10, 100);
+        Executor first = new RequestExecutor(null, 1, false);
+        Executor second = new RequestExecutor(null, 1, false);
+
+        AdmissionController controller = controllers.get(first);
+        controller.tryAcquire();
+        controller.tryAcquire();
+
+        assertSame(controller, controllers.get(first));
+        assertNotSame(controller, controllers.get(second));
+        assertEquals(0, controllers.get(second).getInFlight());
+        assertEquals(2, controllers.get(second).getLimit());
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authserver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+
+public class AdmissionHandlerTest {
+
+    private AdmissionController controller;
+    private AdmissionHandler admission;
+    private EmbeddedChannel channel;
+
+    @Before
+    public void setUp() {
+        controller = new AdmissionController(1, 10, 60000);
+        admission = new AdmissionHandler(controller);
+        channel = new EmbeddedChannel(admission);
+    }
+
+    @Test
+    public void channelReadTest_Admitted() {
+        FullHttpRequest httpRequest = newRequest();
+
+        channel.writeInbound(httpRequest);
+
+        assertSame(httpRequest, channel.readInbound());
+        AdmissionHandler.Ticket ticket = admission.next();
+        assertTrue(ticket.isAdmitted());
+        assertEquals(1, controller.getInFlight());
+        assertTrue(channel.config().isAutoRead());
+
+        ticket.done();
+        assertEquals(0, controller.getInFlight());
+        httpRequest.release();
+    }
+
+    @Test
+    public void channelReadTest_RejectedAtOnce() {
+        controller.tryAcquire();
+        FullHttpRequest httpRequest = newRequest();
+
+        channel.writeInbound(httpRequest);
+
+        assertNull(channel.readInbound());
+        assertNull(admission.next());
+        assertEquals(0, httpRequest.refCnt());
+        assertFalse(channel.config().isAutoRead());
+
+        FullHttpResponse response = channel.readOutbound();
+        assertEquals(HttpResponseStatus.SERVICE_UNAVAILABLE, response.status());
+        assertEquals("1", response.headers().get(HttpHeaderNames.RETRY_AFTER));
+        assertTrue(response.content().toString(
+                StandardCharsets.UTF_8).contains("SlowDown"));
+        response.release();
+    }
+
+    @Test
+    public void channelReadTest_RejectedInTurn() {
+        FullHttpRequest first = newRequest();
+        FullHttpRequest second = newRequest();
+
+        channel.writeInbound(first);
+        channel.writeInbound(second);
+
+        assertSame(first, channel.readInbound());
+        assertSame(second, channel.readInbound());
+        assertTrue(admission.next().isAdmitted());
+        assertFalse(admission.next().isAdmitted());
+        assertFalse(channel.config().isAutoRead());
+        assertNull(channel.readOutbound());
+        first.release();
+        second.release();
+    }
+
+    @Test
+    public void channelReadTest_IsolatedRequestNotCounted() {
+        AdmissionHandler isolating = new AdmissionHandler(controller,
+                new Bulkhead(new RequestExecutor(null, 1, true)));
+        channel = new EmbeddedChannel(isolating);
+        controller.tryAcquire();
+        FullHttpRequest httpRequest = new DefaultFullHttpRequest(
+                HttpVersion.HTTP_1_1, HttpMethod.POST, "/",
+                Unpooled.copiedBuffer("Action=DeleteAccount",
+                        StandardCharsets.US_ASCII));
+
+        channel.writeInbound(httpRequest);
+
+        assertSame(httpRequest, channel.readInbound());
+        assertTrue(channel.config().isAutoRead());
+        assertEquals(1, controller.getInFlight());
+        assertTrue(isolating.next().isIsolated());
+        httpRequest.release();
+    }
+
+    private static FullHttpRequest newRequest() {
+        return new DefaultFullHttpRequest(HttpVersion.HTTP_1_1,
+                HttpMethod.POST, "/", Unpooled.buffer());
+    }
+}
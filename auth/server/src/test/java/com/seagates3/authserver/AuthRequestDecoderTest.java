@@ -27,8 +27,6 @@ import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpVersion;
-import io.netty.handler.codec.http.multipart.Attribute;
-import io.netty.handler.codec.http.multipart.InterfaceHttpData;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -37,17 +35,11 @@ import org.powermock.core.classloader.annotations.MockPolicy;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
-import org.powermock.reflect.internal.WhiteboxImpl;
 
-import java.io.IOException;
-import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 
 import static org.junit.Assert.*;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
 
 @PowerMockIgnore({"javax.management.*"}) @RunWith(PowerMockRunner.class)
     @PrepareForTest({AuthRequestDecoder.class})
@@ -72,22 +64,75 @@ import static org.mockito.Mockito.when;
     }
 
     @Test
-    public void parseRequestBodyTest() throws Exception {
-        List<InterfaceHttpData> datas = mock(List.class);
-        Attribute data = mock(Attribute.class);
-        Iterator iterator = mock(Iterator.class);
-
-        when(iterator.hasNext()).thenReturn(Boolean.TRUE).thenReturn(Boolean.FALSE);
-        when(iterator.next()).thenReturn(data);
-        when(datas.iterator()).thenReturn(iterator);
-        when(data.getHttpDataType()).thenReturn(InterfaceHttpData.HttpDataType.Attribute);
-        when(data.getValue()).thenThrow(IOException.class);
-
-        Map<String, String> result = WhiteboxImpl.invokeMethod(authRequestDecoder,
-                "parseRequestBody", datas);
-
-        assertNotNull(result);
-        assertTrue(result.isEmpty());
+    public void getRequestBodyAsMapTest_Escapes() {
+        Map<String, String> result = decode(
+                "Action=AuthorizeUser&ClientAbsoluteUri=%2Fbucket%2Fa+b%2B&"
+                + "x-amz-meta-key=%E2%82%AC");
+
+        assertEquals("/bucket/a b+", result.get("ClientAbsoluteUri"));
+        assertEquals("\u20ac", result.get("x-amz-meta-key"));
+    }
+
+    @Test
+    public void getRequestBodyAsMapTest_KeyWithoutValue() {
+        Map<String, String> result = decode("Action=ListUsers&Marker&");
+
+        assertEquals(2, result.size());
+        assertEquals("", result.get("Marker"));
+    }
+
+    @Test
+    public void getRequestBodyAsMapTest_CleansNames() {
+        Map<String, String> result = decode(" Action%09=ListUsers");
+
+        assertEquals("ListUsers", result.get("Action"));
+    }
+
+    @Test
+    public void getRequestBodyAsMapTest_SkipsMalformedAttributes() {
+        Map<String, String> result = decode(
+                "Action=ListUsers&&=nameless&Path=%2&Marker=%zz1&MaxItems=1");
+
+        Map<String, String> expected =
+                new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        expected.put("Action", "ListUsers");
+        expected.put("MaxItems", "1");
+        assertEquals(expected, result);
+    }
+
+    @Test
+    public void getRequestBodyAsMapTest_EmptyBody() {
+        assertTrue(decode("").isEmpty());
+    }
+
+    @Test
+    public void getActionTest() {
+        assertEquals("AuthenticateUser", authRequestDecoder.getAction());
+        assertEquals("DeleteAccount",
+                decodeAction("AccountName=s3test&action=DeleteAccount"));
+        assertEquals("DeleteAccount", decodeAction(
+                "Action=AuthenticateUser&Action=DeleteAccount"));
+        assertEquals("ListUsers", decodeAction(" Act%69on%09=List%55sers"));
+        assertEquals("ListUsers",
+                decodeAction("Action=ListUsers&Action=%zz&NotAction=x"));
+        assertNull(decodeAction("NotAction=ListAccounts&Act"));
+        assertNull(decodeAction(""));
+    }
+
+    private String decodeAction(String params) {
+        ByteBuf byteBuf = Unpooled.buffer(params.length());
+        ByteBufUtil.writeUtf8(byteBuf, params);
+        return new AuthRequestDecoder(new DefaultFullHttpRequest(
+                HttpVersion.HTTP_1_1, HttpMethod.POST, "/", byteBuf))
+                .getAction();
+    }
+
+    private Map<String, String> decode(String params) {
+        ByteBuf byteBuf = Unpooled.buffer(params.length());
+        ByteBufUtil.writeUtf8(byteBuf, params);
+        return new AuthRequestDecoder(new DefaultFullHttpRequest(
+                HttpVersion.HTTP_1_1, HttpMethod.POST, "/", byteBuf))
+                .getRequestBodyAsMap();
     }
 
     private ByteBuf getRequestBodyAsByteBuf() {
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authserver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+public class AuthRequestTest {
+
+    private AuthRequest request() {
+        return new AuthRequest.Builder()
+                .add("Action", "AuthenticateUser")
+                .add("Method", "GET")
+                .add("x-amz-meta-key", "value1")
+                .add("X-Amz-Meta-Key", "value2")
+                .add("ClientQueryParams", "acl")
+                .build();
+    }
+
+    @Test
+    public void getTest_IgnoresCase() {
+        AuthRequest request = request();
+
+        assertEquals("AuthenticateUser", request.get("action"));
+        assertEquals("GET", request.get("METHOD"));
+        assertEquals("AuthenticateUser", request.getAction());
+        assertEquals("acl", request.getClientQueryParams());
+        assertTrue(request.containsKey("clientqueryparams"));
+        assertNull(request.get("Authorization"));
+        assertNull(request.getAuthorization());
+    }
+
+    @Test
+    public void addTest_JoinsAmzHeaders() {
+        AuthRequest request = request();
+
+        assertEquals(4, request.size());
+        assertEquals("value1,value2", request.get("x-amz-meta-key"));
+        assertTrue(request.keySet().contains("x-amz-meta-key"));
+    }
+
+    @Test
+    public void putTest_KeepsFirstName() {
+        AuthRequest request = new AuthRequest.Builder().put("Policy", "p1")
+                .put("policy", "p2").build();
+
+        assertEquals(1, request.size());
+        assertEquals("p2", request.getPolicy());
+        assertEquals(Arrays.asList("Policy"),
+                new ArrayList<>(request.keySet()));
+    }
+
+    @Test
+    public void builderTest_Grows() {
+        AuthRequest.Builder builder = new AuthRequest.Builder();
+        for (int i = 0; i < 100; i++) {
+            builder.add("Key" + i, "Value" + i);
+        }
+        AuthRequest request = builder.build();
+
+        assertEquals(100, request.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("Value" + i, request.get("key" + i));
+        }
+    }
+
+    @Test
+    public void entrySetTest_SortedIgnoringCase() {
+        assertEquals(Arrays.asList("Action", "ClientQueryParams", "Method",
+                "x-amz-meta-key"), new ArrayList<>(request().keySet()));
+    }
+
+    @Test
+    public void equalsTest_TreeMap() {
+        Map<String, String> expected = new TreeMap<>();
+        expected.put("Action", "AuthenticateUser");
+        expected.put("Method", "GET");
+        expected.put("x-amz-meta-key", "value1,value2");
+        expected.put("ClientQueryParams", "acl");
+
+        assertEquals(expected, request());
+        assertEquals(request(), expected);
+        assertEquals(expected.hashCode(), request().hashCode());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void putTest_Unsupported() {
+        request().put("S3Action", "PutObject");
+    }
+
+    @Test
+    public void ofTest() {
+        AuthRequest request = request();
+        assertSame(request, AuthRequest.of(request));
+
+        Map<String, String> map = new TreeMap<>();
+        map.put("s3action", "PutObject");
+        map.put("Request-ACL", "true");
+        map.put("Auth-ACL", "YWNs");
+        AuthRequest copy = AuthRequest.of(map);
+
+        assertEquals("PutObject", copy.getS3Action());
+        assertTrue(copy.isRequestAcl());
+        assertEquals("YWNs", copy.getAuthAcl());
+        assertEquals(map, copy);
+    }
+}
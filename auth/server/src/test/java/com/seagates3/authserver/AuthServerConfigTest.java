@@ -87,6 +87,8 @@ public class AuthServerConfigTest {
 
         assertEquals(2, AuthServerConfig.getWorkerGroupThreads());
 
+        assertEquals("nio", AuthServerConfig.getNettyTransport());
+
         assertFalse(AuthServerConfig.isPerfEnabled());
 
         assertEquals("/var/log/seagate/auth/perf.log", AuthServerConfig.getPerfLogFile());
@@ -52,6 +52,7 @@ import org.powermock.reflect.internal.WhiteboxImpl;
 import com.seagates3.controller.SAMLWebSSOController;
 import com.seagates3.response.ServerResponse;
 
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
@@ -85,6 +86,7 @@ import io.netty.handler.ssl.SslHandler;
     public void setUp() throws Exception {
       mockStatic(HttpUtil.class);
         ctx = mock(ChannelHandlerContext.class);
+        when(ctx.alloc()).thenReturn(ByteBufAllocator.DEFAULT);
         fullHttpRequest =
             new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST,
                                        "/", getRequestBodyAsByteBuf());
@@ -213,7 +215,7 @@ import io.netty.handler.ssl.SslHandler;
         handler = new AuthServerGetHandler(ctx, fullHttpRequest);
         WhiteboxImpl.invokeMethod(handler, "returnHTTPResponse", requestResponse);
 
-        verify(ctx).writeAndFlush(any(ServerResponse.class));
+        verify(ctx).write(any(ServerResponse.class));
     }
 
     @Test
@@ -340,7 +342,7 @@ import io.netty.handler.ssl.SslHandler;
         WhiteboxImpl.invokeMethod(handler, "sendErrorResponse", HttpResponseStatus.NOT_FOUND,
                 "Resource not found.");
 
-        verify(ctx).writeAndFlush(any(ServerResponse.class));
+        verify(ctx).write(any(ServerResponse.class));
     }
    private
     ByteBuf getRequestBodyAsByteBuf() {
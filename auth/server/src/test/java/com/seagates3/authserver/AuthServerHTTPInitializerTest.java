@@ -22,6 +22,7 @@ package com.seagates3.authserver;
 
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.socket.SocketChannel;
+import io.netty.util.concurrent.EventExecutor;
 import io.netty.util.concurrent.EventExecutorGroup;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -29,6 +30,7 @@ import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -53,4 +55,23 @@ public class AuthServerHTTPInitializerTest {
         verify(channelPipeline).addLast(any(EventExecutorGroup.class),
                 any(AuthServerHandler.class));
     }
+
+    @Test
+    public void initChannelTest_AdmissionControl() {
+        EventExecutorGroup executorGroup = mock(EventExecutorGroup.class);
+        EventExecutor executor = mock(EventExecutor.class);
+        when(executorGroup.next()).thenReturn(executor);
+        SocketChannel socketChannel = mock(SocketChannel.class);
+        ChannelPipeline channelPipeline = mock(ChannelPipeline.class);
+        when(socketChannel.pipeline()).thenReturn(channelPipeline);
+
+        httpInitializer = new AuthServerHTTPInitializer(executorGroup, null,
+                new AdmissionControllers(16, 10, 100));
+        httpInitializer.initChannel(socketChannel);
+
+        verify(channelPipeline).addLast(eq("admission"),
+                any(AdmissionHandler.class));
+        verify(channelPipeline).addLast(eq(executor),
+                any(AuthServerHandler.class));
+    }
 }
\ No newline at end of file
@@ -20,15 +20,23 @@
 
 package com.seagates3.authserver;
 
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.powermock.api.mockito.PowerMockito.whenNew;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.api.mockito.mockpolicies.Slf4jMockPolicy;
@@ -37,9 +45,13 @@ import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import io.netty.buffer.UnpooledByteBufAllocator;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
 import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
 import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
 
 @RunWith(PowerMockRunner.class)
 @PrepareForTest({AuthServerHandler.class, AuthServerConfig.class})
@@ -90,6 +102,148 @@ public class AuthServerHandlerTest {
         Mockito.verify(getHandler).run();
     }
 
+    @Test
+    public void channelReadTest_ThreadPerRequest() throws Exception {
+        RequestExecutor requestExecutor = new RequestExecutor(null, 2, false);
+        testHandler = new AuthServerHandler(requestExecutor);
+        AuthServerPostHandler postHandler = mock(AuthServerPostHandler.class);
+        when(httpRequest.method()).thenReturn(HttpMethod.POST);
+        whenNew(AuthServerPostHandler.class).withArguments(
+                ctx, httpRequest).thenReturn(postHandler);
+
+        testHandler.channelRead(ctx, httpRequest);
+
+        verify(postHandler, timeout(5000)).run();
+        verify(ctx, timeout(5000)).flush();
+        verify(httpRequest).retain();
+        verify(httpRequest, timeout(5000).times(2)).release();
+        requestExecutor.shutdown();
+    }
+
+    @Test
+    public void channelReadTest_Parallel() throws Exception {
+        RequestExecutor requestExecutor = new RequestExecutor(null, 4, true);
+        testHandler = new AuthServerHandler(requestExecutor);
+        FullHttpRequest slowRequest = mock(FullHttpRequest.class);
+        when(slowRequest.method()).thenReturn(HttpMethod.POST);
+        when(httpRequest.method()).thenReturn(HttpMethod.POST);
+        final FullHttpResponse slowResponse = mock(FullHttpResponse.class);
+        final FullHttpResponse response = mock(FullHttpResponse.class);
+        final CompletableFuture<FullHttpResponse> slowServed =
+                new CompletableFuture<>();
+
+        AuthServerPostHandler slowHandler = mock(AuthServerPostHandler.class);
+        when(slowHandler.getResponseAsync(any(Executor.class)))
+                .thenReturn(slowServed);
+        AuthServerPostHandler fastHandler = mock(AuthServerPostHandler.class);
+        when(fastHandler.getResponseAsync(any(Executor.class))).thenReturn(
+                CompletableFuture.completedFuture(response));
+        whenNew(AuthServerPostHandler.class).withArguments(ctx, slowRequest)
+                .thenReturn(slowHandler);
+        whenNew(AuthServerPostHandler.class).withArguments(ctx, httpRequest)
+                .thenReturn(fastHandler);
+
+        testHandler.channelRead(ctx, slowRequest);
+        testHandler.channelRead(ctx, httpRequest);
+
+        verify(httpRequest, timeout(5000).times(2)).release();
+        verify(fastHandler, never()).returnHTTPResponse(response);
+        slowServed.complete(slowResponse);
+
+        verify(fastHandler, timeout(5000)).returnHTTPResponse(response);
+        InOrder inOrder = inOrder(slowHandler, fastHandler);
+        inOrder.verify(slowHandler).returnHTTPResponse(slowResponse);
+        inOrder.verify(fastHandler).returnHTTPResponse(response);
+        verify(slowRequest, timeout(5000).times(2)).release();
+        requestExecutor.shutdown();
+    }
+
+    @Test
+    public void channelReadTest_Bulkhead() throws Exception {
+        RequestExecutor adminExecutor = new RequestExecutor(null, 1, true);
+        Bulkhead bulkhead = mock(Bulkhead.class);
+        when(bulkhead.getExecutor()).thenReturn(adminExecutor);
+        testHandler = new AuthServerHandler(null, null, bulkhead);
+        FullHttpRequest adminRequest = mock(FullHttpRequest.class);
+        when(adminRequest.method()).thenReturn(HttpMethod.POST);
+        when(bulkhead.isolates(adminRequest)).thenReturn(true);
+        when(httpRequest.method()).thenReturn(HttpMethod.POST);
+        final FullHttpResponse adminResponse = mock(FullHttpResponse.class);
+        final FullHttpResponse response = mock(FullHttpResponse.class);
+        final CompletableFuture<FullHttpResponse> adminServed =
+                new CompletableFuture<>();
+
+        AuthServerPostHandler adminHandler = mock(AuthServerPostHandler.class);
+        when(adminHandler.getResponseAsync(any(Executor.class)))
+                .thenReturn(adminServed);
+        AuthServerPostHandler dataPathHandler =
+                mock(AuthServerPostHandler.class);
+        when(dataPathHandler.getResponseAsync(any(Executor.class))).thenReturn(
+                CompletableFuture.completedFuture(response));
+        whenNew(AuthServerPostHandler.class).withArguments(ctx, adminRequest)
+                .thenReturn(adminHandler);
+        whenNew(AuthServerPostHandler.class).withArguments(ctx, httpRequest)
+                .thenReturn(dataPathHandler);
+
+        testHandler.channelRead(ctx, adminRequest);
+        testHandler.channelRead(ctx, httpRequest);
+
+        verify(adminHandler, timeout(5000))
+                .getResponseAsync(any(Executor.class));
+        verify(dataPathHandler).getResponseAsync(any(Executor.class));
+        verify(dataPathHandler, never()).returnHTTPResponse(response);
+        adminServed.complete(adminResponse);
+
+        InOrder inOrder = inOrder(adminHandler, dataPathHandler);
+        inOrder.verify(adminHandler).returnHTTPResponse(adminResponse);
+        inOrder.verify(dataPathHandler).returnHTTPResponse(response);
+        verify(adminRequest, timeout(5000).times(2)).release();
+        adminExecutor.shutdown();
+    }
+
+    @Test
+    public void channelReadTest_IsolatedByTicket() throws Exception {
+        RequestExecutor adminExecutor = mock(RequestExecutor.class);
+        Bulkhead bulkhead = mock(Bulkhead.class);
+        when(bulkhead.getExecutor()).thenReturn(adminExecutor);
+        AdmissionHandler admission = mock(AdmissionHandler.class);
+        AdmissionHandler.Ticket isolated = new AdmissionHandler(
+                new AdmissionController(1, 10, 60000), bulkhead).new Ticket(
+                true, true, false, System.nanoTime());
+        when(admission.next()).thenReturn(isolated);
+        testHandler = new AuthServerHandler(null, admission, bulkhead);
+        when(httpRequest.method()).thenReturn(HttpMethod.POST);
+
+        testHandler.channelRead(ctx, httpRequest);
+
+        // The request is classified once, by the admission handler.
+        verify(adminExecutor).execute(any(Runnable.class));
+        verify(bulkhead, never()).isolates(httpRequest);
+    }
+
+    @Test
+    public void channelReadTest_TurnedDownWithoutExecutor() throws Exception {
+        RequestExecutor requestExecutor = mock(RequestExecutor.class);
+        when(requestExecutor.isInParallel()).thenReturn(true);
+        AdmissionHandler admission = mock(AdmissionHandler.class);
+        AdmissionHandler.Ticket turnedDown = new AdmissionHandler(
+                new AdmissionController(1, 10, 60000)).new Ticket(false,
+                false, false, System.nanoTime());
+        when(admission.next()).thenReturn(turnedDown);
+        testHandler = new AuthServerHandler(requestExecutor, admission);
+        when(ctx.alloc()).thenReturn(UnpooledByteBufAllocator.DEFAULT);
+        when(httpRequest.method()).thenReturn(HttpMethod.POST);
+        when(httpRequest.protocolVersion()).thenReturn(HttpVersion.HTTP_1_1);
+        when(httpRequest.headers()).thenReturn(new DefaultHttpHeaders());
+
+        testHandler.channelRead(ctx, httpRequest);
+
+        // The executor runs nothing, the SlowDown response is sent at once.
+        verify(requestExecutor, never()).execute(any(Runnable.class));
+        verify(ctx).write(any(FullHttpResponse.class));
+        verify(ctx).flush();
+    }
+
     @Test
     public void channelReadCompleteTest() {
         testHandler.channelReadComplete(ctx);
@@ -34,6 +34,7 @@ import static org.powermock.api.mockito.PowerMockito.verifyPrivate;
 import static org.powermock.api.mockito.PowerMockito.when;
 import static org.powermock.api.mockito.PowerMockito.whenNew;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.TreeMap;
 
@@ -47,11 +48,13 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.reflect.internal.WhiteboxImpl;
 
+import com.seagates3.controller.DataPathController;
 import com.seagates3.controller.FaultPointsController;
 import com.seagates3.controller.IAMController;
 import com.seagates3.controller.SAMLWebSSOController;
 import com.seagates3.response.ServerResponse;
 
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
@@ -81,17 +84,36 @@ import io.netty.handler.codec.http.HttpVersion;
     public void setUp() throws Exception {
         mockStatic(AuthServerConfig.class);
         ctx = mock(ChannelHandlerContext.class);
+        when(ctx.alloc()).thenReturn(ByteBufAllocator.DEFAULT);
         when(AuthServerConfig.getReqId()).thenReturn("0000");
         fullHttpRequest = new DefaultFullHttpRequest(
                 HttpVersion.HTTP_1_1, HttpMethod.POST, "/", getRequestBodyAsByteBuf());
     }
 
+    @Test
+    public void runTest_ServeDataPathRequest() throws Exception {
+        handler = new AuthServerPostHandler(ctx, fullHttpRequest);
+        handler.run();
+
+        verifyPrivate(handler).invoke("serveDataPathRequest",
+                DataPathController.Action.AUTHENTICATE_USER, getExpectedBody());
+    }
+
     @Test
     public void runTest_ServeIamRequest() throws Exception {
+        ByteBuf body = Unpooled.copiedBuffer("Action=CreateUser&UserName=u1",
+                StandardCharsets.UTF_8);
+        fullHttpRequest = new DefaultFullHttpRequest(
+                HttpVersion.HTTP_1_1, HttpMethod.POST, "/", body);
+        Map<String, String> requestBody =
+                new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        requestBody.put("Action", "CreateUser");
+        requestBody.put("UserName", "u1");
+
         handler = new AuthServerPostHandler(ctx, fullHttpRequest);
         handler.run();
 
-        verifyPrivate(handler).invoke("serveIamRequest", getExpectedBody());
+        verifyPrivate(handler).invoke("serveIamRequest", requestBody);
     }
 
     @Test
@@ -129,7 +151,7 @@ import io.netty.handler.codec.http.HttpVersion;
         handler = new AuthServerPostHandler(ctx, fullHttpRequest);
         WhiteboxImpl.invokeMethod(handler, "returnHTTPResponse", requestResponse);
 
-        verify(ctx).writeAndFlush(any(ServerResponse.class));
+        verify(ctx).write(any(ServerResponse.class));
     }
 
     @Test
@@ -158,7 +180,7 @@ import io.netty.handler.codec.http.HttpVersion;
         handler = new AuthServerPostHandler(ctx, fullHttpRequest);
         WhiteboxImpl.invokeMethod(handler, "returnHTTPResponse", response);
 
-        verify(ctx).writeAndFlush(response);
+        verify(ctx).write(response);
     }
 
     @Test
@@ -178,10 +200,10 @@ import io.netty.handler.codec.http.HttpVersion;
     }
 
     @Test
-    public void getHttpRequestBodyAsMapTest() throws Exception {
+    public void getAuthRequestTest() throws Exception {
         handler = new AuthServerPostHandler(ctx, fullHttpRequest);
         Map<String, String> result = WhiteboxImpl.invokeMethod(handler,
-                "getHttpRequestBodyAsMap");
+                "getAuthRequest");
 
         assertEquals(getExpectedBody(), result);
     }
@@ -254,6 +276,22 @@ import io.netty.handler.codec.http.HttpVersion;
         verify(iamController).serve(fullHttpRequest, requestMap);
     }
 
+    @Test
+    public void serveDataPathRequestTest() throws Exception {
+        Map<String, String> requestMap = getExpectedBody();
+        DataPathController dataPathController = mock(DataPathController.class);
+        whenNew(DataPathController.class).withNoArguments()
+                .thenReturn(dataPathController);
+
+        handler = new AuthServerPostHandler(ctx, fullHttpRequest);
+        WhiteboxImpl.invokeMethod(handler, "serveDataPathRequest",
+                DataPathController.Action.AUTHENTICATE_USER, requestMap);
+
+        verify(dataPathController).serve(
+                DataPathController.Action.AUTHENTICATE_USER, fullHttpRequest,
+                requestMap);
+    }
+
     private ByteBuf getRequestBodyAsByteBuf() {
         String params = "Action=AuthenticateUser&" +
                 "x-amz-meta-ics.meta-version=1&" +
@@ -21,6 +21,8 @@
 package com.seagates3.authserver;
 
 import com.seagates3.dao.DAODispatcher;
+import com.seagates3.dao.ldap.LdapConnectionManager;
+import com.seagates3.dao.ldap.LdapMultiplexer;
 import com.seagates3.exception.ServerInitialisationException;
 import com.seagates3.fi.FaultPoints;
 import com.seagates3.perf.S3Perf;
@@ -29,6 +31,7 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
@@ -58,13 +61,17 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -108,6 +115,7 @@ public class AuthServerTest {
     private EventLoopGroup workerGroup;
     private EventExecutorGroup executorGroup;
     private Channel serverChannel;
+    private List<Channel> serverChannels;
     private ChannelFuture channelFuture;
 
     @Before
@@ -155,12 +163,50 @@ public class AuthServerTest {
         verify(channelFuture).sync();
     }
 
+    @Test
+    public void mainTest_DomainSocketEnabled() throws Exception {
+        assumeTrue(Epoll.isAvailable());
+        mainTestHelper();
+        doReturn("epoll").when(AuthServerConfig.class, "getNettyTransport");
+        doReturn("/var/run/s3authserver.sock").when(AuthServerConfig.class,
+                "getDomainSocketPath");
+        doReturn(serverChannel).when(AuthServer.class,
+                "domainSocketServerBootstrap", any(EventLoopGroup.class),
+                any(EventLoopGroup.class), any(EventExecutorGroup.class),
+                any(String.class));
+
+        AuthServer.main(new String[]{});
+
+        verifyPrivate(AuthServer.class).invoke("domainSocketServerBootstrap",
+                any(EventLoopGroup.class), any(EventLoopGroup.class),
+                any(EventExecutorGroup.class),
+                eq("/var/run/s3authserver.sock"));
+        verify(serverChannel, times(2)).closeFuture();
+        verify(channelFuture, times(2)).sync();
+    }
+
+    @Test
+    public void mainTest_DomainSocketNeedsEpoll() throws Exception {
+        mainTestHelper();
+        doReturn("/var/run/s3authserver.sock").when(AuthServerConfig.class,
+                "getDomainSocketPath");
+
+        AuthServer.main(new String[]{});
+
+        // NIO can't listen on the domain socket, only the HTTP port is bound.
+        verifyPrivate(AuthServer.class).invoke(
+                "domainSocketServerBootstrap", any(EventLoopGroup.class),
+                any(EventLoopGroup.class), any(EventExecutorGroup.class),
+                eq("/var/run/s3authserver.sock"));
+        verify(serverChannel, times(1)).closeFuture();
+    }
+
     @Test
     public void mainTest_HttpAndHttpsEnabled() throws Exception {
         mainTestHelper();
         doReturn(Boolean.TRUE).when(AuthServerConfig.class, "isHttpsEnabled");
         doReturn(Boolean.TRUE).when(AuthServerConfig.class, "isHttpEnabled");
-        doReturn(serverChannel).when(AuthServer.class, "httpsServerBootstrap",
+        doReturn(serverChannels).when(AuthServer.class, "httpsServerBootstrap",
                 any(EventLoopGroup.class), any(EventLoopGroup.class),
                 any(EventExecutorGroup.class), any(String.class), anyInt());
 
@@ -191,7 +237,7 @@ public class AuthServerTest {
         mainTestHelper();
         doReturn(Boolean.FALSE).when(AuthServerConfig.class, "isHttpsEnabled");
         doReturn(Boolean.TRUE).when(AuthServerConfig.class, "isHttpEnabled");
-        doReturn(serverChannel).when(AuthServer.class, "httpServerBootstrap",
+        doReturn(serverChannels).when(AuthServer.class, "httpServerBootstrap",
                 any(EventLoopGroup.class), any(EventLoopGroup.class),
                 any(EventExecutorGroup.class), any(String.class), anyInt());
 
@@ -223,7 +269,7 @@ public class AuthServerTest {
         mainTestHelper();
         doReturn(Boolean.FALSE).when(AuthServerConfig.class, "isHttpEnabled");
         doReturn(Boolean.TRUE).when(AuthServerConfig.class, "isHttpsEnabled");
-        doReturn(serverChannel).when(AuthServer.class, "httpsServerBootstrap",
+        doReturn(serverChannels).when(AuthServer.class, "httpsServerBootstrap",
                 any(EventLoopGroup.class), any(EventLoopGroup.class),
                 any(EventExecutorGroup.class), any(String.class), anyInt());
 
@@ -265,7 +311,7 @@ public class AuthServerTest {
     public void mainTest_HttpAndHttpsEnabled_FiEnabled() throws Exception {
         mainTestHelper();
         doReturn(Boolean.TRUE).when(AuthServerConfig.class, "isHttpsEnabled");
-        doReturn(serverChannel).when(AuthServer.class, "httpsServerBootstrap",
+        doReturn(serverChannels).when(AuthServer.class, "httpsServerBootstrap",
                 any(EventLoopGroup.class), any(EventLoopGroup.class),
                 any(EventExecutorGroup.class),any(String.class), anyInt());
         doReturn(Boolean.TRUE).when(AuthServerConfig.class, "isFaultInjectionEnabled");
@@ -299,7 +345,7 @@ public class AuthServerTest {
         mainTestHelper();
         doReturn(Boolean.FALSE).when(AuthServerConfig.class, "isHttpsEnabled");
         doReturn(Boolean.TRUE).when(AuthServerConfig.class, "isHttpEnabled");
-        doReturn(serverChannel).when(AuthServer.class, "httpsServerBootstrap",
+        doReturn(serverChannels).when(AuthServer.class, "httpsServerBootstrap",
                 any(EventLoopGroup.class), any(EventLoopGroup.class),
                 any(EventExecutorGroup.class), any(String.class), anyInt());
         doReturn(Boolean.TRUE).when(AuthServerConfig.class, "isFaultInjectionEnabled");
@@ -333,7 +379,7 @@ public class AuthServerTest {
         mainTestHelper();
         doReturn(Boolean.FALSE).when(AuthServerConfig.class, "isHttpEnabled");
         doReturn(Boolean.TRUE).when(AuthServerConfig.class, "isHttpsEnabled");
-        doReturn(serverChannel).when(AuthServer.class, "httpsServerBootstrap",
+        doReturn(serverChannels).when(AuthServer.class, "httpsServerBootstrap",
                 any(EventLoopGroup.class), any(EventLoopGroup.class),
                 any(EventExecutorGroup.class), any(String.class), anyInt());
         doReturn(Boolean.TRUE).when(AuthServerConfig.class, "isFaultInjectionEnabled");
@@ -393,7 +439,8 @@ public class AuthServerTest {
         doNothing().when(FaultPoints.class, "init");
 
         serverChannel = mock(Channel.class);
-        doReturn(serverChannel).when(AuthServer.class, "httpServerBootstrap",
+        serverChannels = Collections.singletonList(serverChannel);
+        doReturn(serverChannels).when(AuthServer.class, "httpServerBootstrap",
                 any(EventLoopGroup.class), any(EventLoopGroup.class),
                 any(EventExecutorGroup.class), any(String.class), anyInt());
 
@@ -491,6 +538,27 @@ public class AuthServerTest {
         verifyPrivate(executorGroup).invoke("shutdownGracefully");
     }
 
+    @Test
+    public void shutdownExecutorsTest_ShutsDownLdapMultiplexer()
+            throws Exception {
+        LdapMultiplexer multiplexer = mock(LdapMultiplexer.class);
+        WhiteboxImpl.setInternalState(AuthServer.class, "bossGroup",
+                mock(EventLoopGroup.class));
+        WhiteboxImpl.setInternalState(AuthServer.class, "workerGroup",
+                mock(EventLoopGroup.class));
+        WhiteboxImpl.setInternalState(AuthServer.class, "executorGroup",
+                mock(EventExecutorGroup.class));
+        WhiteboxImpl.setInternalState(AuthServer.class, "logger",
+                mock(Logger.class));
+        WhiteboxImpl.setInternalState(LdapConnectionManager.class,
+                "multiplexer", multiplexer);
+
+        WhiteboxImpl.invokeMethod(AuthServer.class, "shutdownExecutors");
+
+        verify(multiplexer).shutdown();
+        assertEquals(null, LdapConnectionManager.getMultiplexer());
+    }
+
     @Test
     public void httpServerBootstrapTest() throws Exception {
         EventLoopGroup bossGroup = mock(EventLoopGroup.class);
@@ -506,12 +574,14 @@ public class AuthServerTest {
         whenNew(LoggingHandler.class).withArguments(LogLevel.INFO).thenReturn(handler);
 
         AuthServerHTTPInitializer initializer = mock(AuthServerHTTPInitializer.class);
-        whenNew(AuthServerHTTPInitializer.class).withArguments(executorGroup)
+        whenNew(AuthServerHTTPInitializer.class).withAnyArguments()
                 .thenReturn(initializer);
 
         when(serverBootstrap.option(ChannelOption.SO_BACKLOG, 1024)).thenReturn(serverBootstrap);
         when(serverBootstrap.group(bossGroup, workerGroup)).thenReturn(serverBootstrap);
         when(serverBootstrap.channel(NioServerSocketChannel.class)).thenReturn(serverBootstrap);
+        when(serverBootstrap.childOption(ChannelOption.TCP_NODELAY, true))
+                .thenReturn(serverBootstrap);
         when(serverBootstrap.handler(handler)).thenReturn(serverBootstrap);
         when(serverBootstrap.childHandler(initializer)).thenReturn(serverBootstrap);
 
@@ -521,10 +591,12 @@ public class AuthServerTest {
         when(channelFuture.sync()).thenReturn(channelFuture);
         when(channelFuture.channel()).thenReturn(serverChannel);
 
-        Object channel = WhiteboxImpl.invokeMethod(AuthServer.class,
+        WhiteboxImpl.setInternalState(AuthServer.class, "transport",
+                NettyTransport.NIO);
+        Object channels = WhiteboxImpl.invokeMethod(AuthServer.class,
                 "httpServerBootstrap", bossGroup, workerGroup, executorGroup, defaultHost, port);
 
-        assertTrue(channel instanceof Channel);
+        assertEquals(Collections.singletonList(serverChannel), channels);
         verify(serverBootstrap).bind(defaultHost, port);
         verify(channelFuture).sync();
         verify(channelFuture).channel();
@@ -542,12 +614,14 @@ public class AuthServerTest {
         whenNew(LoggingHandler.class).withArguments(LogLevel.INFO).thenReturn(handler);
 
         AuthServerHTTPSInitializer initializer = mock(AuthServerHTTPSInitializer.class);
-        whenNew(AuthServerHTTPSInitializer.class).withArguments(executorGroup)
+        whenNew(AuthServerHTTPSInitializer.class).withAnyArguments()
                 .thenReturn(initializer);
 
         when(serverBootstrap.option(ChannelOption.SO_BACKLOG, 1024)).thenReturn(serverBootstrap);
         when(serverBootstrap.group(bossGroup, workerGroup)).thenReturn(serverBootstrap);
         when(serverBootstrap.channel(NioServerSocketChannel.class)).thenReturn(serverBootstrap);
+        when(serverBootstrap.childOption(ChannelOption.TCP_NODELAY, true))
+                .thenReturn(serverBootstrap);
         when(serverBootstrap.handler(handler)).thenReturn(serverBootstrap);
         when(serverBootstrap.childHandler(initializer)).thenReturn(serverBootstrap);
 
@@ -557,10 +631,12 @@ public class AuthServerTest {
         when(channelFuture.sync()).thenReturn(channelFuture);
         when(channelFuture.channel()).thenReturn(serverChannel);
 
-        Object channel = WhiteboxImpl.invokeMethod(AuthServer.class,
+        WhiteboxImpl.setInternalState(AuthServer.class, "transport",
+                NettyTransport.NIO);
+        Object channels = WhiteboxImpl.invokeMethod(AuthServer.class,
                 "httpsServerBootstrap", bossGroup, workerGroup, executorGroup, defaultHost, port);
 
-        assertTrue(channel instanceof Channel);
+        assertEquals(Collections.singletonList(serverChannel), channels);
 
         verify(serverBootstrap).bind(defaultHost, port);
         verify(channelFuture).sync();
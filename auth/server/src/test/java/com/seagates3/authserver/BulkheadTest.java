@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authserver;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+
+public class BulkheadTest {
+
+    private Bulkhead bulkhead;
+
+    @Before
+    public void setUp() {
+        bulkhead = new Bulkhead(new RequestExecutor(null, 1, true));
+    }
+
+    @After
+    public void tearDown() {
+        bulkhead.shutdown();
+    }
+
+    @Test
+    public void isolatesTest_AdminActions() {
+        assertTrue(bulkhead.isolates(newRequest("/", "Action=CreateAccount")));
+        assertTrue(bulkhead.isolates(newRequest("/", "Action=DeleteAccount")));
+        assertTrue(bulkhead.isolates(newRequest("/", "Action=ListAccounts")));
+        assertTrue(bulkhead.isolates(
+                newRequest("/", "Action=GetTempAuthCredentials")));
+        assertTrue(bulkhead.isolates(newRequest("/saml", "SAMLResponse=x")));
+    }
+
+    @Test
+    public void isolatesTest_ActionDecodedLikeRequest() {
+        assertTrue(bulkhead.isolates(newRequest("/", "action=DeleteAccount")));
+        assertTrue(bulkhead.isolates(newRequest("/",
+                "Action=AuthenticateUser&Action=DeleteAccount")));
+        assertTrue(bulkhead.isolates(
+                newRequest("/", "Act%69on=Delete%41ccount")));
+        assertFalse(bulkhead.isolates(newRequest("/",
+                "Action=DeleteAccount&ACTION=AuthenticateUser")));
+    }
+
+    @Test
+    public void isolatesTest_DataPathActions() {
+        assertFalse(bulkhead.isolates(
+                newRequest("/", "Action=AuthenticateAndAuthorize")));
+        assertFalse(bulkhead.isolates(newRequest("/", "Action=AuthorizeUser")));
+        assertFalse(bulkhead.isolates(newRequest("/", "Action=ValidateACL")));
+        assertFalse(bulkhead.isolates(newRequest("/", "Version=2010-05-08")));
+        assertFalse(bulkhead.isolates(new DefaultFullHttpRequest(
+                HttpVersion.HTTP_1_1, HttpMethod.GET, "/")));
+    }
+
+    private static FullHttpRequest newRequest(String uri, String body) {
+        return new DefaultFullHttpRequest(HttpVersion.HTTP_1_1,
+                HttpMethod.POST, uri,
+                Unpooled.copiedBuffer(body, StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authserver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.seagates3.response.ServerResponse;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+
+public class HttpResponseWriterTest {
+
+    private static final String BODY =
+            "<ErrorResponse><Message>Zugriff verweigert – ü</Message>"
+            + "</ErrorResponse>";
+
+    private ChannelHandlerContext ctx;
+
+    @Before
+    public void setUp() {
+        ctx = mock(ChannelHandlerContext.class);
+        when(ctx.alloc()).thenReturn(ByteBufAllocator.DEFAULT);
+    }
+
+    @Test
+    public void newResponseTest() {
+        FullHttpResponse response = HttpResponseWriter.newResponse(
+                ByteBufAllocator.DEFAULT, HttpResponseStatus.FORBIDDEN, BODY);
+
+        try {
+            byte[] expected = BODY.getBytes(StandardCharsets.UTF_8);
+            assertTrue(response.content().isDirect());
+            assertEquals(HttpResponseStatus.FORBIDDEN, response.status());
+            assertEquals(BODY,
+                    response.content().toString(StandardCharsets.UTF_8));
+            assertEquals("text/xml",
+                    response.headers().get(HttpHeaderNames.CONTENT_TYPE));
+            assertEquals(String.valueOf(expected.length),
+                    response.headers().get(HttpHeaderNames.CONTENT_LENGTH));
+        } finally {
+            response.release();
+        }
+    }
+
+    @Test
+    public void newResponseTest_EmptyBody() {
+        FullHttpResponse response = HttpResponseWriter.newResponse(
+                ByteBufAllocator.DEFAULT, HttpResponseStatus.OK, null);
+
+        assertSame(Unpooled.EMPTY_BUFFER, response.content());
+        assertEquals("0",
+                response.headers().get(HttpHeaderNames.CONTENT_LENGTH));
+    }
+
+    @Test
+    public void writeTest_KeepAlive() {
+        ServerResponse serverResponse =
+                new ServerResponse(HttpResponseStatus.OK, BODY);
+
+        HttpResponseWriter.write(ctx, serverResponse, true);
+
+        ArgumentCaptor<FullHttpResponse> response =
+                ArgumentCaptor.forClass(FullHttpResponse.class);
+        verify(ctx).write(response.capture());
+        assertEquals("keep-alive", response.getValue().headers()
+                .get(HttpHeaderNames.CONNECTION));
+        assertEquals(BODY, response.getValue().content()
+                .toString(StandardCharsets.UTF_8));
+        response.getValue().release();
+        verify(ctx, never()).flush();
+    }
+
+    @Test
+    public void writeTest_Close() {
+        FullHttpResponse response = HttpResponseWriter.newResponse(
+                ByteBufAllocator.DEFAULT, HttpResponseStatus.OK, null);
+        ChannelFuture channelFuture = mock(ChannelFuture.class);
+        when(ctx.write(response)).thenReturn(channelFuture);
+
+        HttpResponseWriter.write(ctx, response, false);
+
+        verify(channelFuture).addListener(ChannelFutureListener.CLOSE);
+        assertNull(response.headers().get(HttpHeaderNames.CONNECTION));
+        verify(ctx, never()).flush();
+    }
+}
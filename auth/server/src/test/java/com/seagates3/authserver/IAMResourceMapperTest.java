@@ -48,6 +48,13 @@ public class IAMResourceMapperTest {
         assertEquals("isValidCreateParams", resourceMap.getParamValidatorMethod());
     }
 
+    @Test
+    public void getResourceMapTest_SameRoute()
+            throws AuthResourceNotFoundException {
+        assertSame(IAMResourceMapper.getResourceMap("CreateUser"),
+                IAMResourceMapper.getResourceMap("CreateUser"));
+    }
+
     @Test(expected = AuthResourceNotFoundException.class)
     public void getResourceMapTest_NullAction() throws AuthResourceNotFoundException {
         IAMResourceMapper.getResourceMap(null);
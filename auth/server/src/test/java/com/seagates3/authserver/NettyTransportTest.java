@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authserver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.net.InetSocketAddress;
+
+import org.junit.Test;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.unix.DomainSocketAddress;
+
+public class NettyTransportTest {
+
+    @Test
+    public void selectTest_Nio() {
+        assertSame(NettyTransport.NIO, NettyTransport.select(null));
+        assertSame(NettyTransport.NIO, NettyTransport.select("nio"));
+        assertSame(NettyTransport.NIO, NettyTransport.select("unknown"));
+    }
+
+    @Test
+    public void selectTest_Epoll() {
+        NettyTransport expected = Epoll.isAvailable() ? NettyTransport.EPOLL
+                : NettyTransport.NIO;
+
+        assertSame(expected, NettyTransport.select("epoll"));
+        assertSame(expected, NettyTransport.select("EPOLL"));
+    }
+
+    @Test
+    public void getAcceptorsTest() {
+        assertEquals(1, NettyTransport.NIO.getAcceptors(4));
+        assertEquals(4, NettyTransport.EPOLL.getAcceptors(4));
+        assertEquals(1, NettyTransport.EPOLL.getAcceptors(0));
+    }
+
+    @Test
+    public void configureTest_EpollBindsPortTwice() throws Exception {
+        assumeTrue(Epoll.isAvailable());
+
+        EventLoopGroup group = NettyTransport.EPOLL.newEventLoopGroup(2);
+        try {
+            ServerBootstrap b = NettyTransport.EPOLL.configure(
+                    new ServerBootstrap().group(group))
+                    .childHandler(new ChannelInboundHandlerAdapter());
+
+            Channel first = b.bind("127.0.0.1", 0).sync().channel();
+            int port = ((InetSocketAddress) first.localAddress()).getPort();
+            Channel second = b.bind("127.0.0.1", port).sync().channel();
+
+            assertEquals(first.localAddress(), second.localAddress());
+            first.close().sync();
+            second.close().sync();
+        } finally {
+            group.shutdownGracefully().sync();
+        }
+    }
+
+    @Test
+    public void configureDomainSocketTest_Nio() {
+        assertNull(NettyTransport.NIO.configureDomainSocket(
+                new ServerBootstrap()));
+    }
+
+    @Test
+    public void configureDomainSocketTest_Epoll() throws Exception {
+        assumeTrue(Epoll.isAvailable());
+
+        File socket = File.createTempFile("authserver", ".sock");
+        socket.delete();
+        EventLoopGroup group = NettyTransport.EPOLL.newEventLoopGroup(1);
+        try {
+            Channel channel = NettyTransport.EPOLL.configureDomainSocket(
+                    new ServerBootstrap().group(group))
+                    .childHandler(new ChannelInboundHandlerAdapter())
+                    .bind(new DomainSocketAddress(socket)).sync().channel();
+
+            assertTrue(socket.exists());
+            channel.close().sync();
+        } finally {
+            group.shutdownGracefully().sync();
+            socket.delete();
+        }
+    }
+}
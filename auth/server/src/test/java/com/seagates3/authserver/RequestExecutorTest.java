@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authserver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class RequestExecutorTest {
+
+    private RequestExecutor requestExecutor;
+
+    @After
+    public void tearDown() {
+        requestExecutor.shutdown();
+    }
+
+    @Test
+    public void executeTest_BoundsConcurrentRequests() throws Exception {
+        requestExecutor = new RequestExecutor(Executors.newCachedThreadPool(),
+                2, false);
+        assertTrue(requestExecutor.isVirtual());
+        assertEquals(2, maxConcurrentRequests(8));
+    }
+
+    @Test
+    public void executeTest_ThreadPool() throws Exception {
+        requestExecutor = new RequestExecutor(null, 3, false);
+        assertFalse(requestExecutor.isVirtual());
+        assertEquals(3, maxConcurrentRequests(9));
+    }
+
+    @Test
+    public void requestExecutorTest_ThreadPoolUnlessVirtual() {
+        requestExecutor = new RequestExecutor(2, false);
+        assertFalse(requestExecutor.isVirtual());
+        assertTrue(RequestExecutor.getJavaVersion() >= 8);
+    }
+
+    @Test
+    public void newSerialExecutorTest_KeepsOrder() throws Exception {
+        requestExecutor = new RequestExecutor(null, 4, false);
+        Executor connection = requestExecutor.newSerialExecutor();
+        final List<Integer> served =
+                Collections.synchronizedList(new ArrayList<Integer>());
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger overlaps = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(5);
+
+        for (int i = 0; i < 5; i++) {
+            final int request = i;
+            connection.execute(new Runnable() {
+                @Override
+                public void run() {
+                    if (running.incrementAndGet() > 1) {
+                        overlaps.incrementAndGet();
+                    }
+                    sleep(5 - request);
+                    served.add(request);
+                    running.decrementAndGet();
+                    done.countDown();
+                }
+            });
+        }
+        connection.execute(new Runnable() {
+            @Override
+            public void run() {
+                throw new IllegalStateException("request failed");
+            }
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), served);
+        assertEquals(0, overlaps.get());
+    }
+
+    private int maxConcurrentRequests(int requests) throws Exception {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger max = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(requests);
+        for (int i = 0; i < requests; i++) {
+            requestExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    int now = running.incrementAndGet();
+                    synchronized (max) {
+                        max.set(Math.max(max.get(), now));
+                    }
+                    sleep(20);
+                    running.decrementAndGet();
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        return max.get();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -23,7 +23,12 @@ package com.seagates3.authserver;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.lang.invoke.MethodHandle;
+import java.util.Map;
+import java.util.TreeMap;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 public class ResourceMapTest {
 
@@ -55,4 +60,36 @@ public class ResourceMapTest {
     public void getParamValidatorMethodTest() {
         assertEquals("isValidCreateParams", resourceMap.getParamValidatorMethod());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getParamValidatorHandleTest() throws Throwable {
+        Map<String, String> requestBody = new TreeMap<>();
+        requestBody.put("AccountName", "valid-name");
+        requestBody.put("Email", "xyz@email.com");
+
+        MethodHandle validator = resourceMap.getParamValidatorHandle();
+
+        assertSame(validator, resourceMap.getParamValidatorHandle());
+        assertEquals(Boolean.TRUE, (Boolean) validator.invokeExact(
+                requestBody));
+    }
+
+    @Test(expected = NoSuchMethodException.class)
+    public void getParamValidatorHandleTest_NoSuchMethod() throws Exception {
+        new ResourceMap("Account", "unknown").getParamValidatorHandle();
+    }
+
+    @Test
+    public void getControllerActionHandleTest() throws Exception {
+        MethodHandle controllerAction =
+                resourceMap.getControllerActionHandle();
+
+        assertSame(controllerAction, resourceMap.getControllerActionHandle());
+    }
+
+    @Test(expected = ClassNotFoundException.class)
+    public void getControllerActionHandleTest_ClassNotFound()
+            throws Exception {
+        new ResourceMap("Unknown", "create").getControllerActionHandle();
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.authserver;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class ResponseSequencerTest {
+
+    private final ResponseSequencer sequencer = new ResponseSequencer();
+
+    private final List<Long> sent = new ArrayList<>();
+
+    @Test
+    public void completeTest_InOrder() {
+        sequencer.complete(sequencer.receive(), response(0));
+        sequencer.complete(sequencer.receive(), response(1));
+
+        assertEquals(Arrays.asList(0L, 1L), sent);
+    }
+
+    @Test
+    public void completeTest_OutOfOrder() {
+        long first = sequencer.receive();
+        long second = sequencer.receive();
+        long third = sequencer.receive();
+
+        sequencer.complete(third, response(third));
+        sequencer.complete(second, response(second));
+        assertEquals(0, sent.size());
+        assertEquals(2, sequencer.getWaiting());
+
+        sequencer.complete(first, response(first));
+        assertEquals(Arrays.asList(0L, 1L, 2L), sent);
+        assertEquals(0, sequencer.getWaiting());
+    }
+
+    @Test
+    public void completeTest_FailedResponse() {
+        long first = sequencer.receive();
+        long second = sequencer.receive();
+
+        sequencer.complete(second, response(second));
+        sequencer.complete(first, new Runnable() {
+            @Override
+            public void run() {
+                throw new IllegalStateException("channel closed");
+            }
+        });
+
+        assertEquals(Arrays.asList(1L), sent);
+    }
+
+    @Test
+    public void completeTest_Concurrent() throws Exception {
+        final int requests = 200;
+        final long[] sequences = new long[requests];
+        for (int i = 0; i < requests; i++) {
+            sequences[i] = sequencer.receive();
+        }
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final int offset = t;
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = requests - 1 - offset; i >= 0; i -= 4) {
+                        sequencer.complete(sequences[i],
+                                response(sequences[i]));
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(requests, sent.size());
+        for (int i = 0; i < requests; i++) {
+            assertEquals(Long.valueOf(i), sent.get(i));
+        }
+    }
+
+    private Runnable response(final long sequence) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                synchronized (sent) {
+                    sent.add(sequence);
+                }
+            }
+        };
+    }
+}
@@ -21,6 +21,7 @@
 package com.seagates3.aws.sign;
 
 import com.seagates3.authentication.AWSV4Sign;
+import com.seagates3.authentication.SigningKeyCache;
 import com.seagates3.aws.AWSV4RequestHelper;
 import com.seagates3.exception.InvalidTokenException;
 import com.seagates3.authentication.ClientRequestToken;
@@ -58,6 +59,22 @@ public class AWSV4SignTest {
 
     }
 
+    @Test
+    public void Authenticate_ChunkedSeedRequest_SessionOnRequest()
+            throws InvalidTokenException {
+        ClientRequestToken requestToken
+                = AWSV4RequestHelper.getChunkedSeedRequestClientToken();
+
+        Assert.assertTrue(awsv4Sign.authenticate(requestToken, requestor));
+        Assert.assertNull(requestToken.getChunkSessionId());
+
+        requestToken = AWSV4RequestHelper.getChunkedSeedRequestClientToken();
+        requestToken.setChunkSessionRequested(true);
+
+        Assert.assertTrue(awsv4Sign.authenticate(requestToken, requestor));
+        Assert.assertNotNull(requestToken.getChunkSessionId());
+    }
+
     @Test
     public void Authenticate_ChunkedSeedRequest_False() {
         ClientRequestToken requestToken
@@ -75,6 +92,30 @@ public class AWSV4SignTest {
 
     }
 
+    @Test
+    public void Authenticate_InvalidSignature_SigningKeyNotCached()
+            throws InvalidTokenException {
+        SigningKeyCache.getInstance().invalidateAll();
+        ClientRequestToken requestToken
+                = AWSV4RequestHelper.getChunkedSeedRequestClientToken();
+        requestToken.setHttpMethod("GET");
+
+        Assert.assertFalse(awsv4Sign.authenticate(requestToken, requestor));
+        Assert.assertNull(SigningKeyCache.getInstance().get(
+                requestToken.getAccessKeyId(),
+                requestor.getAccesskey().getSecretKey(),
+                requestToken.getDate(), requestToken.getRegion(),
+                requestToken.getService()));
+
+        requestToken = AWSV4RequestHelper.getChunkedSeedRequestClientToken();
+        Assert.assertTrue(awsv4Sign.authenticate(requestToken, requestor));
+        Assert.assertNotNull(SigningKeyCache.getInstance().get(
+                requestToken.getAccessKeyId(),
+                requestor.getAccesskey().getSecretKey(),
+                requestToken.getDate(), requestToken.getRegion(),
+                requestToken.getService()));
+    }
+
     @Test
     public void Authenticate_ChunkedRequest_True() {
         ClientRequestToken requestToken
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+public class ConcurrentCacheTest {
+
+    private static class ManualClockCache extends ConcurrentCache<String, String> {
+
+        private final AtomicLong now = new AtomicLong(1000);
+
+        ManualClockCache(long maximumSize, long expireAfterWriteMillis) {
+            super(maximumSize, expireAfterWriteMillis);
+        }
+
+        @Override
+        protected long currentTimeMillis() {
+            return now.get();
+        }
+
+        void advance(long millis) {
+            now.addAndGet(millis);
+        }
+    }
+
+    @Test
+    public void getTest_ReturnsCachedValue() {
+        ConcurrentCache<String, String> cache = new ConcurrentCache<>(10, 1000);
+
+        cache.put("AKIA1", "requestor1");
+
+        assertEquals("requestor1", cache.get("AKIA1"));
+        assertNull(cache.get("AKIA2"));
+    }
+
+    @Test
+    public void getTest_ExpiredEntryIsDropped() {
+        ManualClockCache cache = new ManualClockCache(10, 1000);
+        cache.put("AKIA1", "requestor1");
+
+        cache.advance(999);
+        assertEquals("requestor1", cache.get("AKIA1"));
+
+        cache.advance(1);
+        assertNull(cache.get("AKIA1"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void putTest_SizeIsBounded() {
+        ConcurrentCache<String, String> cache = new ConcurrentCache<>(100, 60000);
+
+        for (int i = 0; i < 1000; i++) {
+            cache.put("AKIA" + i, "requestor" + i);
+        }
+
+        assertTrue(cache.size() <= 100);
+    }
+
+    @Test
+    public void putTest_FrequentlyUsedEntrySurvivesScan() {
+        ConcurrentCache<String, String> cache = new ConcurrentCache<>(16, 60000);
+        cache.put("hot", "requestor");
+        for (int i = 0; i < 10; i++) {
+            cache.get("hot");
+        }
+
+        for (int i = 0; i < 200; i++) {
+            cache.put("cold" + i, "requestor" + i);
+        }
+
+        assertEquals("requestor", cache.get("hot"));
+        assertTrue(cache.size() <= 16);
+    }
+
+    @Test
+    public void putTest_ExpiredEntryEvictedFirst() {
+        ManualClockCache cache = new ManualClockCache(2, 1000);
+        cache.put("old", "requestor1");
+        for (int i = 0; i < 10; i++) {
+            cache.get("old");
+        }
+        cache.advance(500);
+        cache.put("AKIA1", "requestor2");
+        cache.advance(600);
+
+        cache.put("AKIA2", "requestor3");
+
+        assertNull(cache.get("old"));
+        assertEquals("requestor2", cache.get("AKIA1"));
+        assertEquals("requestor3", cache.get("AKIA2"));
+    }
+
+    @Test
+    public void invalidateTest() {
+        ConcurrentCache<String, String> cache = new ConcurrentCache<>(10, 60000);
+        cache.put("AKIA1", "requestor1");
+        cache.put("AKIA2", "requestor2");
+
+        cache.invalidate("AKIA1");
+        assertNull(cache.get("AKIA1"));
+        assertEquals("requestor2", cache.get("AKIA2"));
+
+        cache.invalidateAll();
+        assertNull(cache.get("AKIA2"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void putTest_ConcurrentWritersStayBounded() throws Exception {
+        final ConcurrentCache<String, String> cache =
+            new ConcurrentCache<>(64, 60000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        final CountDownLatch done = new CountDownLatch(8);
+
+        for (int t = 0; t < 8; t++) {
+            final int thread = t;
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 5000; i++) {
+                        String key = "AKIA" + ((thread * 5000 + i) % 512);
+                        cache.put(key, key);
+                        String value = cache.get(key);
+                        if (value != null) {
+                            assertEquals(key, value);
+                        }
+                    }
+                    done.countDown();
+                }
+            });
+        }
+
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertTrue(cache.size() <= 64);
+    }
+}
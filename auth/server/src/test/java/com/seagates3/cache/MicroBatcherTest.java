@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Test;
+
+public class MicroBatcherTest {
+
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+
+    private final Map<String, String> results = new ConcurrentHashMap<>();
+
+    private class UpperCaseLoader implements MicroBatcher.Loader<String, String> {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        UpperCaseLoader(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public Map<String, String> loadAll(List<String> keys)
+                throws Exception {
+            batches.add(keys);
+            if (keys.contains("slow")) {
+                started.countDown();
+                release.await();
+            }
+            if (keys.contains("error")) {
+                throw new Exception("LDAP down");
+            }
+
+            Map<String, String> values = new HashMap<>();
+            for (String key : keys) {
+                if (!key.startsWith("missing")) {
+                    values.put(key, key.toUpperCase());
+                }
+            }
+            return values;
+        }
+    }
+
+    @Test
+    public void getTest_IdleLoaderLoadsAtOnce() throws Exception {
+        MicroBatcher<String, String> batcher = new MicroBatcher<>(10,
+                60000000, new UpperCaseLoader(null));
+
+        assertEquals("AKIA1", batcher.get("akia1"));
+        assertNull(batcher.get("missing1"));
+        assertEquals(Arrays.asList(Arrays.asList("akia1"),
+                Arrays.asList("missing1")), batches);
+    }
+
+    @Test
+    public void getTest_ConcurrentKeysShareOneLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        UpperCaseLoader loader = new UpperCaseLoader(release);
+        MicroBatcher<String, String> batcher = new MicroBatcher<>(3, 60000000,
+                loader);
+
+        Thread slow = caller(batcher, "slow");
+        slow.start();
+        loader.started.await();
+
+        List<Thread> callers = new ArrayList<>();
+        for (String key : Arrays.asList("akia1", "akia2", "missing1")) {
+            Thread caller = caller(batcher, key);
+            caller.start();
+            callers.add(caller);
+        }
+        for (Thread caller : callers) {
+            caller.join();
+        }
+        release.countDown();
+        slow.join();
+
+        assertEquals(2, batches.size());
+        assertEquals(new HashSet<>(Arrays.asList("akia1", "akia2", "missing1")),
+                new HashSet<>(batches.get(1)));
+        assertEquals("AKIA1", results.get("akia1"));
+        assertEquals("AKIA2", results.get("akia2"));
+        assertEquals("none", results.get("missing1"));
+        assertEquals("SLOW", results.get("slow"));
+    }
+
+    @Test
+    public void getTest_WindowClosesBatch() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        UpperCaseLoader loader = new UpperCaseLoader(release);
+        MicroBatcher<String, String> batcher = new MicroBatcher<>(10, 1000,
+                loader);
+
+        Thread slow = caller(batcher, "slow");
+        slow.start();
+        loader.started.await();
+
+        assertEquals("AKIA1", batcher.get("akia1"));
+        release.countDown();
+        slow.join();
+
+        assertEquals(Arrays.asList("akia1"), batches.get(1));
+    }
+
+    @Test
+    public void getTest_LoaderErrorIsThrown() throws Exception {
+        MicroBatcher<String, String> batcher = new MicroBatcher<>(10, 0,
+                new UpperCaseLoader(null));
+
+        try {
+            batcher.get("error");
+            fail("Should throw ExecutionException");
+        } catch (ExecutionException e) {
+            assertEquals("LDAP down", e.getCause().getMessage());
+        }
+        assertEquals("AKIA1", batcher.get("akia1"));
+    }
+
+    private Thread caller(final MicroBatcher<String, String> batcher,
+            final String key) {
+        return new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    String value = batcher.get(key);
+                    results.put(key, value == null ? "none" : value);
+                } catch (ExecutionException | InterruptedException e) {
+                    // Missing result fails the test.
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+public class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight =
+            new SingleFlight<>();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    public void executeTest_ReturnsLoadedValue() throws Exception {
+        assertEquals("requestor1", singleFlight.execute("AKIA1",
+                loader("requestor1", null)));
+        assertEquals("requestor2", singleFlight.execute("AKIA1",
+                loader("requestor2", null)));
+        assertEquals(2, loads.get());
+        assertEquals(0, singleFlight.size());
+    }
+
+    @Test
+    public void executeTest_ConcurrentCallersShareOneLoad() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> results = new ArrayList<>();
+
+        Thread leader = caller(loader("requestor1", null, started, release),
+                results);
+        leader.start();
+        started.await();
+
+        List<Thread> followers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread follower = caller(loader("other", null), results);
+            follower.start();
+            followers.add(follower);
+        }
+        for (Thread follower : followers) {
+            awaitWaiting(follower);
+        }
+
+        release.countDown();
+        leader.join();
+        for (Thread follower : followers) {
+            follower.join();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(5, results.size());
+        for (String result : results) {
+            assertEquals("requestor1", result);
+        }
+        assertEquals(0, singleFlight.size());
+    }
+
+    @Test
+    public void executeTest_ConcurrentCallersShareError() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Exception error = new Exception("LDAP down");
+        final AtomicReference<Throwable> followerError = new AtomicReference<>();
+
+        Thread leader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    singleFlight.execute("AKIA1",
+                            loader(null, error, started, release));
+                } catch (Exception e) {
+                    // Expected.
+                }
+            }
+        });
+        leader.start();
+        started.await();
+
+        Thread follower = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    singleFlight.execute("AKIA1", loader("other", null));
+                } catch (ExecutionException e) {
+                    followerError.set(e.getCause());
+                } catch (InterruptedException e) {
+                    followerError.set(e);
+                }
+            }
+        });
+        follower.start();
+        awaitWaiting(follower);
+
+        release.countDown();
+        leader.join();
+        follower.join();
+
+        assertEquals(1, loads.get());
+        assertSame(error, followerError.get());
+    }
+
+    @Test
+    public void executeTest_ErrorIsNotRemembered() throws Exception {
+        try {
+            singleFlight.execute("AKIA1", loader(null, new Exception("down")));
+            fail("Should throw ExecutionException");
+        } catch (ExecutionException e) {
+            assertEquals("down", e.getCause().getMessage());
+        }
+
+        assertEquals("requestor1", singleFlight.execute("AKIA1",
+                loader("requestor1", null)));
+    }
+
+    @Test
+    public void executeAsyncTest_ConcurrentCallersShareOneLoad()
+            throws Exception {
+        final CompletableFuture<String> load = new CompletableFuture<>();
+        Callable<CompletionStage<String>> loader =
+                new Callable<CompletionStage<String>>() {
+                    @Override
+                    public CompletionStage<String> call() {
+                        loads.incrementAndGet();
+                        return load;
+                    }
+                };
+
+        CompletionStage<String> leader =
+                singleFlight.executeAsync("AKIA1", loader);
+        CompletionStage<String> follower =
+                singleFlight.executeAsync("AKIA1", loader);
+        assertEquals(1, singleFlight.size());
+
+        load.complete("requestor1");
+
+        assertEquals("requestor1", leader.toCompletableFuture().get());
+        assertEquals("requestor1", follower.toCompletableFuture().get());
+        assertEquals(1, loads.get());
+        assertEquals(0, singleFlight.size());
+    }
+
+    @Test
+    public void executeAsyncTest_ErrorIsNotRemembered() throws Exception {
+        final Exception error = new Exception("LDAP down");
+        CompletionStage<String> failed = singleFlight.executeAsync("AKIA1",
+                new Callable<CompletionStage<String>>() {
+                    @Override
+                    public CompletionStage<String> call() throws Exception {
+                        throw error;
+                    }
+                });
+
+        try {
+            failed.toCompletableFuture().get();
+            fail("Should throw ExecutionException");
+        } catch (ExecutionException e) {
+            assertSame(error, e.getCause());
+        }
+        assertEquals("requestor1", singleFlight.executeAsync("AKIA1",
+                new Callable<CompletionStage<String>>() {
+                    @Override
+                    public CompletionStage<String> call() {
+                        return CompletableFuture.completedFuture("requestor1");
+                    }
+                }).toCompletableFuture().get());
+        assertEquals(0, singleFlight.size());
+    }
+
+    private Callable<String> loader(String value, Exception error) {
+        return loader(value, error, null, null);
+    }
+
+    private Callable<String> loader(final String value, final Exception error,
+            final CountDownLatch started, final CountDownLatch release) {
+        return new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                loads.incrementAndGet();
+                if (started != null) {
+                    started.countDown();
+                    release.await();
+                }
+                if (error != null) {
+                    throw error;
+                }
+                return value;
+            }
+        };
+    }
+
+    private Thread caller(final Callable<String> loader,
+            final List<String> results) {
+        return new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    String result = singleFlight.execute("AKIA1", loader);
+                    synchronized (results) {
+                        results.add(result);
+                    }
+                } catch (ExecutionException | InterruptedException e) {
+                    // Missing result fails the test.
+                }
+            }
+        });
+    }
+
+    private static void awaitWaiting(Thread thread)
+            throws InterruptedException {
+        while (thread.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+    }
+}
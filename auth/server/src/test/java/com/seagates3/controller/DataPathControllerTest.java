@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.controller;
+
+import static org.hamcrest.core.StringContains.containsString;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.whenNew;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.powermock.api.mockito.mockpolicies.Slf4jMockPolicy;
+import org.powermock.core.classloader.annotations.MockPolicy;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import com.seagates3.authentication.ClientRequestParser;
+import com.seagates3.authentication.ClientRequestToken;
+import com.seagates3.authentication.SignatureValidator;
+import com.seagates3.authorization.Authorizer;
+import com.seagates3.authserver.AuthServerConfig;
+import com.seagates3.model.Account;
+import com.seagates3.model.Requestor;
+import com.seagates3.perf.S3Perf;
+import com.seagates3.response.ServerResponse;
+import com.seagates3.service.RequestorService;
+
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpResponseStatus;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest(value = {DataPathController.class, ClientRequestParser.class,
+                         RequestorService.class},
+        fullyQualifiedNames = "com.seagates3.controller.DataPathController$*")
+@PowerMockIgnore({"javax.management.*"})
+@MockPolicy(Slf4jMockPolicy.class)
+public class DataPathControllerTest {
+
+    private DataPathController controller;
+    private FullHttpRequest httpRequest;
+    private Map<String, String> requestBody;
+    private ClientRequestToken clientRequestToken;
+    private Requestor requestor;
+    private CompletableFuture<Requestor> search;
+    private ExecutorService requestExecutor;
+
+    @Before
+    public void setUp() throws Exception {
+        controller = new DataPathController();
+        httpRequest = mock(FullHttpRequest.class);
+        requestBody = new HashMap<>();
+        clientRequestToken = mock(ClientRequestToken.class);
+        requestExecutor = Executors.newSingleThreadExecutor();
+
+        Account account = mock(Account.class);
+        when(account.getId()).thenReturn("12345");
+        when(account.getName()).thenReturn("s3test");
+        when(account.getCanonicalId()).thenReturn("C12345");
+        when(account.getEmail()).thenReturn("test@seagate.com");
+        requestor = mock(Requestor.class);
+        when(requestor.getId()).thenReturn("123");
+        when(requestor.getName()).thenReturn("root");
+        when(requestor.getAccount()).thenReturn(account);
+
+        mockStatic(ClientRequestParser.class);
+        when(ClientRequestParser.parse(httpRequest, requestBody))
+                .thenReturn(clientRequestToken);
+
+        // The requestor isn't cached, it is found once the search completes
+        // on the thread reading the search results.
+        search = new CompletableFuture<>();
+        mockStatic(RequestorService.class);
+        when(RequestorService.getRequestorAsync(any(ClientRequestToken.class),
+                any(Executor.class))).thenAnswer(
+                new Answer<CompletionStage<Requestor>>() {
+                    @Override
+                    public CompletionStage<Requestor> answer(
+                            InvocationOnMock invocation) {
+                        Executor executor =
+                                (Executor) invocation.getArguments()[1];
+                        return search.thenApplyAsync(
+                                new Function<Requestor, Requestor>() {
+                                    @Override
+                                    public Requestor apply(Requestor found) {
+                                        return found;
+                                    }
+                                }, executor);
+                    }
+                });
+
+        SignatureValidator signatureValidator =
+                mock(SignatureValidator.class);
+        when(signatureValidator.validate(clientRequestToken, requestor))
+                .thenReturn(new ServerResponse(HttpResponseStatus.OK, ""));
+        whenNew(SignatureValidator.class).withNoArguments()
+                .thenReturn(signatureValidator);
+        whenNew(S3Perf.class).withNoArguments()
+                .thenReturn(mock(S3Perf.class));
+    }
+
+    @After
+    public void tearDown() {
+        requestExecutor.shutdown();
+    }
+
+    @Test
+    public void serveAsyncTest_RequestIdOfResponse() throws Exception {
+        AuthServerConfig.setReqId("request-1");
+        CompletionStage<ServerResponse> response = controller.serveAsync(
+                DataPathController.Action.AUTHENTICATE_USER, httpRequest,
+                requestBody, requestExecutor);
+        AuthServerConfig.setReqId("request-2");
+
+        completeSearch();
+
+        assertThat(response.toCompletableFuture().get().getResponseBody(),
+                containsString("<RequestId>request-1</RequestId>"));
+    }
+
+    @Test
+    public void serveAsyncTest_AuthorizedOnExecutor() throws Exception {
+        final AtomicReference<Thread> authorizing = new AtomicReference<>();
+        final ServerResponse authorized =
+                new ServerResponse(HttpResponseStatus.OK, "");
+        Authorizer authorizer = mock(Authorizer.class);
+        when(authorizer.authorize(any(Requestor.class),
+                anyMapOf(String.class, String.class))).thenAnswer(
+                new Answer<ServerResponse>() {
+                    @Override
+                    public ServerResponse answer(InvocationOnMock invocation) {
+                        authorizing.set(Thread.currentThread());
+                        return authorized;
+                    }
+                });
+        whenNew(Authorizer.class).withNoArguments().thenReturn(authorizer);
+
+        CompletionStage<ServerResponse> response = controller.serveAsync(
+                DataPathController.Action.AUTHENTICATE_AND_AUTHORIZE,
+                httpRequest, requestBody, requestExecutor);
+        Thread reader = completeSearch();
+
+        assertSame(authorized, response.toCompletableFuture().get());
+        assertNotSame(reader, authorizing.get());
+        assertNotSame(Thread.currentThread(), authorizing.get());
+    }
+
+    /**
+     * Complete the search of the requestor on a thread of its own, serving
+     * another request.
+     */
+    private Thread completeSearch() throws InterruptedException {
+        Thread reader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                AuthServerConfig.setReqId("reader");
+                search.complete(requestor);
+            }
+        });
+        reader.start();
+        reader.join();
+        return reader;
+    }
+}
@@ -93,7 +93,8 @@ import io.netty.handler.codec.http.HttpResponseStatus;
 @RunWith(PowerMockRunner.class) @MockPolicy(Slf4jMockPolicy.class)
     @PowerMockIgnore({"javax.management.*"}) @PrepareForTest(
         {IAMResourceMapper.class, IAMController.class,
-         RequestorService.class,  ClientRequestParser.class,
+         DataPathController.class, RequestorService.class,
+         ClientRequestParser.class,
          Authorizer.class,        AuthenticationResponseGenerator.class,
          AuthServerConfig.class,  DAODispatcher.class,
          ACLValidation.class}) public class IAMControllerTest {
@@ -139,6 +140,16 @@ import io.netty.handler.codec.http.HttpResponseStatus;
     AuthServerConfig.authResourceDir = "../resources";
   }
 
+  @Test public void getActionTest() {
+    assertEquals(IAMController.Action.CREATE_ACCOUNT,
+                 IAMController.getAction("CreateAccount"));
+    assertEquals(IAMController.Action.VALIDATE_ACL,
+                 IAMController.getAction("ValidateACL"));
+    assertEquals(IAMController.Action.ROUTED,
+                 IAMController.getAction("CreateUser"));
+    assertEquals(IAMController.Action.ROUTED, IAMController.getAction(null));
+  }
+
   @Test public void serveTest_Action_CreateAccount() throws Exception {
     requestBody.put("Action", "CreateAccount");
     IAMController controllerSpy = spy(controller);
@@ -424,7 +435,7 @@ import io.netty.handler.codec.http.HttpResponseStatus;
     PowerMockito.when(ClientRequestParser.class, "getAWSRequestParser",
                       any(ClientRequestToken.AWSSigningVersion.class))
         .thenCallRealMethod();
-    PowerMockito.when(ClientRequestParser.class, "toRequestParserClass",
+    PowerMockito.when(ClientRequestParser.class, "getSigningVersion",
                       anyString()).thenCallRealMethod();
     String[] endpoints = {"s3-us.seagate.com", "s3-europe.seagate.com",
                           "s3-asia.seagate.com"};
@@ -476,7 +487,7 @@ import io.netty.handler.codec.http.HttpResponseStatus;
     PowerMockito.when(ClientRequestParser.class, "getAWSRequestParser",
                       any(ClientRequestToken.AWSSigningVersion.class))
         .thenCallRealMethod();
-    PowerMockito.when(ClientRequestParser.class, "toRequestParserClass",
+    PowerMockito.when(ClientRequestParser.class, "getSigningVersion",
                       anyString()).thenCallRealMethod();
     String[] endpoints = {"s3-us.seagate.com", "s3-europe.seagate.com",
                           "s3-asia.seagate.com"};
@@ -702,6 +713,15 @@ import io.netty.handler.codec.http.HttpResponseStatus;
     assertFalse(result);
   }
 
+  @Test(expected = StackOverflowError.class)
+  public void validateRequestTest_ErrorIsRethrown() throws Exception {
+    when(resourceMap.getParamValidatorHandle())
+        .thenThrow(new StackOverflowError());
+
+    WhiteboxImpl.invokeMethod(controller, "validateRequest", resourceMap,
+                              requestBody);
+  }
+
   @Test public void validateRequestTest_N() throws Exception {
     when(resourceMap.getParamValidatorClass()).thenReturn(
         "com.seagates3.parameter.validator.AccountParameterValidator");
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.dao;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import com.seagates3.authserver.AuthServerConfig;
+import com.seagates3.dao.ldap.AccessKeyImpl;
+import com.seagates3.dao.ldap.LdapConnectionManager;
+import com.seagates3.dao.ldap.RequestorImpl;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({AuthServerConfig.class, LdapConnectionManager.class})
+@PowerMockIgnore({"javax.management.*"})
+public class DAODispatcherTest {
+
+    @Before
+    public void setUp() throws Exception {
+        PowerMockito.mockStatic(AuthServerConfig.class);
+        PowerMockito.mockStatic(LdapConnectionManager.class);
+        PowerMockito.doReturn("ldap").when(AuthServerConfig.class,
+                "getDataSource");
+
+        DAODispatcher.init();
+    }
+
+    @Test
+    public void getResourceDAOTest() {
+        assertTrue(DAODispatcher.getResourceDAO(DAOResource.ACCESS_KEY)
+                instanceof AccessKeyImpl);
+        assertTrue(DAODispatcher.getResourceDAO(DAOResource.REQUESTOR)
+                instanceof RequestorImpl);
+    }
+
+    @Test
+    public void getResourceDAOTest_SameInstance() {
+        assertSame(DAODispatcher.getResourceDAO(DAOResource.ACCOUNT),
+                DAODispatcher.getResourceDAO(DAOResource.ACCOUNT));
+    }
+
+    @Test
+    public void getResourceDAOTest_NoImplementation() {
+        assertNull(DAODispatcher.getResourceDAO(DAOResource.REQUESTEE));
+    }
+}
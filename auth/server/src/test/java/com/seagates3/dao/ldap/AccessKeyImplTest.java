@@ -20,12 +20,17 @@
 
 package com.seagates3.dao.ldap;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Matchers;
 import org.mockito.Mockito;
 import org.mockito.internal.matchers.apachecommons.ReflectionEquals;
@@ -270,6 +275,50 @@ import com.seagates3.model.User;
     Assert.assertThat(expectedAccessKey, new ReflectionEquals(accessKey));
   }
 
+  @Test public void FindAllById_AccessKeysFound_ReturnAccessKeys()
+      throws Exception {
+    AccessKey expectedAccessKey = new AccessKey();
+    expectedAccessKey.setId("AKIATEST");
+    expectedAccessKey.setUserId("123");
+    expectedAccessKey.setSecretKey("decrypted-sk-123/test");
+    expectedAccessKey.setCreateDate(EXPECTED_DATE);
+    expectedAccessKey.setStatus(AccessKey.AccessKeyStatus.ACTIVE);
+
+    String filter = "(|(ak=AKIATEST)(ak=AKIAMISSING))";
+    String[] attrs = {"ak",     "s3userid",        "sk",
+                      "exp",    "token",           "status",
+                      "createtimestamp", "objectclass"};
+
+    setupAccessKeyAttr();
+    PowerMockito.when(LDAPUtils.class, "orFilter", Mockito.anyString(),
+                      Mockito.anyCollection()).thenCallRealMethod();
+    PowerMockito.doReturn(ldapResults).when(ldapConnection).search(
+        ACCESSKEY_BASE_DN, 2, filter, attrs, false);
+    Mockito.when(ldapResults.hasMore()).thenReturn(Boolean.TRUE).thenReturn(
+        Boolean.FALSE);
+
+    Map<String, AccessKey> accessKeys =
+        accesskeyImpl.findAll(Arrays.asList("AKIATEST", "AKIAMISSING"));
+
+    Assert.assertEquals(1, accessKeys.size());
+    Assert.assertThat(expectedAccessKey,
+                      new ReflectionEquals(accessKeys.get("AKIATEST")));
+  }
+
+  @Test public void FindAllById_AccessKeySearchFailed_ThrowException()
+      throws Exception {
+    PowerMockito.when(LDAPUtils.class, "orFilter", Mockito.anyString(),
+                      Mockito.anyCollection()).thenCallRealMethod();
+    PowerMockito.doThrow(new LDAPException()).when(ldapConnection).search(
+        Mockito.eq(ACCESSKEY_BASE_DN), Mockito.eq(2),
+        Mockito.eq("(|(ak=AKIATEST))"), Mockito.any(String[].class),
+        Mockito.eq(false));
+
+    exception.expect(DataAccessException.class);
+
+    accesskeyImpl.findAll(Arrays.asList("AKIATEST"));
+  }
+
   @Test public void FindAll_AccessKeySearchFailed_ThrowException()
       throws Exception {
     User user = new User();
@@ -643,6 +692,31 @@ import com.seagates3.model.User;
     LDAPUtils.modify(dn, modification);
   }
 
+  @Test public void Update_WithSecretKey_ReEncryptsSecretKey()
+      throws Exception {
+    AccessKey accessKey = new AccessKey();
+    accessKey.setId("AKIATEST");
+    accessKey.setSecretKey("decrypted-sk-123/test");
+
+    PowerMockito.when(AESEncryptDecryptUtil.class, "encrypt",
+                      Mockito.eq("decrypted-sk-123/test"),
+                      Mockito.any(String.class))
+        .thenReturn("v2:0a1b2c3d:encrypted-sk");
+    String dn = "ak=AKIATEST,ou=accesskeys,dc=s3,dc=seagate,dc=com";
+
+    accesskeyImpl.update(accessKey, "Inactive");
+
+    ArgumentCaptor<ArrayList> modList = ArgumentCaptor.forClass(ArrayList.class);
+    PowerMockito.verifyStatic(Mockito.times(1));
+    LDAPUtils.modify(Mockito.eq(dn), modList.capture());
+    Assert.assertEquals(2, modList.getValue().size());
+    LDAPModification skModification =
+        (LDAPModification)modList.getValue().get(1);
+    Assert.assertEquals("sk", skModification.getAttribute().getName());
+    Assert.assertEquals("v2:0a1b2c3d:encrypted-sk",
+                        skModification.getAttribute().getStringValue());
+  }
+
   @Test public void findFromTokenAccessKeyFoundReturnAccessKey()
       throws Exception {
     AccessKey expectedAccessKey = new AccessKey();
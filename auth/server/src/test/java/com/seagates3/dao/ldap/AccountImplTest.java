@@ -202,6 +202,47 @@ import com.seagates3.model.Account;
         Assert.assertThat(expectedAccount, new ReflectionEquals(account));
     }
 
+    @Test
+    public void FindByUserDN_AccountExists_ReadAccountEntry()
+            throws Exception {
+        Account expectedAccount = new Account();
+        expectedAccount.setName("s3test");
+        expectedAccount.setId("98765test");
+        expectedAccount.setCanonicalId("C12345");
+        expectedAccount.setEmail("test@seagate.com");
+
+        PowerMockito.mockStatic(LdapConnectionManager.class);
+        PowerMockito.doReturn(ldapConnection)
+            .when(LdapConnectionManager.class, "getConnection");
+        Mockito.when(ldapConnection.isConnected()).thenReturn(true);
+        PowerMockito.doReturn(ldapResults).when(ldapConnection).search(
+            ACCOUNT_DN, 0, "(objectclass=account)", FIND_ATTRS, false);
+        Mockito.when(ldapResults.hasMore()).thenReturn(Boolean.TRUE);
+
+        Account account = accountImpl.findByUserDN("s3userid=123," + USERS_DN);
+        Assert.assertThat(expectedAccount, new ReflectionEquals(account));
+    }
+
+    @Test
+    public void FindByUserDN_NoSuchObject_ReturnAccountObject()
+            throws Exception {
+        Account expectedAccount = new Account();
+        expectedAccount.setName("s3test");
+
+        PowerMockito.mockStatic(LdapConnectionManager.class);
+        PowerMockito.doReturn(ldapConnection)
+            .when(LdapConnectionManager.class, "getConnection");
+        Mockito.when(ldapConnection.isConnected()).thenReturn(true);
+        PowerMockito.doReturn(ldapResults).when(ldapConnection).search(
+            ACCOUNT_DN, 0, "(objectclass=account)", FIND_ATTRS, false);
+        Mockito.when(ldapResults.hasMore()).thenReturn(Boolean.TRUE);
+        Mockito.when(ldapResults.next()).thenThrow(new LDAPException(
+            "No such object", LDAPException.NO_SUCH_OBJECT, null));
+
+        Account account = accountImpl.findByUserDN("s3userid=123," + USERS_DN);
+        Assert.assertThat(expectedAccount, new ReflectionEquals(account));
+    }
+
     @Test
     public void FindAccount_LdapSearchFailed_ThrowException() throws Exception {
         exception.expect(DataAccessException.class);
@@ -39,6 +39,7 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
@@ -93,6 +94,14 @@ import static org.powermock.api.mockito.PowerMockito.verifyStatic;
             .thenReturn(cons);
     }
 
+    @Test
+    public void orFilterTest() {
+        assertEquals("(|(ak=AKIATEST)(ak=AKIAOTHER))", LDAPUtils.orFilter("ak",
+                Arrays.asList("AKIATEST", "AKIAOTHER")));
+        assertEquals("(|(ak=\\2a\\28\\29\\5c))", LDAPUtils.orFilter("ak",
+                Arrays.asList("*()\\")));
+    }
+
     @Test
     public void searchTest_DefaultBaseDn() throws LDAPException {
         // Arrange
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+
+package com.seagates3.dao.ldap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.novell.ldap.LDAPConnection;
+import com.novell.ldap.LDAPEntry;
+import com.novell.ldap.LDAPException;
+import com.novell.ldap.LDAPMessage;
+import com.novell.ldap.LDAPResponse;
+import com.novell.ldap.LDAPSearchConstraints;
+import com.novell.ldap.LDAPSearchQueue;
+import com.novell.ldap.LDAPSearchResult;
+
+public class LdapMultiplexerTest {
+
+    private final BlockingQueue<Object> responses = new LinkedBlockingQueue<>();
+
+    private LdapMultiplexer.Connector connector;
+    private LDAPConnection connection;
+    private LdapMultiplexer multiplexer;
+
+    @Before
+    public void setUp() throws Exception {
+        connection = mock(LDAPConnection.class);
+        LDAPSearchQueue queue1 = newQueue(1);
+        LDAPSearchQueue queue2 = newQueue(2);
+        when(connection.search(anyString(), anyInt(), anyString(),
+                any(String[].class), anyBoolean(), any(LDAPSearchQueue.class),
+                any(LDAPSearchConstraints.class)))
+                .thenReturn(queue1, queue2);
+
+        connector = mock(LdapMultiplexer.Connector.class);
+        when(connector.connect()).thenReturn(connection,
+                mock(LDAPConnection.class));
+        multiplexer = new LdapMultiplexer(connector, 1);
+    }
+
+    @After
+    public void tearDown() {
+        multiplexer.shutdown();
+    }
+
+    @Test
+    public void searchTest_InterleavedSearches() throws Exception {
+        CompletableFuture<List<LDAPEntry>> search1 = search("AKIA1");
+        CompletableFuture<List<LDAPEntry>> search2 = search("AKIA2");
+        assertEquals(2, multiplexer.getOutstanding());
+
+        LDAPEntry entry1 = mock(LDAPEntry.class);
+        LDAPEntry entry2 = mock(LDAPEntry.class);
+        responses.add(result(2, entry2));
+        responses.add(result(1, entry1));
+        responses.add(done(1, null));
+        assertEquals(Arrays.asList(entry1), search1.get(5, TimeUnit.SECONDS));
+
+        responses.add(done(2, null));
+        assertEquals(Arrays.asList(entry2), search2.get(5, TimeUnit.SECONDS));
+        assertEquals(0, multiplexer.getOutstanding());
+    }
+
+    @Test
+    public void searchTest_ErrorResultFailsSearch() throws Exception {
+        LDAPException error = new LDAPException("No such object",
+                LDAPException.NO_SUCH_OBJECT, null);
+        CompletableFuture<List<LDAPEntry>> search1 = search("AKIA1");
+        CompletableFuture<List<LDAPEntry>> search2 = search("AKIA2");
+
+        responses.add(done(1, error));
+        responses.add(done(2, null));
+
+        assertSame(error, getError(search1));
+        assertEquals(0, search2.get(5, TimeUnit.SECONDS).size());
+    }
+
+    @Test
+    public void searchTest_ConnectionLostFailsOutstandingSearches()
+            throws Exception {
+        LDAPException error = new LDAPException("Connection lost",
+                LDAPException.CONNECT_ERROR, null);
+        CompletableFuture<List<LDAPEntry>> search1 = search("AKIA1");
+        CompletableFuture<List<LDAPEntry>> search2 = search("AKIA2");
+
+        responses.add(error);
+
+        assertSame(error, getError(search1));
+        assertSame(error, getError(search2));
+        verify(connection, timeout(5000)).disconnect();
+        verify(connector, timeout(5000).times(2)).connect();
+    }
+
+    @Test
+    public void searchTest_TimedOutSearchIsAbandoned() throws Exception {
+        multiplexer.shutdown();
+        when(connector.connect()).thenReturn(connection);
+        multiplexer = new LdapMultiplexer(connector, 1, 50);
+        CompletableFuture<List<LDAPEntry>> search1 = search("AKIA1");
+
+        LDAPException error = (LDAPException) getError(search1);
+        assertEquals(LDAPException.LDAP_TIMEOUT, error.getResultCode());
+        assertEquals(0, multiplexer.getOutstanding());
+        verify(connection, timeout(5000)).abandon(1);
+
+        // The response of the abandoned search is dropped, later searches
+        // on the connection still get theirs.
+        CompletableFuture<List<LDAPEntry>> search2 = search("AKIA2");
+        responses.add(done(1, null));
+        responses.add(done(2, null));
+        assertEquals(0, search2.get(5, TimeUnit.SECONDS).size());
+    }
+
+    @Test
+    public void searchTest_ResponseBeforeTimeout() throws Exception {
+        multiplexer.shutdown();
+        when(connector.connect()).thenReturn(connection);
+        multiplexer = new LdapMultiplexer(connector, 1, 200);
+        CompletableFuture<List<LDAPEntry>> search1 = search("AKIA1");
+
+        responses.add(done(1, null));
+        assertTrue(search1.get(5, TimeUnit.SECONDS).isEmpty());
+        Thread.sleep(400);
+        verify(connection, never()).abandon(anyInt());
+    }
+
+    private CompletableFuture<List<LDAPEntry>> search(String accessKeyId) {
+        return multiplexer.search(LDAPUtils.BASE_DN, LDAPConnection.SCOPE_SUB,
+                LDAPUtils.ACCESS_KEY_ID + "=" + accessKeyId,
+                new String[] {LDAPUtils.USER_ID});
+    }
+
+    private Throwable getError(CompletableFuture<List<LDAPEntry>> search)
+            throws Exception {
+        try {
+            search.get(5, TimeUnit.SECONDS);
+            fail("Should throw ExecutionException");
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+        return null;
+    }
+
+    /**
+     * Queue of a search, all the responses of the connection are read from
+     * the queue of its first search.
+     */
+    private LDAPSearchQueue newQueue(int messageId) throws LDAPException {
+        LDAPSearchQueue queue = mock(LDAPSearchQueue.class);
+        when(queue.getMessageIDs()).thenReturn(new int[] {messageId});
+        when(queue.getResponse()).thenAnswer(new Answer<LDAPMessage>() {
+            @Override
+            public LDAPMessage answer(InvocationOnMock invocation)
+                    throws LDAPException {
+                Object response;
+                try {
+                    response = responses.take();
+                } catch (InterruptedException e) {
+                    throw new LDAPException("Connection closed",
+                            LDAPException.CONNECT_ERROR, null);
+                }
+                if (response instanceof LDAPException) {
+                    throw (LDAPException) response;
+                }
+                return (LDAPMessage) response;
+            }
+        });
+        return queue;
+    }
+
+    private static LDAPSearchResult result(int messageId, LDAPEntry entry) {
+        LDAPSearchResult result = mock(LDAPSearchResult.class);
+        when(result.getMessageID()).thenReturn(messageId);
+        when(result.getEntry()).thenReturn(entry);
+        return result;
+    }
+
+    private static LDAPResponse done(int messageId, LDAPException error)
+            throws LDAPException {
+        LDAPResponse response = mock(LDAPResponse.class);
+        when(response.getMessageID()).thenReturn(messageId);
+        if (error != null) {
+            doThrow(error).when(response).chkResultCode();
+        }
+        return response;
+    }
+}
@@ -34,6 +34,10 @@ import com.seagates3.fi.FaultPoints;
 import com.seagates3.model.AccessKey;
 import com.seagates3.model.Account;
 import com.seagates3.model.Requestor;
+import com.seagates3.service.GlobalDataStore;
+
+import java.util.Arrays;
+import java.util.Map;
 
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -104,6 +108,7 @@ import org.powermock.modules.junit4.PowerMockRunner;
         PowerMockito.whenNew(LDAPConnection.class)
             .withArguments(socket_timeout)
             .thenReturn(ldapConnection);
+        GlobalDataStore.getInstance().invalidateAllAuthenticationCache();
     }
 
     @Test
@@ -191,9 +196,142 @@ import org.powermock.modules.junit4.PowerMockRunner;
         PowerMockito.doReturn(accountDAO).when(DAODispatcher.class,
                 "getResourceDAO", DAOResource.ACCOUNT
         );
-        Mockito.doReturn(account).when(accountDAO).find("s3test");
+        Mockito.doReturn(account).when(accountDAO).findByUserDN(dn);
         Requestor requestor = requestorImpl.find(accessKey);
         Assert.assertThat(expectedRequestor, new ReflectionEquals(requestor));
     }
+
+    @Test
+    public void Find_AccountCached_SkipAccountSearch() throws Exception {
+        AccessKey accessKey = new AccessKey();
+        accessKey.setId("ak=AKIATEST");
+        accessKey.setUserId("123");
+        Account account = new Account();
+        account.setId("12345");
+        account.setName("s3test");
+        GlobalDataStore.getInstance().addToAccountCache(account);
+        String filter = "s3userid=123";
+        doReturn(ldapResults).when(ldapConnection).search(BASE_DN, 2, filter,
+                                                          FIND_ATTRS, false);
+        Mockito.when(ldapResults.hasMore()).thenReturn(Boolean.TRUE);
+        Mockito.when(ldapResults.next()).thenReturn(entry);
+        String dn = "s3userid=123,ou=users,o=s3test,ou=accounts,dc=s3,"
+                + "dc=seagate,dc=com";
+        Mockito.when(entry.getDN()).thenReturn(dn);
+        Mockito.when(entry.getAttribute("cn")).thenReturn(commonNameAttr);
+        Mockito.when(commonNameAttr.getStringValue()).thenReturn("s3testuser");
+        AccountDAO accountDAO = Mockito.mock(AccountDAO.class);
+        PowerMockito.mockStatic(DAODispatcher.class);
+        PowerMockito.doReturn(accountDAO).when(DAODispatcher.class,
+                "getResourceDAO", DAOResource.ACCOUNT
+        );
+
+        Requestor requestor = requestorImpl.find(accessKey);
+
+        Assert.assertSame(account, requestor.getAccount());
+        Mockito.verify(accountDAO, Mockito.never()).findByUserDN(dn);
+    }
+
+    @Test
+    public void Find_AccountNotFound_NotCached() throws Exception {
+        AccessKey accessKey = new AccessKey();
+        accessKey.setId("ak=AKIATEST");
+        accessKey.setUserId("123");
+        String filter = "s3userid=123";
+        doReturn(ldapResults).when(ldapConnection).search(BASE_DN, 2, filter,
+                                                          FIND_ATTRS, false);
+        Mockito.when(ldapResults.hasMore()).thenReturn(Boolean.TRUE);
+        Mockito.when(ldapResults.next()).thenReturn(entry);
+        String dn = "s3userid=123,ou=users,o=s3test,ou=accounts,dc=s3,"
+                + "dc=seagate,dc=com";
+        Mockito.when(entry.getDN()).thenReturn(dn);
+        Mockito.when(entry.getAttribute("cn")).thenReturn(commonNameAttr);
+        AccountDAO accountDAO = Mockito.mock(AccountDAO.class);
+        PowerMockito.mockStatic(DAODispatcher.class);
+        PowerMockito.doReturn(accountDAO).when(DAODispatcher.class,
+                "getResourceDAO", DAOResource.ACCOUNT
+        );
+        Mockito.doReturn(new Account()).when(accountDAO).findByUserDN(dn);
+
+        requestorImpl.find(accessKey);
+
+        Assert.assertNull(
+                GlobalDataStore.getInstance().getFromAccountCache("s3test"));
+    }
+
+    @Test
+    public void FindAll_UsersFound_ReturnRequestors() throws Exception {
+        AccessKey accessKey = new AccessKey();
+        accessKey.setId("AKIATEST");
+        accessKey.setUserId("123");
+        AccessKey otherAccessKey = new AccessKey();
+        otherAccessKey.setId("AKIAOTHER");
+        otherAccessKey.setUserId("123");
+        AccessKey orphanAccessKey = new AccessKey();
+        orphanAccessKey.setId("AKIAORPHAN");
+        orphanAccessKey.setUserId("456");
+        AccessKey unknownAccessKey = new AccessKey();
+        unknownAccessKey.setId("AKIAUNKNOWN");
+        Account account = new Account();
+        account.setId("12345");
+        account.setName("s3test");
+
+        PowerMockito.when(LDAPUtils.class, "orFilter", Mockito.anyString(),
+                Mockito.anyCollection()).thenCallRealMethod();
+        String[] attrs = {"cn", "s3userid"};
+        doReturn(ldapResults).when(ldapConnection).search(
+                Mockito.eq(BASE_DN), Mockito.eq(2),
+                Mockito.startsWith("(|(s3userid="), Mockito.eq(attrs),
+                Mockito.eq(false));
+        Mockito.when(ldapResults.hasMore())
+                .thenReturn(Boolean.TRUE)
+                .thenReturn(Boolean.FALSE);
+        Mockito.when(ldapResults.next()).thenReturn(entry);
+        String dn = "s3userid=123,ou=users,o=s3test,ou=accounts,dc=s3,"
+                + "dc=seagate,dc=com";
+        Mockito.when(entry.getDN()).thenReturn(dn);
+        Mockito.when(entry.getAttribute("cn")).thenReturn(commonNameAttr);
+        Mockito.when(commonNameAttr.getStringValue()).thenReturn("s3testuser");
+        LDAPAttribute userIdAttr = Mockito.mock(LDAPAttribute.class);
+        Mockito.when(entry.getAttribute("s3userid")).thenReturn(userIdAttr);
+        Mockito.when(userIdAttr.getStringValue()).thenReturn("123");
+        AccountDAO accountDAO = Mockito.mock(AccountDAO.class);
+        PowerMockito.mockStatic(DAODispatcher.class);
+        PowerMockito.doReturn(accountDAO).when(DAODispatcher.class,
+                "getResourceDAO", DAOResource.ACCOUNT
+        );
+        Mockito.doReturn(account).when(accountDAO).findByUserDN(dn);
+
+        Map<AccessKey, Requestor> requestors = requestorImpl.findAll(
+                Arrays.asList(accessKey, otherAccessKey, orphanAccessKey,
+                              unknownAccessKey));
+
+        Assert.assertEquals(3, requestors.size());
+        Assert.assertEquals("s3testuser", requestors.get(accessKey).getName());
+        Assert.assertSame(account, requestors.get(accessKey).getAccount());
+        Assert.assertSame(otherAccessKey,
+                requestors.get(otherAccessKey).getAccesskey());
+        Assert.assertEquals("123", requestors.get(otherAccessKey).getId());
+        Assert.assertFalse(requestors.containsKey(orphanAccessKey));
+        Assert.assertFalse(requestors.get(unknownAccessKey).exists());
+        Mockito.verify(accountDAO, Mockito.times(1)).findByUserDN(dn);
+    }
+
+    @Test
+    public void FindAll_UserSearchFailed_ThrowException() throws Exception {
+        AccessKey accessKey = new AccessKey();
+        accessKey.setId("AKIATEST");
+        accessKey.setUserId("123");
+
+        PowerMockito.when(LDAPUtils.class, "orFilter", Mockito.anyString(),
+                Mockito.anyCollection()).thenCallRealMethod();
+        doThrow(new LDAPException()).when(ldapConnection).search(
+                BASE_DN, 2, "(|(s3userid=123))", new String[] {"cn", "s3userid"},
+                false);
+
+        exception.expect(DataAccessException.class);
+
+        requestorImpl.findAll(Arrays.asList(accessKey));
+    }
 }
 
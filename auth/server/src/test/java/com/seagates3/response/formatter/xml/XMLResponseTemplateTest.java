@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2020 Seagate Technology LLC and/or its Affiliates
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * For any questions about this software or licensing,
+ * please email opensource@seagate.com or cortx-questions@seagate.com.
+ *
+ */
+package com.seagates3.response.formatter.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+public class XMLResponseTemplateTest {
+
+    private static final String XMLNS =
+            "https://iam.seagate.com/doc/2010-05-08/";
+
+    private final XMLResponseTemplate template =
+            new XMLResponseTemplate("AuthenticateUser", XMLNS);
+
+    @Test
+    public void formatTest() {
+        LinkedHashMap<String, String> responseElements = new LinkedHashMap<>();
+        responseElements.put("UserId", "123");
+        responseElements.put("UserName", "root");
+
+        String expectedResponseBody = "<?xml version=\"1.0\" "
+                + "encoding=\"UTF-8\" standalone=\"no\"?>"
+                + "<AuthenticateUserResponse xmlns=\"" + XMLNS + "\">"
+                + "<AuthenticateUserResult><UserId>123</UserId>"
+                + "<UserName>root</UserName></AuthenticateUserResult>"
+                + "<ResponseMetadata><RequestId>0000</RequestId>"
+                + "</ResponseMetadata></AuthenticateUserResponse>";
+
+        assertEquals(expectedResponseBody,
+                template.format(responseElements, "0000"));
+    }
+
+    @Test
+    public void formatTest_EscapesText() {
+        LinkedHashMap<String, String> responseElements = new LinkedHashMap<>();
+        responseElements.put("UserName", "a&b<c>d\"e'f\r\ng\tü\u0001x"
+                + "😀");
+
+        assertEquals("<UserName>a&amp;b&lt;c&gt;d\"e'f&#13;\ng\tü&#1;x"
+                + "&#128512;</UserName>",
+                resultOf(template.format(responseElements, "0000")));
+    }
+
+    @Test
+    public void formatTest_EmptyValues() {
+        LinkedHashMap<String, String> responseElements = new LinkedHashMap<>();
+        responseElements.put("UserId", "");
+        responseElements.put("UserName", null);
+
+        String response = template.format(responseElements, "");
+
+        assertEquals("<UserId/><UserName/>", resultOf(response));
+        assertTrue(response.contains(
+                "<ResponseMetadata><RequestId/></ResponseMetadata>"));
+    }
+
+    @Test
+    public void formatTest_SameAsDocument() throws Exception {
+        LinkedHashMap<String, String> responseElements = new LinkedHashMap<>();
+        responseElements.put("UserId", "123");
+        responseElements.put("UserName", "a&b<c>d\"e'f\r\ng\t\u0001x");
+        responseElements.put("AccountName", "ü\u00e9\u20ac😀\ud83c\udf0d");
+        responseElements.put("Arn", "");
+        responseElements.put("CanonicalId", null);
+        responseElements.put("Email", "<>&&amp;]]>");
+
+        assertEquals(formatDocument("AuthenticateUser", responseElements,
+                "0000"), template.format(responseElements, "0000"));
+        assertEquals(formatDocument("AuthenticateUser", responseElements, ""),
+                template.format(responseElements, ""));
+        assertEquals(formatDocument("AuthorizeUser",
+                new LinkedHashMap<String, String>(), "0000"),
+                new XMLResponseTemplate("AuthorizeUser", XMLNS).format(
+                        new LinkedHashMap<String, String>(), "0000"));
+    }
+
+    /**
+     * Response built as a DOM document and serialized by the transformer,
+     * the way the formatters did before the templates. A null value is
+     * written as an element without text.
+     */
+    private static String formatDocument(String operation,
+            Map<String, String> responseElements, String requestId)
+            throws Exception {
+        XMLResponseFormatter formatter = new XMLResponseFormatter();
+        Document doc = formatter.createNewDoc();
+
+        Element responseElement = doc.createElement(operation + "Response");
+        Attr attr = doc.createAttribute("xmlns");
+        attr.setValue(XMLNS);
+        responseElement.setAttributeNode(attr);
+        doc.appendChild(responseElement);
+
+        Element resultElement = doc.createElement(operation + "Result");
+        responseElement.appendChild(resultElement);
+        for (Map.Entry<String, String> entry : responseElements.entrySet()) {
+            Element element = doc.createElement(entry.getKey());
+            if (entry.getValue() != null) {
+                element.appendChild(doc.createTextNode(entry.getValue()));
+            }
+            resultElement.appendChild(element);
+        }
+
+        Element responseMetadataElement = doc.createElement("ResponseMetadata");
+        responseElement.appendChild(responseMetadataElement);
+        Element requestIdElement = doc.createElement("RequestId");
+        requestIdElement.appendChild(doc.createTextNode(requestId));
+        responseMetadataElement.appendChild(requestIdElement);
+
+        return formatter.docToString(doc);
+    }
+
+    private static String resultOf(String response) {
+        return response.substring(
+                response.indexOf("<AuthenticateUserResult>")
+                        + "<AuthenticateUserResult>".length(),
+                response.indexOf("</AuthenticateUserResult>"));
+    }
+}
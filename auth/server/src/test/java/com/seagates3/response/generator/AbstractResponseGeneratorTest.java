@@ -136,6 +136,20 @@ class AbstractResponseGeneratorTest extends AbstractResponseGenerator {
                         response.getResponseStatus());
   }
 
+  @Test public void testSlowDown() {
+    final String expectedResponseBody =
+        "<?xml version=\"1.0\" " + "encoding=\"UTF-8\" standalone=\"no\"?>" +
+        "<ErrorResponse xmlns=\"https://iam.seagate.com/doc/2010-05-08/\">" +
+        "<Error><Code>SlowDown</Code>" +
+        "<Message>Please reduce your request rate.</Message></Error>" +
+        "<RequestId>0000</RequestId>" + "</ErrorResponse>";
+
+    ServerResponse response = slowDown();
+    Assert.assertEquals(expectedResponseBody, response.getResponseBody());
+    Assert.assertEquals(HttpResponseStatus.SERVICE_UNAVAILABLE,
+                        response.getResponseStatus());
+  }
+
   @Test public void testInvalidAction() {
     final String expectedResponseBody =
         "<?xml version=\"1.0\" " + "encoding=\"UTF-8\" standalone=\"no\"?>" +
@@ -55,6 +55,16 @@ public class BinaryUtilTest {
         assertEquals(expected.toLowerCase(), result);
     }
 
+    @Test
+    public void hexEncodedHashBytesTest() throws UnsupportedEncodingException {
+        byte[] text = "The Great A.I. Awakening".getBytes("UTF-8");
+        String expected = "b62d867a2b6874dffd2dd402fb912960766cb83ade6133365f5d51400311c968";
+
+        byte[] result = BinaryUtil.hexEncodedHashBytes(text);
+
+        assertEquals(expected, new String(result, "US-ASCII"));
+    }
+
     @Test
     public void base64EncodedHashTest() {
         String input = "The Great A.I. Awakening";
@@ -89,6 +99,21 @@ public class BinaryUtilTest {
         BinaryUtil.hmacSHA256(key, data);
     }
 
+    @Test
+    public void hmacSHA256ChainTest() throws UnsupportedEncodingException {
+        byte[] key = "ti2GeitodN_9LdQC-5EpYHZsuDreYTM2X11RQAMRyWg".getBytes("UTF-8");
+        byte[] data1 = "The Great".getBytes("UTF-8");
+        byte[] data2 = "A.I. Awakening".getBytes("UTF-8");
+        byte[] expected = BinaryUtil.hmacSHA256(
+                BinaryUtil.hmacSHA256(key, data1), data2);
+
+        byte[] result = BinaryUtil.hmacSHA256Chain(key, data1, data2);
+
+        assertArrayEquals(expected, result);
+        assertArrayEquals(BinaryUtil.hmacSHA256(key, data1),
+                BinaryUtil.hmacSHA256Chain(key, data1));
+    }
+
     @Test
     public void hmacSHA1Test() throws UnsupportedEncodingException {
         byte[] key = "ti2GeitodN_9LdQC-5EpYHZsuDreYTM2X11RQAMRyWg".getBytes("UTF-8");
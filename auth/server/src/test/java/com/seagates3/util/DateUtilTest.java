@@ -131,4 +131,58 @@ public class DateUtilTest {
         assertTrue(result instanceof DateTime);
         assertEquals(expected, result.toString());
     }
+
+    @Test
+    public void parseAmzDateTest() {
+        String date = "20191218T181100Z";
+
+        assertEquals(DateUtil.parseDateString(date, "yyyyMMdd'T'HHmmss'Z'")
+                .getTime(), DateUtil.parseAmzDate(date));
+        assertEquals(-614916416000L, DateUtil.parseAmzDate("19500707T215304Z"));
+        assertEquals(951782400000L, DateUtil.parseAmzDate("20000229T000000Z"));
+    }
+
+    @Test
+    public void parseAmzDateTest_InvalidDate() {
+        assertEquals(DateUtil.INVALID_TIME, DateUtil.parseAmzDate(null));
+        assertEquals(DateUtil.INVALID_TIME, DateUtil.parseAmzDate(""));
+        assertEquals(DateUtil.INVALID_TIME, DateUtil.parseAmzDate("BAD DATEZ"));
+    }
+
+    @Test
+    public void parseRfc1123DateTest() {
+        String date = "Wed, 18 Dec 2019 18:11:00 GMT";
+
+        assertEquals(DateUtil.parseDateString(date, "EEE, dd MMM yyyy HH:mm:ss")
+                .getTime(), DateUtil.parseRfc1123Date(date));
+        assertEquals(1576692660000L,
+                DateUtil.parseRfc1123Date("Wed, 18 Dec 2019 18:11:00"));
+        assertEquals(DateUtil.INVALID_TIME,
+                DateUtil.parseRfc1123Date("18 Dec 2019 18:11:00 GMT"));
+    }
+
+    @Test
+    public void parseCredentialScopeDateTest() {
+        long requestTime = DateUtil.parseAmzDate("20191218T235959Z");
+
+        assertEquals(DateUtil.toEpochDay(requestTime),
+                DateUtil.parseCredentialScopeDate("20191218"));
+        assertEquals(DateUtil.INVALID_TIME,
+                DateUtil.parseCredentialScopeDate("BADDATE"));
+    }
+
+    @Test
+    public void toISO8601FormatTest() {
+        DateTime dateTime = new DateTime(1576673044777L, DateTimeZone.UTC);
+
+        assertEquals(dateTime.toString(),
+                DateUtil.toISO8601Format(1576673044777L));
+    }
+
+    @Test
+    public void toEpochMillisTest() {
+        assertEquals(1484053367806L,
+                DateUtil.toEpochMillis("2017-01-10T08:02:47.806-05:00"));
+        assertEquals(1484041400000L, DateUtil.toEpochMillis("20170110094320"));
+    }
 }